@@ -0,0 +1,26 @@
+package com.album.seplag.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ponto de entrada dos benchmarks (perfil benchmarks do Maven). Aceita as mesmas opções do JMH
+ * (filtro por nome, -f, -wi, -i, -p ...) e sempre liga o profiler de GC, para que cada resultado
+ * venha com a taxa de alocação (gc.alloc.rate.norm = bytes por operação).
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions linhaDeComando = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder()
+                .parent(linhaDeComando)
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
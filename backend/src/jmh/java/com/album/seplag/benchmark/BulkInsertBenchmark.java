@@ -0,0 +1,192 @@
+package com.album.seplag.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de inserção em massa (como na importação de catálogo): JDBC batch de 50 linhas, o mesmo
+ * hibernate.jdbc.batch_size da aplicação, contra um INSERT por vez. Resultado em inserções/s.
+ * identity e pooledSequence reproduzem o SQL que o Hibernate emite em cada estratégia de id:
+ * IDENTITY insere linha a linha lendo a chave gerada; a sequência pooled (allocationSize 50)
+ * busca um bloco de ids por nextval e insere em batch.
+ * Tabela própria (bench_albuns), por padrão em H2; no Postgres com -p url=... -p user=... -p password=...
+ * (para o Postgres, acrescente reWriteBatchedInserts=true à url para medir o batch reescrito).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    private static final int LINHAS = 1000;
+
+    @Param({"jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1"})
+    private String url;
+
+    @Param({"sa"})
+    private String user;
+
+    @Param({""})
+    private String password;
+
+    @Param({"50"})
+    private int batchSize;
+
+    @Param({"50"})
+    private int allocationSize;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private PreparedStatement insertIdentity;
+    private PreparedStatement insertSequence;
+    private PreparedStatement nextval;
+    private long proximoId;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(url, user, password);
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS bench_albuns");
+            ddl.execute("CREATE TABLE bench_albuns (id BIGINT PRIMARY KEY, titulo VARCHAR(200) NOT NULL, artista_id BIGINT NOT NULL)");
+            ddl.execute("DROP TABLE IF EXISTS bench_albuns_identity");
+            ddl.execute("CREATE TABLE bench_albuns_identity (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,"
+                    + " titulo VARCHAR(200) NOT NULL, artista_id BIGINT NOT NULL)");
+            ddl.execute("DROP SEQUENCE IF EXISTS bench_albuns_seq");
+            ddl.execute("CREATE SEQUENCE bench_albuns_seq START WITH " + allocationSize + " INCREMENT BY " + allocationSize);
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("INSERT INTO bench_albuns (id, titulo, artista_id) VALUES (?, ?, ?)");
+        insertIdentity = connection.prepareStatement("INSERT INTO bench_albuns_identity (titulo, artista_id) VALUES (?, ?)",
+                Statement.RETURN_GENERATED_KEYS);
+        insertSequence = connection.prepareStatement("INSERT INTO bench_albuns_identity (id, titulo, artista_id) VALUES (?, ?, ?)");
+        nextval = connection.prepareStatement(url.startsWith("jdbc:postgresql")
+                ? "SELECT nextval('bench_albuns_seq')"
+                : "SELECT NEXT VALUE FOR bench_albuns_seq");
+    }
+
+    // Mantém a tabela pequena entre iterações para que o tamanho do índice não distorça a comparação
+    @Setup(Level.Iteration)
+    public void limpar() throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DELETE FROM bench_albuns");
+            ddl.execute("DELETE FROM bench_albuns_identity");
+        }
+        connection.commit();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        insert.close();
+        insertIdentity.close();
+        insertSequence.close();
+        nextval.close();
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE bench_albuns");
+            ddl.execute("DROP TABLE bench_albuns_identity");
+            ddl.execute("DROP SEQUENCE bench_albuns_seq");
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINHAS)
+    public void batch() throws SQLException {
+        for (int i = 1; i <= LINHAS; i++) {
+            preencher();
+            insert.addBatch();
+            if (i % batchSize == 0) {
+                insert.executeBatch();
+            }
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINHAS)
+    public void rowByRow() throws SQLException {
+        for (int i = 1; i <= LINHAS; i++) {
+            preencher();
+            insert.executeUpdate();
+        }
+        connection.commit();
+    }
+
+    /**
+     * GenerationType.IDENTITY: o Hibernate precisa do id logo após cada INSERT, então não há batch.
+     */
+    @Benchmark
+    @OperationsPerInvocation(LINHAS)
+    public long identity() throws SQLException {
+        long ultimo = 0;
+        for (int i = 1; i <= LINHAS; i++) {
+            insertIdentity.setString(1, "Álbum " + i);
+            insertIdentity.setLong(2, i % 100);
+            insertIdentity.executeUpdate();
+            try (ResultSet chave = insertIdentity.getGeneratedKeys()) {
+                chave.next();
+                ultimo = chave.getLong(1);
+            }
+        }
+        connection.commit();
+        return ultimo;
+    }
+
+    /**
+     * Sequência com o otimizador pooled: um nextval a cada allocationSize ids e INSERTs em batch.
+     */
+    @Benchmark
+    @OperationsPerInvocation(LINHAS)
+    public void pooledSequence() throws SQLException {
+        long id = 0;
+        long limite = 0;
+        for (int i = 1; i <= LINHAS; i++) {
+            if (id == limite) {
+                try (ResultSet valor = nextval.executeQuery()) {
+                    valor.next();
+                    limite = valor.getLong(1);
+                }
+                id = limite - allocationSize;
+            }
+            insertSequence.setLong(1, ++id);
+            insertSequence.setString(2, "Álbum " + id);
+            insertSequence.setLong(3, id % 100);
+            insertSequence.addBatch();
+            if (i % batchSize == 0) {
+                insertSequence.executeBatch();
+            }
+        }
+        insertSequence.executeBatch();
+        connection.commit();
+    }
+
+    private void preencher() throws SQLException {
+        long id = ++proximoId;
+        insert.setLong(1, id);
+        insert.setString(2, "Álbum " + id);
+        insert.setLong(3, id % 100);
+    }
+}
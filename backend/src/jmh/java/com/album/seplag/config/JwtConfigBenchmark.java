@@ -0,0 +1,64 @@
+package com.album.seplag.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geração e leitura de tokens JWT: o filtro de autenticação faz a leitura em toda requisição.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtConfigBenchmark {
+
+    private static final List<String> ROLES = List.of("ROLE_USER", "ROLE_ADMIN");
+
+    private JwtConfig jwtConfig;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        jwtConfig = new JwtConfig();
+        ReflectionTestUtils.setField(jwtConfig, "secret", "benchmark-secret-key-with-at-least-32-chars");
+        ReflectionTestUtils.setField(jwtConfig, "expiration", 300000L);
+        ReflectionTestUtils.setField(jwtConfig, "refreshExpiration", 604800000L);
+        accessToken = jwtConfig.generateAccessToken("usuario", ROLES);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtConfig.generateAccessToken("usuario", ROLES);
+    }
+
+    @Benchmark
+    public String getUsernameFromToken() {
+        return jwtConfig.getUsernameFromToken(accessToken);
+    }
+
+    /**
+     * Mesma sequência de leituras do JwtAuthenticationFilter: tipo, username, roles e validade.
+     */
+    @Benchmark
+    public boolean parseAsFilterDoes() {
+        if (jwtConfig.isRefreshToken(accessToken)) {
+            return false;
+        }
+        String username = jwtConfig.getUsernameFromToken(accessToken);
+        return !jwtConfig.getRolesFromToken(accessToken).isEmpty() && jwtConfig.validateToken(accessToken, username);
+    }
+}
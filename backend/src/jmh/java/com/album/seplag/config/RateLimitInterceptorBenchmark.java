@@ -0,0 +1,79 @@
+package com.album.seplag.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * RateLimitInterceptor.preHandle com 8 threads: todas no mesmo usuário (disputa pelo mesmo bucket)
+ * e cada uma no seu (disputa só pelo mapa de buckets). O limite é alto para medir o caminho aceito.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class RateLimitInterceptorBenchmark {
+
+    private RateLimitInterceptor interceptor;
+
+    @Setup
+    public void setUp() {
+        RateLimitConfig config = new RateLimitConfig();
+        ReflectionTestUtils.setField(config, "requestsPerMinute", Integer.MAX_VALUE);
+        interceptor = new RateLimitInterceptor(new ConcurrentHashMap<>(), config);
+    }
+
+    @State(Scope.Thread)
+    public static class Requisicao {
+
+        private static final AtomicInteger THREADS = new AtomicInteger();
+
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/albuns");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final UsernamePasswordAuthenticationToken mesmoUsuario = autenticado("usuario");
+        final UsernamePasswordAuthenticationToken usuarioDaThread = autenticado("usuario-" + THREADS.incrementAndGet());
+
+        @TearDown
+        public void tearDown() {
+            SecurityContextHolder.clearContext();
+        }
+
+        private static UsernamePasswordAuthenticationToken autenticado(String username) {
+            return new UsernamePasswordAuthenticationToken(username, null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+        }
+    }
+
+    @Benchmark
+    public boolean sameUser(Requisicao requisicao) {
+        SecurityContextHolder.getContext().setAuthentication(requisicao.mesmoUsuario);
+        return interceptor.preHandle(requisicao.request, requisicao.response, null);
+    }
+
+    @Benchmark
+    public boolean userPerThread(Requisicao requisicao) {
+        SecurityContextHolder.getContext().setAuthentication(requisicao.usuarioDaThread);
+        return interceptor.preHandle(requisicao.request, requisicao.response, null);
+    }
+}
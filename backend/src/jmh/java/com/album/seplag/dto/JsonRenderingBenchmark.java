@@ -0,0 +1,82 @@
+package com.album.seplag.dto;
+
+import com.album.seplag.enums.CountMode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Serialização JSON das respostas mais frequentes: notificação de WebSocket (com o álbum como payload
+ * e a de lote, só com ids) e PageResponseDTO de álbuns. ObjectMapper configurado como o do Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonRenderingBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private NotificationDTO notificacaoAlbum;
+    private NotificationDTO notificacaoLote;
+    private PageResponseDTO<AlbumDTO> pagina;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        List<AlbumDTO> albuns = LongStream.rangeClosed(1, pageSize).mapToObj(JsonRenderingBenchmark::album).toList();
+        notificacaoAlbum = new NotificationDTO("ALBUM_CREATED", "Álbum \"Álbum 1\" criado", Instant.now(), albuns.get(0));
+        notificacaoLote = new NotificationDTO("ALBUNS_CREATED", pageSize + " álbuns criados", Instant.now(),
+                Map.<String, Object>of("ids", albuns.stream().map(AlbumDTO::id).toList()));
+        pagina = new PageResponseDTO<>(albuns, 0, pageSize, 1000L, 1000 / pageSize, true, false, CountMode.EXACT);
+    }
+
+    @Benchmark
+    public byte[] notificationDTO() throws Exception {
+        return objectMapper.writeValueAsBytes(notificacaoAlbum);
+    }
+
+    @Benchmark
+    public byte[] bulkNotificationDTO() throws Exception {
+        return objectMapper.writeValueAsBytes(notificacaoLote);
+    }
+
+    @Benchmark
+    public byte[] pageResponseDTO() throws Exception {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+
+    private static AlbumDTO album(long id) {
+        List<CapaAlbumDTO> capas = LongStream.rangeClosed(1, 2)
+                .mapToObj(c -> new CapaAlbumDTO(id * 10 + c, "albuns/" + id + "/capa-" + c + ".jpg", "image/jpeg",
+                        1024L, Instant.now(), "/api/v1/albuns/" + id + "/capa/" + (id * 10 + c) + "/image"))
+                .toList();
+        return new AlbumDTO(id, "Álbum " + id, id, "Artista " + id, LocalDate.of(2000, 1, 1), LocalDateTime.now(), capas);
+    }
+}
@@ -0,0 +1,119 @@
+package com.album.seplag.search;
+
+import com.album.seplag.enums.TipoArtista;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca por substring do nome do artista: índice de trigramas em memória contra LOWER(nome) LIKE '%termo%'
+ * no banco. Usa uma tabela própria (bench_artistas), criada e removida pelo benchmark; por padrão em H2,
+ * ou no Postgres com -p url=jdbc:postgresql://host/banco -p user=... -p password=...
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArtistaNameSearchBenchmark {
+
+    private static final String[] PALAVRAS = {"Banda", "Trio", "Orquestra", "Coral", "Grupo", "Quarteto", "Conjunto"};
+    private static final String[] SOBRENOMES = {"Silva", "Souza", "Oliveira", "Pereira", "Lima", "Gonçalves", "Araújo"};
+
+    @Param({"jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1"})
+    private String url;
+
+    @Param({"sa"})
+    private String user;
+
+    @Param({""})
+    private String password;
+
+    @Param({"10000"})
+    private int artistas;
+
+    @Param({"oliv", "silva 12"})
+    private String termo;
+
+    private final TrigramIndex index = new TrigramIndex();
+    private Connection connection;
+    private PreparedStatement like;
+    private String termoNormalizado;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(url, user, password);
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS bench_artistas");
+            ddl.execute("CREATE TABLE bench_artistas (id INT PRIMARY KEY, nome VARCHAR(100) NOT NULL, tipo_artista VARCHAR(20))");
+            ddl.execute("CREATE INDEX idx_bench_artistas_nome ON bench_artistas(nome)");
+        }
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO bench_artistas VALUES (?, ?, ?)")) {
+            for (int id = 1; id <= artistas; id++) {
+                String nome = PALAVRAS[id % PALAVRAS.length] + " " + SOBRENOMES[(id / 7) % SOBRENOMES.length] + " " + id;
+                TipoArtista tipo = id % 3 == 0 ? TipoArtista.CANTOR : TipoArtista.BANDA;
+                insert.setInt(1, id);
+                insert.setString(2, nome);
+                insert.setString(3, tipo.name());
+                insert.addBatch();
+                index.put(id, nome, tipo);
+                if (id % 500 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        like = connection.prepareStatement("SELECT id FROM bench_artistas WHERE LOWER(nome) LIKE ?");
+        like.setString(1, "%" + termo.toLowerCase() + "%");
+        termoNormalizado = TrigramIndex.normalize(termo);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        like.close();
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE bench_artistas");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public int[] trigramIndex() {
+        return index.search(termoNormalizado, null);
+    }
+
+    @Benchmark
+    public List<Integer> lowerLike() throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (ResultSet rs = like.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,85 @@
+package com.album.seplag.security;
+
+import com.album.seplag.config.JwtConfig;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter de ponta a ponta (leitura do header, parse do token e montagem da
+ * autenticação). Com roles no token não há consulta de usuário; sem roles, o UserDetailsService
+ * (aqui um stub em memória) é chamado, como nos tokens antigos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    private JwtAuthenticationFilter filter;
+    private String comRoles;
+    private String semRoles;
+
+    @Setup
+    public void setUp() {
+        JwtConfig jwtConfig = new JwtConfig();
+        ReflectionTestUtils.setField(jwtConfig, "secret", "benchmark-secret-key-with-at-least-32-chars");
+        ReflectionTestUtils.setField(jwtConfig, "expiration", 300000L);
+        ReflectionTestUtils.setField(jwtConfig, "refreshExpiration", 604800000L);
+        comRoles = jwtConfig.generateAccessToken("usuario", List.of("ROLE_USER"));
+        semRoles = jwtConfig.generateAccessToken("usuario", List.of());
+
+        UserDetails usuario = User.withUsername("usuario").password("{noop}senha").roles("USER").build();
+        filter = new JwtAuthenticationFilter(jwtConfig, username -> usuario);
+    }
+
+    @Benchmark
+    public Authentication tokenWithRoles() throws Exception {
+        return autenticar(comRoles);
+    }
+
+    @Benchmark
+    public Authentication tokenWithoutRoles() throws Exception {
+        return autenticar(semRoles);
+    }
+
+    @Benchmark
+    public Authentication withoutToken() throws Exception {
+        return autenticar(null);
+    }
+
+    private Authentication autenticar(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/albuns");
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
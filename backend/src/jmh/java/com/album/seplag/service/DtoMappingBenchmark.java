@@ -0,0 +1,134 @@
+package com.album.seplag.service;
+
+import com.album.seplag.dto.AlbumDTO;
+import com.album.seplag.dto.ArtistaDTO;
+import com.album.seplag.enums.TipoArtista;
+import com.album.seplag.model.Album;
+import com.album.seplag.model.Artista;
+import com.album.seplag.model.CapaAlbum;
+import com.album.seplag.repository.AlbumRepository;
+import com.album.seplag.repository.ArtistaRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Conversão entidade -> DTO das listagens de álbuns (com capas) e artistas (com quantidade de álbuns),
+ * por página. Os repositórios são stubs que devolvem entidades já montadas, então só o mapeamento é medido
+ * (mais a chamada ao stub, constante por página).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private AlbumService albumService;
+    private ArtistaService artistaService;
+    private Pageable pageable;
+
+    @Setup
+    public void setUp() {
+        pageable = PageRequest.of(0, pageSize);
+        LocalDateTime agora = LocalDateTime.now();
+
+        List<Artista> artistas = new ArrayList<>();
+        List<Album> albuns = new ArrayList<>();
+        for (long i = 1; i <= pageSize; i++) {
+            Artista artista = new Artista();
+            artista.setId(i);
+            artista.setNome("Artista " + i);
+            artista.setGenero("Rock");
+            artista.setTipoArtista(TipoArtista.BANDA);
+            artista.setCreatedAt(agora);
+            artista.setFotoNomeArquivo(i % 2 == 0 ? "artistas/" + i + "/foto.jpg" : null);
+            artistas.add(artista);
+
+            Album album = new Album();
+            album.setId(i);
+            album.setTitulo("Álbum " + i);
+            album.setDataLancamento(LocalDate.of(2000, 1, 1));
+            album.setCreatedAt(agora);
+            album.setArtista(artista);
+            for (long c = 1; c <= 2; c++) {
+                CapaAlbum capa = new CapaAlbum();
+                capa.setId(i * 10 + c);
+                capa.setAlbum(album);
+                capa.setNomeArquivo("albuns/" + i + "/capa-" + c + ".jpg");
+                capa.setContentType("image/jpeg");
+                capa.setTamanho(1024L);
+                capa.setDataUpload(agora);
+                album.getCapas().add(capa);
+            }
+            albuns.add(album);
+        }
+
+        AlbumRepository albumRepository = mock(AlbumRepository.class, withSettings().stubOnly());
+        ArtistaRepository artistaRepository = mock(ArtistaRepository.class, withSettings().stubOnly());
+        Page<Album> paginaAlbuns = new PageImpl<>(albuns, pageable, 1000);
+        Page<Artista> paginaArtistas = new PageImpl<>(artistas, pageable, 1000);
+        List<AlbumRepository.QuantidadeAlbuns> quantidades = IntStream.rangeClosed(1, pageSize)
+                .mapToObj(i -> quantidade((long) i, 3L))
+                .toList();
+        when(albumRepository.findAll(any(Pageable.class))).thenReturn(paginaAlbuns);
+        when(artistaRepository.findAll(any(Pageable.class))).thenReturn(paginaArtistas);
+        when(albumRepository.countByArtistaIds(anyCollection())).thenReturn(quantidades);
+
+        albumService = new AlbumService(albumRepository, artistaRepository, null, null, null, null, null, null, null, null);
+        artistaService = new ArtistaService(artistaRepository, albumRepository, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public Page<AlbumDTO> albumPage() {
+        return albumService.findAll(pageable);
+    }
+
+    @Benchmark
+    public Page<ArtistaDTO> artistaPage() {
+        return artistaService.findAll(null, null, pageable);
+    }
+
+    private static AlbumRepository.QuantidadeAlbuns quantidade(Long artistaId, Long quantidade) {
+        return new AlbumRepository.QuantidadeAlbuns() {
+            @Override
+            public Long getArtistaId() {
+                return artistaId;
+            }
+
+            @Override
+            public Long getQuantidade() {
+                return quantidade;
+            }
+        };
+    }
+}
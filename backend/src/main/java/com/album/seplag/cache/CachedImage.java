@@ -0,0 +1,20 @@
+package com.album.seplag.cache;
+
+import java.nio.ByteBuffer;
+
+import com.album.seplag.storage.ObjectStat;
+
+/**
+ * Imagem em cache, em um buffer direto. O conteúdo não muda depois de criado; cada leitura usa a sua
+ * própria visão do buffer.
+ */
+public record CachedImage(ObjectStat stat, ByteBuffer body) {
+
+    public ByteBuffer slice(long start, long length) {
+        return body.asReadOnlyBuffer().position((int) start).limit((int) (start + length));
+    }
+
+    long size() {
+        return body.capacity();
+    }
+}
@@ -0,0 +1,116 @@
+package com.album.seplag.cache;
+
+import com.album.seplag.event.AlbumChangedEvent;
+import com.album.seplag.event.ArtistaChangedEvent;
+import com.album.seplag.event.CatalogoImportadoEvent;
+import com.album.seplag.event.ChangeType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores de versão do catálogo usados como ETag de GET /albuns e /artistas (listas e itens).
+ * São incrementados pelos eventos de alteração após o commit, então o ETag sai sem consultar o banco
+ * e sem mapear DTOs. O epoch da instância entra no ETag para que um restart nunca gere 304 indevido.
+ * Alterações feitas fora da aplicação (SQL direto, outra instância) não são vistas pelos contadores.
+ * <p>
+ * As versões por id vêm de uma sequência única e ficam em caches limitados (catalog-versions.max-ids por
+ * tipo), inclusive as de ids excluídos. Um id sem entrada (nunca alterado ou descartado pelo limite) usa o
+ * piso: o maior valor já descartado. Um id alterado recebe um valor maior que todos os anteriores, e o piso nunca é menor que
+ * o valor que uma entrada tinha ao sair, então um ETag antigo nunca volta a valer depois de uma alteração;
+ * o descarte só custa respostas 200 a mais.
+ */
+@Component
+public class CatalogVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong albuns = new AtomicLong();
+    private final AtomicLong artistas = new AtomicLong();
+    // artistaNome vai embutido no AlbumDTO: alteração de artista muda a representação dos álbuns dele
+    private final AtomicLong artistasRenomeados = new AtomicLong();
+    // Importação altera quantidadeAlbuns de artistas sem evento por id
+    private final AtomicLong importacoes = new AtomicLong();
+    private final AtomicLong sequencia = new AtomicLong();
+    private final AtomicLong piso = new AtomicLong();
+    private final Cache<Long, Long> versaoAlbum;
+    private final Cache<Long, Long> versaoArtista;
+
+    public CatalogVersions(@Value("${catalog-versions.max-ids:100000}") long maxIds) {
+        this.versaoAlbum = versoes(maxIds);
+        this.versaoArtista = versoes(maxIds);
+    }
+
+    public String albunsEtag() {
+        return etag("albuns", albuns.get());
+    }
+
+    public String albumEtag(Long id) {
+        return etag("album-" + id, versao(versaoAlbum, id)) + "." + artistasRenomeados.get();
+    }
+
+    public String artistasEtag() {
+        return etag("artistas", artistas.get());
+    }
+
+    public String artistaEtag(Long id) {
+        return etag("artista-" + id, versao(versaoArtista, id)) + "." + importacoes.get();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAlbumChanged(AlbumChangedEvent event) {
+        alterar(versaoAlbum, event.albumId());
+        albuns.incrementAndGet();
+        if (!event.artistasAfetados().isEmpty()) {
+            // quantidadeAlbuns do ArtistaDTO
+            event.artistasAfetados().forEach(id -> alterar(versaoArtista, id));
+            artistas.incrementAndGet();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onArtistaChanged(ArtistaChangedEvent event) {
+        alterar(versaoArtista, event.artistaId());
+        artistas.incrementAndGet();
+        if (event.type() != ChangeType.CREATED) {
+            artistasRenomeados.incrementAndGet();
+            albuns.incrementAndGet();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogoImportado(CatalogoImportadoEvent event) {
+        importacoes.incrementAndGet();
+        albuns.incrementAndGet();
+        artistas.incrementAndGet();
+    }
+
+    private void alterar(Cache<Long, Long> versoes, Long id) {
+        versoes.put(id, sequencia.incrementAndGet());
+    }
+
+    private long versao(Cache<Long, Long> versoes, Long id) {
+        Long versao = versoes.getIfPresent(id);
+        return versao != null ? versao : piso.get();
+    }
+
+    /**
+     * O evictionListener roda dentro da remoção da entrada: o piso sobe antes de o id ficar sem versão.
+     */
+    private Cache<Long, Long> versoes(long maxIds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxIds)
+                .executor(Runnable::run)
+                .<Long, Long>evictionListener((id, versao, causa) -> piso.accumulateAndGet(versao, Math::max))
+                .build();
+    }
+
+    private String etag(String recurso, long versao) {
+        return recurso + "-" + epoch + "-" + versao;
+    }
+}
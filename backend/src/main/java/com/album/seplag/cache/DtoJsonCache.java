@@ -0,0 +1,110 @@
+package com.album.seplag.cache;
+
+import com.album.seplag.config.PrimaryReadScope;
+import com.album.seplag.dto.AlbumDTO;
+import com.album.seplag.dto.ArtistaDTO;
+import com.album.seplag.event.AlbumChangedEvent;
+import com.album.seplag.event.ArtistaChangedEvent;
+import com.album.seplag.event.CatalogoImportadoEvent;
+import com.album.seplag.event.ChangeType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Cache em memória do JSON já serializado de AlbumDTO/ArtistaDTO para GET /albuns/{id} e /artistas/{id}.
+ * Limitado por peso (bytes do JSON + overhead fixo por entrada, o que também limita a quantidade)
+ * e por TTL. A invalidação vem dos eventos publicados nos pontos de alteração, após o commit; a recarga
+ * lê da primária (PrimaryReadScope), para não guardar o estado anterior vindo de uma réplica atrasada.
+ * Métricas: cache.gets/cache.puts/cache.evictions com tag cache=albuns-json|artistas-json.
+ */
+@Slf4j
+@Component
+public class DtoJsonCache {
+
+    // Chave, nó do Caffeine e o próprio CachedJson; limita a quantidade de entradas a maximumWeight / 256
+    static final int ENTRY_OVERHEAD = 256;
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, CachedJson> albuns;
+    private final Cache<Long, CachedJson> artistas;
+
+    public DtoJsonCache(ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry,
+                        @Value("${dto-cache.maximum-weight:33554432}") long maximumWeight,
+                        @Value("${dto-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.objectMapper = objectMapper;
+        this.albuns = build(maximumWeight / 2, expireAfterWrite);
+        this.artistas = build(maximumWeight / 2, expireAfterWrite);
+        CaffeineCacheMetrics.monitor(meterRegistry, albuns, "albuns-json");
+        CaffeineCacheMetrics.monitor(meterRegistry, artistas, "artistas-json");
+        log.info("Cache de DTOs inicializado - peso máximo: {} bytes, TTL: {}", maximumWeight, expireAfterWrite);
+    }
+
+    private static Cache<Long, CachedJson> build(long maximumWeight, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((Long id, CachedJson json) -> json.body().length + ENTRY_OVERHEAD)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * JSON do álbum; em cache miss chama loader (que pode lançar ResourceNotFoundException, não cacheada).
+     */
+    public byte[] album(Long id, Supplier<AlbumDTO> loader) {
+        return albuns.get(id, key -> {
+            AlbumDTO dto = PrimaryReadScope.executar(loader);
+            return new CachedJson(serialize(dto), dto.artistaId());
+        }).body();
+    }
+
+    public byte[] artista(Long id, Supplier<ArtistaDTO> loader) {
+        return artistas.get(id, key -> new CachedJson(serialize(PrimaryReadScope.executar(loader)), id)).body();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAlbumChanged(AlbumChangedEvent event) {
+        albuns.invalidate(event.albumId());
+        // quantidadeAlbuns do ArtistaDTO
+        artistas.invalidateAll(event.artistasAfetados());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onArtistaChanged(ArtistaChangedEvent event) {
+        artistas.invalidate(event.artistaId());
+        if (event.type() != ChangeType.CREATED) {
+            // artistaNome embutido no AlbumDTO; exclusão remove os álbuns em cascata
+            albuns.asMap().values().removeIf(json -> event.artistaId().equals(json.artistaId()));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogoImportado(CatalogoImportadoEvent event) {
+        // Álbuns existentes não mudam; a quantidadeAlbuns dos artistas pode ter mudado
+        artistas.invalidateAll();
+    }
+
+    private byte[] serialize(Object dto) {
+        try {
+            return objectMapper.writeValueAsBytes(dto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao serializar DTO para o cache", e);
+        }
+    }
+
+    private record CachedJson(byte[] body, Long artistaId) {
+    }
+}
@@ -0,0 +1,249 @@
+package com.album.seplag.cache;
+
+import com.album.seplag.event.ObjectRemovedEvent;
+import com.album.seplag.storage.ObjectContent;
+import com.album.seplag.storage.ObjectStat;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Cache das imagens servidas a partir do MinIO, em dois níveis limitados por bytes (W-TinyLFU do Caffeine):
+ * memória fora do heap (buffers diretos) e, para o que sai da memória por tamanho, arquivos no disco local.
+ * Um acerto no disco lê o arquivo com FileChannel para um buffer direto, que volta para a memória; nenhum
+ * arquivo fica mapeado, então excluir o arquivo de uma entrada despejada libera o espaço em disco na hora.
+ * O índice do disco fica só em memória: os arquivos *.img deixados no diretório são excluídos na
+ * inicialização (e só eles: o diretório pode ser compartilhado).
+ * <p>
+ * Uma chave nunca é regravada com outro conteúdo (hash do conteúdo, ou UUID nos objetos anteriores), então
+ * uma entrada nunca fica desatualizada; a invalidação (ObjectRemovedEvent, após o commit) só libera o
+ * espaço de objetos que deixaram de ser referenciados.
+ * O disco pode passar de disk-max-bytes por pouco tempo: o despejo roda na manutenção do Caffeine, depois
+ * da gravação que estourou o limite, e um arquivo excluído durante uma leitura só libera os blocos quando
+ * ela fecha o canal.
+ * Os buffers diretos contam para -XX:MaxDirectMemorySize, que precisa ficar acima de memory-max-bytes.
+ * Métricas: cache.* com tag cache=imagens-memoria|imagens-disco, image.cache.bytes por tier e
+ * image.cache.hit.ratio (acertos em qualquer nível sobre o total de consultas).
+ */
+@Slf4j
+@Component
+public class ImageCache {
+
+    // Chave, nó do Caffeine, CachedImage e o objeto do buffer
+    static final int ENTRY_OVERHEAD = 256;
+    private static final String EXTENSAO = ".img";
+
+    private final boolean enabled;
+    private final long maxObjectSize;
+    private final Path diskDir;
+    private final Cache<String, CachedImage> memory;
+    private final Cache<String, DiskEntry> disk;
+
+    @Autowired
+    public ImageCache(MeterRegistry meterRegistry,
+                      @Value("${image-cache.enabled:true}") boolean enabled,
+                      @Value("${image-cache.memory-max-bytes:67108864}") long memoryMaxBytes,
+                      @Value("${image-cache.disk-dir:${java.io.tmpdir}/seplag-image-cache}") Path diskDir,
+                      @Value("${image-cache.disk-max-bytes:1073741824}") long diskMaxBytes,
+                      @Value("${image-cache.max-object-size:8388608}") long maxObjectSize) {
+        this(meterRegistry, enabled, memoryMaxBytes, diskDir, diskMaxBytes, maxObjectSize, ForkJoinPool.commonPool());
+    }
+
+    ImageCache(MeterRegistry meterRegistry, boolean enabled, long memoryMaxBytes, Path diskDir, long diskMaxBytes,
+               long maxObjectSize, Executor executor) {
+        this.enabled = enabled && memoryMaxBytes > 0;
+        this.maxObjectSize = Math.min(maxObjectSize, Integer.MAX_VALUE);
+        this.diskDir = this.enabled && diskMaxBytes > 0 ? prepararDiretorio(diskDir) : null;
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(Math.max(memoryMaxBytes, 0))
+                .weigher((String key, CachedImage image) -> (int) Math.min(image.size() + ENTRY_OVERHEAD, Integer.MAX_VALUE))
+                .removalListener(this::onMemoryRemoval)
+                .executor(executor)
+                .recordStats()
+                .build();
+        this.disk = Caffeine.newBuilder()
+                .maximumWeight(this.diskDir != null ? diskMaxBytes : 0)
+                .weigher((String key, DiskEntry entry) -> (int) Math.min(entry.size(), Integer.MAX_VALUE))
+                .removalListener((String key, DiskEntry entry, RemovalCause cause) -> excluir(entry))
+                .executor(executor)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, memory, "imagens-memoria");
+        CaffeineCacheMetrics.monitor(meterRegistry, disk, "imagens-disco");
+        Gauge.builder("image.cache.bytes", memory, ImageCache::weightedSize).tag("tier", "memoria")
+                .baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("image.cache.bytes", disk, ImageCache::weightedSize).tag("tier", "disco")
+                .baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("image.cache.hit.ratio", this, ImageCache::hitRatio).register(meterRegistry);
+
+        log.info("Cache de imagens {} - memória: {} bytes, disco: {} bytes em {}", this.enabled ? "ativo" : "desativado",
+                memoryMaxBytes, this.diskDir != null ? diskMaxBytes : 0, this.diskDir);
+    }
+
+    /**
+     * Imagem em cache, ou null. Um acerto no disco lê a imagem de volta para a memória.
+     */
+    public CachedImage get(String key) {
+        if (!enabled) {
+            return null;
+        }
+        CachedImage image = memory.getIfPresent(key);
+        if (image != null) {
+            return image;
+        }
+        DiskEntry entry = disk.getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+        image = ler(key, entry);
+        if (image != null) {
+            memory.put(key, image);
+        }
+        return image;
+    }
+
+    /**
+     * Se um objeto inteiro com esse tamanho pode entrar no cache.
+     */
+    public boolean cacheable(long size) {
+        return enabled && size <= maxObjectSize;
+    }
+
+    /**
+     * Lê o objeto inteiro para um buffer direto e o guarda no cache. Chamar só quando cacheable(length).
+     */
+    public CachedImage put(String key, ObjectContent content) throws IOException {
+        ByteBuffer body = ByteBuffer.allocateDirect((int) content.length());
+        ReadableByteChannel canal = Channels.newChannel(content.content());
+        while (body.hasRemaining()) {
+            if (canal.read(body) < 0) {
+                throw new IOException("Objeto terminou antes do tamanho informado: " + key);
+            }
+        }
+        CachedImage image = new CachedImage(content.stat(), body.flip());
+        memory.put(key, image);
+        return image;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onObjectRemoved(ObjectRemovedEvent event) {
+        memory.invalidate(event.key());
+        disk.invalidate(event.key());
+    }
+
+    /**
+     * Executa a manutenção pendente (despejos e listeners) dos dois níveis.
+     */
+    void cleanUp() {
+        memory.cleanUp();
+        disk.cleanUp();
+    }
+
+    private void onMemoryRemoval(String key, CachedImage image, RemovalCause cause) {
+        // Só o que saiu por tamanho desce para o disco; remoções explícitas e substituições, não
+        if (cause == RemovalCause.SIZE && diskDir != null && key != null && image != null
+                && !disk.asMap().containsKey(key)) {
+            rebaixar(key, image);
+        }
+    }
+
+    private void rebaixar(String key, CachedImage image) {
+        Path arquivo = diskDir.resolve(UUID.randomUUID() + EXTENSAO);
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer conteudo = image.body().duplicate();
+            while (conteudo.hasRemaining()) {
+                canal.write(conteudo);
+            }
+        } catch (IOException e) {
+            log.warn("Erro ao gravar imagem {} no cache em disco: {}", key, e.getMessage());
+            excluir(new DiskEntry(image.stat(), arquivo, image.size()));
+            return;
+        }
+        disk.put(key, new DiskEntry(image.stat(), arquivo, image.size()));
+    }
+
+    /**
+     * Conteúdo do arquivo em um buffer direto; null se o arquivo sumiu (entrada despejada ou invalidada
+     * entre a consulta e a leitura) ou não pôde ser lido.
+     */
+    private CachedImage ler(String key, DiskEntry entry) {
+        ByteBuffer body = ByteBuffer.allocateDirect((int) entry.size());
+        try (FileChannel canal = FileChannel.open(entry.file(), StandardOpenOption.READ)) {
+            while (body.hasRemaining()) {
+                if (canal.read(body) < 0) {
+                    throw new IOException("Arquivo menor que a imagem");
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Imagem {} indisponível no cache em disco: {}", key, e.getMessage());
+            disk.asMap().remove(key, entry);
+            return null;
+        }
+        return new CachedImage(entry.stat(), body.flip());
+    }
+
+    private void excluir(DiskEntry entry) {
+        if (entry == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(entry.file());
+        } catch (IOException e) {
+            log.debug("Erro ao excluir arquivo do cache de imagens {}: {}", entry.file(), e.getMessage());
+        }
+    }
+
+    private static Path prepararDiretorio(Path diskDir) {
+        try {
+            Files.createDirectories(diskDir);
+            try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diskDir, "*" + EXTENSAO)) {
+                for (Path arquivo : arquivos) {
+                    if (Files.isRegularFile(arquivo, LinkOption.NOFOLLOW_LINKS)) {
+                        Files.deleteIfExists(arquivo);
+                    }
+                }
+            }
+            return diskDir;
+        } catch (IOException e) {
+            log.warn("Cache de imagens em disco desativado, diretório {} indisponível: {}", diskDir, e.getMessage());
+            return null;
+        }
+    }
+
+    private static double weightedSize(Cache<String, ?> cache) {
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+    }
+
+    private double hitRatio() {
+        long consultas = memory.stats().requestCount();
+        return consultas == 0 ? 0 : (double) (memory.stats().hitCount() + disk.stats().hitCount()) / consultas;
+    }
+
+    private record DiskEntry(ObjectStat stat, Path file, long size) {
+    }
+}
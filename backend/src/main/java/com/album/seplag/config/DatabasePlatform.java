@@ -0,0 +1,45 @@
+package com.album.seplag.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Identifica o banco em uso para liberar recursos específicos do PostgreSQL
+ * (estatísticas do planner, extensões). Nos testes o banco é H2 e esses recursos ficam desligados.
+ */
+@Slf4j
+@Component
+public class DatabasePlatform {
+
+    private final DataSource dataSource;
+    private volatile Boolean postgres;
+
+    public DatabasePlatform(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public boolean isPostgres() {
+        Boolean resolved = postgres;
+        if (resolved == null) {
+            resolved = detectPostgres();
+            postgres = resolved;
+        }
+        return resolved;
+    }
+
+    private boolean detectPostgres() {
+        try {
+            String produto = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            log.info("Banco de dados detectado: {}", produto);
+            return "PostgreSQL".equalsIgnoreCase(produto);
+        } catch (MetaDataAccessException e) {
+            log.warn("Não foi possível identificar o banco de dados: {}", e.getMessage());
+            return false;
+        }
+    }
+}
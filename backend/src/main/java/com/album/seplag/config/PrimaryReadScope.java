@@ -0,0 +1,45 @@
+package com.album.seplag.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Escopo em que as transações readOnly da thread atual leem da primária, mesmo com réplicas configuradas.
+ * Para as recargas feitas logo depois de um commit (DtoJsonCache, ArtistaNameIndex, estatísticas): uma
+ * réplica atrasada devolveria o estado anterior à escrita, que ficaria em cache até a próxima invalidação.
+ * A transação precisa começar e terminar dentro do escopo. Sem réplicas, não tem efeito.
+ */
+public final class PrimaryReadScope {
+
+    private static final ThreadLocal<Boolean> ATIVO = new ThreadLocal<>();
+
+    private PrimaryReadScope() {
+    }
+
+    public static <T> T executar(Supplier<T> leitura) {
+        Boolean anterior = ATIVO.get();
+        ATIVO.set(Boolean.TRUE);
+        try {
+            return leitura.get();
+        } finally {
+            if (anterior == null) {
+                ATIVO.remove();
+            } else {
+                ATIVO.set(anterior);
+            }
+        }
+    }
+
+    public static void executar(Runnable leitura) {
+        executar(() -> {
+            leitura.run();
+            return null;
+        });
+    }
+
+    /**
+     * true dentro de executar.
+     */
+    public static boolean ativo() {
+        return ATIVO.get() != null;
+    }
+}
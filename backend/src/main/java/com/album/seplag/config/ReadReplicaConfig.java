@@ -0,0 +1,95 @@
+package com.album.seplag.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Réplicas de leitura, ativadas quando app.datasource.replicas.urls está preenchida.
+ * O DataSource da aplicação passa a ser um LazyConnectionDataSourceProxy: a conexão física só é obtida
+ * no primeiro SQL, quando o readOnly da transação já foi aplicado. Transações readOnly vão para
+ * ReplicaRoutingDataSource; as demais (e o Flyway) vão para a primária.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replicas.urls:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private ReplicaRoutingDataSource replicaRouting;
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${app.datasource.replicas.read-your-writes-window:PT5S}") Duration janela) {
+        return new ReadYourWritesTracker(janela);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties, Environment environment,
+                                 ReadYourWritesTracker readYourWritesTracker,
+                                 @Value("${app.datasource.replicas.urls}") String urls,
+                                 @Value("${app.datasource.replicas.username:${spring.datasource.username}}") String username,
+                                 @Value("${app.datasource.replicas.password:${spring.datasource.password}}") String password,
+                                 @Value("${app.datasource.replicas.connection-timeout:PT2S}") Duration connectionTimeout) {
+        HikariDataSource primaria = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primaria));
+        pools.add(primaria);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : StringUtils.commaDelimitedListToStringArray(urls)) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(url.trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setReadOnly(true);
+            // Réplica fora do ar não pode segurar a leitura nem impedir o startup
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            replica.setInitializationFailTimeout(-1);
+            pools.add(replica);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        log.info("Leituras readOnly distribuídas entre {} réplica(s)", replicas.size());
+
+        replicaRouting = new ReplicaRoutingDataSource(primaria, replicas, readYourWritesTracker);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaria);
+        dataSource.setReadOnlyDataSource(replicaRouting);
+        return dataSource;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.health-check-interval:PT5S}")
+    public void verificarReplicas() {
+        if (replicaRouting != null) {
+            replicaRouting.verificarReplicas();
+        }
+    }
+
+    @PreDestroy
+    public void fecharPools() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,56 @@
+package com.album.seplag.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.lang.Nullable;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read-your-writes para as réplicas: registra o último commit de escrita de cada usuário autenticado.
+ * Durante a janela configurada as leituras desse usuário vão para a primária, que já tem a alteração,
+ * em vez de uma réplica que pode ainda não ter aplicado. Como TransactionExecutionListener, é registrado
+ * automaticamente no gerenciador de transações. A marca é local à instância.
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    private final Cache<String, Boolean> escritasRecentes;
+
+    public ReadYourWritesTracker(Duration janela) {
+        this.escritasRecentes = Caffeine.newBuilder()
+                .expireAfterWrite(janela)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        if (commitFailure == null && transaction.isNewTransaction() && !transaction.isReadOnly()) {
+            usuarioAtual().ifPresent(username -> escritasRecentes.put(username, Boolean.TRUE));
+        }
+    }
+
+    /**
+     * true quando o usuário da requisição atual fez commit de uma escrita dentro da janela.
+     */
+    public boolean escreveuRecentemente() {
+        return usuarioAtual()
+                .map(username -> escritasRecentes.getIfPresent(username) != null)
+                .orElse(false);
+    }
+
+    private static Optional<String> usuarioAtual() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return Optional.empty();
+        }
+        return Optional.of(authentication.getName());
+    }
+}
@@ -0,0 +1,105 @@
+package com.album.seplag.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource das transações readOnly: distribui as conexões entre as réplicas disponíveis (round-robin)
+ * e usa a primária quando nenhuma réplica responde, quando o usuário atual escreveu há pouco
+ * (read-your-writes) ou dentro de PrimaryReadScope (recargas de cache após um commit). Uma réplica que falha ao entregar conexão sai do rodízio até o próximo health check
+ * bem-sucedido.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final int TIMEOUT_VALIDACAO_SEGUNDOS = 2;
+
+    private final DataSource primaria;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker readYourWrites;
+    private final AtomicInteger proxima = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primaria, Map<String, DataSource> replicas,
+                                    ReadYourWritesTracker readYourWrites) {
+        this.primaria = primaria;
+        this.replicas = replicas.entrySet().stream()
+                .map(e -> new Replica(e.getKey(), e.getValue()))
+                .toList();
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!PrimaryReadScope.ativo() && !readYourWrites.escreveuRecentemente()) {
+            int inicio = Math.floorMod(proxima.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((inicio + i) % replicas.size());
+                if (!replica.disponivel) {
+                    continue;
+                }
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    replica.marcarIndisponivel(e.getMessage());
+                }
+            }
+        }
+        return primaria.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Réplicas de leitura usam as credenciais configuradas");
+    }
+
+    /**
+     * Health check: tira do rodízio as réplicas que não respondem e devolve as que voltaram.
+     */
+    public void verificarReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(TIMEOUT_VALIDACAO_SEGUNDOS)) {
+                    replica.marcarDisponivel();
+                } else {
+                    replica.marcarIndisponivel("conexão inválida");
+                }
+            } catch (SQLException e) {
+                replica.marcarIndisponivel(e.getMessage());
+            }
+        }
+    }
+
+    private static final class Replica {
+
+        private final String nome;
+        private final DataSource dataSource;
+        private volatile boolean disponivel = true;
+
+        private Replica(String nome, DataSource dataSource) {
+            this.nome = nome;
+            this.dataSource = dataSource;
+        }
+
+        private void marcarIndisponivel(String motivo) {
+            if (disponivel) {
+                disponivel = false;
+                log.warn("Réplica {} indisponível, leituras seguem para as demais ou para a primária: {}", nome, motivo);
+            }
+        }
+
+        private void marcarDisponivel() {
+            if (!disponivel) {
+                disponivel = true;
+                log.info("Réplica {} disponível novamente", nome);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.album.seplag.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Cache de segundo nível do Hibernate (JCache sobre Caffeine) para as entidades de referência
+ * (Artista, Usuario e seus roles, Regional) e para as consultas findByUsername, findByNome e
+ * findAll de regionais. Cada região tem o seu limite de tamanho; as regiões são criadas aqui e
+ * missing_cache_strategy=fail impede que uma região não configurada nasça sem limite.
+ * As estatísticas (acertos/falhas por região) saem em /actuator/metrics/hibernate.second.level.cache.requests
+ * e hibernate.cache.query.requests.
+ * O cache é local à instância: alterações feitas fora da aplicação só aparecem após o TTL.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "second-level-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class SecondLevelCacheConfig {
+
+    // Região das marcas de alteração por tabela que invalidam o cache de consultas: nunca pode expirar
+    private static final String TIMESTAMPS = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${second-level-cache.ttl:PT10M}") Duration ttl,
+            @Value("${second-level-cache.max-size.artistas:10000}") long artistas,
+            @Value("${second-level-cache.max-size.usuarios:1000}") long usuarios,
+            @Value("${second-level-cache.max-size.regionais:1000}") long regionais,
+            @Value("${second-level-cache.max-size.consultas:1000}") long consultas) {
+        Map<String, Long> regioes = new LinkedHashMap<>();
+        regioes.put("artistas", artistas);
+        regioes.put("usuarios", usuarios);
+        regioes.put("usuarios.roles", usuarios);
+        regioes.put("regionais", regionais);
+        regioes.put("consultas.usuarios", consultas);
+        regioes.put("consultas.regionais", consultas);
+        regioes.put("default-query-results-region", consultas);
+
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // URI própria por contexto: cada ApplicationContext (inclusive em testes) tem as suas regiões
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("seplag-hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        regioes.forEach((regiao, tamanho) -> {
+            CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+            configuracao.setMaximumSize(OptionalLong.of(tamanho));
+            configuracao.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            cacheManager.createCache(regiao, configuracao);
+        });
+        cacheManager.createCache(TIMESTAMPS, new CaffeineConfiguration<>());
+        log.info("Cache de segundo nível ativo - regiões {} (TTL {})", regioes, ttl);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // Alimenta as métricas do Hibernate no actuator
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+}
@@ -1,5 +1,7 @@
 package com.album.seplag.config;
 
+import com.album.seplag.enums.CountMode;
+import com.album.seplag.enums.FormatoCatalogo;
 import com.album.seplag.enums.SortDirection;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
@@ -23,6 +25,8 @@ public class WebMvcConfig implements WebMvcConfigurer {
     @Override
     public void addFormatters(FormatterRegistry registry) {
         registry.addConverter(new StringToSortDirectionConverter());
+        registry.addConverter(new StringToCountModeConverter());
+        registry.addConverter(new StringToFormatoCatalogoConverter());
     }
 
     private static class StringToSortDirectionConverter implements Converter<String, SortDirection> {
@@ -33,6 +37,22 @@ public class WebMvcConfig implements WebMvcConfigurer {
         }
     }
 
+    private static class StringToCountModeConverter implements Converter<String, CountMode> {
+        @Override
+        public CountMode convert(String source) {
+            if (source == null || source.isBlank()) return CountMode.EXACT;
+            return CountMode.valueOf(source.trim().toUpperCase());
+        }
+    }
+
+    private static class StringToFormatoCatalogoConverter implements Converter<String, FormatoCatalogo> {
+        @Override
+        public FormatoCatalogo convert(String source) {
+            if (source == null || source.isBlank()) return FormatoCatalogo.NDJSON;
+            return FormatoCatalogo.valueOf(source.trim().toUpperCase());
+        }
+    }
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(rateLimitInterceptor)
@@ -1,11 +1,14 @@
 package com.album.seplag.controller;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -20,22 +23,39 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.album.seplag.cache.CatalogVersions;
+import com.album.seplag.cache.DtoJsonCache;
+import com.album.seplag.dto.AlbumBulkCreateDTO;
+import com.album.seplag.dto.BulkCreateResponseDTO;
 import com.album.seplag.dto.AlbumCreateDTO;
 import com.album.seplag.dto.AlbumDTO;
 import com.album.seplag.dto.AlbumUpdateDTO;
 import com.album.seplag.dto.CapaAlbumDTO;
+import com.album.seplag.dto.CursorPageResponseDTO;
 import com.album.seplag.dto.PageResponseDTO;
 import com.album.seplag.dto.PresignedUrlResponse;
+import com.album.seplag.enums.CountMode;
+import com.album.seplag.enums.FormatoCatalogo;
 import com.album.seplag.enums.SortDirection;
+import com.album.seplag.model.Album;
+import com.album.seplag.pagination.KeysetCursors;
+import com.album.seplag.projection.SparseFields;
 import com.album.seplag.service.AlbumService;
+import com.album.seplag.service.CatalogoExportService;
 import com.album.seplag.service.MinIOService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
@@ -45,15 +65,25 @@ public class AlbumController {
 
     private final AlbumService albumService;
     private final MinIOService minIOService;
+    private final DtoJsonCache dtoJsonCache;
+    private final CatalogVersions catalogVersions;
+    private final CatalogoExportService catalogoExportService;
+    private final ObjectResponseWriter objectResponseWriter;
 
-    public AlbumController(AlbumService albumService, MinIOService minIOService) {
+    public AlbumController(AlbumService albumService, MinIOService minIOService, DtoJsonCache dtoJsonCache,
+                           CatalogVersions catalogVersions, CatalogoExportService catalogoExportService,
+                           ObjectResponseWriter objectResponseWriter) {
         this.albumService = albumService;
         this.minIOService = minIOService;
+        this.dtoJsonCache = dtoJsonCache;
+        this.catalogVersions = catalogVersions;
+        this.catalogoExportService = catalogoExportService;
+        this.objectResponseWriter = objectResponseWriter;
     }
 
     @GetMapping
     @Operation(summary = "Listar álbuns", description = "Lista álbuns com paginação")
-    public ResponseEntity<PageResponseDTO<AlbumDTO>> findAll(
+    public ResponseEntity<PageResponseDTO<?>> findAll(
             @Parameter(description = "Número da página (começa em 0)")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Tamanho da página")
@@ -61,16 +91,61 @@ public class AlbumController {
             @Parameter(description = "Campo para ordenação")
             @RequestParam(defaultValue = "id") String sort,
             @Parameter(description = "Direção da ordenação")
-            @RequestParam(defaultValue = "ASC") SortDirection direction) {
+            @RequestParam(defaultValue = "ASC") SortDirection direction,
+            @Parameter(description = "Contagem do total: exact (COUNT), estimate (estatísticas do banco) ou none (sem total)")
+            @RequestParam(defaultValue = "EXACT") CountMode count,
+            @Parameter(description = "Campos da resposta separados por vírgula (ex.: id,titulo,artistaNome); o id sempre vem")
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
         
+        Set<String> campos = SparseFields.parse(fields, AlbumService.CAMPOS);
         Sort.Direction sortDirection = direction == SortDirection.DESC ? Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
-        return ResponseEntity.ok(PageResponseDTO.of(albumService.findAll(pageable)));
+        Supplier<PageResponseDTO<?>> body = campos == null
+                ? () -> albumService.findAll(pageable, count)
+                : () -> albumService.findAll(campos, pageable, count);
+        return ConditionalRequests.ifNoneMatch(request, catalogVersions.albunsEtag(), body);
+    }
+
+    @GetMapping(params = "limit")
+    @Operation(summary = "Listar álbuns por cursor", description = "Paginação keyset (sem OFFSET e sem COUNT); ativada pelo parâmetro limit")
+    public ResponseEntity<CursorPageResponseDTO<AlbumDTO>> findAllByCursor(
+            @Parameter(description = "Cursor opaco retornado em nextCursor/previousCursor (vazio na primeira página)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de itens por página (máx. 100); ativa a paginação por cursor")
+            @RequestParam int limit,
+            @Parameter(description = "Campo para ordenação")
+            @RequestParam(defaultValue = "id") String sort,
+            @Parameter(description = "Direção da ordenação")
+            @RequestParam(defaultValue = "ASC") SortDirection direction,
+            WebRequest request) {
+
+        Sort sortBy = KeysetCursors.sort("Album", sort, direction);
+        KeysetScrollPosition position = KeysetCursors.decode(cursor, Album.class, sortBy);
+        int pageLimit = KeysetCursors.limit(limit);
+        return ConditionalRequests.ifNoneMatch(request, catalogVersions.albunsEtag(),
+                () -> CursorPageResponseDTO.of(albumService.findAll(position, sortBy, pageLimit), position, pageLimit));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Buscar álbuns", description = "Busca por título do álbum e nome do artista, sem distinção de acentos, ordenada por relevância (sem total)")
+    public ResponseEntity<PageResponseDTO<AlbumDTO>> search(
+            @Parameter(description = "Termo de busca", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Número da página (começa em 0)")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamanho da página")
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+
+        Pageable pageable = PageRequest.of(page, size);
+        return ConditionalRequests.ifNoneMatch(request, catalogVersions.albunsEtag(),
+                () -> albumService.search(q, pageable));
     }
 
     @GetMapping("/artista/{artistaId}")
     @Operation(summary = "Listar álbuns por artista", description = "Lista álbuns de um artista específico")
-    public ResponseEntity<PageResponseDTO<AlbumDTO>> findByArtistaId(
+    public ResponseEntity<PageResponseDTO<?>> findByArtistaId(
             @PathVariable Long artistaId,
             @Parameter(description = "Número da página (começa em 0)")
             @RequestParam(defaultValue = "0") int page,
@@ -79,18 +154,36 @@ public class AlbumController {
             @Parameter(description = "Campo para ordenação")
             @RequestParam(defaultValue = "id") String sort,
             @Parameter(description = "Direção da ordenação")
-            @RequestParam(defaultValue = "ASC") SortDirection direction) {
+            @RequestParam(defaultValue = "ASC") SortDirection direction,
+            @Parameter(description = "Campos da resposta separados por vírgula (ex.: id,titulo,artistaNome); o id sempre vem")
+            @RequestParam(required = false) String fields) {
         
+        Set<String> campos = SparseFields.parse(fields, AlbumService.CAMPOS);
         Sort.Direction sortDirection = direction == SortDirection.DESC ? Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
+        if (campos != null) {
+            return ResponseEntity.ok(albumService.findByArtistaId(artistaId, campos, pageable));
+        }
         return ResponseEntity.ok(PageResponseDTO.of(albumService.findByArtistaId(artistaId, pageable)));
     }
 
+    @GetMapping(value = "/export", produces = {FormatoCatalogo.NDJSON_VALUE, FormatoCatalogo.CSV_VALUE})
+    @Operation(summary = "Exportar álbuns", description = "Exporta todos os álbuns em streaming (NDJSON ou CSV), com um único cursor no banco")
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "Formato do arquivo: ndjson ou csv")
+            @RequestParam(defaultValue = "NDJSON") FormatoCatalogo formato) {
+        return ResponseEntity.ok()
+                .contentType(formato.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"albuns." + formato.extensao() + "\"")
+                .body(out -> catalogoExportService.exportarAlbuns(out, formato));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar álbum por ID", description = "Retorna detalhes de um álbum")
-    public ResponseEntity<AlbumDTO> findById(@PathVariable Long id) {
-        AlbumDTO album = albumService.findById(id);
-        return ResponseEntity.ok(album);
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = AlbumDTO.class)))
+    public ResponseEntity<byte[]> findById(@PathVariable Long id, WebRequest request) {
+        return ConditionalRequests.ifNoneMatch(request, catalogVersions.albumEtag(id), MediaType.APPLICATION_JSON,
+                () -> dtoJsonCache.album(id, () -> albumService.findById(id)));
     }
 
     @PostMapping
@@ -100,6 +193,13 @@ public class AlbumController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Criar álbuns em lote", description = "Cria até 1000 álbuns em uma transação, com INSERTs em batch; retorna os ids na ordem enviada")
+    public ResponseEntity<BulkCreateResponseDTO> createBulk(@Valid @RequestBody AlbumBulkCreateDTO dto) {
+        BulkCreateResponseDTO created = albumService.createBulk(dto.albuns());
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Atualizar álbum", description = "Atualiza um álbum existente")
     public ResponseEntity<AlbumDTO> update(@PathVariable Long id, @Valid @RequestBody AlbumUpdateDTO dto) {
@@ -125,6 +225,18 @@ public class AlbumController {
         return ResponseEntity.status(HttpStatus.CREATED).body(capas);
     }
 
+    @PostMapping(value = "/{id}/capa", consumes = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, "image/webp",
+            MediaType.IMAGE_GIF_VALUE})
+    @Operation(summary = "Upload de capa sem multipart",
+            description = "Envia uma capa no corpo da requisição (image/jpeg, image/png, image/webp ou image/gif), gravada direto no armazenamento")
+    public ResponseEntity<List<CapaAlbumDTO>> uploadCapaStream(
+            @PathVariable Long id,
+            HttpServletRequest request) throws IOException {
+        CapaAlbumDTO capa = albumService.uploadCapa(id, request.getInputStream(), request.getContentLengthLong(),
+                request.getContentType());
+        return ResponseEntity.status(HttpStatus.CREATED).body(List.of(capa));
+    }
+
     @DeleteMapping("/{albumId}/capa/{capaId}")
     @Operation(summary = "Excluir capa", description = "Remove uma capa do álbum")
     public ResponseEntity<Void> deleteCapa(
@@ -145,19 +257,14 @@ public class AlbumController {
     
     @GetMapping("/{albumId}/capa/{capaId}/image")
     @Operation(summary = "Obter imagem da capa", description = "Retorna a imagem da capa do álbum")
-    public ResponseEntity<InputStreamResource> getCapaImage(
+    public void getCapaImage(
             @PathVariable Long albumId,
-            @PathVariable Long capaId) {
-        MinIOService.FileData fileData = minIOService.getCapaFile(albumId, capaId);
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType(fileData.getContentType()));
-        headers.setContentLength(fileData.getSize());
-        headers.setCacheControl("public, max-age=3600");
-        
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(new InputStreamResource(fileData.getInputStream()));
+            @PathVariable Long capaId,
+            @Parameter(description = "Maior lado desejado, em pixels: serve a menor miniatura com pelo menos esse tamanho, ou o original")
+            @RequestParam(required = false) Integer size,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        objectResponseWriter.write(minIOService.getCapaFile(albumId, capaId, size), request, response);
     }
 }
 
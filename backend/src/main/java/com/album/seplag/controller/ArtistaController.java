@@ -1,9 +1,13 @@
 package com.album.seplag.controller;
 
+import java.io.IOException;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -18,22 +22,39 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.album.seplag.cache.CatalogVersions;
+import com.album.seplag.cache.DtoJsonCache;
+import com.album.seplag.dto.ArtistaBulkCreateDTO;
+import com.album.seplag.dto.BulkCreateResponseDTO;
 import com.album.seplag.dto.ArtistaCreateDTO;
 import com.album.seplag.dto.ArtistaDTO;
 import com.album.seplag.dto.ArtistaUpdateDTO;
+import com.album.seplag.dto.CursorPageResponseDTO;
 import com.album.seplag.enums.TipoArtista;
 import com.album.seplag.dto.PageResponseDTO;
 import com.album.seplag.dto.PresignedUrlResponse;
+import com.album.seplag.enums.CountMode;
+import com.album.seplag.enums.FormatoCatalogo;
 import com.album.seplag.enums.SortDirection;
+import com.album.seplag.model.Artista;
+import com.album.seplag.pagination.KeysetCursors;
+import com.album.seplag.projection.SparseFields;
 import com.album.seplag.service.ArtistaService;
+import com.album.seplag.service.CatalogoExportService;
 import com.album.seplag.service.MinIOService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 
@@ -44,15 +65,25 @@ public class ArtistaController {
 
     private final ArtistaService artistaService;
     private final MinIOService minIOService;
+    private final DtoJsonCache dtoJsonCache;
+    private final CatalogVersions catalogVersions;
+    private final CatalogoExportService catalogoExportService;
+    private final ObjectResponseWriter objectResponseWriter;
 
-    public ArtistaController(ArtistaService artistaService, MinIOService minIOService) {
+    public ArtistaController(ArtistaService artistaService, MinIOService minIOService, DtoJsonCache dtoJsonCache,
+                             CatalogVersions catalogVersions, CatalogoExportService catalogoExportService,
+                             ObjectResponseWriter objectResponseWriter) {
         this.artistaService = artistaService;
         this.minIOService = minIOService;
+        this.dtoJsonCache = dtoJsonCache;
+        this.catalogVersions = catalogVersions;
+        this.catalogoExportService = catalogoExportService;
+        this.objectResponseWriter = objectResponseWriter;
     }
 
     @GetMapping
     @Operation(summary = "Listar artistas", description = "Lista artistas com paginação e filtros por nome e tipo")
-    public ResponseEntity<PageResponseDTO<ArtistaDTO>> findAll(
+    public ResponseEntity<PageResponseDTO<?>> findAll(
             @RequestParam(required = false) String nome,
             @Parameter(description = "Filtro por tipo: CANTOR ou BANDA")
             @RequestParam(required = false) TipoArtista tipo,
@@ -63,19 +94,63 @@ public class ArtistaController {
             @Parameter(description = "Campo para ordenação")
             @RequestParam(defaultValue = "nome") String sort,
             @Parameter(description = "Direção da ordenação")
-            @RequestParam(defaultValue = "ASC") SortDirection direction) {
+            @RequestParam(defaultValue = "ASC") SortDirection direction,
+            @Parameter(description = "Contagem do total: exact (COUNT), estimate (estatísticas do banco) ou none (sem total)")
+            @RequestParam(defaultValue = "EXACT") CountMode count,
+            @Parameter(description = "Campos da resposta separados por vírgula (ex.: id,nome,quantidadeAlbuns); o id sempre vem")
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
         
+        Set<String> campos = SparseFields.parse(fields, ArtistaService.CAMPOS);
         Sort.Direction sortDirection = direction == SortDirection.DESC ? Sort.Direction.DESC : Sort.Direction.ASC;
         
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
-        return ResponseEntity.ok(PageResponseDTO.of(artistaService.findAll(nome, tipo, pageable)));
+        Supplier<PageResponseDTO<?>> body = campos == null
+                ? () -> artistaService.findAll(nome, tipo, pageable, count)
+                : () -> artistaService.findAll(nome, tipo, campos, pageable, count);
+        return ConditionalRequests.ifNoneMatch(request, catalogVersions.artistasEtag(), body);
+    }
+
+    @GetMapping(params = "limit")
+    @Operation(summary = "Listar artistas por cursor", description = "Paginação keyset (sem OFFSET e sem COUNT) com filtros por nome e tipo; ativada pelo parâmetro limit")
+    public ResponseEntity<CursorPageResponseDTO<ArtistaDTO>> findAllByCursor(
+            @RequestParam(required = false) String nome,
+            @Parameter(description = "Filtro por tipo: CANTOR ou BANDA")
+            @RequestParam(required = false) TipoArtista tipo,
+            @Parameter(description = "Cursor opaco retornado em nextCursor/previousCursor (vazio na primeira página)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de itens por página (máx. 100); ativa a paginação por cursor")
+            @RequestParam int limit,
+            @Parameter(description = "Campo para ordenação")
+            @RequestParam(defaultValue = "nome") String sort,
+            @Parameter(description = "Direção da ordenação")
+            @RequestParam(defaultValue = "ASC") SortDirection direction,
+            WebRequest request) {
+
+        Sort sortBy = KeysetCursors.sort("Artista", sort, direction);
+        KeysetScrollPosition position = KeysetCursors.decode(cursor, Artista.class, sortBy);
+        int pageLimit = KeysetCursors.limit(limit);
+        return ConditionalRequests.ifNoneMatch(request, catalogVersions.artistasEtag(), () -> CursorPageResponseDTO.of(
+                artistaService.findAll(nome, tipo, position, sortBy, pageLimit), position, pageLimit));
+    }
+
+    @GetMapping(value = "/export", produces = {FormatoCatalogo.NDJSON_VALUE, FormatoCatalogo.CSV_VALUE})
+    @Operation(summary = "Exportar artistas", description = "Exporta todos os artistas em streaming (NDJSON ou CSV), com um único cursor no banco")
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "Formato do arquivo: ndjson ou csv")
+            @RequestParam(defaultValue = "NDJSON") FormatoCatalogo formato) {
+        return ResponseEntity.ok()
+                .contentType(formato.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"artistas." + formato.extensao() + "\"")
+                .body(out -> catalogoExportService.exportarArtistas(out, formato));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Buscar artista por ID", description = "Retorna detalhes de um artista")
-    public ResponseEntity<ArtistaDTO> findById(@PathVariable Long id) {
-        ArtistaDTO artista = artistaService.findById(id);
-        return ResponseEntity.ok(artista);
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = ArtistaDTO.class)))
+    public ResponseEntity<byte[]> findById(@PathVariable Long id, WebRequest request) {
+        return ConditionalRequests.ifNoneMatch(request, catalogVersions.artistaEtag(id), MediaType.APPLICATION_JSON,
+                () -> dtoJsonCache.artista(id, () -> artistaService.findById(id)));
     }
 
     @PostMapping
@@ -85,6 +160,13 @@ public class ArtistaController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Criar artistas em lote", description = "Cria até 1000 artistas em uma transação, com INSERTs em batch; retorna os ids na ordem enviada")
+    public ResponseEntity<BulkCreateResponseDTO> createBulk(@Valid @RequestBody ArtistaBulkCreateDTO dto) {
+        BulkCreateResponseDTO created = artistaService.createBulk(dto.artistas());
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Atualizar artista", description = "Atualiza um artista existente")
     public ResponseEntity<ArtistaDTO> update(@PathVariable Long id, @Valid @RequestBody ArtistaUpdateDTO dto) {
@@ -109,6 +191,18 @@ public class ArtistaController {
         return ResponseEntity.status(HttpStatus.CREATED).body(artistaService.findById(id));
     }
 
+    @PutMapping(value = "/{id}/foto", consumes = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, "image/webp",
+            MediaType.IMAGE_GIF_VALUE})
+    @Operation(summary = "Upload de foto sem multipart",
+            description = "Envia a foto no corpo da requisição (image/jpeg, image/png, image/webp ou image/gif), gravada direto no armazenamento (substitui anterior)")
+    public ResponseEntity<ArtistaDTO> uploadFotoStream(
+            @PathVariable Long id,
+            HttpServletRequest request) throws IOException {
+        minIOService.uploadFotoArtista(id, request.getInputStream(), request.getContentLengthLong(),
+                request.getContentType());
+        return ResponseEntity.ok(artistaService.findById(id));
+    }
+
     @DeleteMapping("/{id}/foto")
     @Operation(summary = "Remover foto", description = "Remove a foto do artista")
     public ResponseEntity<Void> deleteFoto(@PathVariable Long id) {
@@ -125,17 +219,13 @@ public class ArtistaController {
     
     @GetMapping("/{id}/foto/image")
     @Operation(summary = "Obter foto do artista", description = "Retorna a imagem da foto do artista")
-    public ResponseEntity<InputStreamResource> getFotoImage(@PathVariable Long id) {
-        MinIOService.FileData fileData = minIOService.getFotoArtistaFile(id);
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType(fileData.getContentType()));
-        headers.setContentLength(fileData.getSize());
-        headers.setCacheControl("public, max-age=3600");
-        
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(new InputStreamResource(fileData.getInputStream()));
+    public void getFotoImage(
+            @PathVariable Long id,
+            @Parameter(description = "Maior lado desejado, em pixels: serve a menor miniatura com pelo menos esse tamanho, ou o original")
+            @RequestParam(required = false) Integer size,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        objectResponseWriter.write(minIOService.getFotoArtistaFile(id, size), request, response);
     }
 }
 
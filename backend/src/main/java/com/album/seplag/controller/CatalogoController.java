@@ -0,0 +1,45 @@
+package com.album.seplag.controller;
+
+import com.album.seplag.dto.CatalogoImportResultDTO;
+import com.album.seplag.enums.FormatoCatalogo;
+import com.album.seplag.service.CatalogoImportService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping(value = "${app.api.base}/catalogo", produces = MediaType.APPLICATION_JSON_VALUE)
+@Tag(name = "Catálogo", description = "Importação de catálogo de artistas e álbuns")
+public class CatalogoController {
+
+    private final CatalogoImportService catalogoImportService;
+
+    public CatalogoController(CatalogoImportService catalogoImportService) {
+        this.catalogoImportService = catalogoImportService;
+    }
+
+    @PostMapping(value = "/importacao", consumes = {FormatoCatalogo.NDJSON_VALUE, FormatoCatalogo.CSV_VALUE})
+    @Operation(summary = "Importar catálogo",
+            description = "Lê o corpo em streaming (NDJSON ou CSV com cabeçalho artista,tipoArtista,genero,titulo,dataLancamento), "
+                    + "resolve artistas pelo nome e grava em lotes; retorna o resumo com os erros por linha")
+    @RequestBody(content = {
+            @Content(mediaType = FormatoCatalogo.NDJSON_VALUE, schema = @Schema(type = "string", format = "binary")),
+            @Content(mediaType = FormatoCatalogo.CSV_VALUE, schema = @Schema(type = "string", format = "binary"))})
+    public ResponseEntity<CatalogoImportResultDTO> importar(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream conteudo) {
+        return ResponseEntity.ok(catalogoImportService.importar(conteudo, FormatoCatalogo.of(contentType)));
+    }
+}
@@ -0,0 +1,37 @@
+package com.album.seplag.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * GET condicional com If-None-Match: o ETag é calculado antes do corpo, e o corpo
+ * (consulta + mapeamento para DTO) só é gerado quando o cliente não tem a versão atual.
+ */
+final class ConditionalRequests {
+
+    // Permite ao navegador guardar a resposta, mas sempre revalidando com o ETag
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalRequests() {
+    }
+
+    static <T> ResponseEntity<T> ifNoneMatch(WebRequest request, String etag, Supplier<T> body) {
+        return ifNoneMatch(request, etag, null, body);
+    }
+
+    static <T> ResponseEntity<T> ifNoneMatch(WebRequest request, String etag, MediaType contentType, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE);
+        if (contentType != null) {
+            builder.contentType(contentType);
+        }
+        return builder.body(body.get());
+    }
+}
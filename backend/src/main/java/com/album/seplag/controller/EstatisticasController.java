@@ -0,0 +1,34 @@
+package com.album.seplag.controller;
+
+import com.album.seplag.dto.EstatisticasDTO;
+import com.album.seplag.service.EstatisticasService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping(value = "${app.api.base}/estatisticas", produces = MediaType.APPLICATION_JSON_VALUE)
+@Tag(name = "Estatísticas", description = "Estatísticas agregadas do catálogo")
+public class EstatisticasController {
+
+    private final EstatisticasService estatisticasService;
+
+    public EstatisticasController(EstatisticasService estatisticasService) {
+        this.estatisticasService = estatisticasService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Estatísticas do catálogo",
+            description = "Quantidade de álbuns por ano de lançamento, artista, gênero e tipo de artista. "
+                    + "Servidas de um snapshot em memória, recalculado após alterações; geracao identifica o snapshot")
+    public ResponseEntity<EstatisticasDTO> estatisticas(WebRequest request) {
+        EstatisticasDTO estatisticas = estatisticasService.snapshot();
+        return ConditionalRequests.ifNoneMatch(request, estatisticasService.etag(estatisticas), () -> estatisticas);
+    }
+}
@@ -0,0 +1,180 @@
+package com.album.seplag.controller;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.album.seplag.cache.CachedImage;
+import com.album.seplag.cache.ImageCache;
+import com.album.seplag.exception.RangeNotSatisfiableException;
+import com.album.seplag.storage.ObjectContent;
+import com.album.seplag.storage.ObjectRef;
+import com.album.seplag.storage.ObjectStat;
+import com.album.seplag.storage.ObjectStorage;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Envia imagens do ObjectStorage direto na resposta do servlet. If-None-Match/If-Modified-Since são
+ * respondidos com 304 a partir do ObjectRef, sem tocar no armazenamento; Range (um intervalo só) gera 206.
+ * No MinIO o conteúdo sai do ImageCache ou de um único GET, que preenche o cache quando pede o objeto
+ * inteiro. No armazenamento local com o Tomcat, arquivos grandes vão por
+ * sendfile (o Tomcat envia o arquivo ao socket depois que o controller retorna, como no DefaultServlet);
+ * nos demais casos, ObjectStorage.transferTo no stream da resposta.
+ */
+@Component
+public class ObjectResponseWriter {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    // Mesmo limite do DefaultServlet: abaixo disso, a cópia comum sai mais barata que o sendfile
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+    private static final String CACHE_CONTROL = "public, max-age=3600";
+
+    private final ObjectStorage objectStorage;
+    private final ImageCache imageCache;
+
+    public ObjectResponseWriter(ObjectStorage objectStorage, ImageCache imageCache) {
+        this.objectStorage = objectStorage;
+        this.imageCache = imageCache;
+    }
+
+    public void write(ObjectRef objeto, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        long lastModified = objeto.lastModified() != null ? objeto.lastModified().toEpochMilli() : -1;
+        if (new ServletWebRequest(request, response).checkNotModified(objeto.etag(), lastModified)) {
+            return;
+        }
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        HttpRange range = range(request, objeto);
+
+        Optional<Path> arquivo = objectStorage.localFile(objeto.key());
+        if (arquivo.isPresent()) {
+            writeLocal(objeto.key(), arquivo.get(), range, request, response);
+            return;
+        }
+        CachedImage cached = imageCache.get(objeto.key());
+        if (cached != null) {
+            writeCached(objeto.key(), cached, range, response);
+            return;
+        }
+        try (ObjectContent conteudo = objectStorage.open(objeto.key(), range)) {
+            if (range == null && imageCache.cacheable(conteudo.length())) {
+                writeCached(objeto.key(), imageCache.put(objeto.key(), conteudo), null, response);
+                return;
+            }
+            headers(response, conteudo.stat(), conteudo.start(), conteudo.length(), conteudo.partial());
+            conteudo.content().transferTo(response.getOutputStream());
+        }
+    }
+
+    private void writeCached(String key, CachedImage cached, HttpRange range, HttpServletResponse response)
+            throws IOException {
+        Intervalo intervalo = intervalo(key, cached.stat().size(), range);
+        headers(response, cached.stat(), intervalo.start(), intervalo.length(), range != null);
+        ByteBuffer conteudo = cached.slice(intervalo.start(), intervalo.length());
+        WritableByteChannel canal = Channels.newChannel(response.getOutputStream());
+        while (conteudo.hasRemaining()) {
+            canal.write(conteudo);
+        }
+    }
+
+    private void writeLocal(String key, Path arquivo, HttpRange range, HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        ObjectStat stat = objectStorage.stat(key);
+        Intervalo intervalo = intervalo(key, stat.size(), range);
+        long start = intervalo.start();
+        long length = intervalo.length();
+        headers(response, stat, start, length, range != null);
+
+        if (length >= SENDFILE_MIN_SIZE && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, arquivo.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+        objectStorage.transferTo(key, start, length, Channels.newChannel(response.getOutputStream()));
+    }
+
+    private static Intervalo intervalo(String key, long size, HttpRange range) {
+        if (range == null) {
+            return new Intervalo(0, size);
+        }
+        long start;
+        long end;
+        try {
+            start = range.getRangeStart(size);
+            end = range.getRangeEnd(size);
+        } catch (IllegalArgumentException e) {
+            throw new RangeNotSatisfiableException(key, size);
+        }
+        if (start >= size) {
+            throw new RangeNotSatisfiableException(key, size);
+        }
+        return new Intervalo(start, end - start + 1);
+    }
+
+    private static void headers(HttpServletResponse response, ObjectStat stat, long start, long length, boolean partial) {
+        if (partial) {
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + start + "-" + (start + length - 1) + "/" + stat.size());
+        }
+        response.setContentType(stat.contentType());
+        response.setContentLengthLong(length);
+    }
+
+    /**
+     * Intervalo pedido, ou null para a resposta inteira: sem Range, Range inválido ou com vários
+     * intervalos (multipart/byteranges não é suportado), ou If-Range que não corresponde ao objeto.
+     */
+    private static HttpRange range(HttpServletRequest request, ObjectRef objeto) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(objeto.etag()) && !mesmaData(ifRange, objeto.lastModified())) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean mesmaData(String data, Instant lastModified) {
+        if (lastModified == null) {
+            return false;
+        }
+        try {
+            Instant informada = ZonedDateTime.parse(data, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return informada.getEpochSecond() == lastModified.getEpochSecond();
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private record Intervalo(long start, long length) {
+    }
+}
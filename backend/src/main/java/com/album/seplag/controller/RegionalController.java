@@ -7,6 +7,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -23,9 +24,8 @@ public class RegionalController {
 
     @GetMapping
     @Operation(summary = "Listar regionais", description = "Lista todas as regionais sincronizadas")
-    public ResponseEntity<List<RegionalDTO>> findAll() {
-        List<RegionalDTO> regionais = regionalService.findAll();
-        return ResponseEntity.ok(regionais);
+    public ResponseEntity<List<RegionalDTO>> findAll(WebRequest request) {
+        return ConditionalRequests.ifNoneMatch(request, regionalService.etag(), regionalService::findAll);
     }
 
     @PostMapping("/sincronizar")
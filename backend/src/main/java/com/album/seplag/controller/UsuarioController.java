@@ -1,5 +1,6 @@
 package com.album.seplag.controller;
 
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -22,11 +23,14 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.album.seplag.dto.AlterarSenhaAdminDTO;
 import com.album.seplag.dto.AlterarSenhaDTO;
+import com.album.seplag.dto.CursorPageResponseDTO;
 import com.album.seplag.dto.PageResponseDTO;
 import com.album.seplag.dto.UsuarioCreateDTO;
 import com.album.seplag.dto.UsuarioDTO;
 import com.album.seplag.dto.UsuarioUpdateDTO;
 import com.album.seplag.enums.SortDirection;
+import com.album.seplag.model.Usuario;
+import com.album.seplag.pagination.KeysetCursors;
 import com.album.seplag.service.UsuarioService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -88,6 +92,25 @@ public class UsuarioController {
         return ResponseEntity.ok(PageResponseDTO.of(usuarioService.findAll(pageable)));
     }
 
+    @GetMapping(params = "limit")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @Operation(summary = "Listar usuários por cursor", description = "Paginação keyset sem OFFSET e sem COUNT; ativada pelo parâmetro limit (apenas ADMIN)")
+    public ResponseEntity<CursorPageResponseDTO<UsuarioDTO>> findAllByCursor(
+            @Parameter(description = "Cursor opaco retornado em nextCursor/previousCursor (vazio na primeira página)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de itens por página (máx. 100); ativa a paginação por cursor")
+            @RequestParam int limit,
+            @Parameter(description = "Campo para ordenação")
+            @RequestParam(defaultValue = "id") String sort,
+            @Parameter(description = "Direção da ordenação")
+            @RequestParam(defaultValue = "ASC") SortDirection direction) {
+
+        Sort sortBy = KeysetCursors.sort("Usuario", sort, direction);
+        KeysetScrollPosition position = KeysetCursors.decode(cursor, Usuario.class, sortBy);
+        int pageLimit = KeysetCursors.limit(limit);
+        return ResponseEntity.ok(CursorPageResponseDTO.of(usuarioService.findAll(position, sortBy, pageLimit), position, pageLimit));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @Operation(summary = "Buscar usuário por ID", description = "Retorna detalhes de um usuário (apenas ADMIN)")
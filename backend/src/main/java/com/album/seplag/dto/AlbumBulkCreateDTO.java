@@ -0,0 +1,16 @@
+package com.album.seplag.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO para criação de álbuns em lote.
+ */
+public record AlbumBulkCreateDTO(
+    @NotEmpty(message = "Informe ao menos um álbum")
+    @Size(max = 1000, message = "Lote deve ter no máximo 1000 álbuns")
+    List<@Valid AlbumCreateDTO> albuns
+) {}
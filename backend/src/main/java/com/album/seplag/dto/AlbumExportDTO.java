@@ -0,0 +1,19 @@
+package com.album.seplag.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Linha da exportação de álbuns (NDJSON/CSV). Sem capas, para não consultar capas_album por álbum.
+ */
+@JsonPropertyOrder({"id", "titulo", "artistaId", "artistaNome", "dataLancamento", "createdAt"})
+public record AlbumExportDTO(
+    Long id,
+    String titulo,
+    Long artistaId,
+    String artistaNome,
+    LocalDate dataLancamento,
+    LocalDateTime createdAt
+) {}
@@ -0,0 +1,16 @@
+package com.album.seplag.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO para criação de artistas em lote.
+ */
+public record ArtistaBulkCreateDTO(
+    @NotEmpty(message = "Informe ao menos um artista")
+    @Size(max = 1000, message = "Lote deve ter no máximo 1000 artistas")
+    List<@Valid ArtistaCreateDTO> artistas
+) {}
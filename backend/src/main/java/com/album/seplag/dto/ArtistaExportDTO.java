@@ -0,0 +1,19 @@
+package com.album.seplag.dto;
+
+import com.album.seplag.enums.TipoArtista;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha da exportação de artistas (NDJSON/CSV).
+ */
+@JsonPropertyOrder({"id", "nome", "genero", "tipoArtista", "biografia", "createdAt"})
+public record ArtistaExportDTO(
+    Long id,
+    String nome,
+    String genero,
+    TipoArtista tipoArtista,
+    String biografia,
+    LocalDateTime createdAt
+) {}
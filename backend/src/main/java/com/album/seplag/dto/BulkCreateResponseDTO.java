@@ -0,0 +1,11 @@
+package com.album.seplag.dto;
+
+import java.util.List;
+
+/**
+ * Resposta da criação em lote: ids gerados, na mesma ordem dos itens enviados.
+ */
+public record BulkCreateResponseDTO(
+    int quantidade,
+    List<Long> ids
+) {}
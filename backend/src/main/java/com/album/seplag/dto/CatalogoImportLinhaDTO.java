@@ -0,0 +1,17 @@
+package com.album.seplag.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Uma linha do arquivo de importação (NDJSON ou CSV com cabeçalho).
+ * Sem título, a linha cadastra só o artista. Os campos chegam como texto e são validados
+ * linha a linha, para que um valor inválido vire erro daquela linha e não interrompa a leitura.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record CatalogoImportLinhaDTO(
+    String artista,
+    String tipoArtista,
+    String genero,
+    String titulo,
+    String dataLancamento
+) {}
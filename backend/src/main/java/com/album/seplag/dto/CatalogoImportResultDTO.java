@@ -0,0 +1,19 @@
+package com.album.seplag.dto;
+
+import java.util.List;
+
+/**
+ * Resumo da importação de catálogo. erros traz no máximo as primeiras ocorrências;
+ * linhasComErro conta todas.
+ */
+public record CatalogoImportResultDTO(
+    long linhasLidas,
+    long artistasCriados,
+    long albunsCriados,
+    long linhasComErro,
+    List<ErroLinha> erros,
+    long duracaoMs
+) {
+
+    public record ErroLinha(long linha, String mensagem) {}
+}
@@ -0,0 +1,38 @@
+package com.album.seplag.dto;
+
+import com.album.seplag.pagination.KeysetCursors;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resposta da paginação por cursor (keyset). Não informa totais: nenhuma consulta COUNT é executada.
+ * nextCursor/previousCursor são opacos e devem ser repassados no parâmetro cursor.
+ */
+public record CursorPageResponseDTO<T>(
+    List<T> content,
+    int limit,
+    String nextCursor,
+    String previousCursor
+) {
+    public static <T> CursorPageResponseDTO<T> of(Window<T> window, KeysetScrollPosition requested, int limit) {
+        if (window.isEmpty()) {
+            return new CursorPageResponseDTO<>(List.of(), limit, null, null);
+        }
+
+        // Em ambas as direções o conteúdo vem na ordem natural; hasNext indica mais itens no sentido percorrido
+        boolean forward = requested.scrollsForward();
+        boolean moreAhead = forward ? window.hasNext() : !requested.isInitial();
+        boolean moreBehind = forward ? !requested.isInitial() : window.hasNext();
+
+        String next = moreAhead ? KeysetCursors.encode(keysAt(window, window.size() - 1), true) : null;
+        String previous = moreBehind ? KeysetCursors.encode(keysAt(window, 0), false) : null;
+        return new CursorPageResponseDTO<>(window.getContent(), limit, next, previous);
+    }
+
+    private static Map<String, Object> keysAt(Window<?> window, int index) {
+        return ((KeysetScrollPosition) window.positionAt(index)).getKeys();
+    }
+}
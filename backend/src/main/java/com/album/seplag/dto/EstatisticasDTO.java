@@ -0,0 +1,32 @@
+package com.album.seplag.dto;
+
+import com.album.seplag.enums.TipoArtista;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Estatísticas do catálogo (quantidade de álbuns por dimensão). geracao aumenta a cada recálculo
+ * e identifica o snapshot; atualizadoEm é o momento em que ele foi calculado.
+ */
+public record EstatisticasDTO(
+    long geracao,
+    Instant atualizadoEm,
+    long totalArtistas,
+    long totalAlbuns,
+    List<PorAno> porAno,
+    List<PorArtista> porArtista,
+    List<PorGenero> porGenero,
+    List<PorTipoArtista> porTipoArtista
+) {
+
+    // ano nulo: álbuns sem data de lançamento
+    public record PorAno(Integer ano, long quantidade) {}
+
+    public record PorArtista(Long artistaId, String nome, long quantidade) {}
+
+    // genero nulo: artistas sem gênero informado
+    public record PorGenero(String genero, long quantidade) {}
+
+    public record PorTipoArtista(TipoArtista tipoArtista, long quantidade) {}
+}
@@ -1,21 +1,25 @@
 package com.album.seplag.dto;
 
+import com.album.seplag.enums.CountMode;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
 /**
  * DTO de resposta paginada com estrutura estável para serialização JSON.
  * Evita dependência da serialização interna do Spring Data Page/PageImpl.
+ * totalElements/totalPages são nulos quando countMode = NONE e aproximados quando countMode = ESTIMATE.
  */
 public record PageResponseDTO<T>(
     List<T> content,
     int number,
     int size,
-    long totalElements,
-    int totalPages,
+    Long totalElements,
+    Integer totalPages,
     boolean first,
-    boolean last
+    boolean last,
+    CountMode countMode
 ) {
     public static <T> PageResponseDTO<T> of(Page<T> page) {
         return new PageResponseDTO<>(
@@ -25,7 +29,41 @@ public record PageResponseDTO<T>(
             page.getTotalElements(),
             page.getTotalPages(),
             page.isFirst(),
-            page.isLast()
+            page.isLast(),
+            CountMode.EXACT
+        );
+    }
+
+    public static <T> PageResponseDTO<T> of(Slice<T> slice) {
+        return new PageResponseDTO<>(
+            slice.getContent(),
+            slice.getNumber(),
+            slice.getSize(),
+            null,
+            null,
+            slice.isFirst(),
+            slice.isLast(),
+            CountMode.NONE
+        );
+    }
+
+    /**
+     * Página com total estimado. O total nunca fica abaixo do que a própria página já comprova
+     * (estatísticas desatualizadas), e last vem do Slice, não da estimativa.
+     */
+    public static <T> PageResponseDTO<T> of(Slice<T> slice, long estimatedTotal) {
+        long seen = (long) slice.getNumber() * slice.getSize() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+        long total = Math.max(estimatedTotal, seen);
+        int totalPages = slice.getSize() == 0 ? 1 : (int) Math.ceil((double) total / slice.getSize());
+        return new PageResponseDTO<>(
+            slice.getContent(),
+            slice.getNumber(),
+            slice.getSize(),
+            total,
+            totalPages,
+            slice.isFirst(),
+            slice.isLast(),
+            CountMode.ESTIMATE
         );
     }
 }
@@ -0,0 +1,15 @@
+package com.album.seplag.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Como a listagem paginada calcula totalElements/totalPages.
+ * EXACT executa COUNT(*); ESTIMATE usa as estatísticas do planner do PostgreSQL;
+ * NONE não conta e informa apenas se existe próxima página.
+ */
+@Schema(description = "Modo de contagem da paginação", allowableValues = {"EXACT", "ESTIMATE", "NONE"})
+public enum CountMode {
+    EXACT,
+    ESTIMATE,
+    NONE
+}
@@ -0,0 +1,30 @@
+package com.album.seplag.enums;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Formatos de arquivo da importação e da exportação de catálogo.
+ * Na importação o formato vem do Content-Type; na exportação, do parâmetro formato.
+ */
+public enum FormatoCatalogo {
+    NDJSON,
+    CSV;
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+    public static final String CSV_VALUE = "text/csv";
+
+    public MediaType mediaType() {
+        return MediaType.parseMediaType(this == CSV ? CSV_VALUE : NDJSON_VALUE);
+    }
+
+    public String extensao() {
+        return this == CSV ? "csv" : "ndjson";
+    }
+
+    public static FormatoCatalogo of(MediaType contentType) {
+        if (contentType != null && contentType.isCompatibleWith(MediaType.parseMediaType(CSV_VALUE))) {
+            return CSV;
+        }
+        return NDJSON;
+    }
+}
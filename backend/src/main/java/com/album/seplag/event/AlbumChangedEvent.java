@@ -0,0 +1,15 @@
+package com.album.seplag.event;
+
+import java.util.Set;
+
+/**
+ * Publicado quando um álbum (ou suas capas) é alterado.
+ * artistasAfetados lista os artistas cuja lista de álbuns mudou (criação, exclusão ou troca de artista);
+ * fica vazio quando só os dados do próprio álbum mudaram.
+ */
+public record AlbumChangedEvent(Long albumId, ChangeType type, Set<Long> artistasAfetados) {
+
+    public AlbumChangedEvent {
+        artistasAfetados = artistasAfetados == null ? Set.of() : Set.copyOf(artistasAfetados);
+    }
+}
@@ -0,0 +1,7 @@
+package com.album.seplag.event;
+
+/**
+ * Publicado quando um artista (ou sua foto) é alterado.
+ */
+public record ArtistaChangedEvent(Long artistaId, ChangeType type) {
+}
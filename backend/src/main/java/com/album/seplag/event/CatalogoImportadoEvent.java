@@ -0,0 +1,7 @@
+package com.album.seplag.event;
+
+/**
+ * Publicado uma vez ao fim de uma importação de catálogo, no lugar de um evento por artista/álbum.
+ */
+public record CatalogoImportadoEvent(long artistasCriados, long albunsCriados) {
+}
@@ -0,0 +1,10 @@
+package com.album.seplag.event;
+
+/**
+ * Tipo de alteração publicada nos eventos de domínio.
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
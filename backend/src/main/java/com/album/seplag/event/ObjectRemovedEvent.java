@@ -0,0 +1,7 @@
+package com.album.seplag.event;
+
+/**
+ * Publicado quando um objeto do armazenamento (capa ou foto) deixa de ser referenciado.
+ */
+public record ObjectRemovedEvent(String key) {
+}
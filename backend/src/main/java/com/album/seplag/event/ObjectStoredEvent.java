@@ -0,0 +1,7 @@
+package com.album.seplag.event;
+
+/**
+ * Publicado quando uma capa ou foto nova é gravada no armazenamento.
+ */
+public record ObjectStoredEvent(String key) {
+}
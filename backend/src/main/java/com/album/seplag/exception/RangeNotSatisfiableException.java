@@ -0,0 +1,15 @@
+package com.album.seplag.exception;
+
+public class RangeNotSatisfiableException extends RuntimeException {
+
+    private final long size;
+
+    public RangeNotSatisfiableException(String key, long size) {
+        super("Intervalo fora do arquivo " + key + " (" + size + " bytes)");
+        this.size = size;
+    }
+
+    public long getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,12 @@
+package com.album.seplag.exception;
+
+/**
+ * Exceção lançada quando um upload de imagem não é de um tipo aceito ou o conteúdo não corresponde
+ * ao tipo declarado.
+ */
+public class UnsupportedImageTypeException extends RuntimeException {
+
+    public UnsupportedImageTypeException(String message) {
+        super(message);
+    }
+}
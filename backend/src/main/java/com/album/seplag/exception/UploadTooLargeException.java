@@ -0,0 +1,11 @@
+package com.album.seplag.exception;
+
+/**
+ * Exceção lançada quando o corpo de um upload sem multipart passa de upload.max-size.
+ */
+public class UploadTooLargeException extends RuntimeException {
+
+    public UploadTooLargeException(long maxSize) {
+        super("Arquivo maior que o limite de " + maxSize + " bytes");
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -18,7 +19,9 @@ import java.util.List;
 public class Album {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequência com blocos de 50 ids (V12): mantém o batching de INSERTs, que IDENTITY desativa
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "albuns_seq")
+    @SequenceGenerator(name = "albuns_seq", sequenceName = "albuns_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -44,6 +47,8 @@ public class Album {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // Carrega as capas de vários álbuns da página em um único SELECT ... IN (...)
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "album", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<CapaAlbum> capas = new ArrayList<>();
 
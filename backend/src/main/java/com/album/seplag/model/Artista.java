@@ -2,6 +2,8 @@ package com.album.seplag.model;
 
 import com.album.seplag.enums.TipoArtista;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,13 +14,16 @@ import java.util.List;
 
 @Entity
 @Table(name = "artistas")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "artistas")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Artista {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "artistas_seq")
+    @SequenceGenerator(name = "artistas_seq", sequenceName = "artistas_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 public class CapaAlbum {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "capas_album_seq")
+    @SequenceGenerator(name = "capas_album_seq", sequenceName = "capas_album_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,39 @@
+package com.album.seplag.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Conteúdo de imagem gravado uma vez por SHA-256 e compartilhado pelas capas e fotos que apontam
+ * para nomeArquivo. As alterações de referencias são feitas por UPDATE direto no ConteudoRepository.
+ */
+@Entity
+@Table(name = "conteudos")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Conteudo {
+
+    @Id
+    @Column(name = "hash", length = 64)
+    private String hash;
+
+    @Column(name = "nome_arquivo", nullable = false, unique = true, length = 500)
+    private String nomeArquivo;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "tamanho", nullable = false)
+    private Long tamanho;
+
+    @Column(name = "referencias", nullable = false)
+    private Integer referencias;
+
+    @Column(name = "data_criacao", nullable = false, updatable = false)
+    private LocalDateTime dataCriacao;
+}
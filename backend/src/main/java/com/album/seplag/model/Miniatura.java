@@ -0,0 +1,47 @@
+package com.album.seplag.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versão reduzida de uma capa ou foto de artista, identificada pela chave do objeto original.
+ */
+@Entity
+@Table(name = "miniaturas")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Miniatura {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "miniaturas_seq")
+    @SequenceGenerator(name = "miniaturas_seq", sequenceName = "miniaturas_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "objeto_original", nullable = false, length = 500)
+    private String objetoOriginal;
+
+    @Column(name = "dimensao", nullable = false)
+    private Integer dimensao;
+
+    @Column(name = "nome_arquivo", nullable = false, length = 500)
+    private String nomeArquivo;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(name = "tamanho", nullable = false)
+    private Long tamanho;
+
+    @Column(name = "data_criacao", nullable = false, updatable = false)
+    private LocalDateTime dataCriacao;
+
+    @PrePersist
+    protected void onCreate() {
+        dataCriacao = LocalDateTime.now();
+    }
+}
@@ -1,6 +1,8 @@
 package com.album.seplag.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,6 +11,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "regionais")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "regionais")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
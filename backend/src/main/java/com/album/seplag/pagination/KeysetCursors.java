@@ -0,0 +1,114 @@
+package com.album.seplag.pagination;
+
+import com.album.seplag.enums.SortDirection;
+import com.album.seplag.exception.InvalidCursorException;
+import com.album.seplag.validation.SortPropertyValidator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.support.DefaultFormattingConversionService;
+
+import java.beans.PropertyDescriptor;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Codifica e decodifica cursores opacos da paginação keyset.
+ * O cursor é um JSON em Base64 URL-safe com a direção e os valores de (coluna de ordenação, id)
+ * do último (ou primeiro) registro entregue.
+ */
+public final class KeysetCursors {
+
+    public static final int MAX_LIMIT = 100;
+
+    private static final String ID = "id";
+    private static final String FORWARD = "F";
+    private static final String BACKWARD = "B";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ConversionService CONVERSION = new DefaultFormattingConversionService();
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {};
+
+    private KeysetCursors() {
+    }
+
+    public static int limit(int requested) {
+        return Math.min(Math.max(requested, 1), MAX_LIMIT);
+    }
+
+    /**
+     * Valida a propriedade de ordenação e monta o Sort com desempate por id.
+     */
+    public static Sort sort(String entityType, String property, SortDirection direction) {
+        Set<String> allowed = SortPropertyValidator.getKeysetPropertiesForEntity(entityType);
+        if (!allowed.contains(property)) {
+            throw new InvalidCursorException(String.format(
+                    "Ordenação por '%s' não suportada na paginação por cursor. Propriedades válidas para %s: %s",
+                    property, entityType, String.join(", ", allowed)));
+        }
+        Sort.Direction sortDirection = direction == SortDirection.DESC ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = Sort.by(sortDirection, property);
+        return ID.equals(property) ? sort : sort.and(Sort.by(sortDirection, ID));
+    }
+
+    public static KeysetScrollPosition decode(String cursor, Class<?> entityClass, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, Object> payload;
+        try {
+            payload = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), PAYLOAD_TYPE);
+        } catch (Exception e) {
+            throw new InvalidCursorException("Cursor inválido", e);
+        }
+
+        if (!(payload.get("k") instanceof Map<?, ?> rawKeys) || !(payload.get("d") instanceof String direction)) {
+            throw new InvalidCursorException("Cursor inválido");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : sort) {
+            Object raw = rawKeys.get(order.getProperty());
+            if (raw == null) {
+                throw new InvalidCursorException("Cursor não corresponde à ordenação informada");
+            }
+            keys.put(order.getProperty(), convert(raw.toString(), entityClass, order.getProperty()));
+        }
+        if (keys.size() != rawKeys.size()) {
+            throw new InvalidCursorException("Cursor não corresponde à ordenação informada");
+        }
+
+        return BACKWARD.equals(direction) ? ScrollPosition.backward(keys) : ScrollPosition.forward(keys);
+    }
+
+    public static String encode(Map<String, ?> keys, boolean forward) {
+        Map<String, String> values = new LinkedHashMap<>();
+        keys.forEach((property, value) -> values.put(property, CONVERSION.convert(value, String.class)));
+        try {
+            byte[] json = MAPPER.writeValueAsBytes(Map.of("d", forward ? FORWARD : BACKWARD, "k", values));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (Exception e) {
+            throw new IllegalStateException("Erro ao gerar cursor", e);
+        }
+    }
+
+    private static Object convert(String value, Class<?> entityClass, String property) {
+        PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(entityClass, property);
+        if (descriptor == null) {
+            throw new InvalidCursorException("Cursor inválido");
+        }
+        try {
+            return CONVERSION.convert(value, descriptor.getPropertyType());
+        } catch (Exception e) {
+            throw new InvalidCursorException("Cursor inválido", e);
+        }
+    }
+}
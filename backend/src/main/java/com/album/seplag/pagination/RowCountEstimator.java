@@ -0,0 +1,72 @@
+package com.album.seplag.pagination;
+
+import com.album.seplag.config.DatabasePlatform;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Estimativa de linhas a partir das estatísticas do planner do PostgreSQL, para paginação sem COUNT(*).
+ * Retorna vazio quando a estimativa não está disponível (H2, tabela nunca analisada, erro),
+ * e o chamador volta para a contagem exata.
+ */
+@Slf4j
+@Component
+public class RowCountEstimator {
+
+    private static final Pattern ROWS = Pattern.compile("rows=(\\d+)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabasePlatform databasePlatform;
+
+    public RowCountEstimator(JdbcTemplate jdbcTemplate, DatabasePlatform databasePlatform) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databasePlatform = databasePlatform;
+    }
+
+    /**
+     * Total de linhas da tabela segundo pg_class.reltuples (atualizado por ANALYZE/autovacuum).
+     */
+    public OptionalLong estimateTable(String table) {
+        if (!databasePlatform.isPostgres()) {
+            return OptionalLong.empty();
+        }
+        try {
+            Long reltuples = jdbcTemplate.queryForObject(
+                    "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)", Long.class, table);
+            // -1 indica tabela ainda não analisada
+            return reltuples != null && reltuples >= 0 ? OptionalLong.of(reltuples) : OptionalLong.empty();
+        } catch (DataAccessException e) {
+            log.warn("Falha ao estimar linhas da tabela {}: {}", table, e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * Linhas estimadas pelo planner para SELECT 1 FROM table WHERE where (EXPLAIN, sem executar a consulta).
+     * table e where são montados pelo código da aplicação; valores do usuário vão apenas em args.
+     */
+    public OptionalLong estimateWhere(String table, String where, Object... args) {
+        if (!databasePlatform.isPostgres()) {
+            return OptionalLong.empty();
+        }
+        try {
+            List<String> plan = jdbcTemplate.queryForList(
+                    "EXPLAIN SELECT 1 FROM " + table + " WHERE " + where, String.class, args);
+            if (plan.isEmpty()) {
+                return OptionalLong.empty();
+            }
+            Matcher matcher = ROWS.matcher(plan.get(0));
+            return matcher.find() ? OptionalLong.of(Long.parseLong(matcher.group(1))) : OptionalLong.empty();
+        } catch (DataAccessException e) {
+            log.warn("Falha ao estimar linhas de {} com filtro: {}", table, e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+}
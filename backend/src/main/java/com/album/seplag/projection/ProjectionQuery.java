@@ -0,0 +1,135 @@
+package com.album.seplag.projection;
+
+import com.album.seplag.dto.PageResponseDTO;
+import com.album.seplag.enums.CountMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Listagem com fields=: seleciona via Criteria (tuplas) só as colunas pedidas, sem carregar entidades.
+ * Campos de associações to-one (ex.: artista.nome) só geram JOIN quando pedidos; campos que não são
+ * colunas (ex.: capas, quantidadeAlbuns) são preenchidos pelo chamador em lote, no complemento.
+ */
+public final class ProjectionQuery<T> {
+
+    private final Class<T> entidade;
+    private final Map<String, Function<Root<T>, Path<?>>> colunas = new LinkedHashMap<>();
+
+    private ProjectionQuery(Class<T> entidade) {
+        this.entidade = entidade;
+    }
+
+    public static <T> ProjectionQuery<T> of(Class<T> entidade) {
+        return new ProjectionQuery<>(entidade);
+    }
+
+    public ProjectionQuery<T> coluna(String campo, Function<Root<T>, Path<?>> caminho) {
+        colunas.put(campo, caminho);
+        return this;
+    }
+
+    public boolean isColuna(String campo) {
+        return colunas.containsKey(campo);
+    }
+
+    /**
+     * Página no formato da listagem, respeitando o modo de contagem. Busca uma linha a mais para saber
+     * se há próxima página; o COUNT só roda em EXACT (ou ESTIMATE sem estimativa) e quando o total
+     * não pode ser deduzido da própria página.
+     */
+    public PageResponseDTO<Map<String, Object>> page(EntityManager entityManager, Collection<String> campos,
+                                                     Specification<T> filtro, Pageable pageable, CountMode countMode,
+                                                     Supplier<OptionalLong> estimativa,
+                                                     Consumer<List<Map<String, Object>>> complemento) {
+        List<Map<String, Object>> linhas = list(entityManager, campos, filtro, pageable.getSort(),
+                pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = linhas.size() > pageable.getPageSize();
+        List<Map<String, Object>> content = hasNext ? new ArrayList<>(linhas.subList(0, pageable.getPageSize())) : linhas;
+        complemento.accept(content);
+
+        if (countMode == CountMode.NONE) {
+            return PageResponseDTO.of(new SliceImpl<>(content, pageable, hasNext));
+        }
+        if (countMode == CountMode.ESTIMATE) {
+            OptionalLong estimate = estimativa.get();
+            if (estimate.isPresent()) {
+                return PageResponseDTO.of(new SliceImpl<>(content, pageable, hasNext), estimate.getAsLong());
+            }
+        }
+        long total = !hasNext && (!content.isEmpty() || pageable.getOffset() == 0)
+                ? pageable.getOffset() + content.size()
+                : count(entityManager, filtro);
+        return PageResponseDTO.of(new PageImpl<>(content, pageable, total));
+    }
+
+    /**
+     * Linhas como mapas campo -> valor, na ordem dos campos. Campos que não são colunas são ignorados.
+     */
+    public List<Map<String, Object>> list(EntityManager entityManager, Collection<String> campos,
+                                          Specification<T> filtro, Sort sort, long offset, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entidade);
+
+        List<String> selecionados = campos.stream().filter(this::isColuna).toList();
+        List<Selection<?>> selecao = new ArrayList<>();
+        for (String campo : selecionados) {
+            selecao.add(colunas.get(campo).apply(root).alias(campo));
+        }
+        query.multiselect(selecao);
+        // Specification.unrestricted() devolve predicado nulo
+        Predicate predicado = filtro == null ? null : filtro.toPredicate(root, query, cb);
+        if (predicado != null) {
+            query.where(predicado);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        List<Tuple> tuplas = entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limite)
+                .getResultList();
+        List<Map<String, Object>> linhas = new ArrayList<>(tuplas.size());
+        for (Tuple tupla : tuplas) {
+            Map<String, Object> linha = new LinkedHashMap<>();
+            for (String campo : selecionados) {
+                linha.put(campo, tupla.get(campo));
+            }
+            linhas.add(linha);
+        }
+        return linhas;
+    }
+
+    public long count(EntityManager entityManager, Specification<T> filtro) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(entidade);
+        query.select(cb.count(root));
+        Predicate predicado = filtro == null ? null : filtro.toPredicate(root, query, cb);
+        if (predicado != null) {
+            query.where(predicado);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,41 @@
+package com.album.seplag.projection;
+
+import com.album.seplag.exception.InvalidFieldsException;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Interpreta o parâmetro fields= das listagens (campos separados por vírgula).
+ */
+public final class SparseFields {
+
+    public static final String ID = "id";
+
+    private SparseFields() {
+    }
+
+    /**
+     * Campos pedidos, na ordem informada e sempre com id primeiro; null quando fields não foi informado
+     * (a listagem devolve o DTO completo).
+     */
+    public static Set<String> parse(String fields, Collection<String> permitidos) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> campos = new LinkedHashSet<>();
+        campos.add(ID);
+        for (String campo : fields.split(",")) {
+            String nome = campo.trim();
+            if (nome.isEmpty()) {
+                continue;
+            }
+            if (!permitidos.contains(nome)) {
+                throw new InvalidFieldsException("Campo inválido em fields: " + nome + ". Permitidos: " + String.join(",", permitidos));
+            }
+            campos.add(nome);
+        }
+        return campos;
+    }
+}
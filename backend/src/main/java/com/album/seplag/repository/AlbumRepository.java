@@ -1,18 +1,119 @@
 package com.album.seplag.repository;
 
 import com.album.seplag.model.Album;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface AlbumRepository extends JpaRepository<Album, Long> {
 
+    /**
+     * Listagem paginada já com o artista carregado (evita um SELECT por linha em toDTO).
+     * As capas são carregadas em lote via @BatchSize em Album.capas.
+     */
+    @Override
+    @EntityGraph(attributePaths = "artista")
+    Page<Album> findAll(Pageable pageable);
+
+    /**
+     * Mesma listagem sem a consulta COUNT (count=none/estimate).
+     */
+    @EntityGraph(attributePaths = "artista")
+    Slice<Album> findSliceBy(Pageable pageable);
+
+    /**
+     * Paginação keyset: seek por (coluna de ordenação, id), sem OFFSET e sem COUNT.
+     */
+    @EntityGraph(attributePaths = "artista")
+    Window<Album> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = "artista")
     Page<Album> findByArtistaId(Long artistaId, Pageable pageable);
 
+    @EntityGraph(attributePaths = "artista")
+    List<Album> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Busca por título e nome do artista sem acentos, usando os índices GIN de trigramas (V11).
+     * Casa por substring ou por similaridade de palavra; o título pesa mais que o nome do artista.
+     * :termo já chega em minúsculas; :padrao é o termo com curingas de LIKE escapados.
+     * Somente PostgreSQL.
+     */
+    @Query(value = """
+            SELECT a.id AS id,
+                   GREATEST(word_similarity(f_unaccent(:termo), f_unaccent(lower(a.titulo))),
+                            0.8 * word_similarity(f_unaccent(:termo), f_unaccent(lower(ar.nome)))) AS score
+            FROM albuns a
+            JOIN artistas ar ON ar.id = a.artista_id
+            WHERE f_unaccent(lower(a.titulo)) LIKE '%' || f_unaccent(:padrao) || '%'
+               OR f_unaccent(:termo) <% f_unaccent(lower(a.titulo))
+               OR f_unaccent(lower(ar.nome)) LIKE '%' || f_unaccent(:padrao) || '%'
+               OR f_unaccent(:termo) <% f_unaccent(lower(ar.nome))
+            ORDER BY score DESC, a.id
+            LIMIT :limite OFFSET :deslocamento
+            """, nativeQuery = true)
+    List<SearchHit> searchRanked(@Param("termo") String termo, @Param("padrao") String padrao,
+                                 @Param("limite") int limite, @Param("deslocamento") long deslocamento);
+
+    /**
+     * Alternativa portátil (H2 nos testes): substring sem distinção de caixa, títulos antes de artistas.
+     * Não remove acentos.
+     */
+    @Query("""
+            SELECT a FROM Album a JOIN FETCH a.artista ar
+            WHERE LOWER(a.titulo) LIKE :padrao ESCAPE '\\' OR LOWER(ar.nome) LIKE :padrao ESCAPE '\\'
+            ORDER BY CASE WHEN LOWER(a.titulo) LIKE :padrao ESCAPE '\\' THEN 0 ELSE 1 END, a.titulo, a.id
+            """)
+    Slice<Album> searchByLike(@Param("padrao") String padrao, Pageable pageable);
+
+    interface SearchHit {
+        Long getId();
+        Double getScore();
+    }
+
+    /**
+     * Quantidade de álbuns de cada artista da página, em um único SELECT agrupado.
+     * Artistas sem álbuns não aparecem no resultado.
+     */
+    @Query("SELECT a.artista.id AS artistaId, COUNT(a) AS quantidade FROM Album a " +
+            "WHERE a.artista.id IN :artistaIds GROUP BY a.artista.id")
+    List<QuantidadeAlbuns> countByArtistaIds(@Param("artistaIds") Collection<Long> artistaIds);
+
+    long countByArtistaId(Long artistaId);
+
+    interface QuantidadeAlbuns {
+        Long getArtistaId();
+        Long getQuantidade();
+    }
+
+    /**
+     * Exportação completa: um único cursor no banco, lido em lotes de 1000 linhas (fetch size),
+     * já com o artista. Deve ser consumido dentro de uma transação, limpando o EntityManager periodicamente.
+     */
+    @Query("SELECT a FROM Album a JOIN FETCH a.artista ORDER BY a.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Album> streamAllForExport();
+
     @Query("SELECT a FROM Album a WHERE a.artista.id = :artistaId")
     Page<Album> findAlbunsByArtistaId(@Param("artistaId") Long artistaId, Pageable pageable);
 }
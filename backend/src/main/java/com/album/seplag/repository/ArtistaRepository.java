@@ -2,15 +2,23 @@ package com.album.seplag.repository;
 
 import com.album.seplag.enums.TipoArtista;
 import com.album.seplag.model.Artista;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface ArtistaRepository extends JpaRepository<Artista, Long> {
+public interface ArtistaRepository extends JpaRepository<Artista, Long>, JpaSpecificationExecutor<Artista> {
 
     @Query("SELECT a FROM Artista a WHERE LOWER(a.nome) LIKE LOWER(CONCAT('%', :nome, '%'))")
     Page<Artista> findByNomeContainingIgnoreCase(@Param("nome") String nome, Pageable pageable);
@@ -24,5 +32,79 @@ public interface ArtistaRepository extends JpaRepository<Artista, Long> {
             Pageable pageable);
 
     Page<Artista> findAll(Pageable pageable);
-}
 
+    /**
+     * Exportação completa: um único cursor no banco, lido em lotes de 1000 linhas (fetch size).
+     * Deve ser consumido dentro de uma transação, limpando o EntityManager periodicamente.
+     */
+    @Query("SELECT a FROM Artista a ORDER BY a.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Artista> streamAllForExport();
+
+    /**
+     * Resolução dos artistas de um lote da importação de catálogo em um único SELECT: para cada nome
+     * (já em minúsculas), o menor id com esse nome sem distinção de caixa.
+     */
+    @Query("SELECT LOWER(a.nome) AS chave, MIN(a.id) AS id FROM Artista a " +
+            "WHERE LOWER(a.nome) IN :chaves GROUP BY LOWER(a.nome)")
+    List<IdPorNome> findIdsByNomes(@Param("chaves") Collection<String> chaves);
+
+    interface IdPorNome {
+        String getChave();
+        Long getId();
+    }
+
+    /**
+     * Carga do índice de nomes em memória: só as colunas necessárias, lidas em lotes pelo cursor do JDBC.
+     * Deve ser consumido dentro de uma transação.
+     */
+    @Query("SELECT a.id AS id, a.nome AS nome, a.tipoArtista AS tipoArtista FROM Artista a")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<NomeArtista> streamAllNomes();
+
+    interface NomeArtista {
+        Long getId();
+        String getNome();
+        TipoArtista getTipoArtista();
+    }
+
+    /**
+     * Rollup do catálogo em um único SELECT agrupado: quantidade de álbuns por artista e ano de lançamento.
+     * Artistas sem álbuns aparecem com ano nulo e quantidade 0; as demais dimensões (gênero, tipo)
+     * saem destas linhas, sem novas consultas.
+     */
+    @Query("SELECT ar.id AS artistaId, ar.nome AS nome, ar.genero AS genero, ar.tipoArtista AS tipoArtista, " +
+            "EXTRACT(YEAR FROM al.dataLancamento) AS ano, COUNT(al.id) AS quantidade " +
+            "FROM Artista ar LEFT JOIN Album al ON al.artista = ar " +
+            "GROUP BY ar.id, ar.nome, ar.genero, ar.tipoArtista, EXTRACT(YEAR FROM al.dataLancamento)")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<RollupCatalogo> rollupCatalogo();
+
+    /**
+     * Linhas do rollup só dos artistas informados e dos artistas dos álbuns informados, para o recálculo
+     * incremental das estatísticas.
+     */
+    @Query("SELECT ar.id AS artistaId, ar.nome AS nome, ar.genero AS genero, ar.tipoArtista AS tipoArtista, " +
+            "EXTRACT(YEAR FROM al.dataLancamento) AS ano, COUNT(al.id) AS quantidade " +
+            "FROM Artista ar LEFT JOIN Album al ON al.artista = ar " +
+            "WHERE ar.id IN :artistaIds OR ar.id IN (SELECT a2.artista.id FROM Album a2 WHERE a2.id IN :albumIds) " +
+            "GROUP BY ar.id, ar.nome, ar.genero, ar.tipoArtista, EXTRACT(YEAR FROM al.dataLancamento)")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<RollupCatalogo> rollupCatalogo(@Param("artistaIds") Collection<Long> artistaIds,
+                                        @Param("albumIds") Collection<Long> albumIds);
+
+    interface RollupCatalogo {
+        Long getArtistaId();
+        String getNome();
+        String getGenero();
+        TipoArtista getTipoArtista();
+        Integer getAno();
+        Long getQuantidade();
+    }
+}
@@ -2,12 +2,24 @@ package com.album.seplag.repository;
 
 import com.album.seplag.model.CapaAlbum;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CapaAlbumRepository extends JpaRepository<CapaAlbum, Long> {
     List<CapaAlbum> findByAlbumId(Long albumId);
+
+    List<CapaAlbum> findByAlbumIdInOrderById(Collection<Long> albumIds);
+
+    /**
+     * Primeira capa (menor id) de cada álbum, para listagens que exibem só uma.
+     */
+    @Query("SELECT c FROM CapaAlbum c WHERE c.id IN " +
+            "(SELECT MIN(c2.id) FROM CapaAlbum c2 WHERE c2.album.id IN :albumIds GROUP BY c2.album.id)")
+    List<CapaAlbum> findPrimeirasByAlbumIdIn(@Param("albumIds") Collection<Long> albumIds);
 }
 
@@ -0,0 +1,73 @@
+package com.album.seplag.repository;
+
+import com.album.seplag.model.Conteudo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ConteudoRepository extends JpaRepository<Conteudo, String> {
+
+    /**
+     * Mais referências ao conteúdo; 0 se o hash ainda não existe.
+     */
+    @Modifying
+    @Query("UPDATE Conteudo c SET c.referencias = c.referencias + :quantidade WHERE c.hash = :hash")
+    int incrementar(@Param("hash") String hash, @Param("quantidade") int quantidade);
+
+    /**
+     * Uma referência a menos; 0 se a chave não é de um conteúdo compartilhado.
+     */
+    @Modifying
+    @Query("UPDATE Conteudo c SET c.referencias = c.referencias - 1 WHERE c.nomeArquivo = :nomeArquivo")
+    int decrementar(@Param("nomeArquivo") String nomeArquivo);
+
+    @Modifying
+    @Query("DELETE FROM Conteudo c WHERE c.nomeArquivo = :nomeArquivo AND c.referencias <= 0")
+    int deleteSemReferencias(@Param("nomeArquivo") String nomeArquivo);
+
+    boolean existsByNomeArquivo(String nomeArquivo);
+
+    /**
+     * Lock por chave até o fim da transação (pg_advisory_xact_lock): serializa a criação da linha de um
+     * conteúdo com a exclusão física do objeto. Só no PostgreSQL.
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext(:nomeArquivo))", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "conteudos"))
+    int bloquear(@Param("nomeArquivo") String nomeArquivo);
+
+    /**
+     * Os INSERTs nativos declaram a tabela que alteram (HINT_NATIVE_SPACES): sem isso o Hibernate invalida
+     * todas as regiões do cache de segundo nível e de consultas a cada imagem nova.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO conteudos (hash, nome_arquivo, content_type, tamanho, referencias, data_criacao)
+            VALUES (:hash, :nomeArquivo, :contentType, :tamanho, :referencias, CURRENT_TIMESTAMP)
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "conteudos"))
+    int inserir(@Param("hash") String hash, @Param("nomeArquivo") String nomeArquivo,
+                @Param("contentType") String contentType, @Param("tamanho") long tamanho,
+                @Param("referencias") int referencias);
+
+    /**
+     * Como inserir, mas um upload concorrente do mesmo conteúdo vira mais referências em vez de
+     * violar a chave primária. true quando a linha foi criada por este INSERT (xmax = 0), false quando
+     * já existia e só a contagem mudou. Só no PostgreSQL.
+     */
+    @Query(value = """
+            INSERT INTO conteudos (hash, nome_arquivo, content_type, tamanho, referencias, data_criacao)
+            VALUES (:hash, :nomeArquivo, :contentType, :tamanho, :referencias, CURRENT_TIMESTAMP)
+            ON CONFLICT (hash) DO UPDATE SET referencias = conteudos.referencias + EXCLUDED.referencias
+            RETURNING (xmax = 0)
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "conteudos"))
+    boolean inserirOuIncrementar(@Param("hash") String hash, @Param("nomeArquivo") String nomeArquivo,
+                             @Param("contentType") String contentType, @Param("tamanho") long tamanho,
+                             @Param("referencias") int referencias);
+}
@@ -0,0 +1,20 @@
+package com.album.seplag.repository;
+
+import com.album.seplag.model.Miniatura;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MiniaturaRepository extends JpaRepository<Miniatura, Long> {
+
+    /**
+     * Menor miniatura com pelo menos a dimensão pedida.
+     */
+    Optional<Miniatura> findFirstByObjetoOriginalAndDimensaoGreaterThanEqualOrderByDimensaoAsc(
+            String objetoOriginal, Integer dimensao);
+
+    List<Miniatura> findByObjetoOriginal(String objetoOriginal);
+}
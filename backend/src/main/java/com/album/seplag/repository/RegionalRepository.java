@@ -1,13 +1,43 @@
 package com.album.seplag.repository;
 
 import com.album.seplag.model.Regional;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RegionalRepository extends JpaRepository<Regional, Long> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consultas.regionais")
+    })
     Optional<Regional> findByNome(String nome);
+
+    // Lista completa (RegionalService.findAll) servida pelo cache de consultas
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consultas.regionais")
+    })
+    List<Regional> findAll();
+
+    /**
+     * Toda inserção ou alteração atualiza data_sincronizacao; total e maior id cobrem exclusões.
+     */
+    @Query("SELECT COUNT(r) AS total, MAX(r.id) AS maiorId, MAX(r.dataSincronizacao) AS ultimaSincronizacao FROM Regional r")
+    VersaoRegionais findVersao();
+
+    interface VersaoRegionais {
+        long getTotal();
+        Long getMaiorId();
+        LocalDateTime getUltimaSincronizacao();
+    }
 }
 
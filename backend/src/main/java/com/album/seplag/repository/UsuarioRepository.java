@@ -1,16 +1,32 @@
 package com.album.seplag.repository;
 
 import com.album.seplag.model.Usuario;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
+    /**
+     * Chamado pelo filtro JWT a cada requisição: resultado no cache de consultas e entidade
+     * (com os roles) no cache de segundo nível.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consultas.usuarios")
+    })
     Optional<Usuario> findByUsername(String username);
     Optional<Usuario> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+    Window<Usuario> findAllBy(ScrollPosition position, Sort sort, Limit limit);
 }
 
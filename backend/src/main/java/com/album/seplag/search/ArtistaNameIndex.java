@@ -0,0 +1,185 @@
+package com.album.seplag.search;
+
+import com.album.seplag.config.PrimaryReadScope;
+import com.album.seplag.enums.TipoArtista;
+import com.album.seplag.event.ArtistaChangedEvent;
+import com.album.seplag.event.CatalogoImportadoEvent;
+import com.album.seplag.event.ChangeType;
+import com.album.seplag.repository.ArtistaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Busca por substring do nome do artista em memória, sem LIKE '%termo%' no banco.
+ * Carregado por streaming no startup (e reconstruído periodicamente) e mantido em dia pelos
+ * eventos de ArtistaService/MinIOService. Enquanto não estiver pronto, ou quando a ordenação
+ * pedida não for por nome/id, search retorna vazio e o chamador consulta o banco.
+ */
+@Slf4j
+@Component
+public class ArtistaNameIndex {
+
+    private static final Set<String> ORDENACOES_SUPORTADAS = Set.of("nome", "id");
+
+    private final ArtistaRepository artistaRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<Long> alteradosDuranteCarga = ConcurrentHashMap.newKeySet();
+
+    private TrigramIndex index = new TrigramIndex();
+    private volatile boolean pronto;
+    private volatile boolean carregando;
+
+    public ArtistaNameIndex(ArtistaRepository artistaRepository, PlatformTransactionManager transactionManager) {
+        this.artistaRepository = artistaRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    /**
+     * Ids dos artistas cujo nome contém o termo (sem distinção de caixa e acentos), já ordenados por sort.
+     */
+    public Optional<List<Long>> search(String nome, TipoArtista tipo, Sort sort) {
+        if (!pronto || !ORDENACOES_SUPORTADAS.containsAll(sort.stream().map(Sort.Order::getProperty).toList())) {
+            return Optional.empty();
+        }
+        String termo = TrigramIndex.normalize(nome.trim());
+        lock.readLock().lock();
+        try {
+            int[] ids = index.search(termo, tipo);
+            Comparator<Integer> ordem = comparator(sort);
+            return Optional.of(Arrays.stream(ids).boxed()
+                    .sorted(ordem)
+                    .map(Integer::longValue)
+                    .toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Comparator<Integer> comparator(Sort sort) {
+        Comparator<Integer> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Integer> porPropriedade = "nome".equals(order.getProperty())
+                    ? Comparator.comparing(id -> index.get(id).nome())
+                    : Comparator.naturalOrder();
+            if (order.isDescending()) {
+                porPropriedade = porPropriedade.reversed();
+            }
+            comparator = comparator == null ? porPropriedade : comparator.thenComparing(porPropriedade);
+        }
+        Comparator<Integer> desempate = Comparator.naturalOrder();
+        return comparator == null ? desempate : comparator.thenComparing(desempate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Reconstrução periódica: corrige alterações feitas fora desta instância.
+     */
+    @Scheduled(initialDelayString = "${artista-index.rebuild-interval:PT1H}",
+            fixedDelayString = "${artista-index.rebuild-interval:PT1H}")
+    public void rebuild() {
+        long inicio = System.nanoTime();
+        carregando = true;
+        alteradosDuranteCarga.clear();
+        TrigramIndex novo = new TrigramIndex();
+        try {
+            readOnlyTx.executeWithoutResult(status -> {
+                try (var linhas = artistaRepository.streamAllNomes()) {
+                    linhas.forEach(linha -> novo.put(Math.toIntExact(linha.getId()), linha.getNome(), linha.getTipoArtista()));
+                }
+            });
+        } catch (ArithmeticException e) {
+            log.warn("Índice de nomes de artistas desativado: id fora do intervalo de int");
+            carregando = false;
+            pronto = false;
+            return;
+        } catch (RuntimeException e) {
+            log.error("Erro ao carregar índice de nomes de artistas: {}", e.getMessage(), e);
+            carregando = false;
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            index = novo;
+            carregando = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // Alterações que chegaram durante a carga podem não estar no snapshot lido
+        alteradosDuranteCarga.forEach(this::refresh);
+        alteradosDuranteCarga.clear();
+        pronto = true;
+        log.info("Índice de nomes de artistas carregado - {} artistas em {} ms",
+                novo.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onArtistaChanged(ArtistaChangedEvent event) {
+        if (carregando) {
+            alteradosDuranteCarga.add(event.artistaId());
+        }
+        if (event.type() == ChangeType.DELETED) {
+            remove(event.artistaId());
+        } else {
+            refresh(event.artistaId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogoImportado(CatalogoImportadoEvent event) {
+        if (event.artistasCriados() > 0) {
+            PrimaryReadScope.executar(this::rebuild);
+        }
+    }
+
+    /**
+     * Lê da primária: a alteração acabou de ser commitada e uma réplica pode ainda não ter o artista.
+     */
+    private void refresh(Long id) {
+        PrimaryReadScope.executar(() -> artistaRepository.findById(id)).ifPresentOrElse(
+                artista -> {
+                    lock.writeLock().lock();
+                    try {
+                        index.put(Math.toIntExact(artista.getId()), artista.getNome(), artista.getTipoArtista());
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                },
+                () -> remove(id));
+    }
+
+    private void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            index.remove(Math.toIntExact(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.album.seplag.search;
+
+import com.album.seplag.enums.TipoArtista;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido de trigramas sobre nomes normalizados (minúsculas, sem acentos).
+ * Cada trigrama aponta para uma lista ordenada de ids em int[]; a busca intersecta as listas
+ * dos trigramas do termo e confirma a substring no nome. Não é thread-safe: ArtistaNameIndex sincroniza.
+ */
+final class TrigramIndex {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<Integer, Entrada> entradas = new HashMap<>();
+
+    record Entrada(String nome, TipoArtista tipo) {
+    }
+
+    static String normalize(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        return MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    int size() {
+        return entradas.size();
+    }
+
+    Entrada get(int id) {
+        return entradas.get(id);
+    }
+
+    void put(int id, String nome, TipoArtista tipo) {
+        remove(id);
+        Entrada entrada = new Entrada(normalize(nome), tipo);
+        entradas.put(id, entrada);
+        for (long trigrama : trigramas(entrada.nome())) {
+            postings.computeIfAbsent(trigrama, k -> new PostingList()).add(id);
+        }
+    }
+
+    void remove(int id) {
+        Entrada entrada = entradas.remove(id);
+        if (entrada == null) {
+            return;
+        }
+        for (long trigrama : trigramas(entrada.nome())) {
+            PostingList lista = postings.get(trigrama);
+            if (lista != null && lista.remove(id) && lista.size() == 0) {
+                postings.remove(trigrama);
+            }
+        }
+    }
+
+    /**
+     * Ids cujo nome contém termoNormalizado (e do tipo informado, se houver), em ordem crescente de id.
+     */
+    int[] search(String termoNormalizado, TipoArtista tipo) {
+        if (termoNormalizado.length() < 3) {
+            // Sem trigramas no termo: varre as entradas, ainda em memória
+            return entradas.entrySet().stream()
+                    .filter(e -> matches(e.getValue(), termoNormalizado, tipo))
+                    .mapToInt(Map.Entry::getKey)
+                    .sorted()
+                    .toArray();
+        }
+
+        long[] doTermo = trigramas(termoNormalizado);
+        List<PostingList> listas = new ArrayList<>(doTermo.length);
+        for (long trigrama : doTermo) {
+            PostingList lista = postings.get(trigrama);
+            if (lista == null) {
+                return new int[0];
+            }
+            listas.add(lista);
+        }
+        listas.sort(Comparator.comparingInt(PostingList::size));
+
+        PostingList menor = listas.get(0);
+        int[] resultado = new int[menor.size()];
+        int n = 0;
+        candidatos:
+        for (int i = 0; i < menor.size(); i++) {
+            int id = menor.get(i);
+            for (int l = 1; l < listas.size(); l++) {
+                if (!listas.get(l).contains(id)) {
+                    continue candidatos;
+                }
+            }
+            // Trigramas em comum não garantem a substring (ordem e repetição)
+            if (matches(entradas.get(id), termoNormalizado, tipo)) {
+                resultado[n++] = id;
+            }
+        }
+        return Arrays.copyOf(resultado, n);
+    }
+
+    private static boolean matches(Entrada entrada, String termo, TipoArtista tipo) {
+        return entrada != null
+                && (tipo == null || tipo == entrada.tipo())
+                && entrada.nome().contains(termo);
+    }
+
+    private static long[] trigramas(String texto) {
+        if (texto.length() < 3) {
+            return new long[0];
+        }
+        long[] resultado = new long[texto.length() - 2];
+        for (int i = 0; i < resultado.length; i++) {
+            resultado[i] = ((long) texto.charAt(i) << 32) | ((long) texto.charAt(i + 1) << 16) | texto.charAt(i + 2);
+        }
+        return Arrays.stream(resultado).distinct().toArray();
+    }
+
+    /**
+     * Lista de ids ordenada e sem repetição sobre int[] crescente.
+     */
+    static final class PostingList {
+
+        private int[] ids = new int[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        int get(int index) {
+            return ids[index];
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        void add(int id) {
+            // Ids novos chegam em ordem crescente na carga: caso comum é anexar no fim
+            int pos = size == 0 || ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                pos = -pos - 1;
+            } else if (pos < size) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -1,21 +1,41 @@
 package com.album.seplag.service;
 
+import com.album.seplag.config.DatabasePlatform;
 import com.album.seplag.dto.AlbumCreateDTO;
 import com.album.seplag.dto.AlbumDTO;
 import com.album.seplag.dto.AlbumUpdateDTO;
+import com.album.seplag.dto.BulkCreateResponseDTO;
 import com.album.seplag.dto.CapaAlbumDTO;
 import com.album.seplag.dto.NotificationDTO;
+import com.album.seplag.dto.PageResponseDTO;
+import com.album.seplag.enums.CountMode;
+import com.album.seplag.event.AlbumChangedEvent;
+import com.album.seplag.event.ChangeType;
 import com.album.seplag.exception.ResourceNotFoundException;
 import com.album.seplag.model.Album;
 import com.album.seplag.model.Artista;
 import com.album.seplag.model.CapaAlbum;
 import com.album.seplag.model.Usuario;
+import com.album.seplag.pagination.RowCountEstimator;
+import com.album.seplag.projection.ProjectionQuery;
+import com.album.seplag.projection.SparseFields;
 import com.album.seplag.repository.AlbumRepository;
+import com.album.seplag.repository.AlbumRepository.SearchHit;
 import com.album.seplag.repository.ArtistaRepository;
+import com.album.seplag.repository.CapaAlbumRepository;
 import com.album.seplag.repository.UsuarioRepository;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -23,31 +43,66 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.time.Instant;
 import java.time.ZoneId;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class AlbumService {
 
+    private static final int MAX_TERMO_BUSCA = 100;
+
+    /**
+     * Campos aceitos em fields= nas listagens de álbuns. capa é só a primeira capa; capas, a lista completa.
+     */
+    public static final List<String> CAMPOS = List.of(
+            "id", "titulo", "artistaId", "artistaNome", "dataLancamento", "createdAt", "capa", "capas");
+
+    private static final ProjectionQuery<Album> PROJECAO = ProjectionQuery.of(Album.class)
+            .coluna("id", root -> root.get("id"))
+            .coluna("titulo", root -> root.get("titulo"))
+            .coluna("artistaId", root -> root.get("artista").get("id"))
+            .coluna("artistaNome", root -> root.get("artista").get("nome"))
+            .coluna("dataLancamento", root -> root.get("dataLancamento"))
+            .coluna("createdAt", root -> root.get("createdAt"));
+
     private final AlbumRepository albumRepository;
     private final ArtistaRepository artistaRepository;
+    private final CapaAlbumRepository capaAlbumRepository;
     private final UsuarioRepository usuarioRepository;
     private final MinIOService minIOService;
     private final SimpMessagingTemplate messagingTemplate;
+    private final RowCountEstimator rowCountEstimator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DatabasePlatform databasePlatform;
+    private final EntityManager entityManager;
 
     public AlbumService(AlbumRepository albumRepository, ArtistaRepository artistaRepository,
+                       CapaAlbumRepository capaAlbumRepository,
                        UsuarioRepository usuarioRepository, MinIOService minIOService, 
-                       SimpMessagingTemplate messagingTemplate) {
+                       SimpMessagingTemplate messagingTemplate, RowCountEstimator rowCountEstimator,
+                       ApplicationEventPublisher eventPublisher, DatabasePlatform databasePlatform,
+                       EntityManager entityManager) {
         this.albumRepository = albumRepository;
         this.artistaRepository = artistaRepository;
+        this.capaAlbumRepository = capaAlbumRepository;
         this.usuarioRepository = usuarioRepository;
         this.minIOService = minIOService;
         this.messagingTemplate = messagingTemplate;
+        this.rowCountEstimator = rowCountEstimator;
+        this.eventPublisher = eventPublisher;
+        this.databasePlatform = databasePlatform;
+        this.entityManager = entityManager;
     }
 
     @Transactional(readOnly = true)
@@ -55,11 +110,107 @@ public class AlbumService {
         return albumRepository.findAll(pageable).map(this::toDTO);
     }
 
+    /**
+     * Listagem com o modo de contagem escolhido. ESTIMATE usa pg_class.reltuples e,
+     * se a estimativa não estiver disponível, volta para a contagem exata.
+     */
+    @Transactional(readOnly = true)
+    public PageResponseDTO<AlbumDTO> findAll(Pageable pageable, CountMode countMode) {
+        if (countMode == CountMode.NONE) {
+            return PageResponseDTO.of(findSlice(pageable));
+        }
+        if (countMode == CountMode.ESTIMATE) {
+            OptionalLong estimate = rowCountEstimator.estimateTable("albuns");
+            if (estimate.isPresent()) {
+                return PageResponseDTO.of(findSlice(pageable), estimate.getAsLong());
+            }
+        }
+        return PageResponseDTO.of(findAll(pageable));
+    }
+
+    private Slice<AlbumDTO> findSlice(Pageable pageable) {
+        return albumRepository.findSliceBy(pageable).map(this::toDTO);
+    }
+
+    /**
+     * Listagem com fields=: só as colunas pedidas são selecionadas; capa/capas vêm de um SELECT em lote.
+     */
+    @Transactional(readOnly = true)
+    public PageResponseDTO<Map<String, Object>> findAll(Set<String> campos, Pageable pageable, CountMode countMode) {
+        return PROJECAO.page(entityManager, campos, null, pageable, countMode,
+                () -> rowCountEstimator.estimateTable("albuns"), content -> complementar(campos, content));
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponseDTO<Map<String, Object>> findByArtistaId(Long artistaId, Set<String> campos, Pageable pageable) {
+        Specification<Album> doArtista = (root, query, cb) -> cb.equal(root.get("artista").get("id"), artistaId);
+        return PROJECAO.page(entityManager, campos, doArtista, pageable, CountMode.EXACT,
+                OptionalLong::empty, content -> complementar(campos, content));
+    }
+
+    private void complementar(Set<String> campos, List<Map<String, Object>> content) {
+        if (content.isEmpty() || (!campos.contains("capa") && !campos.contains("capas"))) {
+            return;
+        }
+        List<Long> ids = content.stream().map(linha -> (Long) linha.get(SparseFields.ID)).toList();
+        if (campos.contains("capas")) {
+            Map<Long, List<CapaAlbumDTO>> porAlbum = capaAlbumRepository.findByAlbumIdInOrderById(ids).stream()
+                    .collect(Collectors.groupingBy(capa -> capa.getAlbum().getId(),
+                            Collectors.mapping(this::toCapaDTO, Collectors.toList())));
+            content.forEach(linha -> linha.put("capas", porAlbum.getOrDefault((Long) linha.get(SparseFields.ID), List.of())));
+        }
+        if (campos.contains("capa")) {
+            Map<Long, CapaAlbumDTO> primeira = capaAlbumRepository.findPrimeirasByAlbumIdIn(ids).stream()
+                    .collect(Collectors.toMap(capa -> capa.getAlbum().getId(), this::toCapaDTO));
+            content.forEach(linha -> linha.put("capa", primeira.get((Long) linha.get(SparseFields.ID))));
+        }
+    }
+
+    /**
+     * Paginação keyset: busca limit itens após (ou antes de) position, sem OFFSET e sem COUNT.
+     */
+    @Transactional(readOnly = true)
+    public Window<AlbumDTO> findAll(KeysetScrollPosition position, Sort sort, int limit) {
+        return albumRepository.findAllBy(position, sort, Limit.of(limit)).map(this::toDTO);
+    }
+
     @Transactional(readOnly = true)
     public Page<AlbumDTO> findByArtistaId(Long artistaId, Pageable pageable) {
         return albumRepository.findByArtistaId(artistaId, pageable).map(this::toDTO);
     }
 
+    /**
+     * Busca por título do álbum e nome do artista, ordenada por relevância, sem COUNT.
+     * No PostgreSQL ignora acentos e usa os índices de trigramas; nos demais bancos faz LIKE simples.
+     */
+    @Transactional(readOnly = true)
+    public PageResponseDTO<AlbumDTO> search(String q, Pageable pageable) {
+        String termo = q == null ? "" : q.trim().toLowerCase(Locale.ROOT);
+        if (termo.isEmpty()) {
+            throw new IllegalArgumentException("Informe o termo de busca (q)");
+        }
+        if (termo.length() > MAX_TERMO_BUSCA) {
+            termo = termo.substring(0, MAX_TERMO_BUSCA);
+        }
+        String escapado = termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+
+        if (!databasePlatform.isPostgres()) {
+            return PageResponseDTO.of(albumRepository.searchByLike("%" + escapado + "%", pageable).map(this::toDTO));
+        }
+
+        // Uma linha a mais indica se existe próxima página
+        List<SearchHit> hits = albumRepository.searchRanked(termo, escapado, pageable.getPageSize() + 1, pageable.getOffset());
+        List<Long> ids = hits.stream().limit(pageable.getPageSize()).map(SearchHit::getId).toList();
+        Map<Long, Album> porId = albumRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Album::getId, Function.identity()));
+        List<AlbumDTO> content = ids.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .map(this::toDTO)
+                .toList();
+        return PageResponseDTO.of(new SliceImpl<>(content, pageable, hits.size() > pageable.getPageSize()));
+    }
+
     @Transactional(readOnly = true)
     public AlbumDTO findById(Long id) {
         Album album = albumRepository.findById(id)
@@ -74,10 +225,7 @@ public class AlbumService {
             Artista artista = artistaRepository.findById(dto.artistaId())
                     .orElseThrow(() -> new ResourceNotFoundException("Artista não encontrado com id: " + dto.artistaId()));
             
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String username = authentication.getName();
-            Usuario usuario = usuarioRepository.findByUsername(username)
-                    .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado: " + username));
+            Usuario usuario = usuarioAutenticado();
             
             Album album = new Album();
             album.setTitulo(dto.titulo());
@@ -87,6 +235,7 @@ public class AlbumService {
             Album saved = albumRepository.save(album);
             
             log.info("Álbum criado com sucesso - ID: {}, Título: {}", saved.getId(), saved.getTitulo());
+            eventPublisher.publishEvent(new AlbumChangedEvent(saved.getId(), ChangeType.CREATED, Set.of(artista.getId())));
 
             AlbumDTO savedDTO = toDTO(saved);
             NotificationDTO notification = new NotificationDTO(
@@ -104,17 +253,73 @@ public class AlbumService {
         }
     }
 
+    /**
+     * Criação em lote: um SELECT para todos os artistas e INSERTs agrupados pelo batching do JDBC
+     * (ids por sequência, V12). Responde só com os ids e envia uma única notificação.
+     */
+    @Transactional
+    public BulkCreateResponseDTO createBulk(List<AlbumCreateDTO> dtos) {
+        long inicio = System.nanoTime();
+        Set<Long> artistaIds = dtos.stream().map(AlbumCreateDTO::artistaId).collect(Collectors.toSet());
+        Map<Long, Artista> artistas = artistaRepository.findAllById(artistaIds).stream()
+                .collect(Collectors.toMap(Artista::getId, Function.identity()));
+        artistaIds.stream()
+                .filter(id -> !artistas.containsKey(id))
+                .findFirst()
+                .ifPresent(id -> {
+                    throw new ResourceNotFoundException("Artista não encontrado com id: " + id);
+                });
+        Usuario usuario = usuarioAutenticado();
+
+        List<Album> albuns = dtos.stream().map(dto -> {
+            Album album = new Album();
+            album.setTitulo(dto.titulo());
+            album.setDataLancamento(dto.dataLancamento());
+            album.setArtista(artistas.get(dto.artistaId()));
+            album.setUsuario(usuario);
+            return album;
+        }).toList();
+        albumRepository.saveAll(albuns);
+        albumRepository.flush();
+
+        long ms = Math.max(1, (System.nanoTime() - inicio) / 1_000_000);
+        log.info("Lote de {} álbuns inserido em {} ms ({} inserts/s)", albuns.size(), ms, albuns.size() * 1000L / ms);
+
+        albuns.forEach(album -> eventPublisher.publishEvent(
+                new AlbumChangedEvent(album.getId(), ChangeType.CREATED, Set.of(album.getArtista().getId()))));
+        List<Long> ids = albuns.stream().map(Album::getId).toList();
+        messagingTemplate.convertAndSend("/topic/albuns", new NotificationDTO(
+                "ALBUNS_CREATED",
+                ids.size() + " álbuns criados",
+                Instant.now(),
+                Map.<String, Object>of("ids", ids)
+        ));
+        return new BulkCreateResponseDTO(ids.size(), ids);
+    }
+
+    private Usuario usuarioAutenticado() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        return usuarioRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado: " + username));
+    }
+
     @Transactional
     public AlbumDTO update(Long id, AlbumUpdateDTO dto) {
         Album album = albumRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Álbum não encontrado com id: " + id));
         
         album.setTitulo(dto.titulo());
         album.setDataLancamento(dto.dataLancamento());
+        Long artistaAnteriorId = album.getArtista().getId();
         
         Artista artista = artistaRepository.findById(dto.artistaId()).orElseThrow(() -> new ResourceNotFoundException("Artista não encontrado com id: " + dto.artistaId()));
         album.setArtista(artista);
 
         Album saved = albumRepository.save(album);
+        Set<Long> artistasAfetados = Objects.equals(artistaAnteriorId, artista.getId())
+                ? Set.of()
+                : Set.of(artistaAnteriorId, artista.getId());
+        eventPublisher.publishEvent(new AlbumChangedEvent(id, ChangeType.UPDATED, artistasAfetados));
         AlbumDTO savedDTO = toDTO(saved);
         NotificationDTO notification = new NotificationDTO(
                 "ALBUM_UPDATED",
@@ -132,8 +337,12 @@ public class AlbumService {
         Album album = albumRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Álbum não encontrado com id: " + id));
         String titulo = album.getTitulo();
+        Long artistaId = album.getArtista().getId();
+        // As capas saem por cascade: a contagem de cada conteúdo cai junto
+        minIOService.liberar(album.getCapas().stream().map(CapaAlbum::getNomeArquivo).toList());
         albumRepository.delete(album);
         log.info("Álbum deletado com sucesso - ID: {}", id);
+        eventPublisher.publishEvent(new AlbumChangedEvent(id, ChangeType.DELETED, Set.of(artistaId)));
 
         NotificationDTO notification = new NotificationDTO(
                 "ALBUM_DELETED",
@@ -146,12 +355,16 @@ public class AlbumService {
 
     @Transactional
     public List<CapaAlbumDTO> uploadCapas(Long albumId, MultipartFile[] files) {
-        List<CapaAlbumDTO> result = new ArrayList<>();
-        for (MultipartFile file : files) {
-            CapaAlbum capa = minIOService.uploadCapa(albumId, file);
-            result.add(toCapaDTO(capa));
-        }
-        return result;
+        return minIOService.uploadCapas(albumId, Arrays.asList(files)).stream()
+                .map(this::toCapaDTO)
+                .toList();
+    }
+
+    /**
+     * Capa enviada no corpo da requisição. Sem @Transactional: o upload roda fora de transação.
+     */
+    public CapaAlbumDTO uploadCapa(Long albumId, InputStream content, long size, String contentType) {
+        return toCapaDTO(minIOService.uploadCapa(albumId, content, size, contentType));
     }
 
     @Transactional
@@ -161,7 +374,7 @@ public class AlbumService {
 
     private CapaAlbumDTO toCapaDTO(CapaAlbum capa) {
 
-        String url = minIOService.getPresignedUrl(capa.getAlbum().getId(), capa.getId()).url();
+        String url = ImageUrlBuilder.capaUrl(capa.getAlbum().getId(), capa.getId());
     
         var dataUpload = capa.getDataUpload() != null
                 ? capa.getDataUpload().atZone(ZoneId.systemDefault()).toInstant()
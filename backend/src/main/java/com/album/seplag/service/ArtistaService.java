@@ -3,35 +3,93 @@ package com.album.seplag.service;
 import com.album.seplag.dto.ArtistaCreateDTO;
 import com.album.seplag.dto.ArtistaDTO;
 import com.album.seplag.dto.ArtistaUpdateDTO;
+import com.album.seplag.dto.BulkCreateResponseDTO;
 import com.album.seplag.dto.NotificationDTO;
+import com.album.seplag.dto.PageResponseDTO;
+import com.album.seplag.enums.CountMode;
+import com.album.seplag.event.ArtistaChangedEvent;
+import com.album.seplag.event.ChangeType;
 import com.album.seplag.enums.TipoArtista;
 import com.album.seplag.exception.ResourceNotFoundException;
 import com.album.seplag.model.Artista;
+import com.album.seplag.pagination.RowCountEstimator;
+import com.album.seplag.projection.ProjectionQuery;
+import com.album.seplag.projection.SparseFields;
+import com.album.seplag.repository.AlbumRepository;
+import com.album.seplag.repository.AlbumRepository.QuantidadeAlbuns;
 import com.album.seplag.repository.ArtistaRepository;
+import com.album.seplag.search.ArtistaNameIndex;
 
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 
 @Slf4j
 @Service
 public class ArtistaService {
 
+    /**
+     * Campos aceitos em fields= na listagem de artistas.
+     */
+    public static final List<String> CAMPOS = List.of(
+            "id", "nome", "genero", "tipoArtista", "biografia", "createdAt", "quantidadeAlbuns", "fotoUrl");
+
+    private static final String FOTO_NOME_ARQUIVO = "fotoNomeArquivo";
+
+    private static final ProjectionQuery<Artista> PROJECAO = ProjectionQuery.of(Artista.class)
+            .coluna("id", root -> root.get("id"))
+            .coluna("nome", root -> root.get("nome"))
+            .coluna("genero", root -> root.get("genero"))
+            .coluna("tipoArtista", root -> root.get("tipoArtista"))
+            .coluna("biografia", root -> root.get("biografia"))
+            .coluna("createdAt", root -> root.get("createdAt"))
+            .coluna(FOTO_NOME_ARQUIVO, root -> root.get(FOTO_NOME_ARQUIVO));
+
     private final ArtistaRepository artistaRepository;
-    private final MinIOService minIOService;
+    private final AlbumRepository albumRepository;
     private final SimpMessagingTemplate messagingTemplate;
+    private final RowCountEstimator rowCountEstimator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ArtistaNameIndex artistaNameIndex;
+    private final EntityManager entityManager;
+    private final MinIOService minIOService;
 
-    public ArtistaService(ArtistaRepository artistaRepository, MinIOService minIOService,
-                         SimpMessagingTemplate messagingTemplate) {
+    public ArtistaService(ArtistaRepository artistaRepository, AlbumRepository albumRepository,
+                          SimpMessagingTemplate messagingTemplate, RowCountEstimator rowCountEstimator,
+                          ApplicationEventPublisher eventPublisher, ArtistaNameIndex artistaNameIndex,
+                          EntityManager entityManager, MinIOService minIOService) {
         this.artistaRepository = artistaRepository;
-        this.minIOService = minIOService;
+        this.albumRepository = albumRepository;
         this.messagingTemplate = messagingTemplate;
+        this.rowCountEstimator = rowCountEstimator;
+        this.eventPublisher = eventPublisher;
+        this.artistaNameIndex = artistaNameIndex;
+        this.entityManager = entityManager;
+        this.minIOService = minIOService;
     }
 
     @Transactional(readOnly = true)
@@ -39,6 +97,13 @@ public class ArtistaService {
         Page<Artista> artistas;
         boolean temNome = nome != null && !nome.trim().isEmpty();
 
+        if (temNome) {
+            Optional<Page<ArtistaDTO>> doIndice = findAllByIndex(nome, tipoArtista, pageable);
+            if (doIndice.isPresent()) {
+                return doIndice.get();
+            }
+        }
+
         if (temNome && tipoArtista != null) {
             artistas = artistaRepository.findByNomeContainingIgnoreCaseAndTipoArtista(nome, tipoArtista, pageable);
         } else if (tipoArtista != null) {
@@ -49,14 +114,164 @@ public class ArtistaService {
             artistas = artistaRepository.findAll(pageable);
         }
 
-        return artistas.map(this::toDTO);
+        return artistas.map(toDTO(artistas.getContent()));
+    }
+
+    /**
+     * Filtro por nome respondido pelo índice em memória: ids já filtrados e ordenados,
+     * e só a página pedida é carregada do banco (um findAllById). O total sai exato, sem COUNT.
+     */
+    private Optional<Page<ArtistaDTO>> findAllByIndex(String nome, TipoArtista tipoArtista, Pageable pageable) {
+        return artistaNameIndex.search(nome, tipoArtista, pageable.getSort()).map(ids -> {
+            int inicio = (int) Math.min(pageable.getOffset(), ids.size());
+            int fim = Math.min(inicio + pageable.getPageSize(), ids.size());
+            List<Long> pagina = ids.subList(inicio, fim);
+            List<Artista> carregados = artistaRepository.findAllById(pagina);
+            Map<Long, Artista> porId = carregados.stream()
+                    .collect(Collectors.toMap(Artista::getId, Function.identity()));
+            Function<Artista, ArtistaDTO> toDTO = toDTO(carregados);
+            List<ArtistaDTO> content = pagina.stream()
+                    .map(porId::get)
+                    .filter(Objects::nonNull)
+                    .map(toDTO)
+                    .toList();
+            return new PageImpl<>(content, pageable, ids.size());
+        });
+    }
+
+    /**
+     * Listagem com o modo de contagem escolhido. ESTIMATE usa pg_class.reltuples sem filtros
+     * e a estimativa do EXPLAIN com filtros; sem estimativa disponível, volta para a contagem exata.
+     * Pelo índice em memória, NONE omite o total e ESTIMATE responde EXACT: o total exato já veio
+     * com os ids, sem COUNT.
+     */
+    @Transactional(readOnly = true)
+    public PageResponseDTO<ArtistaDTO> findAll(String nome, TipoArtista tipoArtista, Pageable pageable,
+                                               CountMode countMode) {
+        if (nome != null && !nome.trim().isEmpty()) {
+            Optional<Page<ArtistaDTO>> doIndice = findAllByIndex(nome, tipoArtista, pageable);
+            if (doIndice.isPresent()) {
+                Page<ArtistaDTO> pagina = doIndice.get();
+                return countMode == CountMode.NONE
+                        ? PageResponseDTO.of(new SliceImpl<>(pagina.getContent(), pageable, pagina.hasNext()))
+                        : PageResponseDTO.of(pagina);
+            }
+        }
+        if (countMode == CountMode.NONE) {
+            return PageResponseDTO.of(findSlice(nome, tipoArtista, pageable));
+        }
+        if (countMode == CountMode.ESTIMATE) {
+            OptionalLong estimate = estimate(nome, tipoArtista);
+            if (estimate.isPresent()) {
+                return PageResponseDTO.of(findSlice(nome, tipoArtista, pageable), estimate.getAsLong());
+            }
+        }
+        return PageResponseDTO.of(findAll(nome, tipoArtista, pageable));
+    }
+
+    /**
+     * Listagem com fields=: só as colunas pedidas são selecionadas (biografia, TEXT, só quando pedida);
+     * quantidadeAlbuns vem de um COUNT agrupado e fotoUrl, da coluna foto_nome_arquivo.
+     */
+    @Transactional(readOnly = true)
+    public PageResponseDTO<Map<String, Object>> findAll(String nome, TipoArtista tipoArtista, Set<String> campos,
+                                                        Pageable pageable, CountMode countMode) {
+        Set<String> colunas = new LinkedHashSet<>(campos);
+        if (campos.contains("fotoUrl")) {
+            colunas.add(FOTO_NOME_ARQUIVO);
+        }
+        if (nome != null && !nome.trim().isEmpty()) {
+            Optional<List<Long>> doIndice = artistaNameIndex.search(nome, tipoArtista, pageable.getSort());
+            if (doIndice.isPresent()) {
+                List<Long> ids = doIndice.get();
+                int inicio = (int) Math.min(pageable.getOffset(), ids.size());
+                List<Long> pagina = ids.subList(inicio, Math.min(inicio + pageable.getPageSize(), ids.size()));
+                Map<Long, Map<String, Object>> porId = PROJECAO.list(entityManager, colunas,
+                                (root, query, cb) -> root.get("id").in(pagina), Sort.unsorted(), 0, pagina.size() + 1)
+                        .stream()
+                        .collect(Collectors.toMap(linha -> (Long) linha.get(SparseFields.ID), Function.identity()));
+                List<Map<String, Object>> content = pagina.stream()
+                        .map(porId::get)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toCollection(ArrayList::new));
+                complementar(campos, content);
+                return PageResponseDTO.of(new PageImpl<>(content, pageable, ids.size()));
+            }
+        }
+        return PROJECAO.page(entityManager, colunas, filtro(nome, tipoArtista), pageable, countMode,
+                () -> estimate(nome, tipoArtista), content -> complementar(campos, content));
+    }
+
+    private void complementar(Set<String> campos, List<Map<String, Object>> content) {
+        if (campos.contains("fotoUrl")) {
+            content.forEach(linha -> {
+                Object arquivo = linha.remove(FOTO_NOME_ARQUIVO);
+                linha.put("fotoUrl", arquivo != null && !arquivo.toString().isBlank()
+                        ? ImageUrlBuilder.fotoArtistaUrl((Long) linha.get(SparseFields.ID))
+                        : null);
+            });
+        }
+        if (campos.contains("quantidadeAlbuns") && !content.isEmpty()) {
+            List<Long> ids = content.stream().map(linha -> (Long) linha.get(SparseFields.ID)).toList();
+            Map<Long, Long> quantidades = albumRepository.countByArtistaIds(ids).stream()
+                    .collect(Collectors.toMap(QuantidadeAlbuns::getArtistaId, QuantidadeAlbuns::getQuantidade));
+            content.forEach(linha -> linha.put("quantidadeAlbuns",
+                    quantidades.getOrDefault((Long) linha.get(SparseFields.ID), 0L)));
+        }
+    }
+
+    private Slice<ArtistaDTO> findSlice(String nome, TipoArtista tipoArtista, Pageable pageable) {
+        Slice<Artista> artistas = artistaRepository.findBy(filtro(nome, tipoArtista), query -> query.slice(pageable));
+        return artistas.map(toDTO(artistas.getContent()));
+    }
+
+    private OptionalLong estimate(String nome, TipoArtista tipoArtista) {
+        List<String> condicoes = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (nome != null && !nome.trim().isEmpty()) {
+            condicoes.add("LOWER(nome) LIKE ?");
+            args.add("%" + nome.toLowerCase() + "%");
+        }
+        if (tipoArtista != null) {
+            condicoes.add("tipo_artista = ?");
+            args.add(tipoArtista.name());
+        }
+        if (condicoes.isEmpty()) {
+            return rowCountEstimator.estimateTable("artistas");
+        }
+        return rowCountEstimator.estimateWhere("artistas", String.join(" AND ", condicoes), args.toArray());
+    }
+
+    /**
+     * Paginação keyset com os mesmos filtros de nome/tipo, sem OFFSET e sem COUNT.
+     */
+    @Transactional(readOnly = true)
+    public Window<ArtistaDTO> findAll(String nome, TipoArtista tipoArtista, KeysetScrollPosition position,
+                                      Sort sort, int limit) {
+        Window<Artista> artistas = artistaRepository.findBy(filtro(nome, tipoArtista), query -> query
+                .sortBy(sort)
+                .limit(limit)
+                .scroll(position));
+        return artistas.map(toDTO(artistas.getContent()));
+    }
+
+    private Specification<Artista> filtro(String nome, TipoArtista tipoArtista) {
+        Specification<Artista> spec = Specification.unrestricted();
+        if (nome != null && !nome.trim().isEmpty()) {
+            String pattern = "%" + nome.toLowerCase() + "%";
+            spec = spec.and((root, query, cb) -> cb.like(cb.lower(root.get("nome")), pattern));
+        }
+        if (tipoArtista != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("tipoArtista"), tipoArtista));
+        }
+        return spec;
     }
 
     @Transactional(readOnly = true)
     public ArtistaDTO findById(Long id) {
         Artista artista = artistaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Artista não encontrado com id: " + id));
-        return toDTO(artista);
+        return toDTO(artista, albumRepository.countByArtistaId(id));
     }
 
     @Transactional
@@ -67,7 +282,8 @@ public class ArtistaService {
         artista.setTipoArtista(dto.tipoArtista() != null ? dto.tipoArtista() : TipoArtista.CANTOR);
         artista.setBiografia(dto.biografia());
         Artista saved = artistaRepository.save(artista);
-        ArtistaDTO savedDTO = toDTO(saved);
+        eventPublisher.publishEvent(new ArtistaChangedEvent(saved.getId(), ChangeType.CREATED));
+        ArtistaDTO savedDTO = toDTO(saved, 0L);
         NotificationDTO notification = new NotificationDTO(
                 "ARTISTA_CREATED",
                 "Artista \"" + saved.getNome() + "\" criado",
@@ -78,6 +294,38 @@ public class ArtistaService {
         return savedDTO;
     }
 
+    /**
+     * Criação em lote com INSERTs agrupados pelo batching do JDBC (ids por sequência, V12).
+     * Responde só com os ids e envia uma única notificação.
+     */
+    @Transactional
+    public BulkCreateResponseDTO createBulk(List<ArtistaCreateDTO> dtos) {
+        long inicio = System.nanoTime();
+        List<Artista> artistas = dtos.stream().map(dto -> {
+            Artista artista = new Artista();
+            artista.setNome(dto.nome());
+            artista.setGenero(dto.genero());
+            artista.setTipoArtista(dto.tipoArtista() != null ? dto.tipoArtista() : TipoArtista.CANTOR);
+            artista.setBiografia(dto.biografia());
+            return artista;
+        }).toList();
+        artistaRepository.saveAll(artistas);
+        artistaRepository.flush();
+
+        long ms = Math.max(1, (System.nanoTime() - inicio) / 1_000_000);
+        log.info("Lote de {} artistas inserido em {} ms ({} inserts/s)", artistas.size(), ms, artistas.size() * 1000L / ms);
+
+        List<Long> ids = artistas.stream().map(Artista::getId).toList();
+        ids.forEach(id -> eventPublisher.publishEvent(new ArtistaChangedEvent(id, ChangeType.CREATED)));
+        messagingTemplate.convertAndSend("/topic/artistas", new NotificationDTO(
+                "ARTISTAS_CREATED",
+                ids.size() + " artistas criados",
+                Instant.now(),
+                Map.<String, Object>of("ids", ids)
+        ));
+        return new BulkCreateResponseDTO(ids.size(), ids);
+    }
+
     @Transactional
     public ArtistaDTO update(Long id, ArtistaUpdateDTO dto) {
         Artista artista = artistaRepository.findById(id)
@@ -88,7 +336,8 @@ public class ArtistaService {
         artista.setTipoArtista(dto.tipoArtista() != null ? dto.tipoArtista() : artista.getTipoArtista());
         artista.setBiografia(dto.biografia());
         Artista saved = artistaRepository.save(artista);
-        ArtistaDTO savedDTO = toDTO(saved);
+        eventPublisher.publishEvent(new ArtistaChangedEvent(id, ChangeType.UPDATED));
+        ArtistaDTO savedDTO = toDTO(saved, albumRepository.countByArtistaId(id));
         NotificationDTO notification = new NotificationDTO(
                 "ARTISTA_UPDATED",
                 "Artista \"" + saved.getNome() + "\" atualizado",
@@ -105,8 +354,16 @@ public class ArtistaService {
         Artista artista = artistaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Artista não encontrado com id: " + id));
         String nome = artista.getNome();
+        // Foto e capas dos álbuns (cascade): a contagem de cada conteúdo cai junto
+        List<String> keys = new ArrayList<>();
+        if (artista.getFotoNomeArquivo() != null && !artista.getFotoNomeArquivo().isBlank()) {
+            keys.add(artista.getFotoNomeArquivo());
+        }
+        artista.getAlbuns().forEach(album -> album.getCapas().forEach(capa -> keys.add(capa.getNomeArquivo())));
+        minIOService.liberar(keys);
         artistaRepository.delete(artista);
         log.info("Artista deletado com sucesso - ID: {}", id);
+        eventPublisher.publishEvent(new ArtistaChangedEvent(id, ChangeType.DELETED));
 
         NotificationDTO notification = new NotificationDTO(
                 "ARTISTA_DELETED",
@@ -117,7 +374,21 @@ public class ArtistaService {
         messagingTemplate.convertAndSend("/topic/artistas", notification);
     }
 
-    private ArtistaDTO toDTO(Artista artista) {
+    /**
+     * Conversor para uma página inteira: as quantidades de álbuns saem de um único COUNT agrupado,
+     * sem inicializar a coleção albuns de cada artista.
+     */
+    private Function<Artista, ArtistaDTO> toDTO(List<Artista> pagina) {
+        if (pagina.isEmpty()) {
+            return artista -> toDTO(artista, 0L);
+        }
+        List<Long> ids = pagina.stream().map(Artista::getId).toList();
+        Map<Long, Long> quantidades = albumRepository.countByArtistaIds(ids).stream()
+                .collect(Collectors.toMap(QuantidadeAlbuns::getArtistaId, QuantidadeAlbuns::getQuantidade));
+        return artista -> toDTO(artista, quantidades.getOrDefault(artista.getId(), 0L));
+    }
+
+    private ArtistaDTO toDTO(Artista artista, long quantidadeAlbuns) {
         return new ArtistaDTO(
             artista.getId(),
             artista.getNome(),
@@ -125,8 +396,10 @@ public class ArtistaService {
             artista.getTipoArtista(),
             artista.getBiografia(),
             artista.getCreatedAt(),
-            (long) artista.getAlbuns().size(),
-            artista.getFotoNomeArquivo() != null ? minIOService.getPresignedUrlFotoArtista(artista.getId()).url() : null
+            quantidadeAlbuns,
+            artista.getFotoNomeArquivo() != null && !artista.getFotoNomeArquivo().isBlank()
+                    ? ImageUrlBuilder.fotoArtistaUrl(artista.getId())
+                    : null
         );
     }
 }
@@ -38,7 +38,8 @@ public class AuthService {
         this.usuarioService = usuarioService;
     }
 
-    @Transactional(readOnly = true)
+    // Sem readOnly: atualizarLastLogin participa desta transação e, em uma readOnly, a alteração não é gravada
+    @Transactional
     public LoginResponse login(LoginRequest request) {
         log.info("Tentativa de login para usuário: {}", request.username());
         try {
@@ -0,0 +1,132 @@
+package com.album.seplag.service;
+
+import com.album.seplag.dto.AlbumExportDTO;
+import com.album.seplag.dto.ArtistaExportDTO;
+import com.album.seplag.enums.FormatoCatalogo;
+import com.album.seplag.model.Album;
+import com.album.seplag.model.Artista;
+import com.album.seplag.repository.AlbumRepository;
+import com.album.seplag.repository.ArtistaRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Exportação completa do catálogo em streaming (NDJSON ou CSV com cabeçalho).
+ * Cada exportação abre um único cursor no banco (fetch size de 1000 linhas) e limpa o EntityManager
+ * a cada lote, então o heap usado não cresce com o tamanho da tabela.
+ */
+@Slf4j
+@Service
+public class CatalogoExportService {
+
+    // Alinhado ao fetch size das consultas de exportação
+    private static final int LOTE = 1000;
+
+    private final AlbumRepository albumRepository;
+    private final ArtistaRepository artistaRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTx;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+
+    public CatalogoExportService(AlbumRepository albumRepository, ArtistaRepository artistaRepository,
+                                 EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper) {
+        this.albumRepository = albumRepository;
+        this.artistaRepository = artistaRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    public void exportarAlbuns(OutputStream out, FormatoCatalogo formato) {
+        exportar("álbuns", out, formato, AlbumExportDTO.class, albumRepository::streamAllForExport, this::toAlbumExport);
+    }
+
+    public void exportarArtistas(OutputStream out, FormatoCatalogo formato) {
+        exportar("artistas", out, formato, ArtistaExportDTO.class, artistaRepository::streamAllForExport, this::toArtistaExport);
+    }
+
+    private <E, D> void exportar(String recurso, OutputStream out, FormatoCatalogo formato, Class<D> tipo,
+                                 Supplier<Stream<E>> consulta, Function<E, D> conversor) {
+        long inicio = System.nanoTime();
+        long linhas = readOnlyTx.execute(status -> {
+            long total = 0;
+            try (Stream<E> entidades = consulta.get();
+                 SequenceWriter writer = writer(formato, tipo).writeValues(out)) {
+                Iterator<E> it = entidades.iterator();
+                while (it.hasNext()) {
+                    writer.write(conversor.apply(it.next()));
+                    if (++total % LOTE == 0) {
+                        // Solta as entidades já escritas e envia o que está no buffer
+                        entityManager.clear();
+                        writer.flush();
+                    }
+                }
+            } catch (IOException e) {
+                // Normalmente o cliente fechou a conexão: encerra o cursor e a transação
+                throw new UncheckedIOException("Erro ao escrever exportação de " + recurso, e);
+            }
+            return total;
+        });
+        log.info("Exportação de {} concluída - {} linhas em {} ms", recurso, linhas,
+                (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    // O stream da resposta é fechado pelo container, não pelo writer
+    private ObjectWriter writer(FormatoCatalogo formato, Class<?> tipo) {
+        if (formato == FormatoCatalogo.CSV) {
+            return csvMapper.writerFor(tipo)
+                    .with(csvMapper.schemaFor(tipo).withHeader())
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+        return objectMapper.writerFor(tipo)
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    private AlbumExportDTO toAlbumExport(Album album) {
+        return new AlbumExportDTO(
+                album.getId(),
+                album.getTitulo(),
+                album.getArtista().getId(),
+                album.getArtista().getNome(),
+                album.getDataLancamento(),
+                album.getCreatedAt()
+        );
+    }
+
+    private ArtistaExportDTO toArtistaExport(Artista artista) {
+        return new ArtistaExportDTO(
+                artista.getId(),
+                artista.getNome(),
+                artista.getGenero(),
+                artista.getTipoArtista(),
+                artista.getBiografia(),
+                artista.getCreatedAt()
+        );
+    }
+}
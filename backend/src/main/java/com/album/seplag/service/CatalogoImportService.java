@@ -0,0 +1,328 @@
+package com.album.seplag.service;
+
+import com.album.seplag.dto.CatalogoImportLinhaDTO;
+import com.album.seplag.dto.CatalogoImportResultDTO;
+import com.album.seplag.dto.CatalogoImportResultDTO.ErroLinha;
+import com.album.seplag.dto.NotificationDTO;
+import com.album.seplag.enums.FormatoCatalogo;
+import com.album.seplag.enums.TipoArtista;
+import com.album.seplag.event.CatalogoImportadoEvent;
+import com.album.seplag.exception.ResourceNotFoundException;
+import com.album.seplag.model.Album;
+import com.album.seplag.model.Artista;
+import com.album.seplag.model.Usuario;
+import com.album.seplag.repository.ArtistaRepository;
+import com.album.seplag.repository.UsuarioRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Importação de catálogo em streaming: o arquivo é lido registro a registro (Jackson streaming),
+ * validado linha a linha e gravado em lotes, cada um na sua transação. A memória usada fica limitada
+ * ao lote corrente e ao cache de artistas por nome, independente do tamanho do arquivo.
+ * Não envia notificação por entidade: o progresso vai para /topic/importacao a cada lote e,
+ * ao final, um único CatalogoImportadoEvent atualiza caches e índices.
+ */
+@Slf4j
+@Service
+public class CatalogoImportService {
+
+    private static final int MAX_NOME = 100;
+    private static final int MAX_GENERO = 50;
+    private static final int MAX_TITULO = 100;
+
+    private final ArtistaRepository artistaRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectReader ndjsonReader;
+    private final ObjectReader csvReader;
+    private final int batchSize;
+    private final long artistCacheSize;
+    private final int maxErros;
+
+    public CatalogoImportService(ArtistaRepository artistaRepository, UsuarioRepository usuarioRepository,
+                                 EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                 SimpMessagingTemplate messagingTemplate, ApplicationEventPublisher eventPublisher,
+                                 ObjectMapper objectMapper,
+                                 @Value("${catalog-import.batch-size:500}") int batchSize,
+                                 @Value("${catalog-import.artist-cache-size:10000}") long artistCacheSize,
+                                 @Value("${catalog-import.max-erros:100}") int maxErros) {
+        this.artistaRepository = artistaRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.messagingTemplate = messagingTemplate;
+        this.eventPublisher = eventPublisher;
+        this.ndjsonReader = objectMapper.readerFor(CatalogoImportLinhaDTO.class);
+        CsvMapper csvMapper = CsvMapper.builder()
+                .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .build();
+        this.csvReader = csvMapper.readerFor(CatalogoImportLinhaDTO.class).with(CsvSchema.emptySchema().withHeader());
+        this.batchSize = batchSize;
+        this.artistCacheSize = artistCacheSize;
+        this.maxErros = maxErros;
+    }
+
+    public CatalogoImportResultDTO importar(InputStream conteudo, FormatoCatalogo formato) {
+        long inicio = System.nanoTime();
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        Long usuarioId = usuarioRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado: " + username))
+                .getId();
+        Importacao importacao = new Importacao(usuarioId);
+        log.info("Iniciando importação de catálogo ({}) - lotes de {} linhas", formato, batchSize);
+
+        ObjectReader reader = formato == FormatoCatalogo.CSV ? csvReader : ndjsonReader;
+        // No CSV a primeira linha é o cabeçalho
+        long numero = formato == FormatoCatalogo.CSV ? 1 : 0;
+        List<LinhaValida> lote = new ArrayList<>(batchSize);
+        try (MappingIterator<CatalogoImportLinhaDTO> linhas = reader.readValues(conteudo)) {
+            while (linhas.hasNextValue()) {
+                CatalogoImportLinhaDTO registro = linhas.nextValue();
+                numero++;
+                importacao.linhasLidas++;
+                LinhaValida linha;
+                try {
+                    linha = validar(numero, registro);
+                } catch (IllegalArgumentException e) {
+                    importacao.erro(numero, e.getMessage());
+                    continue;
+                }
+                lote.add(linha);
+                if (lote.size() >= batchSize) {
+                    gravarLote(lote, importacao);
+                    lote.clear();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Erro de sintaxe: não há como ressincronizar o stream com segurança; os lotes já gravados ficam
+            log.warn("Importação interrompida após a linha {}: {}", numero, e.getMessage());
+            importacao.erro(numero + 1, "Leitura interrompida: registro malformado a partir desta linha");
+        }
+        if (!lote.isEmpty()) {
+            gravarLote(lote, importacao);
+        }
+
+        CatalogoImportResultDTO resultado = new CatalogoImportResultDTO(
+                importacao.linhasLidas,
+                importacao.artistasCriados,
+                importacao.albunsCriados,
+                importacao.linhasComErro,
+                List.copyOf(importacao.erros),
+                (System.nanoTime() - inicio) / 1_000_000);
+        log.info("Importação de catálogo concluída - {} linhas, {} artistas, {} álbuns, {} erros em {} ms",
+                resultado.linhasLidas(), resultado.artistasCriados(), resultado.albunsCriados(),
+                resultado.linhasComErro(), resultado.duracaoMs());
+
+        if (resultado.artistasCriados() > 0 || resultado.albunsCriados() > 0) {
+            eventPublisher.publishEvent(new CatalogoImportadoEvent(resultado.artistasCriados(), resultado.albunsCriados()));
+        }
+        messagingTemplate.convertAndSend("/topic/importacao", new NotificationDTO(
+                "CATALOGO_IMPORTADO",
+                "Importação concluída: " + resultado.artistasCriados() + " artistas e "
+                        + resultado.albunsCriados() + " álbuns criados",
+                Instant.now(),
+                resultado
+        ));
+        return resultado;
+    }
+
+    /**
+     * Grava o lote numa transação. Se ela falhar, o lote inteiro é descartado e reportado como erro,
+     * e os artistas criados nele saem do cache de nomes.
+     */
+    private void gravarLote(List<LinhaValida> lote, Importacao importacao) {
+        Map<String, Long> novosNoLote = new HashMap<>();
+        int[] criados = new int[2];
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Usuario usuario = entityManager.getReference(Usuario.class, importacao.usuarioId);
+                Map<String, Long> existentes = artistasExistentes(lote, importacao);
+                for (LinhaValida linha : lote) {
+                    String chave = chave(linha.artista());
+                    Long artistaId = novosNoLote.getOrDefault(chave, existentes.get(chave));
+                    if (artistaId == null) {
+                        Artista artista = new Artista();
+                        artista.setNome(linha.artista());
+                        artista.setGenero(linha.genero());
+                        artista.setTipoArtista(linha.tipoArtista() != null ? linha.tipoArtista() : TipoArtista.CANTOR);
+                        entityManager.persist(artista);
+                        artistaId = artista.getId();
+                        novosNoLote.put(chave, artistaId);
+                        criados[0]++;
+                    }
+                    if (linha.titulo() != null) {
+                        Album album = new Album();
+                        album.setTitulo(linha.titulo());
+                        album.setDataLancamento(linha.dataLancamento());
+                        album.setArtista(entityManager.getReference(Artista.class, artistaId));
+                        album.setUsuario(usuario);
+                        entityManager.persist(album);
+                        criados[1]++;
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+            importacao.artistas.putAll(novosNoLote);
+            importacao.artistasCriados += criados[0];
+            importacao.albunsCriados += criados[1];
+        } catch (RuntimeException e) {
+            log.warn("Lote da linha {} à {} descartado: {}", lote.get(0).numero(), lote.get(lote.size() - 1).numero(),
+                    e.getMessage());
+            importacao.erro(lote.get(0).numero(), lote.size(), "Lote até a linha " + lote.get(lote.size() - 1).numero()
+                    + " descartado: " + e.getMessage());
+        }
+
+        messagingTemplate.convertAndSend("/topic/importacao", new NotificationDTO(
+                "IMPORTACAO_PROGRESSO",
+                importacao.linhasLidas + " linhas processadas",
+                Instant.now(),
+                Map.<String, Object>of(
+                        "linhasLidas", importacao.linhasLidas,
+                        "artistasCriados", importacao.artistasCriados,
+                        "albunsCriados", importacao.albunsCriados,
+                        "linhasComErro", importacao.linhasComErro)
+        ));
+    }
+
+    /**
+     * Ids dos artistas já cadastrados citados no lote: os que estão no cache de nomes e, para os demais,
+     * um único SELECT ... IN com todos os nomes do lote (não um por linha).
+     */
+    private Map<String, Long> artistasExistentes(List<LinhaValida> lote, Importacao importacao) {
+        Map<String, Long> existentes = new HashMap<>();
+        Set<String> pendentes = new HashSet<>();
+        for (LinhaValida linha : lote) {
+            String chave = chave(linha.artista());
+            Long id = importacao.artistas.getIfPresent(chave);
+            if (id != null) {
+                existentes.put(chave, id);
+            } else {
+                pendentes.add(chave);
+            }
+        }
+        if (!pendentes.isEmpty()) {
+            for (ArtistaRepository.IdPorNome encontrado : artistaRepository.findIdsByNomes(pendentes)) {
+                existentes.put(encontrado.getChave(), encontrado.getId());
+                importacao.artistas.put(encontrado.getChave(), encontrado.getId());
+            }
+        }
+        return existentes;
+    }
+
+    private static LinhaValida validar(long numero, CatalogoImportLinhaDTO linha) {
+        String artista = texto(linha.artista());
+        if (artista == null) {
+            throw new IllegalArgumentException("Nome do artista é obrigatório");
+        }
+        if (artista.length() > MAX_NOME) {
+            throw new IllegalArgumentException("Nome do artista deve ter no máximo " + MAX_NOME + " caracteres");
+        }
+        String genero = texto(linha.genero());
+        if (genero != null && genero.length() > MAX_GENERO) {
+            throw new IllegalArgumentException("Gênero deve ter no máximo " + MAX_GENERO + " caracteres");
+        }
+        String titulo = texto(linha.titulo());
+        if (titulo != null && titulo.length() > MAX_TITULO) {
+            throw new IllegalArgumentException("Título deve ter no máximo " + MAX_TITULO + " caracteres");
+        }
+
+        TipoArtista tipo = null;
+        String tipoTexto = texto(linha.tipoArtista());
+        if (tipoTexto != null) {
+            try {
+                tipo = TipoArtista.valueOf(tipoTexto.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Tipo de artista inválido: " + tipoTexto + " (use CANTOR ou BANDA)");
+            }
+        }
+
+        LocalDate data = null;
+        String dataTexto = texto(linha.dataLancamento());
+        if (dataTexto != null) {
+            try {
+                data = LocalDate.parse(dataTexto);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Data de lançamento inválida: " + dataTexto + " (use AAAA-MM-DD)");
+            }
+        }
+        return new LinhaValida(numero, artista, tipo, genero, titulo, data);
+    }
+
+    private static String texto(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        return valor.trim();
+    }
+
+    private static String chave(String nome) {
+        return nome.toLowerCase(Locale.ROOT);
+    }
+
+    private record LinhaValida(long numero, String artista, TipoArtista tipoArtista, String genero,
+                               String titulo, LocalDate dataLancamento) {
+    }
+
+    /**
+     * Estado de uma importação: contadores, primeiros erros e cache limitado de artistas por nome.
+     */
+    private final class Importacao {
+
+        private final Long usuarioId;
+        private final Cache<String, Long> artistas = Caffeine.newBuilder().maximumSize(artistCacheSize).build();
+        private final List<ErroLinha> erros = new ArrayList<>();
+        private long linhasLidas;
+        private long artistasCriados;
+        private long albunsCriados;
+        private long linhasComErro;
+
+        private Importacao(Long usuarioId) {
+            this.usuarioId = usuarioId;
+        }
+
+        private void erro(long linha, String mensagem) {
+            erro(linha, 1, mensagem);
+        }
+
+        private void erro(long linha, int linhas, String mensagem) {
+            linhasComErro += linhas;
+            if (erros.size() < maxErros) {
+                erros.add(new ErroLinha(linha, mensagem));
+            }
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package com.album.seplag.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.album.seplag.config.DatabasePlatform;
+import com.album.seplag.exception.UploadTooLargeException;
+import com.album.seplag.repository.ConteudoRepository;
+import com.album.seplag.storage.ObjectStorage;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Grava capas e fotos endereçadas pelo SHA-256 do conteúdo (imagens/{hash}), com contagem de referências
+ * na tabela conteudos: um upload repetido não grava nada no armazenamento, só incrementa a contagem.
+ * Roda na transação de quem chama (MinIOService), junto com as linhas das capas ou do artista.
+ * <p>
+ * Em um lote, o hash e a gravação no armazenamento de cada arquivo rodam em paralelo em um pool limitado
+ * (upload.pool-size threads); a contagem fica na thread da transação. Se uma gravação falha, ou se a
+ * transação é desfeita depois, os objetos gravados pelo lote são excluídos.
+ * <p>
+ * Uploads sem multipart (corpo da requisição) são feitos em duas etapas: receber grava o stream em uma
+ * chave temporária (uploads/{uuid}) calculando o hash no caminho, fora de transação; armazenar, já na
+ * transação, move o objeto para imagens/{hash} ou o descarta se o conteúdo já existe.
+ * <p>
+ * A exclusão física de um objeto (última referência liberada, ou rollback do upload que criou a linha)
+ * roda depois do fim da transação, em uma transação própria: sob o lock da chave, só exclui se nenhuma
+ * linha de conteudos voltou a apontar para o objeto. Os uploads tomam o mesmo lock antes de contar,
+ * então um upload concorrente que recria a linha (e regrava o objeto) ou termina antes, e a exclusão
+ * vê a linha, ou espera a exclusão terminar.
+ */
+@Slf4j
+@Service
+public class ConteudoService {
+
+    static final String PREFIXO = "imagens/";
+    static final String TEMPORARIO = "uploads/";
+
+    private final ObjectStorage objectStorage;
+    private final ConteudoRepository conteudoRepository;
+    private final DatabasePlatform databasePlatform;
+    private final TransactionTemplate novaTransacao;
+    private final ExecutorService executor;
+    private final long maxSize;
+
+    public ConteudoService(ObjectStorage objectStorage, ConteudoRepository conteudoRepository,
+                           DatabasePlatform databasePlatform, PlatformTransactionManager transactionManager,
+                           @Value("${upload.pool-size:8}") int poolSize,
+                           @Value("${upload.max-size:104857600}") long maxSize) {
+        this.objectStorage = objectStorage;
+        this.conteudoRepository = conteudoRepository;
+        this.databasePlatform = databasePlatform;
+        // afterCommit/afterCompletion: a transação original já terminou
+        this.novaTransacao = new TransactionTemplate(transactionManager);
+        this.novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxSize = maxSize;
+        AtomicInteger threads = new AtomicInteger();
+        // Fila sem limite: as tarefas de cada lote são no máximo a quantidade de arquivos da requisição,
+        // e o tamanho da requisição já é limitado pelo multipart
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                tarefa -> {
+                    Thread thread = new Thread(tarefa, "upload-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = pool;
+    }
+
+    /**
+     * Chave do conteúdo do arquivo, gravando-o só se ainda não existe.
+     */
+    @Transactional
+    public Armazenado armazenar(MultipartFile file) {
+        return armazenar(List.of(file)).get(0);
+    }
+
+    /**
+     * Chaves dos conteúdos, na ordem dos arquivos. O MultipartFile já está no servidor (memória ou arquivo
+     * temporário), então o hash é calculado antes: um conteúdo repetido, no banco ou no próprio lote,
+     * não é enviado ao armazenamento.
+     */
+    @Transactional
+    public List<Armazenado> armazenar(List<MultipartFile> files) {
+        List<String> hashes = emParalelo(files.size(), i -> sha256(files.get(i)));
+
+        Map<String, Integer> primeiroIndice = new LinkedHashMap<>();
+        Map<String, Integer> ocorrencias = new LinkedHashMap<>();
+        for (int i = 0; i < hashes.size(); i++) {
+            primeiroIndice.putIfAbsent(hashes.get(i), i);
+            ocorrencias.merge(hashes.get(i), 1, Integer::sum);
+        }
+        // Em ordem, para dois lotes com os mesmos conteúdos não se bloquearem mutuamente
+        new TreeSet<>(ocorrencias.keySet()).forEach(hash -> bloquear(PREFIXO + hash));
+        List<Integer> novos = new ArrayList<>();
+        for (Map.Entry<String, Integer> hash : ocorrencias.entrySet()) {
+            if (conteudoRepository.incrementar(hash.getKey(), hash.getValue()) == 0) {
+                novos.add(primeiroIndice.get(hash.getKey()));
+            }
+        }
+
+        gravar(novos.stream().map(files::get).toList(), novos.stream().map(i -> PREFIXO + hashes.get(i)).toList());
+        List<String> criados = new ArrayList<>();
+        excluirNoRollback(criados);
+        for (Integer i : novos) {
+            MultipartFile file = files.get(i);
+            String key = PREFIXO + hashes.get(i);
+            if (registrar(hashes.get(i), key, file.getContentType(), file.getSize(), ocorrencias.get(hashes.get(i)))) {
+                criados.add(key);
+            }
+        }
+
+        List<Armazenado> armazenados = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            armazenados.add(new Armazenado(PREFIXO + hashes.get(i), novos.contains(i)));
+        }
+        return armazenados;
+    }
+
+    /**
+     * Grava o stream em uma chave temporária, calculando o SHA-256 enquanto os bytes passam: nada é
+     * acumulado em memória nem em disco além do que o ObjectStorage usa por parte. size negativo quando
+     * o tamanho não é conhecido (sem Content-Length). Não deve rodar dentro de uma transação: o upload
+     * seguraria a conexão do banco.
+     *
+     * @throws UploadTooLargeException se o conteúdo passa de upload.max-size
+     */
+    public Recebido receber(InputStream content, long size, String contentType) {
+        if (size > maxSize) {
+            throw new UploadTooLargeException(maxSize);
+        }
+        String temporario = TEMPORARIO + UUID.randomUUID();
+        MessageDigest digest = sha256();
+        LimiteInputStream limitado = new LimiteInputStream(content, maxSize);
+        try {
+            objectStorage.put(temporario, new DigestInputStream(limitado, digest), size, contentType);
+        } catch (RuntimeException e) {
+            // O MinIO embrulha a exceção lançada pelo stream
+            if (limitado.excedido) {
+                throw new UploadTooLargeException(maxSize);
+            }
+            throw e;
+        }
+        return new Recebido(temporario, HexFormat.of().formatHex(digest.digest()), contentType, limitado.lidos);
+    }
+
+    /**
+     * Chave do conteúdo recebido: move o objeto temporário para imagens/{hash}, ou o exclui quando o
+     * conteúdo já existe e só a contagem é incrementada.
+     */
+    @Transactional
+    public Armazenado armazenar(Recebido recebido) {
+        String key = PREFIXO + recebido.hash();
+        bloquear(key);
+        if (conteudoRepository.incrementar(recebido.hash(), 1) > 0) {
+            descartar(recebido);
+            return new Armazenado(key, false);
+        }
+        objectStorage.move(recebido.temporario(), key);
+        List<String> criados = new ArrayList<>();
+        excluirNoRollback(criados);
+        if (registrar(recebido.hash(), key, recebido.contentType(), recebido.tamanho(), 1)) {
+            criados.add(key);
+        }
+        return new Armazenado(key, true);
+    }
+
+    /**
+     * Exclui o objeto temporário. Não falha se ele já foi movido ou excluído.
+     */
+    public void descartar(Recebido recebido) {
+        try {
+            objectStorage.delete(recebido.temporario());
+        } catch (Exception e) {
+            log.warn("Erro ao excluir upload temporário {}: {}", recebido.temporario(), e.getMessage());
+        }
+    }
+
+    /**
+     * Remove uma referência ao objeto. Retorna true quando o objeto será excluído do armazenamento:
+     * era a última referência, ou é um objeto anterior à deduplicação. A exclusão física fica para
+     * depois do commit; se a transação for desfeita, a referência volta e o objeto continua lá.
+     */
+    @Transactional
+    public boolean liberar(String key) {
+        if (conteudoRepository.decrementar(key) > 0 && conteudoRepository.deleteSemReferencias(key) == 0) {
+            return false;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    excluirSemConteudo(key);
+                }
+            });
+        } else {
+            excluirSemConteudo(key);
+        }
+        return true;
+    }
+
+    /**
+     * Exclui o objeto se nenhuma linha de conteudos aponta para ele, sob o lock da chave. Roda depois
+     * do fim da transação que liberou a referência ou desfez o upload; até lá um upload concorrente do
+     * mesmo conteúdo pode ter recriado a linha, e então o objeto é dele.
+     */
+    private void excluirSemConteudo(String key) {
+        try {
+            novaTransacao.executeWithoutResult(status -> {
+                bloquear(key);
+                if (conteudoRepository.existsByNomeArquivo(key)) {
+                    log.debug("Objeto {} mantido: o conteúdo foi registrado de novo", key);
+                    return;
+                }
+                objectStorage.delete(key);
+            });
+        } catch (Exception e) {
+            log.warn("Erro ao excluir objeto {} sem referências: {}", key, e.getMessage());
+        }
+    }
+
+    private void bloquear(String key) {
+        if (databasePlatform.isPostgres()) {
+            conteudoRepository.bloquear(key);
+        }
+    }
+
+    /**
+     * Grava os objetos novos em paralelo. Uma falha exclui os que já foram gravados (a transação segura
+     * o lock das chaves); depois disso, a exclusão fica para o rollback da transação, só dos conteúdos
+     * cuja linha ela criou.
+     */
+    private void gravar(List<MultipartFile> files, List<String> keys) {
+        if (files.isEmpty()) {
+            return;
+        }
+        List<String> gravados = Collections.synchronizedList(new ArrayList<>());
+        try {
+            emParalelo(files.size(), i -> {
+                MultipartFile file = files.get(i);
+                String key = keys.get(i);
+                try (InputStream in = file.getInputStream()) {
+                    // Gravar de novo a mesma chave é inofensivo: o conteúdo é o mesmo
+                    objectStorage.put(key, in, file.getSize(), file.getContentType());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                gravados.add(key);
+                return key;
+            });
+        } catch (RuntimeException e) {
+            excluir(gravados);
+            throw e;
+        }
+    }
+
+    /**
+     * Exclui os objetos das chaves no rollback. A lista é lida só no fim da transação: recebe as chaves
+     * cuja linha em conteudos foi criada por esta transação. Se a linha veio de um upload concorrente
+     * do mesmo conteúdo (ON CONFLICT no PostgreSQL, violação de chave no H2), o objeto é dele e fica;
+     * o mesmo vale para um upload que recriou a linha depois do rollback (excluirSemConteudo).
+     */
+    private void excluirNoRollback(List<String> keys) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        keys.forEach(ConteudoService.this::excluirSemConteudo);
+                    }
+                }
+            });
+        }
+    }
+
+    private void excluir(List<String> keys) {
+        for (String key : keys) {
+            try {
+                objectStorage.delete(key);
+                log.info("Objeto {} excluído após falha no upload", key);
+            } catch (Exception e) {
+                log.warn("Erro ao excluir objeto {} após falha no upload: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Resultados de funcao(0..quantidade-1), executada no pool; com um item só, na própria thread.
+     */
+    private <T> List<T> emParalelo(int quantidade, IntFunction<T> funcao) {
+        if (quantidade == 1) {
+            return List.of(funcao.apply(0));
+        }
+        List<CompletableFuture<T>> tarefas = IntStream.range(0, quantidade)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> funcao.apply(i), executor))
+                .toList();
+        try {
+            CompletableFuture.allOf(tarefas.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            // Espera as demais antes de devolver a falha: quem chama exclui o que elas gravaram
+            tarefas.forEach(tarefa -> tarefa.exceptionally(erro -> null).join());
+            throw e.getCause() instanceof RuntimeException causa ? causa : e;
+        }
+        return tarefas.stream().map(CompletableFuture::join).toList();
+    }
+
+    /**
+     * true quando a linha foi criada aqui; false quando um upload concorrente já a tinha criado.
+     */
+    private boolean registrar(String hash, String key, String contentType, long tamanho, int referencias) {
+        if (databasePlatform.isPostgres()) {
+            return conteudoRepository.inserirOuIncrementar(hash, key, contentType, tamanho, referencias);
+        }
+        return conteudoRepository.inserir(hash, key, contentType, tamanho, referencias) > 0;
+    }
+
+    private static String sha256(MultipartFile file) {
+        MessageDigest digest = sha256();
+        try (DigestInputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Chave do conteúdo e se ele foi gravado agora (false quando já existia).
+     */
+    public record Armazenado(String key, boolean novo) {
+    }
+
+    /**
+     * Conteúdo gravado por receber, ainda na chave temporária.
+     */
+    public record Recebido(String temporario, String hash, String contentType, long tamanho) {
+    }
+
+    /**
+     * Conta os bytes lidos e falha ao passar do limite, sem esperar o fim do stream.
+     */
+    private static final class LimiteInputStream extends FilterInputStream {
+
+        private final long limite;
+        private long lidos;
+        private boolean excedido;
+
+        LimiteInputStream(InputStream in, long limite) {
+            super(in);
+            this.limite = limite;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                contar(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                contar(n);
+            }
+            return n;
+        }
+
+        private void contar(int n) {
+            lidos += n;
+            if (lidos > limite) {
+                excedido = true;
+                throw new UploadTooLargeException(limite);
+            }
+        }
+    }
+}
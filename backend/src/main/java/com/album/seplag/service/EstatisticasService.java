@@ -0,0 +1,286 @@
+package com.album.seplag.service;
+
+import com.album.seplag.config.PrimaryReadScope;
+import com.album.seplag.dto.EstatisticasDTO;
+import com.album.seplag.dto.EstatisticasDTO.PorAno;
+import com.album.seplag.dto.EstatisticasDTO.PorArtista;
+import com.album.seplag.dto.EstatisticasDTO.PorGenero;
+import com.album.seplag.dto.EstatisticasDTO.PorTipoArtista;
+import com.album.seplag.enums.TipoArtista;
+import com.album.seplag.event.AlbumChangedEvent;
+import com.album.seplag.event.ArtistaChangedEvent;
+import com.album.seplag.event.CatalogoImportadoEvent;
+import com.album.seplag.repository.ArtistaRepository;
+import com.album.seplag.repository.ArtistaRepository.RollupCatalogo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Estatísticas do catálogo servidas a partir de um snapshot em memória, sem agregação por requisição.
+ * <p>
+ * A carga completa é um único SELECT agrupado (ArtistaRepository.rollupCatalogo), na inicialização, após
+ * uma importação e na reconstrução periódica (estatisticas.rebuild-interval), que corrige alterações
+ * feitas fora desta instância. Entre cargas o rollup é incremental: os eventos de alteração só anotam os
+ * artistas e álbuns alterados, e o recálculo agendado (estatisticas.refresh-interval) consulta apenas as
+ * linhas desses artistas, tira dos contadores a contribuição anterior de cada um e soma a nova. Uma rajada
+ * de alterações custa um único recálculo, proporcional ao que mudou e não ao tamanho do catálogo.
+ * porArtista traz só os estatisticas.top-artistas artistas com mais álbuns.
+ */
+@Slf4j
+@Service
+public class EstatisticasService {
+
+    // Acima disso, uma consulta com a lista de ids custa mais que a carga completa
+    private static final int MAX_ALTERADOS = 1000;
+
+    private static final Comparator<PorArtista> RANKING = Comparator.comparingLong(PorArtista::quantidade).reversed()
+            .thenComparing(PorArtista::artistaId);
+
+    private final ArtistaRepository artistaRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final int topArtistas;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    // Contadores: alterados só dentro de rebuild/refreshIfStale (synchronized)
+    private final Map<Long, Contribuicao> contribuicoes = new HashMap<>();
+    // null primeiro: "sem data" e "sem gênero" abrem as listas
+    private final Map<Integer, Long> porAno = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+    private final Map<String, Long> porGenero = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+    private final Map<TipoArtista, Long> porTipo = new EnumMap<>(TipoArtista.class);
+    private final NavigableSet<PorArtista> ranking = new TreeSet<>(RANKING);
+    private long totalAlbuns;
+    private long geracao;
+
+    private final Set<Long> artistasAlterados = ConcurrentHashMap.newKeySet();
+    private final Set<Long> albunsAlterados = ConcurrentHashMap.newKeySet();
+    private volatile boolean reconstruir = true;
+    private volatile EstatisticasDTO snapshot;
+
+    public EstatisticasService(ArtistaRepository artistaRepository, PlatformTransactionManager transactionManager,
+                               @Value("${estatisticas.top-artistas:100}") int topArtistas) {
+        this.artistaRepository = artistaRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.topArtistas = topArtistas;
+    }
+
+    /**
+     * Snapshot atual; calculado na hora apenas se ainda não houver nenhum (antes da primeira carga).
+     */
+    public EstatisticasDTO snapshot() {
+        EstatisticasDTO atual = snapshot;
+        return atual != null ? atual : rebuild();
+    }
+
+    public String etag(EstatisticasDTO estatisticas) {
+        return "estatisticas-" + epoch + "-" + estatisticas.geracao();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Carga completa. As anotações de alterados são limpas antes da consulta: uma alteração que chegue
+     * durante a carga anota de novo e entra no próximo recálculo incremental.
+     */
+    @Scheduled(initialDelayString = "${estatisticas.rebuild-interval:PT1H}",
+            fixedDelayString = "${estatisticas.rebuild-interval:PT1H}")
+    public synchronized EstatisticasDTO rebuild() {
+        long inicio = System.nanoTime();
+        reconstruir = false;
+        artistasAlterados.clear();
+        albunsAlterados.clear();
+        List<RollupCatalogo> linhas;
+        try {
+            linhas = ler(artistaRepository::rollupCatalogo);
+        } catch (RuntimeException e) {
+            reconstruir = true;
+            log.error("Erro ao calcular estatísticas do catálogo: {}", e.getMessage(), e);
+            if (snapshot == null) {
+                throw e;
+            }
+            return snapshot;
+        }
+        contribuicoes.clear();
+        porAno.clear();
+        porGenero.clear();
+        porTipo.clear();
+        ranking.clear();
+        totalAlbuns = 0;
+        agrupar(linhas).forEach(this::somar);
+        EstatisticasDTO novo = publicar();
+        log.info("Estatísticas do catálogo recalculadas - geração {}, {} linhas em {} ms",
+                novo.geracao(), linhas.size(), (System.nanoTime() - inicio) / 1_000_000);
+        return novo;
+    }
+
+    /**
+     * Recálculo incremental dos artistas anotados pelos eventos. Um artista anotado que não volta na
+     * consulta foi excluído e sai dos contadores.
+     */
+    @Scheduled(initialDelayString = "${estatisticas.refresh-interval:PT30S}",
+            fixedDelayString = "${estatisticas.refresh-interval:PT30S}")
+    public synchronized void refreshIfStale() {
+        if (reconstruir || artistasAlterados.size() + albunsAlterados.size() > MAX_ALTERADOS) {
+            rebuild();
+            return;
+        }
+        if (artistasAlterados.isEmpty() && albunsAlterados.isEmpty()) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        Set<Long> artistas = retirar(artistasAlterados);
+        Set<Long> albuns = retirar(albunsAlterados);
+        List<RollupCatalogo> linhas;
+        try {
+            linhas = ler(() -> artistaRepository.rollupCatalogo(artistas, albuns));
+        } catch (RuntimeException e) {
+            artistasAlterados.addAll(artistas);
+            albunsAlterados.addAll(albuns);
+            log.error("Erro ao atualizar estatísticas do catálogo: {}", e.getMessage(), e);
+            return;
+        }
+        Map<Long, Contribuicao> novas = agrupar(linhas);
+        Set<Long> afetados = new HashSet<>(artistas);
+        afetados.addAll(novas.keySet());
+        for (Long artistaId : afetados) {
+            Contribuicao anterior = contribuicoes.remove(artistaId);
+            if (anterior != null) {
+                subtrair(artistaId, anterior);
+            }
+            Contribuicao nova = novas.get(artistaId);
+            if (nova != null) {
+                somar(artistaId, nova);
+            }
+        }
+        EstatisticasDTO novo = publicar();
+        log.debug("Estatísticas do catálogo atualizadas - geração {}, {} artistas em {} ms",
+                novo.geracao(), afetados.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAlbumChanged(AlbumChangedEvent event) {
+        // Sem troca de artista, artistasAfetados vem vazio: o artista sai do álbum na consulta
+        albunsAlterados.add(event.albumId());
+        artistasAlterados.addAll(event.artistasAfetados());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onArtistaChanged(ArtistaChangedEvent event) {
+        artistasAlterados.add(event.artistaId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogoImportado(CatalogoImportadoEvent event) {
+        reconstruir = true;
+    }
+
+    /**
+     * Da primária: o recálculo vem logo depois das alterações que o motivaram.
+     */
+    private List<RollupCatalogo> ler(Supplier<List<RollupCatalogo>> consulta) {
+        return PrimaryReadScope.executar(() -> readOnlyTx.execute(status -> consulta.get()));
+    }
+
+    private void somar(Long artistaId, Contribuicao contribuicao) {
+        contribuicoes.put(artistaId, contribuicao);
+        aplicar(artistaId, contribuicao, 1);
+        ranking.add(new PorArtista(artistaId, contribuicao.nome(), contribuicao.total()));
+    }
+
+    private void subtrair(Long artistaId, Contribuicao contribuicao) {
+        aplicar(artistaId, contribuicao, -1);
+        ranking.remove(new PorArtista(artistaId, contribuicao.nome(), contribuicao.total()));
+    }
+
+    private void aplicar(Long artistaId, Contribuicao contribuicao, int sinal) {
+        totalAlbuns += sinal * contribuicao.total();
+        contribuicao.porAno().forEach((ano, quantidade) -> ajustar(porAno, ano, sinal * quantidade));
+        // Artistas sem álbuns não entram em gênero e tipo
+        if (contribuicao.total() > 0) {
+            ajustar(porGenero, contribuicao.genero(), sinal * contribuicao.total());
+            if (contribuicao.tipoArtista() != null) {
+                ajustar(porTipo, contribuicao.tipoArtista(), sinal * contribuicao.total());
+            }
+        }
+    }
+
+    private EstatisticasDTO publicar() {
+        EstatisticasDTO novo = new EstatisticasDTO(
+                ++geracao,
+                Instant.now(),
+                contribuicoes.size(),
+                totalAlbuns,
+                porAno.entrySet().stream().map(e -> new PorAno(e.getKey(), e.getValue())).toList(),
+                ranking.stream().limit(topArtistas).toList(),
+                porGenero.entrySet().stream().map(e -> new PorGenero(e.getKey(), e.getValue())).toList(),
+                porTipo.entrySet().stream().map(e -> new PorTipoArtista(e.getKey(), e.getValue())).toList()
+        );
+        snapshot = novo;
+        return novo;
+    }
+
+    /**
+     * Soma delta à chave, removendo-a quando chega a zero (anos e gêneros sem álbuns não são listados).
+     */
+    private static <K> void ajustar(Map<K, Long> contadores, K chave, long delta) {
+        contadores.merge(chave, delta, (atual, soma) -> atual + soma == 0 ? null : atual + soma);
+    }
+
+    private static Set<Long> retirar(Set<Long> alterados) {
+        Set<Long> retirados = new HashSet<>();
+        for (Iterator<Long> it = alterados.iterator(); it.hasNext(); ) {
+            retirados.add(it.next());
+            it.remove();
+        }
+        return retirados;
+    }
+
+    private static Map<Long, Contribuicao> agrupar(List<RollupCatalogo> linhas) {
+        Map<Long, Contribuicao> porArtista = new HashMap<>();
+        for (RollupCatalogo linha : linhas) {
+            Contribuicao contribuicao = porArtista.computeIfAbsent(linha.getArtistaId(), id ->
+                    new Contribuicao(linha.getNome(), linha.getGenero(), linha.getTipoArtista(), new HashMap<>()));
+            if (linha.getQuantidade() > 0) {
+                contribuicao.porAno().merge(linha.getAno(), linha.getQuantidade(), Long::sum);
+            }
+        }
+        return porArtista;
+    }
+
+    /**
+     * Álbuns de um artista por ano de lançamento (só anos com álbuns), e os dados do artista que
+     * definem em que gênero e tipo eles contam.
+     */
+    private record Contribuicao(String nome, String genero, TipoArtista tipoArtista, Map<Integer, Long> porAno) {
+
+        long total() {
+            return porAno.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+}
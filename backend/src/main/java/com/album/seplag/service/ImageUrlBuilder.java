@@ -0,0 +1,22 @@
+package com.album.seplag.service;
+
+/**
+ * Monta as URLs do backend que fazem proxy das imagens no MinIO.
+ * Funções puras: não consultam o banco nem validam posse; use apenas com entidades já carregadas.
+ * A validação de posse fica nos endpoints públicos de presigned-url (MinIOService).
+ */
+public final class ImageUrlBuilder {
+
+    private static final String API_BASE = "/api/v1";
+
+    private ImageUrlBuilder() {
+    }
+
+    public static String capaUrl(long albumId, long capaId) {
+        return API_BASE + "/albuns/" + albumId + "/capa/" + capaId + "/image";
+    }
+
+    public static String fotoArtistaUrl(long artistaId) {
+        return API_BASE + "/artistas/" + artistaId + "/foto/image";
+    }
+}
@@ -1,166 +1,161 @@
 package com.album.seplag.service;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.util.UUID;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import com.album.seplag.config.MinIOConfig;
 import com.album.seplag.dto.PresignedUrlResponse;
+import com.album.seplag.event.AlbumChangedEvent;
+import com.album.seplag.event.ArtistaChangedEvent;
+import com.album.seplag.event.ChangeType;
+import com.album.seplag.event.ObjectRemovedEvent;
+import com.album.seplag.event.ObjectStoredEvent;
 import com.album.seplag.exception.ResourceNotFoundException;
+import com.album.seplag.exception.UnsupportedImageTypeException;
 import com.album.seplag.model.Album;
 import com.album.seplag.model.Artista;
 import com.album.seplag.model.CapaAlbum;
 import com.album.seplag.repository.AlbumRepository;
 import com.album.seplag.repository.ArtistaRepository;
 import com.album.seplag.repository.CapaAlbumRepository;
+import com.album.seplag.repository.MiniaturaRepository;
+import com.album.seplag.storage.ObjectRef;
+import com.album.seplag.validation.ImageTypeValidator;
 
-import io.minio.BucketExistsArgs;
-import io.minio.GetObjectArgs;
-import io.minio.MakeBucketArgs;
-import io.minio.MinioClient;
-import io.minio.PutObjectArgs;
-import io.minio.RemoveObjectArgs;
-import io.minio.StatObjectArgs;
-import io.minio.StatObjectResponse;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Capas de álbum e fotos de artista: associação com as entidades e gravação no ObjectStorage
+ * (MinIO ou disco local, conforme storage.type) pelo ConteudoService, uma vez por conteúdo. As miniaturas
+ * são geradas pelo MiniaturaService a partir do ObjectStoredEvent, publicado só para conteúdo novo.
+ */
 @Slf4j
 @Service
 public class MinIOService {
 
-    private final MinioClient minioClient;
-    private final String bucketName;
+    private final ConteudoService conteudoService;
     private final Long presignedUrlExpiration;
     private final AlbumRepository albumRepository;
     private final ArtistaRepository artistaRepository;
     private final CapaAlbumRepository capaAlbumRepository;
+    private final MiniaturaRepository miniaturaRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
-    public MinIOService(MinIOConfig minIOConfig,
-                       @Value("${minio.bucket-name}") String bucketName,
+    public MinIOService(ConteudoService conteudoService,
                        @Value("${minio.presigned-url-expiration}") Long presignedUrlExpiration,
                        AlbumRepository albumRepository,
                        ArtistaRepository artistaRepository,
-                       CapaAlbumRepository capaAlbumRepository) {
-        this.minioClient = minIOConfig.minioClient();
-        this.bucketName = bucketName;
+                       CapaAlbumRepository capaAlbumRepository,
+                       MiniaturaRepository miniaturaRepository,
+                       ApplicationEventPublisher eventPublisher,
+                       PlatformTransactionManager transactionManager) {
+        this.conteudoService = conteudoService;
         this.presignedUrlExpiration = presignedUrlExpiration;
         this.albumRepository = albumRepository;
         this.artistaRepository = artistaRepository;
         this.capaAlbumRepository = capaAlbumRepository;
-        initializeBucket();
+        this.miniaturaRepository = miniaturaRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    private void initializeBucket() {
-        try {
-            log.info("Inicializando bucket MinIO: {}", bucketName);
-            boolean found = minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucketName).build());
-            if (!found) {
-                log.info("Bucket não encontrado, criando bucket: {}", bucketName);
-                minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
-                log.info("Bucket criado com sucesso: {}", bucketName);
-            } else {
-                log.info("Bucket já existe: {}", bucketName);
-            }
-        } catch (Exception e) {
-            log.error("Erro ao inicializar bucket MinIO: {}", e.getMessage(), e);
-            throw new RuntimeException("Erro ao inicializar bucket MinIO", e);
-        }
+    @Transactional
+    public CapaAlbum uploadCapa(Long albumId, MultipartFile file) {
+        return uploadCapas(albumId, List.of(file)).get(0);
     }
 
     /**
-     * Obtém o arquivo do MinIO como InputStream junto com seu contentType
+     * Várias capas de uma vez: o álbum é carregado uma vez, os arquivos são gravados em paralelo pelo
+     * ConteudoService e as linhas são inseridas em lote (JDBC batch).
      */
-    public FileData getFile(String objectName) {
+    @Transactional
+    public List<CapaAlbum> uploadCapas(Long albumId, List<MultipartFile> files) {
+        log.info("Fazendo upload de {} capa(s) para álbum ID: {}, arquivos: {}", files.size(), albumId,
+                files.stream().map(MultipartFile::getOriginalFilename).toList());
+        Album album = albumRepository.findById(albumId)
+                .orElseThrow(() -> new ResourceNotFoundException("Álbum não encontrado com id: " + albumId));
+        files.forEach(MinIOService::verificarTipo);
+
         try {
-            StatObjectResponse stat = minioClient.statObject(
-                    StatObjectArgs.builder()
-                            .bucket(bucketName)
-                            .object(objectName)
-                            .build()
-            );
-            
-            InputStream inputStream = minioClient.getObject(
-                    GetObjectArgs.builder()
-                            .bucket(bucketName)
-                            .object(objectName)
-                            .build()
-            );
-            
-            return new FileData(inputStream, stat.contentType(), stat.size());
+            List<ConteudoService.Armazenado> conteudos = conteudoService.armazenar(files);
+
+            List<CapaAlbum> capas = new ArrayList<>(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                MultipartFile file = files.get(i);
+                capas.add(novaCapa(album, conteudos.get(i).key(), file.getContentType(), file.getSize()));
+            }
+            log.debug("Arquivos armazenados com sucesso: {}", capas.stream().map(CapaAlbum::getNomeArquivo).toList());
+
+            List<CapaAlbum> saved = capaAlbumRepository.saveAll(capas);
+            capasSalvas(albumId, saved, conteudos);
+            return saved;
         } catch (Exception e) {
-            log.error("Erro ao obter arquivo do MinIO: {}", e.getMessage(), e);
-            throw new RuntimeException("Erro ao obter arquivo do MinIO", e);
+            log.error("Erro ao fazer upload das capas para álbum ID {}: {}", albumId, e.getMessage(), e);
+            throw new RuntimeException("Erro ao fazer upload da capa", e);
         }
     }
-    
+
     /**
-     * Classe interna para retornar dados do arquivo
+     * Capa enviada no corpo da requisição, sem multipart: os bytes vão direto para o armazenamento, em
+     * partes de tamanho fixo, sem passar por memória ou arquivo temporário do servidor. O envio roda fora
+     * de transação, para não segurar uma conexão do banco; a contagem do conteúdo e a linha da capa são
+     * gravadas depois, em uma transação curta.
      */
-    public static class FileData {
-        private final InputStream inputStream;
-        private final String contentType;
-        private final long size;
-        
-        public FileData(InputStream inputStream, String contentType, long size) {
-            this.inputStream = inputStream;
-            this.contentType = contentType;
-            this.size = size;
-        }
-        
-        public InputStream getInputStream() {
-            return inputStream;
+    public CapaAlbum uploadCapa(Long albumId, InputStream content, long size, String contentType) {
+        log.info("Recebendo capa para álbum ID: {}, tamanho: {}, tipo: {}", albumId, size, contentType);
+        if (!albumRepository.existsById(albumId)) {
+            throw new ResourceNotFoundException("Álbum não encontrado com id: " + albumId);
         }
-        
-        public String getContentType() {
-            return contentType;
-        }
-        
-        public long getSize() {
-            return size;
-        }
-    }
-
-    @Transactional
-    public CapaAlbum uploadCapa(Long albumId, MultipartFile file) {
-        log.info("Fazendo upload de capa para álbum ID: {}, arquivo: {}", albumId, file.getOriginalFilename());
-        Album album = albumRepository.findById(albumId)
-                .orElseThrow(() -> new ResourceNotFoundException("Álbum não encontrado com id: " + albumId));
+        ConteudoService.Recebido recebido = conteudoService.receber(verificarTipo(content, contentType), size,
+                contentType);
 
         try {
-            String fileName = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
-            String objectName = "albuns/" + albumId + "/" + fileName;
-
-            InputStream inputStream = file.getInputStream();
-            minioClient.putObject(
-                    PutObjectArgs.builder()
-                            .bucket(bucketName)
-                            .object(objectName)
-                            .stream(inputStream, file.getSize(), -1)
-                            .contentType(file.getContentType())
-                            .build()
-            );
-
-            log.debug("Arquivo enviado para MinIO com sucesso: {}", objectName);
-
-            CapaAlbum capa = new CapaAlbum();
-            capa.setAlbum(album);
-            capa.setNomeArquivo(objectName);
-            capa.setContentType(file.getContentType());
-            capa.setTamanho(file.getSize());
-
-            CapaAlbum saved = capaAlbumRepository.save(capa);
-            log.info("Capa salva com sucesso - ID: {}, Álbum ID: {}", saved.getId(), albumId);
-            return saved;
+            return transactionTemplate.execute(status -> {
+                ConteudoService.Armazenado conteudo = conteudoService.armazenar(recebido);
+                CapaAlbum saved = capaAlbumRepository.save(novaCapa(albumRepository.getReferenceById(albumId),
+                        conteudo.key(), contentType, recebido.tamanho()));
+                capasSalvas(albumId, List.of(saved), List.of(conteudo));
+                return saved;
+            });
         } catch (Exception e) {
+            conteudoService.descartar(recebido);
             log.error("Erro ao fazer upload da capa para álbum ID {}: {}", albumId, e.getMessage(), e);
             throw new RuntimeException("Erro ao fazer upload da capa", e);
         }
     }
 
+    private static CapaAlbum novaCapa(Album album, String key, String contentType, long tamanho) {
+        CapaAlbum capa = new CapaAlbum();
+        capa.setAlbum(album);
+        capa.setNomeArquivo(key);
+        capa.setContentType(contentType);
+        capa.setTamanho(tamanho);
+        return capa;
+    }
+
+    private void capasSalvas(Long albumId, List<CapaAlbum> saved, List<ConteudoService.Armazenado> conteudos) {
+        log.info("Capas salvas com sucesso - IDs: {}, Álbum ID: {}",
+                saved.stream().map(CapaAlbum::getId).toList(), albumId);
+        eventPublisher.publishEvent(new AlbumChangedEvent(albumId, ChangeType.UPDATED, Set.of()));
+        conteudos.stream().filter(ConteudoService.Armazenado::novo)
+                .forEach(conteudo -> eventPublisher.publishEvent(new ObjectStoredEvent(conteudo.key())));
+    }
+
     public PresignedUrlResponse getPresignedUrl(Long albumId, Long capaId) {
         log.debug("Gerando URL do backend para capa ID: {}, álbum ID: {}", capaId, albumId);
         try {
@@ -173,7 +168,7 @@ public class MinIOService {
             }
 
             // Retorna URL do endpoint do backend que faz proxy para o MinIO
-            String url = "/api/v1/albuns/" + albumId + "/capa/" + capaId + "/image";
+            String url = ImageUrlBuilder.capaUrl(albumId, capaId);
 
             log.debug("URL gerada com sucesso para capa ID: {}", capaId);
             return new PresignedUrlResponse(url, presignedUrlExpiration);
@@ -186,9 +181,10 @@ public class MinIOService {
     }
     
     /**
-     * Obtém o arquivo da capa do álbum
+     * Arquivo da capa do álbum, com a data de upload como Last-Modified. Com size, a menor miniatura
+     * com pelo menos esse tamanho, ou o original enquanto ela não existe.
      */
-    public FileData getCapaFile(Long albumId, Long capaId) {
+    public ObjectRef getCapaFile(Long albumId, Long capaId, Integer size) {
         CapaAlbum capa = capaAlbumRepository.findById(capaId)
                 .orElseThrow(() -> new ResourceNotFoundException("Capa não encontrada com id: " + capaId));
 
@@ -196,7 +192,7 @@ public class MinIOService {
             throw new ResourceNotFoundException("Capa não pertence ao álbum especificado");
         }
 
-        return getFile(capa.getNomeArquivo());
+        return miniatura(new ObjectRef(capa.getNomeArquivo(), toInstant(capa.getDataUpload())), size);
     }
 
     @Transactional
@@ -204,33 +200,79 @@ public class MinIOService {
         log.info("Fazendo upload de foto para artista ID: {}, arquivo: {}", artistaId, file.getOriginalFilename());
         Artista artista = artistaRepository.findById(artistaId)
                 .orElseThrow(() -> new ResourceNotFoundException("Artista não encontrado com id: " + artistaId));
+        verificarTipo(file);
 
         try {
-            String fileName = UUID.randomUUID().toString() + "_" + (file.getOriginalFilename() != null ? file.getOriginalFilename() : "foto");
-            String objectName = "artistas/" + artistaId + "/" + fileName;
-
-            InputStream inputStream = file.getInputStream();
-            minioClient.putObject(
-                    PutObjectArgs.builder()
-                            .bucket(bucketName)
-                            .object(objectName)
-                            .stream(inputStream, file.getSize(), -1)
-                            .contentType(file.getContentType())
-                            .build()
-            );
-
-            log.debug("Foto enviada para MinIO com sucesso: {}", objectName);
-
-            artista.setFotoNomeArquivo(objectName);
-            Artista saved = artistaRepository.save(artista);
-            log.info("Foto do artista salva com sucesso - Artista ID: {}", artistaId);
-            return saved;
+            return trocarFoto(artista, conteudoService.armazenar(file));
         } catch (Exception e) {
             log.error("Erro ao fazer upload da foto para artista ID {}: {}", artistaId, e.getMessage(), e);
             throw new RuntimeException("Erro ao fazer upload da foto do artista", e);
         }
     }
 
+    /**
+     * Foto enviada no corpo da requisição, sem multipart; mesmo fluxo de uploadCapa com stream.
+     */
+    public Artista uploadFotoArtista(Long artistaId, InputStream content, long size, String contentType) {
+        log.info("Recebendo foto para artista ID: {}, tamanho: {}, tipo: {}", artistaId, size, contentType);
+        if (!artistaRepository.existsById(artistaId)) {
+            throw new ResourceNotFoundException("Artista não encontrado com id: " + artistaId);
+        }
+        ConteudoService.Recebido recebido = conteudoService.receber(verificarTipo(content, contentType), size,
+                contentType);
+
+        try {
+            return transactionTemplate.execute(status -> {
+                Artista artista = artistaRepository.findById(artistaId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Artista não encontrado com id: " + artistaId));
+                return trocarFoto(artista, conteudoService.armazenar(recebido));
+            });
+        } catch (Exception e) {
+            conteudoService.descartar(recebido);
+            log.error("Erro ao fazer upload da foto para artista ID {}: {}", artistaId, e.getMessage(), e);
+            throw new RuntimeException("Erro ao fazer upload da foto do artista", e);
+        }
+    }
+
+    /**
+     * Tipo declarado e primeiros bytes do arquivo, antes de gravar qualquer coisa.
+     *
+     * @throws UnsupportedImageTypeException se não é uma imagem aceita ou os bytes são de outro tipo
+     */
+    private static void verificarTipo(MultipartFile file) {
+        try (InputStream in = file.getInputStream()) {
+            ImageTypeValidator.verificar(file.getContentType(), in.readNBytes(ImageTypeValidator.CABECALHO));
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao ler arquivo " + file.getOriginalFilename(), e);
+        }
+    }
+
+    private static InputStream verificarTipo(InputStream content, String contentType) {
+        try {
+            return ImageTypeValidator.verificar(contentType, content);
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao ler upload", e);
+        }
+    }
+
+    private Artista trocarFoto(Artista artista, ConteudoService.Armazenado conteudo) {
+        String objectName = conteudo.key();
+        log.debug("Foto armazenada com sucesso: {}", objectName);
+
+        String fotoAnterior = artista.getFotoNomeArquivo();
+        artista.setFotoNomeArquivo(objectName);
+        Artista saved = artistaRepository.save(artista);
+        log.info("Foto do artista salva com sucesso - Artista ID: {}", artista.getId());
+        eventPublisher.publishEvent(new ArtistaChangedEvent(artista.getId(), ChangeType.UPDATED));
+        if (conteudo.novo()) {
+            eventPublisher.publishEvent(new ObjectStoredEvent(objectName));
+        }
+        if (fotoAnterior != null && conteudoService.liberar(fotoAnterior)) {
+            eventPublisher.publishEvent(new ObjectRemovedEvent(fotoAnterior));
+        }
+        return saved;
+    }
+
     public PresignedUrlResponse getPresignedUrlFotoArtista(Long artistaId) {
         log.debug("Gerando URL do backend para foto do artista ID: {}", artistaId);
         Artista artista = artistaRepository.findById(artistaId)
@@ -241,16 +283,17 @@ public class MinIOService {
         }
 
         // Retorna URL do endpoint do backend que faz proxy para o MinIO
-        String url = "/api/v1/artistas/" + artistaId + "/foto/image";
+        String url = ImageUrlBuilder.fotoArtistaUrl(artistaId);
 
         log.debug("URL gerada com sucesso para foto do artista ID: {}", artistaId);
         return new PresignedUrlResponse(url, presignedUrlExpiration);
     }
     
     /**
-     * Obtém o arquivo da foto do artista
+     * Arquivo da foto do artista. Last-Modified é a última alteração do artista: não há data própria
+     * da foto, e uma troca de foto também altera o artista. size como em getCapaFile.
      */
-    public FileData getFotoArtistaFile(Long artistaId) {
+    public ObjectRef getFotoArtistaFile(Long artistaId, Integer size) {
         Artista artista = artistaRepository.findById(artistaId)
                 .orElseThrow(() -> new ResourceNotFoundException("Artista não encontrado com id: " + artistaId));
 
@@ -258,7 +301,20 @@ public class MinIOService {
             throw new ResourceNotFoundException("Artista não possui foto cadastrada");
         }
 
-        return getFile(artista.getFotoNomeArquivo());
+        return miniatura(new ObjectRef(artista.getFotoNomeArquivo(), toInstant(artista.getUpdatedAt())), size);
+    }
+
+    /**
+     * Libera as referências de objetos cujas linhas saem por cascade (capas de um álbum ou de um artista
+     * excluído, foto do artista). Chamar na transação de quem exclui, antes do delete do repositório.
+     */
+    @Transactional
+    public void liberar(Collection<String> keys) {
+        for (String key : keys) {
+            if (conteudoService.liberar(key)) {
+                eventPublisher.publishEvent(new ObjectRemovedEvent(key));
+            }
+        }
     }
 
     @Transactional
@@ -269,13 +325,15 @@ public class MinIOService {
             throw new ResourceNotFoundException("Artista não possui foto cadastrada");
         }
         try {
-            minioClient.removeObject(RemoveObjectArgs.builder()
-                    .bucket(bucketName)
-                    .object(artista.getFotoNomeArquivo())
-                    .build());
+            String fotoNomeArquivo = artista.getFotoNomeArquivo();
+            boolean removido = conteudoService.liberar(fotoNomeArquivo);
             artista.setFotoNomeArquivo(null);
             artistaRepository.save(artista);
             log.info("Foto do artista removida - Artista ID: {}", artistaId);
+            eventPublisher.publishEvent(new ArtistaChangedEvent(artistaId, ChangeType.UPDATED));
+            if (removido) {
+                eventPublisher.publishEvent(new ObjectRemovedEvent(fotoNomeArquivo));
+            }
         } catch (Exception e) {
             log.error("Erro ao remover foto do artista ID {}: {}", artistaId, e.getMessage(), e);
             throw new RuntimeException("Erro ao remover foto do artista", e);
@@ -290,16 +348,30 @@ public class MinIOService {
             throw new ResourceNotFoundException("Capa não pertence ao álbum especificado");
         }
         try {
-            minioClient.removeObject(RemoveObjectArgs.builder()
-                    .bucket(bucketName)
-                    .object(capa.getNomeArquivo())
-                    .build());
+            boolean removido = conteudoService.liberar(capa.getNomeArquivo());
             capaAlbumRepository.delete(capa);
             log.info("Capa removida - Álbum ID: {}, Capa ID: {}", albumId, capaId);
+            eventPublisher.publishEvent(new AlbumChangedEvent(albumId, ChangeType.UPDATED, Set.of()));
+            if (removido) {
+                eventPublisher.publishEvent(new ObjectRemovedEvent(capa.getNomeArquivo()));
+            }
         } catch (Exception e) {
             log.error("Erro ao remover capa {} do álbum {}: {}", capaId, albumId, e.getMessage(), e);
             throw new RuntimeException("Erro ao remover capa", e);
         }
     }
-}
 
+    private ObjectRef miniatura(ObjectRef original, Integer size) {
+        if (size == null) {
+            return original;
+        }
+        return miniaturaRepository
+                .findFirstByObjetoOriginalAndDimensaoGreaterThanEqualOrderByDimensaoAsc(original.key(), size)
+                .map(miniatura -> new ObjectRef(miniatura.getNomeArquivo(), toInstant(miniatura.getDataCriacao())))
+                .orElse(original);
+    }
+
+    private static Instant toInstant(LocalDateTime data) {
+        return data != null ? data.atZone(ZoneId.systemDefault()).toInstant() : null;
+    }
+}
@@ -0,0 +1,274 @@
+package com.album.seplag.service;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.album.seplag.event.ObjectRemovedEvent;
+import com.album.seplag.event.ObjectStoredEvent;
+import com.album.seplag.exception.ResourceNotFoundException;
+import com.album.seplag.model.Miniatura;
+import com.album.seplag.repository.MiniaturaRepository;
+import com.album.seplag.storage.ObjectStorage;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gera miniaturas das capas e fotos depois do upload (após o commit), em um pool de threads com fila
+ * limitada: com a fila cheia a miniatura não é gerada e o endpoint continua servindo o original.
+ * Cada dimensão configurada limita o maior lado; dimensões maiores que o original são puladas.
+ * A imagem é decodificada e recodificada com ImageIO (JPEG, ou PNG quando há transparência), o que
+ * descarta EXIF e demais metadados. Com miniaturas.enabled=false nada é gerado nem removido, e os
+ * endpoints servem o original ou as miniaturas que já existem. Imagens com mais de miniaturas.max-pixels
+ * (largura x altura declaradas no cabeçalho) não são decodificadas: um arquivo pequeno que declara
+ * dimensões enormes esgotaria o heap.
+ * <p>
+ * A geração pode terminar depois da remoção do original (ObjectRemovedEvent, que só é publicado depois da
+ * exclusão física): depois de gravar cada miniatura, o original é conferido de novo; se sumiu, o que foi
+ * gravado é excluído. Se a miniatura foi gravada antes da exclusão, quem a remove é remover.
+ */
+@Slf4j
+@Service
+public class MiniaturaService {
+
+    private final ObjectStorage objectStorage;
+    private final MiniaturaRepository miniaturaRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final List<Integer> dimensoes;
+    private final float jpegQuality;
+    private final long maxPixels;
+    private final ThreadPoolExecutor executor;
+
+    public MiniaturaService(ObjectStorage objectStorage,
+                            MiniaturaRepository miniaturaRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${miniaturas.enabled:true}") boolean enabled,
+                            @Value("${miniaturas.dimensoes:64,256,1024}") List<Integer> dimensoes,
+                            @Value("${miniaturas.jpeg-quality:0.85}") float jpegQuality,
+                            @Value("${miniaturas.pool-size:2}") int poolSize,
+                            @Value("${miniaturas.queue-capacity:100}") int queueCapacity,
+                            @Value("${miniaturas.max-pixels:50000000}") long maxPixels) {
+        this.objectStorage = objectStorage;
+        this.miniaturaRepository = miniaturaRepository;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        // Da maior para a menor: cada miniatura é reduzida a partir da anterior
+        this.dimensoes = dimensoes.stream().filter(d -> d > 0).distinct().sorted((a, b) -> b - a).toList();
+        this.jpegQuality = jpegQuality;
+        this.maxPixels = maxPixels;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                tarefa -> {
+                    Thread thread = new Thread(tarefa, "miniaturas-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (tarefa, pool) -> log.warn("Fila de miniaturas cheia ({} tarefas), miniatura descartada",
+                        pool.getQueue().size()));
+        this.executor.allowCoreThreadTimeOut(true);
+        log.info("Miniaturas {} - dimensões: {}, threads: {}, fila: {}", enabled ? "ativas" : "desativadas",
+                this.dimensoes, poolSize, queueCapacity);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onObjectStored(ObjectStoredEvent event) {
+        if (enabled && !dimensoes.isEmpty()) {
+            executor.execute(() -> gerar(event.key()));
+        }
+    }
+
+    /**
+     * Remove as miniaturas do objeto que deixou de ser referenciado. Também vai para o pool: depois do
+     * commit, a thread da requisição não abre uma transação nova para os DELETEs.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onObjectRemoved(ObjectRemovedEvent event) {
+        if (enabled) {
+            executor.execute(() -> remover(event.key()));
+        }
+    }
+
+    void remover(String key) {
+        miniaturaRepository.findByObjetoOriginal(key).forEach(this::excluir);
+    }
+
+    private void excluir(Miniatura miniatura) {
+        try {
+            objectStorage.delete(miniatura.getNomeArquivo());
+            miniaturaRepository.delete(miniatura);
+            eventPublisher.publishEvent(new ObjectRemovedEvent(miniatura.getNomeArquivo()));
+        } catch (Exception e) {
+            log.warn("Erro ao remover miniatura {}: {}", miniatura.getNomeArquivo(), e.getMessage());
+        }
+    }
+
+    private boolean existe(String key) {
+        try {
+            objectStorage.stat(key);
+            return true;
+        } catch (ResourceNotFoundException e) {
+            return false;
+        } catch (Exception e) {
+            // Na dúvida as miniaturas ficam: sem o original, ninguém as serve
+            log.warn("Erro ao conferir objeto {} depois de gerar miniaturas: {}", key, e.getMessage());
+            return true;
+        }
+    }
+
+    void gerar(String key) {
+        BufferedImage imagem;
+        try (InputStream in = objectStorage.get(key)) {
+            imagem = ler(key, in);
+        } catch (ResourceNotFoundException e) {
+            log.debug("Objeto {} removido antes da geração das miniaturas", key);
+            return;
+        } catch (IOException e) {
+            log.warn("Erro ao ler imagem {} para miniaturas: {}", key, e.getMessage());
+            return;
+        }
+        if (imagem == null) {
+            log.info("Imagem não suportada, miniaturas não geradas: {}", key);
+            return;
+        }
+
+        boolean transparente = imagem.getColorModel().hasAlpha();
+        String extensao = transparente ? "png" : "jpg";
+        String contentType = transparente ? "image/png" : "image/jpeg";
+        int maiorLado = Math.max(imagem.getWidth(), imagem.getHeight());
+        List<Miniatura> geradas = new ArrayList<>();
+        for (Integer dimensao : dimensoes) {
+            if (dimensao >= maiorLado) {
+                continue;
+            }
+            imagem = reduzir(imagem, (double) dimensao / Math.max(imagem.getWidth(), imagem.getHeight()), transparente);
+            try {
+                byte[] conteudo = transparente ? png(imagem) : jpeg(imagem);
+                String nomeArquivo = key + "." + dimensao + "." + extensao;
+                objectStorage.put(nomeArquivo, new ByteArrayInputStream(conteudo), conteudo.length, contentType);
+                Miniatura miniatura = new Miniatura();
+                miniatura.setObjetoOriginal(key);
+                miniatura.setDimensao(dimensao);
+                miniatura.setNomeArquivo(nomeArquivo);
+                miniatura.setContentType(contentType);
+                miniatura.setTamanho((long) conteudo.length);
+                miniaturaRepository.save(miniatura);
+                geradas.add(miniatura);
+                log.debug("Miniatura {} gerada - {}x{}, {} bytes", nomeArquivo, imagem.getWidth(), imagem.getHeight(),
+                        conteudo.length);
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Miniatura {}px de {} já existe", dimensao, key);
+            } catch (Exception e) {
+                log.warn("Erro ao gerar miniatura {}px de {}: {}", dimensao, key, e.getMessage());
+            }
+            if (!geradas.isEmpty() && !existe(key)) {
+                log.debug("Objeto {} removido durante a geração, {} miniaturas descartadas", key, geradas.size());
+                geradas.forEach(this::excluir);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Decodifica a imagem só depois de conferir as dimensões do cabeçalho. null quando o formato não é
+     * suportado ou a imagem passa de maxPixels.
+     */
+    private BufferedImage ler(String key, InputStream in) throws IOException {
+        try (ImageInputStream imagem = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = imagem != null ? ImageIO.getImageReaders(imagem) : Collections.emptyIterator();
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imagem, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    log.warn("Imagem {} com {}x{} pixels acima do limite de {}, miniaturas não geradas", key,
+                            reader.getWidth(0), reader.getHeight(0), maxPixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Reduz em passos de no máximo metade do tamanho: a interpolação bilinear direto para menos da
+     * metade ignora pixels da origem e gera serrilhado.
+     */
+    private static BufferedImage reduzir(BufferedImage origem, double escala, boolean transparente) {
+        int larguraFinal = Math.max(1, (int) Math.round(origem.getWidth() * escala));
+        int alturaFinal = Math.max(1, (int) Math.round(origem.getHeight() * escala));
+        BufferedImage atual = origem;
+        do {
+            int largura = Math.max(atual.getWidth() / 2, larguraFinal);
+            int altura = Math.max(atual.getHeight() / 2, alturaFinal);
+            BufferedImage passo = new BufferedImage(largura, altura,
+                    transparente ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = passo.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(atual, 0, 0, largura, altura, null);
+            g.dispose();
+            atual = passo;
+        } while (atual.getWidth() != larguraFinal || atual.getHeight() != alturaFinal);
+        return atual;
+    }
+
+    private byte[] jpeg(BufferedImage imagem) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(saida)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(imagem, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return saida.toByteArray();
+    }
+
+    private static byte[] png(BufferedImage imagem) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        ImageIO.write(imagem, "png", saida);
+        return saida.toByteArray();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
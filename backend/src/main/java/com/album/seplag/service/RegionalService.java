@@ -11,9 +11,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,22 +38,43 @@ public class RegionalService {
     @Scheduled(fixedRate = 3600000) // A cada 1 hora
     @Transactional
     public void sincronizarRegionais() {
+        sincronizar();
+    }
+    
+    /**
+     * Sincroniza regionais e retorna a lista atualizada
+     */
+    @Transactional
+    public List<RegionalDTO> sincronizarERetornar() {
+        List<Regional> regionais = sincronizar();
+        // @PreUpdate só preenche dataSincronizacao no flush
+        regionalRepository.flush();
+        return regionais.stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Compara com as regionais locais carregadas em um único SELECT (sem uma busca por nome) e devolve
+     * a lista resultante, sem reler a tabela.
+     */
+    private List<Regional> sincronizar() {
         try {
             logger.info("Iniciando sincronização de regionais...");
 
             List<Map<String, Object>> regionaisExternas = buscarRegionaisExternas();
-            List<Regional> regionaisLocais = regionalRepository.findAll();
+            List<Regional> regionais = new ArrayList<>(regionalRepository.findAll());
 
-            Map<String, Regional> regionaisLocaisPorNome = regionaisLocais.stream()
+            Map<String, Regional> regionaisPorNome = regionais.stream()
                     .collect(Collectors.toMap(Regional::getNome, r -> r, (r1, r2) -> r1));
+            Map<String, Regional> regionaisLocaisPorNome = new HashMap<>(regionaisPorNome);
 
             for (Map<String, Object> regionalExterna : regionaisExternas) {
                 String nome = extrairNome(regionalExterna);
                 if (nome == null) continue;
 
-                Optional<Regional> regionalLocalOpt = regionalRepository.findByNome(nome);
-                if (regionalLocalOpt.isPresent()) {
-                    Regional regionalLocal = regionalLocalOpt.get();
+                Regional regionalLocal = regionaisPorNome.get(nome);
+                if (regionalLocal != null) {
                     if (!regionalLocal.getAtivo()) {
                         regionalLocal.setAtivo(true);
                         regionalRepository.save(regionalLocal);
@@ -59,7 +83,9 @@ public class RegionalService {
                     Regional novaRegional = new Regional();
                     novaRegional.setNome(nome);
                     novaRegional.setAtivo(true);
-                    regionalRepository.save(novaRegional);
+                    novaRegional = regionalRepository.save(novaRegional);
+                    regionais.add(novaRegional);
+                    regionaisPorNome.put(nome, novaRegional);
                     logger.info("Nova regional inserida: {}", nome);
                 }
                 regionaisLocaisPorNome.remove(nome);
@@ -74,20 +100,12 @@ public class RegionalService {
             }
 
             logger.info("Sincronização de regionais concluída");
+            return regionais;
         } catch (Exception e) {
             logger.error("Erro ao sincronizar regionais", e);
             throw new RuntimeException("Erro ao sincronizar regionais", e);
         }
     }
-    
-    /**
-     * Sincroniza regionais e retorna a lista atualizada
-     */
-    @Transactional
-    public List<RegionalDTO> sincronizarERetornar() {
-        sincronizarRegionais();
-        return findAll();
-    }
 
     private String extrairNome(Map<String, Object> map) {
         Object v = map.get("nome");
@@ -113,6 +131,17 @@ public class RegionalService {
         }
     }
 
+    /**
+     * ETag da lista de regionais a partir de um único agregado, sem carregar nem mapear as linhas.
+     */
+    @Transactional(readOnly = true)
+    public String etag() {
+        RegionalRepository.VersaoRegionais versao = regionalRepository.findVersao();
+        LocalDateTime ultima = versao.getUltimaSincronizacao();
+        return "regionais-" + versao.getTotal() + "-" + (versao.getMaiorId() != null ? versao.getMaiorId() : 0)
+                + "-" + (ultima != null ? ultima.toEpochSecond(ZoneOffset.UTC) + "." + ultima.getNano() : "0");
+    }
+
     @Transactional(readOnly = true)
     public List<RegionalDTO> findAll() {
         return regionalRepository.findAll().stream()
@@ -4,8 +4,12 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -43,8 +47,10 @@ public class UsuarioService implements UserDetailsService {
         this.passwordEncoder = passwordEncoder;
     }
 
+    // Sem readOnly: com réplicas de leitura, login logo após o cadastro e usuário recém-desativado
+    // precisam ser vistos na primária, não em uma réplica atrasada
     @Override
-    @Transactional(readOnly = true)
+    @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         log.info("Carregando usuário: {}", username);
         Usuario usuario = usuarioRepository.findByUsername(username)
@@ -72,6 +78,11 @@ public class UsuarioService implements UserDetailsService {
         return usuarioRepository.findAll(pageable).map(this::toDTO);
     }
 
+    @Transactional(readOnly = true)
+    public Window<UsuarioDTO> findAll(KeysetScrollPosition position, Sort sort, int limit) {
+        return usuarioRepository.findAllBy(position, sort, Limit.of(limit)).map(this::toDTO);
+    }
+
     @Transactional(readOnly = true)
     public UsuarioDTO findById(Long id) {
         Usuario usuario = usuarioRepository.findById(id)
@@ -0,0 +1,59 @@
+package com.album.seplag.storage;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Lê no máximo limite bytes do stream de origem (leitura de intervalo no disco local).
+ */
+final class BoundedInputStream extends FilterInputStream {
+
+    private long restante;
+
+    BoundedInputStream(InputStream in, long limite) {
+        super(in);
+        this.restante = limite;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (restante <= 0) {
+            return -1;
+        }
+        int b = super.read();
+        if (b >= 0) {
+            restante--;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (restante <= 0) {
+            return -1;
+        }
+        int lidos = super.read(b, off, (int) Math.min(len, restante));
+        if (lidos > 0) {
+            restante -= lidos;
+        }
+        return lidos;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long pulados = super.skip(Math.min(n, restante));
+        restante -= pulados;
+        return pulados;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(super.available(), restante);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+}
@@ -0,0 +1,247 @@
+package com.album.seplag.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.album.seplag.exception.ResourceNotFoundException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Objetos como arquivos sob storage.local.root-dir, com a chave como caminho relativo. O content type
+ * fica em um arquivo de mesmo caminho sob .meta/. A gravação vai para um temporário no mesmo diretório
+ * e é movida no fim, então leitores nunca veem um arquivo pela metade. Para instalações de um só nó:
+ * não há replicação nem compartilhamento entre instâncias.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+public class LocalObjectStorage implements ObjectStorage {
+
+    private static final String META = ".meta";
+    private static final String TEMPORARIO = ".upload-";
+    private static final String OCTET_STREAM = "application/octet-stream";
+    // Bloco de cópia quando o tamanho do upload não é conhecido
+    private static final long BLOCO = 8L * 1024 * 1024;
+
+    private final Path root;
+    private final Path metaRoot;
+
+    public LocalObjectStorage(@Value("${storage.local.root-dir}") Path root) {
+        this.root = root.toAbsolutePath().normalize();
+        this.metaRoot = this.root.resolve(META);
+        try {
+            Files.createDirectories(metaRoot);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao criar diretório de armazenamento: " + this.root, e);
+        }
+        log.info("Armazenamento local de objetos em {}", this.root);
+    }
+
+    @Override
+    public void put(String key, InputStream content, long size, String contentType) {
+        Path arquivo = resolve(key);
+        try {
+            Files.createDirectories(arquivo.getParent());
+            Path temporario = Files.createTempFile(arquivo.getParent(), TEMPORARIO, ".tmp");
+            try {
+                long gravados = gravar(content, size, temporario);
+                if (size >= 0 && gravados != size) {
+                    throw new IOException("Recebidos " + gravados + " de " + size + " bytes");
+                }
+                gravarMeta(key, contentType);
+                mover(temporario, arquivo);
+            } finally {
+                Files.deleteIfExists(temporario);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao gravar objeto: " + key, e);
+        }
+    }
+
+    @Override
+    public ObjectStat stat(String key) {
+        Path arquivo = resolve(key);
+        try {
+            BasicFileAttributes atributos = Files.readAttributes(arquivo, BasicFileAttributes.class);
+            return new ObjectStat(key, contentType(key), atributos.size(), atributos.lastModifiedTime().toInstant());
+        } catch (NoSuchFileException e) {
+            throw new ResourceNotFoundException("Arquivo não encontrado: " + key);
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao consultar objeto: " + key, e);
+        }
+    }
+
+    @Override
+    public InputStream get(String key) {
+        return Channels.newInputStream(abrir(key));
+    }
+
+    @Override
+    public InputStream getRange(String key, long offset, long length) {
+        FileChannel channel = abrir(key);
+        try {
+            channel.position(offset);
+        } catch (IOException e) {
+            fechar(channel);
+            throw new RuntimeException("Erro ao ler objeto: " + key, e);
+        }
+        return new BoundedInputStream(Channels.newInputStream(channel), length);
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+            Files.deleteIfExists(metaRoot.resolve(key));
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao remover objeto: " + key, e);
+        }
+    }
+
+    @Override
+    public void move(String from, String to) {
+        Path origem = resolve(from);
+        Path destino = resolve(to);
+        if (!Files.isRegularFile(origem)) {
+            throw new ResourceNotFoundException("Arquivo não encontrado: " + from);
+        }
+        try {
+            Files.createDirectories(destino.getParent());
+            gravarMeta(to, contentType(from));
+            mover(origem, destino);
+            Files.deleteIfExists(metaRoot.resolve(from));
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao mover objeto: " + from, e);
+        }
+    }
+
+    @Override
+    public List<ObjectStat> list(String prefix) {
+        try (Stream<Path> arquivos = Files.walk(root)) {
+            return arquivos
+                    .filter(arquivo -> !arquivo.startsWith(metaRoot) && Files.isRegularFile(arquivo)
+                            && !arquivo.getFileName().toString().startsWith(TEMPORARIO))
+                    .map(arquivo -> root.relativize(arquivo).toString().replace(arquivo.getFileSystem().getSeparator(), "/"))
+                    .filter(key -> key.startsWith(prefix))
+                    .sorted()
+                    .map(this::stat)
+                    .toList();
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao listar objetos: " + prefix, e);
+        }
+    }
+
+    /**
+     * FileChannel.transferTo: sem cópia para o espaço do usuário quando o destino é um socket ou arquivo;
+     * para outros canais (como o stream da resposta do servlet) o JDK copia em blocos.
+     */
+    @Override
+    public void transferTo(String key, long offset, long length, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = abrir(key)) {
+            long posicao = offset;
+            long fim = offset + length;
+            while (posicao < fim) {
+                long enviados = channel.transferTo(posicao, fim - posicao, target);
+                if (enviados <= 0) {
+                    throw new IOException("Objeto menor que o esperado: " + key);
+                }
+                posicao += enviados;
+            }
+        }
+    }
+
+    @Override
+    public Optional<Path> localFile(String key) {
+        return Optional.of(resolve(key));
+    }
+
+    private Path resolve(String key) {
+        Path arquivo = root.resolve(key).normalize();
+        if (key.isBlank() || !arquivo.startsWith(root) || arquivo.equals(root) || arquivo.startsWith(metaRoot)) {
+            throw new IllegalArgumentException("Chave de objeto inválida: " + key);
+        }
+        return arquivo;
+    }
+
+    private FileChannel abrir(String key) {
+        try {
+            return FileChannel.open(resolve(key), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            throw new ResourceNotFoundException("Arquivo não encontrado: " + key);
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao ler objeto: " + key, e);
+        }
+    }
+
+    private static long gravar(InputStream content, long size, Path destino) throws IOException {
+        try (FileChannel out = FileChannel.open(destino, StandardOpenOption.WRITE);
+             ReadableByteChannel in = Channels.newChannel(content)) {
+            long posicao = 0;
+            while (size < 0 || posicao < size) {
+                long lidos = out.transferFrom(in, posicao, size < 0 ? BLOCO : size - posicao);
+                if (lidos == 0) {
+                    break;
+                }
+                posicao += lidos;
+            }
+            return posicao;
+        }
+    }
+
+    private void gravarMeta(String key, String contentType) throws IOException {
+        Path meta = metaRoot.resolve(key);
+        Files.createDirectories(meta.getParent());
+        Path temporario = Files.createTempFile(meta.getParent(), TEMPORARIO, ".tmp");
+        try {
+            Files.writeString(temporario, contentType != null ? contentType : OCTET_STREAM, StandardCharsets.UTF_8);
+            mover(temporario, meta);
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    private String contentType(String key) throws IOException {
+        try {
+            return Files.readString(metaRoot.resolve(key), StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return OCTET_STREAM;
+        }
+    }
+
+    private static void mover(Path origem, Path destino) throws IOException {
+        try {
+            Files.move(origem, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(origem, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void fechar(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("Erro ao fechar arquivo: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.album.seplag.storage;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Component;
+
+import com.album.seplag.exception.RangeNotSatisfiableException;
+import com.album.seplag.exception.ResourceNotFoundException;
+
+import io.minio.BucketExistsArgs;
+import io.minio.CopyObjectArgs;
+import io.minio.CopySource;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.ListObjectsArgs;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import io.minio.Result;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
+import io.minio.messages.Item;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Headers;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "minio", matchIfMissing = true)
+public class MinioObjectStorage implements ObjectStorage {
+
+    private final MinioClient minioClient;
+    private final String bucketName;
+    private final long partSize;
+
+    /**
+     * partSize: tamanho fixo das partes do upload multipart (mínimo de 5 MB do S3). O cliente do MinIO lê
+     * uma parte por vez para a memória, então cada upload ocupa no máximo partSize de heap, seja qual for
+     * o tamanho do arquivo; objetos até partSize vão em um único PUT.
+     */
+    public MinioObjectStorage(MinioClient minioClient, @Value("${minio.bucket-name}") String bucketName,
+                              @Value("${minio.part-size:10485760}") long partSize) {
+        this.minioClient = minioClient;
+        this.bucketName = bucketName;
+        this.partSize = partSize;
+        initializeBucket();
+    }
+
+    private void initializeBucket() {
+        try {
+            log.info("Inicializando bucket MinIO: {}", bucketName);
+            boolean found = minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucketName).build());
+            if (!found) {
+                log.info("Bucket não encontrado, criando bucket: {}", bucketName);
+                minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
+                log.info("Bucket criado com sucesso: {}", bucketName);
+            } else {
+                log.info("Bucket já existe: {}", bucketName);
+            }
+        } catch (Exception e) {
+            log.error("Erro ao inicializar bucket MinIO: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao inicializar bucket MinIO", e);
+        }
+    }
+
+    @Override
+    public void put(String key, InputStream content, long size, String contentType) {
+        try {
+            minioClient.putObject(PutObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(key)
+                    .stream(content, size, partSize)
+                    .contentType(contentType)
+                    .build());
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao gravar objeto no MinIO: " + key, e);
+        }
+    }
+
+    @Override
+    public ObjectStat stat(String key) {
+        try {
+            StatObjectResponse stat = minioClient.statObject(StatObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(key)
+                    .build());
+            return new ObjectStat(key, stat.contentType(), stat.size(), stat.lastModified().toInstant());
+        } catch (Exception e) {
+            throw falha("Erro ao consultar objeto no MinIO", key, e);
+        }
+    }
+
+    @Override
+    public InputStream get(String key) {
+        try {
+            return minioClient.getObject(GetObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(key)
+                    .build());
+        } catch (Exception e) {
+            throw falha("Erro ao obter arquivo do MinIO", key, e);
+        }
+    }
+
+    @Override
+    public InputStream getRange(String key, long offset, long length) {
+        try {
+            return minioClient.getObject(GetObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(key)
+                    .offset(offset)
+                    .length(length)
+                    .build());
+        } catch (Exception e) {
+            throw falha("Erro ao obter arquivo do MinIO", key, e);
+        }
+    }
+
+    /**
+     * Um único GET (com o cabeçalho Range, se houver): tipo, tamanho e data vêm dos cabeçalhos da resposta.
+     */
+    @Override
+    public ObjectContent open(String key, HttpRange range) {
+        GetObjectArgs.Builder args = GetObjectArgs.builder()
+                .bucket(bucketName)
+                .object(key);
+        if (range != null) {
+            args.extraHeaders(Map.of(HttpHeaders.RANGE, "bytes=" + range));
+        }
+        GetObjectResponse response;
+        try {
+            response = minioClient.getObject(args.build());
+        } catch (ErrorResponseException e) {
+            if (range != null && "InvalidRange".equals(e.errorResponse().code())) {
+                throw new RangeNotSatisfiableException(key, stat(key).size());
+            }
+            throw falha("Erro ao obter arquivo do MinIO", key, e);
+        } catch (Exception e) {
+            throw falha("Erro ao obter arquivo do MinIO", key, e);
+        }
+
+        Headers headers = response.headers();
+        long length = Long.parseLong(headers.get(HttpHeaders.CONTENT_LENGTH));
+        long start = 0;
+        long size = length;
+        String contentRange = headers.get(HttpHeaders.CONTENT_RANGE);
+        if (contentRange != null) {
+            // bytes início-fim/total
+            String intervalo = contentRange.substring(contentRange.indexOf(' ') + 1);
+            start = Long.parseLong(intervalo.substring(0, intervalo.indexOf('-')));
+            size = Long.parseLong(intervalo.substring(intervalo.indexOf('/') + 1));
+        }
+        Date lastModified = headers.getDate(HttpHeaders.LAST_MODIFIED);
+        ObjectStat stat = new ObjectStat(key, headers.get(HttpHeaders.CONTENT_TYPE), size,
+                lastModified != null ? lastModified.toInstant() : null);
+        return new ObjectContent(stat, start, length, contentRange != null, response);
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            minioClient.removeObject(RemoveObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(key)
+                    .build());
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao remover objeto do MinIO: " + key, e);
+        }
+    }
+
+    @Override
+    public void move(String from, String to) {
+        try {
+            minioClient.copyObject(CopyObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(to)
+                    .source(CopySource.builder().bucket(bucketName).object(from).build())
+                    .build());
+        } catch (Exception e) {
+            throw falha("Erro ao copiar objeto no MinIO", from, e);
+        }
+        delete(from);
+    }
+
+    @Override
+    public List<ObjectStat> list(String prefix) {
+        try {
+            List<ObjectStat> objetos = new ArrayList<>();
+            for (Result<Item> result : minioClient.listObjects(ListObjectsArgs.builder()
+                    .bucket(bucketName)
+                    .prefix(prefix)
+                    .recursive(true)
+                    .build())) {
+                Item item = result.get();
+                if (!item.isDir()) {
+                    objetos.add(new ObjectStat(item.objectName(), null, item.size(), item.lastModified().toInstant()));
+                }
+            }
+            return objetos;
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao listar objetos do MinIO: " + prefix, e);
+        }
+    }
+
+    private static RuntimeException falha(String mensagem, String key, Exception e) {
+        if (e instanceof ErrorResponseException erro && "NoSuchKey".equals(erro.errorResponse().code())) {
+            return new ResourceNotFoundException("Arquivo não encontrado: " + key);
+        }
+        log.error("{} ({}): {}", mensagem, key, e.getMessage(), e);
+        return new RuntimeException(mensagem, e);
+    }
+}
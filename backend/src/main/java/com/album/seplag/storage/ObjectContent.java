@@ -0,0 +1,23 @@
+package com.album.seplag.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Conteúdo aberto por ObjectStorage.open: metadados do objeto inteiro (stat.size() é o tamanho total)
+ * e o stream do trecho pedido, de start a start + length - 1.
+ */
+public record ObjectContent(
+    ObjectStat stat,
+    long start,
+    long length,
+    boolean partial,
+    InputStream content
+) implements Closeable {
+
+    @Override
+    public void close() throws IOException {
+        content.close();
+    }
+}
@@ -0,0 +1,18 @@
+package com.album.seplag.storage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import org.springframework.util.DigestUtils;
+
+/**
+ * Referência a um objeto com os validadores HTTP conhecidos pelo banco, para responder 304 sem
+ * consultar o armazenamento. As chaves são o hash do conteúdo (ou levam um UUID, nos objetos anteriores)
+ * e nunca são regravadas com outro conteúdo, então o ETag pode ser derivado da chave.
+ */
+public record ObjectRef(String key, Instant lastModified) {
+
+    public String etag() {
+        return "\"" + DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
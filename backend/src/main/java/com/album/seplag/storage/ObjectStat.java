@@ -0,0 +1,14 @@
+package com.album.seplag.storage;
+
+import java.time.Instant;
+
+/**
+ * Metadados de um objeto armazenado. contentType pode ser null na listagem do MinIO,
+ * que não devolve o tipo de cada objeto.
+ */
+public record ObjectStat(
+    String key,
+    String contentType,
+    long size,
+    Instant lastModified
+) {}
@@ -0,0 +1,89 @@
+package com.album.seplag.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.http.HttpRange;
+
+import com.album.seplag.exception.RangeNotSatisfiableException;
+
+/**
+ * Armazenamento das imagens (capas e fotos) por chave, como "imagens/{sha256}" (ver ConteudoService).
+ * Implementações: MinIO (storage.type=minio, padrão) e disco local (storage.type=local).
+ * Objeto inexistente gera ResourceNotFoundException; demais falhas de I/O, RuntimeException.
+ */
+public interface ObjectStorage {
+
+    /**
+     * Grava o objeto, substituindo o anterior com a mesma chave. size negativo quando o tamanho não é conhecido.
+     */
+    void put(String key, InputStream content, long size, String contentType);
+
+    ObjectStat stat(String key);
+
+    InputStream get(String key);
+
+    /**
+     * Lê length bytes a partir de offset.
+     */
+    InputStream getRange(String key, long offset, long length);
+
+    void delete(String key);
+
+    /**
+     * Renomeia o objeto, substituindo o destino. No MinIO é uma cópia no servidor seguida da exclusão
+     * da origem: o conteúdo não passa pela aplicação.
+     */
+    void move(String from, String to);
+
+    /**
+     * Objetos cuja chave começa com o prefixo, em ordem de chave.
+     */
+    List<ObjectStat> list(String prefix);
+
+    /**
+     * Abre o objeto inteiro (range null) ou um intervalo, com os metadados junto. A implementação do MinIO
+     * faz isso em um único GET; a padrão consulta os metadados antes de abrir o conteúdo.
+     *
+     * @throws RangeNotSatisfiableException se o intervalo começa depois do fim do objeto
+     */
+    default ObjectContent open(String key, HttpRange range) {
+        ObjectStat stat = stat(key);
+        if (range == null) {
+            return new ObjectContent(stat, 0, stat.size(), false, get(key));
+        }
+        long start;
+        long end;
+        try {
+            start = range.getRangeStart(stat.size());
+            end = range.getRangeEnd(stat.size());
+        } catch (IllegalArgumentException e) {
+            throw new RangeNotSatisfiableException(key, stat.size());
+        }
+        if (start >= stat.size()) {
+            throw new RangeNotSatisfiableException(key, stat.size());
+        }
+        return new ObjectContent(stat, start, end - start + 1, true, getRange(key, start, end - start + 1));
+    }
+
+    /**
+     * Copia o intervalo do objeto para o canal. O disco local usa FileChannel.transferTo.
+     */
+    default void transferTo(String key, long offset, long length, WritableByteChannel target) throws IOException {
+        try (InputStream in = getRange(key, offset, length)) {
+            in.transferTo(Channels.newOutputStream(target));
+        }
+    }
+
+    /**
+     * Arquivo local com o conteúdo do objeto, quando existe: permite enviar a resposta com sendfile.
+     */
+    default Optional<Path> localFile(String key) {
+        return Optional.empty();
+    }
+}
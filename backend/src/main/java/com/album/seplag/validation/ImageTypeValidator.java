@@ -0,0 +1,86 @@
+package com.album.seplag.validation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import com.album.seplag.exception.UnsupportedImageTypeException;
+
+/**
+ * Tipos aceitos nos uploads de capas e fotos. O objeto é compartilhado por todos os uploads do mesmo
+ * conteúdo (imagens/{hash}) e servido com o tipo declarado no primeiro deles, então só entram formatos
+ * raster (um SVG pode carregar script) e os primeiros bytes precisam ser do tipo declarado.
+ */
+public final class ImageTypeValidator {
+
+    public static final List<MediaType> TIPOS = List.of(MediaType.IMAGE_JPEG, MediaType.IMAGE_PNG,
+            MediaType.parseMediaType("image/webp"), MediaType.IMAGE_GIF);
+
+    /**
+     * Bytes lidos do início do arquivo para conferir o formato.
+     */
+    public static final int CABECALHO = 12;
+
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] GIF87 = "GIF87a".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] GIF89 = "GIF89a".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RIFF = "RIFF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] WEBP = "WEBP".getBytes(StandardCharsets.US_ASCII);
+
+    private ImageTypeValidator() {
+    }
+
+    /**
+     * @throws UnsupportedImageTypeException se o tipo não é um dos aceitos ou o cabeçalho não é desse tipo
+     */
+    public static void verificar(String contentType, byte[] cabecalho) {
+        MediaType tipo = tipo(contentType);
+        boolean corresponde = switch (tipo.getSubtype()) {
+            case "jpeg" -> comecaCom(cabecalho, 0, JPEG);
+            case "png" -> comecaCom(cabecalho, 0, PNG);
+            case "gif" -> comecaCom(cabecalho, 0, GIF87) || comecaCom(cabecalho, 0, GIF89);
+            case "webp" -> comecaCom(cabecalho, 0, RIFF) && comecaCom(cabecalho, 8, WEBP);
+            default -> false;
+        };
+        if (!corresponde) {
+            throw new UnsupportedImageTypeException("O conteúdo do arquivo não é " + tipo.getType() + "/"
+                    + tipo.getSubtype());
+        }
+    }
+
+    /**
+     * Confere o início do stream; o stream devolvido ainda começa no primeiro byte.
+     */
+    public static InputStream verificar(String contentType, InputStream content) throws IOException {
+        PushbackInputStream in = new PushbackInputStream(content, CABECALHO);
+        byte[] cabecalho = in.readNBytes(CABECALHO);
+        verificar(contentType, cabecalho);
+        in.unread(cabecalho);
+        return in;
+    }
+
+    private static MediaType tipo(String contentType) {
+        try {
+            MediaType tipo = contentType != null ? MediaType.parseMediaType(contentType) : null;
+            if (tipo != null && TIPOS.stream().anyMatch(aceito -> aceito.equalsTypeAndSubtype(tipo))) {
+                return tipo;
+            }
+        } catch (InvalidMediaTypeException e) {
+            // Tratado como tipo não aceito
+        }
+        throw new UnsupportedImageTypeException("Tipo de imagem não suportado: " + contentType
+                + ". Tipos aceitos: " + MediaType.toString(TIPOS));
+    }
+
+    private static boolean comecaCom(byte[] cabecalho, int inicio, byte[] assinatura) {
+        return cabecalho.length >= inicio + assinatura.length
+                && Arrays.equals(cabecalho, inicio, inicio + assinatura.length, assinatura, 0, assinatura.length);
+    }
+}
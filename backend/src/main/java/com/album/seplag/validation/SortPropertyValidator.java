@@ -1,5 +1,7 @@
 package com.album.seplag.validation;
 
+import java.util.Set;
+
 /**
  * Utilitário para validação de propriedades de ordenação por entidade.
  */
@@ -25,4 +27,17 @@ public final class SortPropertyValidator {
             default -> "consulte a documentação da API";
         };
     }
+
+    /**
+     * Propriedades aceitas na paginação por cursor (keyset): apenas colunas NOT NULL
+     * com índice composto (coluna, id), já que a comparação de seek não trata NULL.
+     */
+    public static Set<String> getKeysetPropertiesForEntity(String entityType) {
+        return switch (entityType) {
+            case "Artista" -> Set.of("id", "nome", "createdAt", "updatedAt");
+            case "Album" -> Set.of("id", "titulo", "createdAt", "updatedAt");
+            case "Usuario" -> Set.of("id", "username", "email", "createdAt", "updatedAt");
+            default -> Set.of("id");
+        };
+    }
 }
@@ -0,0 +1,24 @@
+-- =====================================================
+-- Migration: V10 - Índices para paginação por cursor (keyset)
+-- Descrição: Índices compostos (coluna de ordenação, id) usados pelos predicados de seek
+-- =====================================================
+
+-- Álbuns: ordenação por título, criação e atualização
+CREATE INDEX IF NOT EXISTS idx_albuns_titulo_id ON albuns(titulo, id);
+CREATE INDEX IF NOT EXISTS idx_albuns_created_at_id ON albuns(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_albuns_updated_at_id ON albuns(updated_at, id);
+
+-- Artistas: ordenação por nome, criação e atualização
+CREATE INDEX IF NOT EXISTS idx_artistas_nome_id ON artistas(nome, id);
+CREATE INDEX IF NOT EXISTS idx_artistas_created_at_id ON artistas(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_artistas_updated_at_id ON artistas(updated_at, id);
+
+-- Usuários: ordenação por username, email e criação
+CREATE INDEX IF NOT EXISTS idx_usuarios_username_id ON usuarios(username, id);
+CREATE INDEX IF NOT EXISTS idx_usuarios_email_id ON usuarios(email, id);
+CREATE INDEX IF NOT EXISTS idx_usuarios_created_at_id ON usuarios(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_usuarios_updated_at_id ON usuarios(updated_at, id);
+
+-- Os índices de coluna única passam a ser cobertos pelo prefixo dos compostos
+DROP INDEX IF EXISTS idx_album_titulo;
+DROP INDEX IF EXISTS idx_artista_nome;
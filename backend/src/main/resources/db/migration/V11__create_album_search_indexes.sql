@@ -0,0 +1,17 @@
+-- =====================================================
+-- Migration: V11 - Busca textual de álbuns
+-- Descrição: unaccent + pg_trgm e índices GIN de trigramas sobre título do álbum e nome do artista
+-- =====================================================
+
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- unaccent() é STABLE (depende do dicionário configurado) e não pode ser usado em índice;
+-- o wrapper fixa o dicionário e pode ser declarado IMMUTABLE
+CREATE OR REPLACE FUNCTION f_unaccent(text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+    AS $$ SELECT public.unaccent('public.unaccent'::regdictionary, $1) $$;
+
+-- Atende LIKE '%termo%' e os operadores de similaridade (<%) sobre o texto normalizado
+CREATE INDEX IF NOT EXISTS idx_albuns_titulo_trgm ON albuns USING gin (f_unaccent(lower(titulo)) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_artistas_nome_trgm ON artistas USING gin (f_unaccent(lower(nome)) gin_trgm_ops);
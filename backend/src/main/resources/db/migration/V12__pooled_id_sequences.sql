@@ -0,0 +1,22 @@
+-- =====================================================
+-- Migration: V12 - Sequências com incremento 50 para ids
+-- Descrição: As entidades passam a gerar ids por sequência com alocação em blocos de 50
+--            (otimizador pooled do Hibernate), o que habilita o batching de INSERTs via JDBC.
+--            Com IDENTITY cada INSERT precisava ser executado sozinho para devolver o id.
+-- =====================================================
+
+-- O Hibernate reserva os ids (valor - 49) .. valor a cada nextval; posicionar a sequência
+-- no maior id existente garante que o primeiro bloco comece depois dele.
+-- O DEFAULT nextval(...) das colunas continua valendo para INSERTs feitos direto em SQL.
+
+ALTER SEQUENCE usuarios_id_seq INCREMENT BY 50;
+SELECT setval('usuarios_id_seq', GREATEST(COALESCE((SELECT MAX(id) FROM usuarios), 0), 1), true);
+
+ALTER SEQUENCE artistas_id_seq INCREMENT BY 50;
+SELECT setval('artistas_id_seq', GREATEST(COALESCE((SELECT MAX(id) FROM artistas), 0), 1), true);
+
+ALTER SEQUENCE albuns_id_seq INCREMENT BY 50;
+SELECT setval('albuns_id_seq', GREATEST(COALESCE((SELECT MAX(id) FROM albuns), 0), 1), true);
+
+ALTER SEQUENCE capas_album_id_seq INCREMENT BY 50;
+SELECT setval('capas_album_id_seq', GREATEST(COALESCE((SELECT MAX(id) FROM capas_album), 0), 1), true);
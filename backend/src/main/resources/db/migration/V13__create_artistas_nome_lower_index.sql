@@ -0,0 +1,6 @@
+-- =====================================================
+-- Migration: V13 - Índice para resolução de artista por nome
+-- Descrição: A importação de catálogo localiza o artista por LOWER(nome) = LOWER(:nome)
+-- =====================================================
+
+CREATE INDEX IF NOT EXISTS idx_artistas_nome_lower ON artistas(lower(nome));
@@ -0,0 +1,25 @@
+-- =====================================================
+-- Migration: V14 - Criação da tabela de miniaturas
+-- Descrição: Versões reduzidas das capas e fotos, geradas depois do upload. A chave é o objeto
+--            original no armazenamento, o que atende capas e fotos de artista com uma tabela só.
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS miniaturas (
+    id BIGSERIAL PRIMARY KEY,                                    -- Identificador único da miniatura
+    objeto_original VARCHAR(500) NOT NULL,                       -- Chave do objeto original
+    dimensao INTEGER NOT NULL,                                   -- Maior lado da miniatura, em pixels
+    nome_arquivo VARCHAR(500) NOT NULL,                          -- Chave do objeto da miniatura
+    content_type VARCHAR(100) NOT NULL,                          -- Tipo MIME da miniatura
+    tamanho BIGINT NOT NULL,                                     -- Tamanho do arquivo em bytes
+    data_criacao TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,   -- Data de geração
+    CONSTRAINT uk_miniaturas_objeto_dimensao UNIQUE (objeto_original, dimensao)
+);
+
+-- Mesmo esquema de V12: ids alocados em blocos de 50 pelo Hibernate
+ALTER SEQUENCE miniaturas_id_seq INCREMENT BY 50;
+
+COMMENT ON TABLE miniaturas IS 'Miniaturas geradas a partir das capas de álbum e fotos de artista';
+COMMENT ON COLUMN miniaturas.objeto_original IS 'Chave do objeto original (ex: albuns/1/uuid_capa.jpg)';
+COMMENT ON COLUMN miniaturas.dimensao IS 'Maior lado da miniatura, em pixels';
+COMMENT ON COLUMN miniaturas.nome_arquivo IS 'Chave do objeto da miniatura no armazenamento';
+COMMENT ON COLUMN miniaturas.data_criacao IS 'Data e hora de geração da miniatura';
@@ -0,0 +1,22 @@
+-- =====================================================
+-- Migration: V15 - Conteúdo das imagens endereçado por hash
+-- Descrição: Capas e fotos passam a ser gravadas uma única vez por conteúdo, na chave
+--            imagens/{sha256}. capas_album.nome_arquivo e artistas.foto_nome_arquivo apontam para
+--            essa chave; referencias conta quantas linhas apontam para ela, e o objeto é removido
+--            quando a última deixa de apontar. Objetos anteriores (albuns/{id}/{uuid}_{nome}) não
+--            têm linha aqui e continuam sendo removidos diretamente.
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS conteudos (
+    hash VARCHAR(64) PRIMARY KEY,                                -- SHA-256 do conteúdo, em hexadecimal
+    nome_arquivo VARCHAR(500) NOT NULL UNIQUE,                   -- Chave do objeto no armazenamento
+    content_type VARCHAR(100),                                   -- Tipo MIME informado no primeiro upload
+    tamanho BIGINT NOT NULL,                                     -- Tamanho do arquivo em bytes
+    referencias INTEGER NOT NULL,                                -- Capas e fotos que usam o conteúdo
+    data_criacao TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP    -- Data do primeiro upload
+);
+
+COMMENT ON TABLE conteudos IS 'Conteúdo das capas e fotos, compartilhado entre uploads idênticos';
+COMMENT ON COLUMN conteudos.hash IS 'SHA-256 do conteúdo, em hexadecimal';
+COMMENT ON COLUMN conteudos.nome_arquivo IS 'Chave do objeto no armazenamento (imagens/{hash})';
+COMMENT ON COLUMN conteudos.referencias IS 'Quantidade de capas e fotos que apontam para o conteúdo';
@@ -0,0 +1,86 @@
+package com.album.seplag.cache;
+
+import com.album.seplag.event.AlbumChangedEvent;
+import com.album.seplag.event.ArtistaChangedEvent;
+import com.album.seplag.event.ChangeType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogVersionsTest {
+
+    private final CatalogVersions versions = new CatalogVersions(100);
+
+    @Test
+    void onAlbumChanged_ShouldChangeAlbumAndListEtags_ButNotOtherAlbuns() {
+        String lista = versions.albunsEtag();
+        String album1 = versions.albumEtag(1L);
+        String album2 = versions.albumEtag(2L);
+        String artistas = versions.artistasEtag();
+
+        versions.onAlbumChanged(new AlbumChangedEvent(1L, ChangeType.UPDATED, Set.of()));
+
+        assertNotEquals(lista, versions.albunsEtag());
+        assertNotEquals(album1, versions.albumEtag(1L));
+        assertEquals(album2, versions.albumEtag(2L));
+        assertEquals(artistas, versions.artistasEtag());
+    }
+
+    @Test
+    void onAlbumChanged_ShouldChangeArtistaEtag_WhenAlbumCountChanges() {
+        String artista10 = versions.artistaEtag(10L);
+        String artista20 = versions.artistaEtag(20L);
+        String artistas = versions.artistasEtag();
+
+        versions.onAlbumChanged(new AlbumChangedEvent(1L, ChangeType.CREATED, Set.of(10L)));
+
+        assertNotEquals(artista10, versions.artistaEtag(10L));
+        assertEquals(artista20, versions.artistaEtag(20L));
+        assertNotEquals(artistas, versions.artistasEtag());
+    }
+
+    @Test
+    void onArtistaChanged_ShouldChangeAlbumEtags_UnlessArtistaWasCreated() {
+        String album1 = versions.albumEtag(1L);
+        String albuns = versions.albunsEtag();
+
+        versions.onArtistaChanged(new ArtistaChangedEvent(10L, ChangeType.CREATED));
+        assertEquals(album1, versions.albumEtag(1L));
+        assertEquals(albuns, versions.albunsEtag());
+
+        versions.onArtistaChanged(new ArtistaChangedEvent(10L, ChangeType.UPDATED));
+        assertNotEquals(album1, versions.albumEtag(1L));
+        assertNotEquals(albuns, versions.albunsEtag());
+    }
+
+    @Test
+    void evictedIds_ShouldFallBackToFloor_WithoutReusingStaleEtags() {
+        CatalogVersions limitado = new CatalogVersions(2);
+        String nuncaAlterado = limitado.albumEtag(99L);
+        limitado.onAlbumChanged(new AlbumChangedEvent(1L, ChangeType.UPDATED, Set.of()));
+        String alterado = limitado.albumEtag(1L);
+
+        for (long id = 2; id <= 50; id++) {
+            limitado.onAlbumChanged(new AlbumChangedEvent(id, ChangeType.UPDATED, Set.of()));
+        }
+
+        // Descartado pelo limite: o ETag muda (200 a mais), mas nunca volta a um valor já entregue
+        assertNotEquals(alterado, limitado.albumEtag(1L));
+        assertNotEquals(nuncaAlterado, limitado.albumEtag(1L));
+        assertNotEquals(nuncaAlterado, limitado.albumEtag(99L));
+
+        String depoisDoDescarte = limitado.albumEtag(1L);
+        limitado.onAlbumChanged(new AlbumChangedEvent(1L, ChangeType.DELETED, Set.of()));
+        assertNotEquals(depoisDoDescarte, limitado.albumEtag(1L));
+    }
+
+    @Test
+    void etags_ShouldDifferBetweenInstances() throws InterruptedException {
+        String antes = versions.albumEtag(1L);
+        Thread.sleep(2);
+
+        assertNotEquals(antes, new CatalogVersions(100).albumEtag(1L));
+    }
+}
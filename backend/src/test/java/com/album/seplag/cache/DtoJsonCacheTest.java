@@ -0,0 +1,119 @@
+package com.album.seplag.cache;
+
+import com.album.seplag.dto.AlbumDTO;
+import com.album.seplag.dto.ArtistaDTO;
+import com.album.seplag.enums.TipoArtista;
+import com.album.seplag.event.AlbumChangedEvent;
+import com.album.seplag.event.ArtistaChangedEvent;
+import com.album.seplag.event.ChangeType;
+import com.album.seplag.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DtoJsonCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DtoJsonCache cache;
+    private AtomicInteger albumLoads;
+    private AtomicInteger artistaLoads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        cache = new DtoJsonCache(objectMapper, meterRegistry, 1024 * 1024, Duration.ofMinutes(10));
+        albumLoads = new AtomicInteger();
+        artistaLoads = new AtomicInteger();
+    }
+
+    @Test
+    void album_ShouldServeCachedBytes_UntilAlbumChanges() {
+        byte[] first = loadAlbum(1L, 10L);
+        byte[] second = loadAlbum(1L, 10L);
+
+        assertSame(first, second);
+        assertEquals(1, albumLoads.get());
+        assertTrue(new String(first, StandardCharsets.UTF_8).contains("\"titulo\":\"Álbum 1\""));
+
+        cache.onAlbumChanged(new AlbumChangedEvent(1L, ChangeType.UPDATED, Set.of()));
+        loadAlbum(1L, 10L);
+
+        assertEquals(2, albumLoads.get());
+    }
+
+    @Test
+    void onAlbumChanged_ShouldInvalidateOnlyAffectedArtistas() {
+        loadArtista(10L);
+        loadArtista(20L);
+
+        // capa nova não muda o ArtistaDTO
+        cache.onAlbumChanged(new AlbumChangedEvent(1L, ChangeType.UPDATED, Set.of()));
+        loadArtista(10L);
+        assertEquals(2, artistaLoads.get());
+
+        cache.onAlbumChanged(new AlbumChangedEvent(1L, ChangeType.CREATED, Set.of(10L)));
+        loadArtista(10L);
+        loadArtista(20L);
+        assertEquals(3, artistaLoads.get());
+    }
+
+    @Test
+    void onArtistaChanged_ShouldInvalidateAlbunsOfThatArtista() {
+        loadAlbum(1L, 10L);
+        loadAlbum(2L, 10L);
+        loadAlbum(3L, 20L);
+
+        cache.onArtistaChanged(new ArtistaChangedEvent(10L, ChangeType.UPDATED));
+        loadAlbum(1L, 10L);
+        loadAlbum(2L, 10L);
+        loadAlbum(3L, 20L);
+
+        assertEquals(5, albumLoads.get());
+    }
+
+    @Test
+    void album_ShouldNotCacheNotFound() {
+        assertThrows(ResourceNotFoundException.class,
+                () -> cache.album(99L, () -> { throw new ResourceNotFoundException("Álbum não encontrado com id: 99"); }));
+
+        loadAlbum(99L, 10L);
+        assertEquals(1, albumLoads.get());
+    }
+
+    @Test
+    void shouldExposeHitMissMetrics() {
+        loadAlbum(1L, 10L);
+        loadAlbum(1L, 10L);
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "albuns-json").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "albuns-json").tag("result", "miss")
+                .functionCounter().count());
+        assertNotNull(meterRegistry.get("cache.evictions").tag("cache", "artistas-json").functionCounter());
+    }
+
+    private byte[] loadAlbum(Long id, Long artistaId) {
+        return cache.album(id, () -> {
+            albumLoads.incrementAndGet();
+            return new AlbumDTO(id, "Álbum " + id, artistaId, "Artista " + artistaId, null, null, List.of());
+        });
+    }
+
+    private byte[] loadArtista(Long id) {
+        return cache.artista(id, () -> {
+            artistaLoads.incrementAndGet();
+            return new ArtistaDTO(id, "Artista " + id, "Rock", TipoArtista.CANTOR, null, null, 0L, null);
+        });
+    }
+}
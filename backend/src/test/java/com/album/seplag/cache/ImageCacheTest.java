@@ -0,0 +1,179 @@
+package com.album.seplag.cache;
+
+import com.album.seplag.event.ObjectRemovedEvent;
+import com.album.seplag.storage.ObjectContent;
+import com.album.seplag.storage.ObjectStat;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageCacheTest {
+
+    private static final int TAMANHO = 1000;
+
+    @TempDir
+    Path diskDir;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ImageCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Memória para duas imagens, disco para dez; listeners executados na própria thread
+        cache = new ImageCache(meterRegistry, true, 2 * (TAMANHO + ImageCache.ENTRY_OVERHEAD), diskDir,
+                10 * TAMANHO, 4096, Runnable::run);
+    }
+
+    @Test
+    void put_ShouldKeepImageInDirectMemory() throws IOException {
+        byte[] imagem = imagem(1);
+        cache.put("albuns/1/a.jpg", conteudo("albuns/1/a.jpg", imagem));
+
+        CachedImage cached = cache.get("albuns/1/a.jpg");
+
+        assertNotNull(cached);
+        assertTrue(cached.body().isDirect());
+        assertArrayEquals(imagem, bytes(cached.body()));
+        assertEquals("image/jpeg", cached.stat().contentType());
+        assertNull(cache.get("albuns/1/outra.jpg"));
+    }
+
+    @Test
+    void get_ShouldServeEvictedImagesFromDisk() throws IOException {
+        IntStream.range(0, 5).forEach(this::gravar);
+        cache.cleanUp();
+
+        for (int i = 0; i < 5; i++) {
+            CachedImage cached = cache.get(chave(i));
+            assertNotNull(cached, chave(i));
+            assertArrayEquals(imagem(i), bytes(cached.body()));
+        }
+        assertTrue(meterRegistry.get("cache.gets").tag("cache", "imagens-disco").tag("result", "hit")
+                .functionCounter().count() >= 3);
+        assertEquals(1.0, meterRegistry.get("image.cache.hit.ratio").gauge().value());
+        assertTrue(meterRegistry.get("image.cache.bytes").tag("tier", "disco").gauge().value() >= 3 * TAMANHO);
+        try (var arquivos = Files.list(diskDir)) {
+            assertTrue(arquivos.count() >= 3);
+        }
+    }
+
+    @Test
+    void get_ShouldCopyDiskHitIntoDirectMemory() throws IOException {
+        IntStream.range(0, 5).forEach(this::gravar);
+        cache.cleanUp();
+        CachedImage[] lidas = IntStream.range(0, 5).mapToObj(i -> cache.get(chave(i))).toArray(CachedImage[]::new);
+
+        // Um mapeamento veria a alteração dos arquivos; a cópia não
+        try (var arquivos = Files.list(diskDir)) {
+            for (Path arquivo : arquivos.toList()) {
+                Files.write(arquivo, new byte[TAMANHO]);
+            }
+        }
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(lidas[i].body().isDirect());
+            assertArrayEquals(imagem(i), bytes(lidas[i].body()), chave(i));
+        }
+    }
+
+    @Test
+    void get_ShouldMiss_WhenDiskFileIsGone() throws IOException {
+        IntStream.range(0, 5).forEach(this::gravar);
+        cache.cleanUp();
+        try (var arquivos = Files.list(diskDir)) {
+            for (Path arquivo : arquivos.toList()) {
+                Files.delete(arquivo);
+            }
+        }
+
+        long acertos = IntStream.range(0, 5).filter(i -> cache.get(chave(i)) != null).count();
+
+        // Só as que ainda estavam na memória
+        assertTrue(acertos <= 2);
+    }
+
+    @Test
+    void onObjectRemoved_ShouldInvalidateBothTiers_AndDeleteFile() throws IOException {
+        IntStream.range(0, 5).forEach(this::gravar);
+        cache.cleanUp();
+
+        for (int i = 0; i < 5; i++) {
+            cache.onObjectRemoved(new ObjectRemovedEvent(chave(i)));
+        }
+        cache.cleanUp();
+
+        for (int i = 0; i < 5; i++) {
+            assertNull(cache.get(chave(i)));
+        }
+        try (var arquivos = Files.list(diskDir)) {
+            assertEquals(0, arquivos.count());
+        }
+    }
+
+    @Test
+    void startup_ShouldDeleteOnlyLeftoverCacheFiles() throws IOException {
+        Files.write(diskDir.resolve("anterior.img"), imagem(1));
+        Files.writeString(diskDir.resolve("dados.txt"), "não é do cache");
+        Files.createDirectories(diskDir.resolve("sub"));
+        Files.write(diskDir.resolve("sub/outro.img"), imagem(2));
+
+        new ImageCache(new SimpleMeterRegistry(), true, 1024, diskDir, 1024, 4096, Runnable::run);
+
+        assertFalse(Files.exists(diskDir.resolve("anterior.img")));
+        assertTrue(Files.exists(diskDir.resolve("dados.txt")));
+        assertTrue(Files.exists(diskDir.resolve("sub/outro.img")));
+    }
+
+    @Test
+    void cacheable_ShouldRejectLargeObjects_AndEverythingWhenDisabled() {
+        ImageCache desativado = new ImageCache(new SimpleMeterRegistry(), false, 1024, diskDir, 1024, 4096, Runnable::run);
+
+        assertTrue(cache.cacheable(4096));
+        assertFalse(cache.cacheable(4097));
+        assertFalse(desativado.cacheable(10));
+        assertNull(desativado.get("albuns/1/a.jpg"));
+    }
+
+    private void gravar(int i) {
+        try {
+            cache.put(chave(i), conteudo(chave(i), imagem(i)));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String chave(int i) {
+        return "albuns/1/capa-" + i + ".jpg";
+    }
+
+    private static ObjectContent conteudo(String key, byte[] imagem) {
+        ObjectStat stat = new ObjectStat(key, "image/jpeg", imagem.length, Instant.now());
+        return new ObjectContent(stat, 0, imagem.length, false, new ByteArrayInputStream(imagem));
+    }
+
+    private static byte[] imagem(int i) {
+        byte[] imagem = new byte[TAMANHO];
+        Arrays.fill(imagem, (byte) i);
+        return imagem;
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        ByteBuffer copia = buffer.duplicate();
+        byte[] bytes = new byte[copia.remaining()];
+        copia.get(bytes);
+        return bytes;
+    }
+}
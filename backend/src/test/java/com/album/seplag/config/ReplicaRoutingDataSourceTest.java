@@ -0,0 +1,172 @@
+package com.album.seplag.config;
+
+import com.album.seplag.cache.DtoJsonCache;
+import com.album.seplag.dto.ArtistaDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Roteamento com dois bancos H2 em memória (primária e réplica), cada um com uma tabela que identifica a origem.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primaria;
+    private DataSource replica;
+    private ReadYourWritesTracker readYourWrites;
+
+    @BeforeEach
+    void setUp() {
+        primaria = banco("primaria");
+        replica = banco("replica");
+        readYourWrites = new ReadYourWritesTracker(Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        new JdbcTemplate(primaria).execute("DROP ALL OBJECTS");
+        new JdbcTemplate(replica).execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldGoToReplica_AndWritesToPrimary() {
+        Roteamento roteamento = new Roteamento(Map.of("replica-1", replica));
+
+        assertEquals("replica", roteamento.ler());
+        assertEquals("primaria", roteamento.escrever());
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldFallBackToPrimary_WhenReplicaIsDown() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", indisponivel("fora-do-ar"));
+        Roteamento roteamento = new Roteamento(replicas);
+
+        assertEquals("primaria", roteamento.ler());
+
+        replicas.put("replica-2", replica);
+        Roteamento comDuas = new Roteamento(replicas);
+        for (int i = 0; i < 4; i++) {
+            assertEquals("replica", comDuas.ler());
+        }
+    }
+
+    @Test
+    void healthCheck_ShouldReturnReplica_WhenItComesBack() {
+        DataSource atrasada = indisponivel("atrasada");
+        Roteamento roteamento = new Roteamento(Map.of("replica-1", atrasada));
+        assertEquals("primaria", roteamento.ler());
+
+        banco("atrasada");
+        assertEquals("primaria", roteamento.ler());
+        roteamento.routing.verificarReplicas();
+        assertEquals("atrasada", roteamento.ler());
+        new JdbcTemplate(atrasada).execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void readYourWrites_ShouldReadFromPrimary_AfterOwnWrite() {
+        Roteamento roteamento = new Roteamento(Map.of("replica-1", replica));
+
+        autenticar("autor");
+        assertEquals("replica", roteamento.ler());
+        roteamento.escrever();
+        assertEquals("primaria", roteamento.ler());
+
+        autenticar("outro");
+        assertEquals("replica", roteamento.ler());
+    }
+
+    @Test
+    void primaryReadScope_ShouldKeepLaggingReplicaOutOfDtoJsonCache() {
+        Roteamento roteamento = new Roteamento(Map.of("replica-1", replica));
+        DtoJsonCache cache = new DtoJsonCache(new ObjectMapper(), new SimpleMeterRegistry(), 1 << 20,
+                Duration.ofMinutes(10));
+
+        // As duas bases diferem como uma réplica que ainda não aplicou o último commit
+        assertEquals("replica", roteamento.ler());
+        String json = new String(cache.artista(1L, () -> artista(roteamento.ler())), StandardCharsets.UTF_8);
+
+        assertTrue(json.contains("\"nome\":\"primaria\""), json);
+        assertEquals(json, new String(cache.artista(1L, () -> fail("já está em cache")), StandardCharsets.UTF_8));
+        assertEquals("replica", roteamento.ler());
+        assertEquals("primaria", PrimaryReadScope.executar(() -> PrimaryReadScope.executar(roteamento::ler)));
+        assertFalse(PrimaryReadScope.ativo());
+    }
+
+    private static ArtistaDTO artista(String nome) {
+        return new ArtistaDTO(1L, nome, null, null, null, null, 0L, null);
+    }
+
+    private void autenticar(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, AuthorityUtils.NO_AUTHORITIES));
+    }
+
+    private static DataSource banco(String nome) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + nome + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE origem (nome VARCHAR(20))");
+        jdbc.update("INSERT INTO origem VALUES (?)", nome);
+        return dataSource;
+    }
+
+    // IFEXISTS: a conexão falha enquanto o banco não for criado
+    private static DataSource indisponivel(String nome) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + nome + ";IFEXISTS=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    /**
+     * Mesma montagem de ReadReplicaConfig, com um DataSourceTransactionManager no lugar do JPA.
+     */
+    private class Roteamento {
+
+        private final ReplicaRoutingDataSource routing;
+        private final JdbcTemplate jdbc;
+        private final TransactionTemplate leitura;
+        private final TransactionTemplate escrita;
+
+        Roteamento(Map<String, DataSource> replicas) {
+            routing = new ReplicaRoutingDataSource(primaria, replicas, readYourWrites);
+            LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaria);
+            dataSource.setReadOnlyDataSource(routing);
+
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            transactionManager.addListener(readYourWrites);
+            jdbc = new JdbcTemplate(dataSource);
+            leitura = new TransactionTemplate(transactionManager);
+            leitura.setReadOnly(true);
+            escrita = new TransactionTemplate(transactionManager);
+        }
+
+        String ler() {
+            return leitura.execute(status -> jdbc.queryForObject("SELECT nome FROM origem", String.class));
+        }
+
+        String escrever() {
+            return escrita.execute(status -> {
+                jdbc.update("UPDATE origem SET nome = nome");
+                return jdbc.queryForObject("SELECT nome FROM origem", String.class);
+            });
+        }
+    }
+}
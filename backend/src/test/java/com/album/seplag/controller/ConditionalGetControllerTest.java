@@ -0,0 +1,112 @@
+package com.album.seplag.controller;
+
+import com.album.seplag.cache.CatalogVersions;
+import com.album.seplag.cache.DtoJsonCache;
+import com.album.seplag.dto.AlbumDTO;
+import com.album.seplag.dto.PageResponseDTO;
+import com.album.seplag.enums.CountMode;
+import com.album.seplag.event.AlbumChangedEvent;
+import com.album.seplag.event.ChangeType;
+import com.album.seplag.service.AlbumService;
+import com.album.seplag.service.CatalogoExportService;
+import com.album.seplag.service.MinIOService;
+import com.album.seplag.service.RegionalService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ConditionalGetControllerTest {
+
+    private AlbumService albumService;
+    private RegionalService regionalService;
+    private CatalogVersions catalogVersions;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        albumService = mock(AlbumService.class);
+        regionalService = mock(RegionalService.class);
+        catalogVersions = new CatalogVersions(100);
+        DtoJsonCache dtoJsonCache = new DtoJsonCache(new ObjectMapper().registerModule(new JavaTimeModule()),
+                new SimpleMeterRegistry(), 1024 * 1024, Duration.ofMinutes(10));
+
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                        new AlbumController(albumService, mock(MinIOService.class), dtoJsonCache, catalogVersions,
+                                mock(CatalogoExportService.class), mock(ObjectResponseWriter.class)),
+                        new RegionalController(regionalService))
+                .addPlaceholderValue("app.api.base", "/api/v1")
+                .build();
+
+        when(albumService.findAll(any(Pageable.class), eq(CountMode.EXACT)))
+                .thenReturn(new PageResponseDTO<>(List.of(), 0, 10, 0L, 0, true, true, CountMode.EXACT));
+        when(albumService.findById(1L))
+                .thenReturn(new AlbumDTO(1L, "Álbum", 10L, "Artista", null, null, List.of()));
+    }
+
+    @Test
+    void findAll_ShouldReturn304_WithoutCallingService_WhenEtagMatches() throws Exception {
+        String etag = etagOf("/api/v1/albuns");
+        verify(albumService, times(1)).findAll(any(Pageable.class), eq(CountMode.EXACT));
+
+        mockMvc.perform(get("/api/v1/albuns").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        verify(albumService, times(1)).findAll(any(Pageable.class), eq(CountMode.EXACT));
+    }
+
+    @Test
+    void findAll_ShouldReturn200_AfterAlbumChanges() throws Exception {
+        String etag = etagOf("/api/v1/albuns");
+
+        catalogVersions.onAlbumChanged(new AlbumChangedEvent(5L, ChangeType.CREATED, Set.of(10L)));
+
+        mockMvc.perform(get("/api/v1/albuns").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        verify(albumService, times(2)).findAll(any(Pageable.class), eq(CountMode.EXACT));
+    }
+
+    @Test
+    void findById_ShouldReturn304_WithoutLoadingAlbum() throws Exception {
+        String etag = etagOf("/api/v1/albuns/1");
+
+        mockMvc.perform(get("/api/v1/albuns/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verify(albumService, times(1)).findById(1L);
+    }
+
+    @Test
+    void regionais_ShouldReturn304_WithoutMappingList() throws Exception {
+        when(regionalService.etag()).thenReturn("regionais-3-3-1700000000.0");
+        when(regionalService.findAll()).thenReturn(List.of());
+        String etag = etagOf("/api/v1/regionais");
+
+        mockMvc.perform(get("/api/v1/regionais").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verify(regionalService, times(1)).findAll();
+    }
+
+    private String etagOf(String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn();
+        return result.getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
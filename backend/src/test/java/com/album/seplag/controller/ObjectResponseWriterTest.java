@@ -0,0 +1,236 @@
+package com.album.seplag.controller;
+
+import com.album.seplag.cache.ImageCache;
+import com.album.seplag.exception.RangeNotSatisfiableException;
+import com.album.seplag.storage.LocalObjectStorage;
+import com.album.seplag.storage.ObjectContent;
+import com.album.seplag.storage.ObjectRef;
+import com.album.seplag.storage.ObjectStorage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpRange;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObjectResponseWriterTest {
+
+    @TempDir
+    Path root;
+
+    private static final Instant DATA_UPLOAD = Instant.parse("2026-01-10T12:00:00Z");
+
+    private LocalObjectStorage storage;
+    private ObjectResponseWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalObjectStorage(root);
+        writer = new ObjectResponseWriter(storage, imageCache(false));
+    }
+
+    @Test
+    void write_ShouldCopyBody_WhenSendfileIsNotSupported() throws Exception {
+        byte[] imagem = imagem(100 * 1024);
+        ObjectRef objeto = gravar(imagem);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(objeto, new MockHttpServletRequest(), response);
+
+        assertEquals("image/jpeg", response.getContentType());
+        assertEquals(imagem.length, response.getContentLengthLong());
+        assertArrayEquals(imagem, response.getContentAsByteArray());
+    }
+
+    @Test
+    void write_ShouldDelegateLargeFilesToSendfile_WhenContainerSupportsIt() throws Exception {
+        byte[] imagem = imagem(100 * 1024);
+        ObjectRef objeto = gravar(imagem);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(objeto, request, response);
+
+        assertEquals(root.resolve(objeto.key()).toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(0L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals((long) imagem.length, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals(imagem.length, response.getContentLengthLong());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void write_ShouldCopySmallFiles_EvenWithSendfileSupport() throws Exception {
+        byte[] imagem = imagem(1024);
+        ObjectRef objeto = gravar(imagem);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(objeto, request, response);
+
+        assertNull(request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertArrayEquals(imagem, response.getContentAsByteArray());
+    }
+
+    @Test
+    void write_ShouldReturnNotModified_WhenEtagMatches() throws Exception {
+        ObjectRef objeto = gravar(imagem(1024));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/capa");
+        request.addHeader("If-None-Match", objeto.etag());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(objeto, request, response);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(objeto.etag(), response.getHeader("ETag"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void write_ShouldReturnNotModified_WithoutTouchingStorage() throws Exception {
+        // Objeto nunca gravado: qualquer acesso ao armazenamento geraria ResourceNotFoundException
+        ObjectRef objeto = new ObjectRef("albuns/1/inexistente.jpg", DATA_UPLOAD);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/capa");
+        request.addHeader("If-Modified-Since", DATA_UPLOAD.plusSeconds(60).toEpochMilli());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(objeto, request, response);
+
+        assertEquals(304, response.getStatus());
+    }
+
+    @Test
+    void write_ShouldReturnPartialContent_ForSingleRange() throws Exception {
+        byte[] imagem = sequencia(1000);
+        ObjectRef objeto = gravar(imagem);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/capa");
+        request.addHeader("Range", "bytes=100-199");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(objeto, request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 100-199/1000", response.getHeader("Content-Range"));
+        assertEquals(100, response.getContentLengthLong());
+        assertArrayEquals(Arrays.copyOfRange(imagem, 100, 200), response.getContentAsByteArray());
+    }
+
+    @Test
+    void write_ShouldReturnPartialContent_ThroughOpen_WhenStorageIsRemote() throws Exception {
+        byte[] imagem = sequencia(1000);
+        ObjectRef objeto = gravar(imagem);
+        ObjectResponseWriter remoto = new ObjectResponseWriter(remoto(new AtomicInteger()), imageCache(false));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/capa");
+        request.addHeader("Range", "bytes=-10");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        remoto.write(objeto, request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 990-999/1000", response.getHeader("Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(imagem, 990, 1000), response.getContentAsByteArray());
+    }
+
+    @Test
+    void write_ShouldThrowRangeNotSatisfiable_WhenRangeStartsAfterEnd() {
+        ObjectRef objeto = gravar(imagem(1000));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/capa");
+        request.addHeader("Range", "bytes=5000-");
+
+        RangeNotSatisfiableException e = assertThrows(RangeNotSatisfiableException.class,
+                () -> writer.write(objeto, request, new MockHttpServletResponse()));
+
+        assertEquals(1000, e.getSize());
+    }
+
+    @Test
+    void write_ShouldIgnoreRange_WhenIfRangeDoesNotMatch() throws Exception {
+        byte[] imagem = sequencia(1000);
+        ObjectRef objeto = gravar(imagem);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/capa");
+        request.addHeader("Range", "bytes=100-199");
+        request.addHeader("If-Range", "\"outro\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(objeto, request, response);
+
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(imagem, response.getContentAsByteArray());
+    }
+
+    @Test
+    void write_ShouldServeFromImageCache_AfterFirstFullRead() throws Exception {
+        byte[] imagem = sequencia(1000);
+        ObjectRef objeto = gravar(imagem);
+        AtomicInteger leituras = new AtomicInteger();
+        ObjectResponseWriter remoto = new ObjectResponseWriter(remoto(leituras), imageCache(true));
+
+        MockHttpServletResponse primeira = new MockHttpServletResponse();
+        remoto.write(objeto, new MockHttpServletRequest("GET", "/capa"), primeira);
+        MockHttpServletResponse segunda = new MockHttpServletResponse();
+        remoto.write(objeto, new MockHttpServletRequest("GET", "/capa"), segunda);
+        MockHttpServletRequest parcial = new MockHttpServletRequest("GET", "/capa");
+        parcial.addHeader("Range", "bytes=10-19");
+        MockHttpServletResponse terceira = new MockHttpServletResponse();
+        remoto.write(objeto, parcial, terceira);
+
+        assertEquals(1, leituras.get());
+        assertArrayEquals(imagem, primeira.getContentAsByteArray());
+        assertArrayEquals(imagem, segunda.getContentAsByteArray());
+        assertEquals("image/jpeg", segunda.getContentType());
+        assertEquals(206, terceira.getStatus());
+        assertArrayEquals(Arrays.copyOfRange(imagem, 10, 20), terceira.getContentAsByteArray());
+    }
+
+    /**
+     * Armazenamento sem arquivo local, como o MinIO, contando as aberturas de objeto.
+     */
+    private ObjectStorage remoto(AtomicInteger leituras) {
+        return new LocalObjectStorage(root) {
+            @Override
+            public Optional<Path> localFile(String key) {
+                return Optional.empty();
+            }
+
+            @Override
+            public ObjectContent open(String key, HttpRange range) {
+                leituras.incrementAndGet();
+                return super.open(key, range);
+            }
+        };
+    }
+
+    private ImageCache imageCache(boolean enabled) {
+        return new ImageCache(new SimpleMeterRegistry(), enabled, 1024 * 1024, root.resolve("cache"), 0, 1024 * 1024);
+    }
+
+    private ObjectRef gravar(byte[] imagem) {
+        storage.put("albuns/1/capa.jpg", new ByteArrayInputStream(imagem), imagem.length, "image/jpeg");
+        return new ObjectRef("albuns/1/capa.jpg", DATA_UPLOAD);
+    }
+
+    private static byte[] sequencia(int tamanho) {
+        byte[] imagem = new byte[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            imagem[i] = (byte) i;
+        }
+        return imagem;
+    }
+
+    private static byte[] imagem(int tamanho) {
+        byte[] imagem = new byte[tamanho];
+        Arrays.fill(imagem, (byte) 7);
+        return imagem;
+    }
+}
@@ -0,0 +1,190 @@
+package com.album.seplag.integration;
+
+import com.album.seplag.model.Album;
+import com.album.seplag.model.Artista;
+import com.album.seplag.model.CapaAlbum;
+import com.album.seplag.model.Usuario;
+import com.album.seplag.repository.AlbumRepository;
+import com.album.seplag.repository.ArtistaRepository;
+import com.album.seplag.repository.CapaAlbumRepository;
+import com.album.seplag.repository.UsuarioRepository;
+import com.album.seplag.support.EndpointStatementTest;
+import com.album.seplag.support.RecordedStatements;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.album.seplag.support.EndpointStatements.assertPaginado;
+import static com.album.seplag.support.EndpointStatements.get;
+import static com.album.seplag.support.EndpointStatements.perform;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL executado por cada endpoint de álbuns, com páginas de 1 e 100 itens: limite de statements e
+ * nenhum SQL repetido. Os limites são os valores atuais; se um deles subir, a falha lista o SQL executado.
+ */
+@EndpointStatementTest
+@WithMockUser(username = "admin", roles = "ADMIN")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AlbumEndpointStatementsIntegrationTest {
+
+    private static final String ALBUNS = "/api/v1/albuns";
+    private static final String PROXIMO_ID = "select next value for";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ArtistaRepository artistaRepository;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private CapaAlbumRepository capaAlbumRepository;
+
+    private Artista artista;
+    private Album album;
+
+    @BeforeAll
+    void setUp() {
+        Usuario usuario = new Usuario();
+        usuario.setUsername("admin");
+        usuario.setPassword("$2a$10$encoded");
+        usuario.setEmail("admin@example.com");
+        usuario.setAtivo(true);
+        usuario.setRoles(new HashSet<>(Set.of("ROLE_ADMIN")));
+        usuarioRepository.save(usuario);
+
+        List<Artista> artistas = artistaRepository.saveAll(IntStream.range(0, 120).mapToObj(i -> {
+            Artista novo = new Artista();
+            novo.setNome("Artista %03d".formatted(i));
+            return novo;
+        }).toList());
+        artista = artistas.get(0);
+
+        // Um álbum por artista e mais 110 no primeiro, para a página de 100 do filtro por artista
+        List<Album> albuns = new ArrayList<>();
+        for (int i = 0; i < 230; i++) {
+            Album novo = new Album();
+            novo.setTitulo("Álbum %03d".formatted(i));
+            novo.setDataLancamento(LocalDate.of(1990 + i % 30, 1, 1));
+            novo.setArtista(i < 120 ? artistas.get(i) : artista);
+            novo.setUsuario(usuario);
+            albuns.add(novo);
+        }
+        albuns = albumRepository.saveAll(albuns);
+        album = albuns.get(0);
+
+        capaAlbumRepository.saveAll(albuns.stream().flatMap(a -> IntStream.range(0, 2).mapToObj(c -> {
+            CapaAlbum capa = new CapaAlbum();
+            capa.setAlbum(a);
+            capa.setNomeArquivo("albuns/" + a.getId() + "/capa-" + c + ".jpg");
+            capa.setContentType("image/jpeg");
+            capa.setTamanho(1024L);
+            return capa;
+        })).toList());
+    }
+
+    @AfterAll
+    void tearDown() {
+        capaAlbumRepository.deleteAllInBatch();
+        albumRepository.deleteAllInBatch();
+        artistaRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void findAll_ShouldRunSameStatements_ForPageSizes1And100() throws Exception {
+        // Página (com artista) + COUNT + capas em lote
+        assertPaginado(mockMvc, ALBUNS + "?size=%d", 3);
+        assertPaginado(mockMvc, ALBUNS + "?size=%d&count=NONE", 2);
+        assertPaginado(mockMvc, ALBUNS + "?size=%d&fields=id,titulo,artistaNome,capa", 3);
+    }
+
+    @Test
+    void findAllByCursor_ShouldRunSameStatements_ForLimits1And100() throws Exception {
+        // Janela sem COUNT + capas em lote
+        assertPaginado(mockMvc, ALBUNS + "?limit=%d", 2);
+    }
+
+    @Test
+    void search_ShouldRunSameStatements_ForPageSizes1And100() throws Exception {
+        // Página com uma linha a mais (sem COUNT) + capas em lote
+        assertPaginado(mockMvc, ALBUNS + "/search?q=lbum&size=%d", 2);
+    }
+
+    @Test
+    void findByArtistaId_ShouldRunSameStatements_ForPageSizes1And100() throws Exception {
+        assertPaginado(mockMvc, ALBUNS + "/artista/" + artista.getId() + "?size=%d", 3);
+        assertPaginado(mockMvc, ALBUNS + "/artista/" + artista.getId() + "?size=%d&fields=id,titulo", 2);
+    }
+
+    @Test
+    void export_ShouldNotRunStatementsPerAlbum() throws Exception {
+        String endpoint = "GET " + ALBUNS + "/export";
+        // Um único SELECT lido em streaming
+        get(mockMvc, ALBUNS + "/export").assertNoRepeats(endpoint).assertAtMost(1, endpoint);
+    }
+
+    @Test
+    void findById_ShouldRunFixedStatements() throws Exception {
+        // Álbum + capas + artista
+        String endpoint = "GET " + ALBUNS + "/{id}";
+        get(mockMvc, ALBUNS + "/" + album.getId()).assertNoRepeats(endpoint).assertAtMost(3, endpoint);
+    }
+
+    @Test
+    void createUpdateAndDelete_ShouldRunFixedStatements() throws Exception {
+        String corpo = """
+                {"titulo": "Novo", "artistaId": %d, "dataLancamento": "2020-01-01"}""".formatted(artista.getId());
+
+        RecordedStatements criacao = perform(mockMvc, post(ALBUNS).contentType(MediaType.APPLICATION_JSON).content(corpo),
+                status().isCreated());
+        criacao.assertNoRepeats("POST " + ALBUNS).assertAtMost(4, "POST " + ALBUNS);
+
+        Long id = albumRepository.findAll().stream().filter(a -> a.getTitulo().equals("Novo")).findFirst().orElseThrow().getId();
+        perform(mockMvc, put(ALBUNS + "/" + id).contentType(MediaType.APPLICATION_JSON).content(corpo), status().isOk())
+                .assertNoRepeats("PUT " + ALBUNS + "/{id}").assertAtMost(3, "PUT " + ALBUNS + "/{id}");
+        perform(mockMvc, delete(ALBUNS + "/" + id), status().isNoContent())
+                .assertNoRepeats("DELETE " + ALBUNS + "/{id}").assertAtMost(3, "DELETE " + ALBUNS + "/{id}");
+    }
+
+    @Test
+    void createBulk_ShouldRunSameStatements_ForBatchesOf1And100() throws Exception {
+        // A sequência reserva 50 ids por chamada: fica de fora da comparação
+        RecordedStatements um = perform(mockMvc, bulk(1), status().isCreated()).ignoring(PROXIMO_ID);
+        RecordedStatements cem = perform(mockMvc, bulk(100), status().isCreated()).ignoring(PROXIMO_ID);
+
+        // Artistas do lote + usuário (e roles) + INSERT em batch
+        String endpoint = "POST " + ALBUNS + "/bulk";
+        cem.assertNoRepeats(endpoint).assertAtMost(4, endpoint).assertSameStatementsAs(um, endpoint);
+    }
+
+    private RequestBuilder bulk(int quantidade) {
+        String albuns = IntStream.range(0, quantidade)
+                .mapToObj(i -> "{\"titulo\": \"Lote %d\", \"artistaId\": %d}".formatted(i, artista.getId()))
+                .collect(Collectors.joining(","));
+        return post(ALBUNS + "/bulk").contentType(MediaType.APPLICATION_JSON).content("{\"albuns\": [" + albuns + "]}");
+    }
+}
@@ -0,0 +1,172 @@
+package com.album.seplag.integration;
+
+import com.album.seplag.config.DatabasePlatform;
+import com.album.seplag.dto.AlbumDTO;
+import com.album.seplag.model.Album;
+import com.album.seplag.model.Artista;
+import com.album.seplag.model.CapaAlbum;
+import com.album.seplag.model.Usuario;
+import com.album.seplag.pagination.RowCountEstimator;
+import com.album.seplag.repository.AlbumRepository;
+import com.album.seplag.repository.ArtistaRepository;
+import com.album.seplag.repository.CapaAlbumRepository;
+import com.album.seplag.repository.MiniaturaRepository;
+import com.album.seplag.service.AlbumService;
+import com.album.seplag.service.ConteudoService;
+import com.album.seplag.service.MinIOService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Garante que a listagem de álbuns executa um número fixo de SQLs,
+ * independente do tamanho da página (sem N+1 em toDTO).
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({AlbumService.class, RowCountEstimator.class, DatabasePlatform.class, AlbumQueryCountIntegrationTest.Config.class})
+class AlbumQueryCountIntegrationTest {
+
+    // SELECT da página (com artista) + COUNT + SELECT em lote das capas
+    private static final long MAX_STATEMENTS_PER_PAGE = 3;
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        MinIOService minIOService(AlbumRepository albumRepository, ArtistaRepository artistaRepository,
+                                  CapaAlbumRepository capaAlbumRepository,
+                                  MiniaturaRepository miniaturaRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager) {
+            return new MinIOService(mock(ConteudoService.class), 1800000L,
+                    albumRepository, artistaRepository, capaAlbumRepository, miniaturaRepository, eventPublisher,
+                    transactionManager);
+        }
+
+        @Bean
+        SimpMessagingTemplate simpMessagingTemplate() {
+            return mock(SimpMessagingTemplate.class);
+        }
+    }
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Artista artista;
+
+    @BeforeEach
+    void setUp() {
+        Usuario usuario = new Usuario();
+        usuario.setUsername("testuser");
+        usuario.setPassword("$2a$10$encoded");
+        usuario.setEmail("test@example.com");
+        usuario.setAtivo(true);
+        usuario.setRoles(new java.util.HashSet<>(Set.of("ROLE_USER")));
+        entityManager.persist(usuario);
+
+        for (int a = 0; a < 3; a++) {
+            Artista novo = new Artista();
+            novo.setNome("Artista " + a);
+            entityManager.persist(novo);
+            if (a == 0) {
+                artista = novo;
+            }
+
+            for (int i = 0; i < 20; i++) {
+                Album album = new Album();
+                album.setTitulo("Álbum " + a + "-" + i);
+                album.setDataLancamento(LocalDate.of(2000 + i, 1, 1));
+                album.setArtista(novo);
+                album.setUsuario(usuario);
+                entityManager.persist(album);
+
+                for (int c = 0; c < 3; c++) {
+                    CapaAlbum capa = new CapaAlbum();
+                    capa.setAlbum(album);
+                    capa.setNomeArquivo("albuns/" + album.getId() + "/capa-" + c + ".jpg");
+                    capa.setContentType("image/jpeg");
+                    capa.setTamanho(1024L);
+                    entityManager.persist(capa);
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findAll_ShouldRunFixedNumberOfStatements_RegardlessOfPageSize() {
+        long pequena = countStatements(() -> albumService.findAll(PageRequest.of(0, 5, Sort.by("id"))));
+        long grande = countStatements(() -> {
+            Page<AlbumDTO> page = albumService.findAll(PageRequest.of(0, 50, Sort.by("id")));
+            assertEquals(50, page.getContent().size());
+            page.getContent().forEach(dto -> {
+                assertNotNull(dto.artistaNome());
+                assertEquals(3, dto.capas().size());
+            });
+        });
+
+        assertTrue(grande <= MAX_STATEMENTS_PER_PAGE, "Statements executados: " + grande);
+        assertEquals(pequena, grande);
+    }
+
+    @Test
+    void findByArtistaId_ShouldRunFixedNumberOfStatements() {
+        long statements = countStatements(() -> {
+            Page<AlbumDTO> page = albumService.findByArtistaId(artista.getId(), PageRequest.of(0, 20));
+            assertEquals(20, page.getContent().size());
+            page.getContent().forEach(dto -> assertEquals(3, dto.capas().size()));
+        });
+
+        assertTrue(statements <= MAX_STATEMENTS_PER_PAGE, "Statements executados: " + statements);
+    }
+
+    @Test
+    void findAllByCursor_ShouldSkipCountQuery() {
+        long statements = countStatements(() -> {
+            var window = albumService.findAll(ScrollPosition.keyset(), Sort.by("titulo").and(Sort.by("id")), 50);
+            assertEquals(50, window.size());
+            assertTrue(window.hasNext());
+        });
+
+        // SELECT da página (com artista) + SELECT em lote das capas
+        assertTrue(statements <= MAX_STATEMENTS_PER_PAGE - 1, "Statements executados: " + statements);
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
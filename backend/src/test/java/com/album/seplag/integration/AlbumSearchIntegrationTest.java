@@ -0,0 +1,116 @@
+package com.album.seplag.integration;
+
+import com.album.seplag.config.DatabasePlatform;
+import com.album.seplag.dto.AlbumDTO;
+import com.album.seplag.dto.PageResponseDTO;
+import com.album.seplag.enums.CountMode;
+import com.album.seplag.model.Album;
+import com.album.seplag.model.Artista;
+import com.album.seplag.model.Usuario;
+import com.album.seplag.pagination.RowCountEstimator;
+import com.album.seplag.service.AlbumService;
+import com.album.seplag.service.MinIOService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Busca de álbuns no H2 (alternativa com LIKE); a versão com unaccent/pg_trgm roda apenas no PostgreSQL.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({AlbumService.class, RowCountEstimator.class, DatabasePlatform.class})
+class AlbumSearchIntegrationTest {
+
+    @MockitoBean
+    private MinIOService minIOService;
+
+    @MockitoBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        Usuario usuario = new Usuario();
+        usuario.setUsername("testuser");
+        usuario.setPassword("$2a$10$encoded");
+        usuario.setEmail("test@example.com");
+        usuario.setAtivo(true);
+        usuario.setRoles(new HashSet<>(Set.of("ROLE_USER")));
+        entityManager.persist(usuario);
+
+        Artista sertanejo = artista("Rock Sertanejo");
+        Artista outro = artista("Banda Qualquer");
+        album("Harakiri", outro, usuario);
+        album("Post Traumatic", sertanejo, usuario);
+        album("Rock in Rio", outro, usuario);
+        album("100% Acústico", outro, usuario);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void search_ShouldMatchTitleAndArtistName_TitleFirst() {
+        PageResponseDTO<AlbumDTO> page = albumService.search("  ROCK ", PageRequest.of(0, 10));
+
+        assertEquals(List.of("Rock in Rio", "Post Traumatic"), titulos(page));
+        assertEquals(CountMode.NONE, page.countMode());
+        assertNull(page.totalElements());
+    }
+
+    @Test
+    void search_ShouldTreatLikeWildcardsLiterally() {
+        assertEquals(List.of("100% Acústico"), titulos(albumService.search("%", PageRequest.of(0, 10))));
+        assertTrue(albumService.search("_", PageRequest.of(0, 10)).content().isEmpty());
+    }
+
+    @Test
+    void search_ShouldReportNextPage_WithoutCount() {
+        PageResponseDTO<AlbumDTO> first = albumService.search("r", PageRequest.of(0, 2));
+
+        assertEquals(2, first.content().size());
+        assertFalse(first.last());
+    }
+
+    @Test
+    void search_ShouldRejectBlankTerm() {
+        assertThrows(IllegalArgumentException.class, () -> albumService.search(" ", PageRequest.of(0, 10)));
+    }
+
+    private Artista artista(String nome) {
+        Artista artista = new Artista();
+        artista.setNome(nome);
+        entityManager.persist(artista);
+        return artista;
+    }
+
+    private void album(String titulo, Artista artista, Usuario usuario) {
+        Album album = new Album();
+        album.setTitulo(titulo);
+        album.setArtista(artista);
+        album.setUsuario(usuario);
+        entityManager.persist(album);
+    }
+
+    private static List<String> titulos(PageResponseDTO<AlbumDTO> page) {
+        return page.content().stream().map(AlbumDTO::titulo).toList();
+    }
+}
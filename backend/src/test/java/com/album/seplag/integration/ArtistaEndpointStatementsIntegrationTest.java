@@ -0,0 +1,251 @@
+package com.album.seplag.integration;
+
+import com.album.seplag.enums.TipoArtista;
+import com.album.seplag.model.Album;
+import com.album.seplag.model.Artista;
+import com.album.seplag.model.Usuario;
+import com.album.seplag.repository.AlbumRepository;
+import com.album.seplag.repository.ArtistaRepository;
+import com.album.seplag.repository.UsuarioRepository;
+import com.album.seplag.search.ArtistaNameIndex;
+import com.album.seplag.support.EndpointStatementTest;
+import com.album.seplag.support.RecordedStatements;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.album.seplag.support.EndpointStatements.assertPaginado;
+import static com.album.seplag.support.EndpointStatements.get;
+import static com.album.seplag.support.EndpointStatements.perform;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL executado por cada endpoint de artistas, com páginas de 1 e 100 itens. As fotos são gravadas
+ * no armazenamento local do perfil test.
+ */
+@EndpointStatementTest
+@WithMockUser(username = "admin", roles = "ADMIN")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ArtistaEndpointStatementsIntegrationTest {
+
+    private static final String ARTISTAS = "/api/v1/artistas";
+    private static final String PROXIMO_ID = "select next value for";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ArtistaRepository artistaRepository;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private ArtistaNameIndex artistaNameIndex;
+
+    private Artista artista;
+
+    @BeforeAll
+    void setUp() {
+        Usuario usuario = new Usuario();
+        usuario.setUsername("admin");
+        usuario.setPassword("$2a$10$encoded");
+        usuario.setEmail("admin@example.com");
+        usuario.setAtivo(true);
+        usuario.setRoles(new HashSet<>(Set.of("ROLE_ADMIN")));
+        usuarioRepository.save(usuario);
+
+        List<Artista> artistas = artistaRepository.saveAll(IntStream.range(0, 120).mapToObj(i -> {
+            Artista novo = new Artista();
+            novo.setNome("Artista %03d".formatted(i));
+            novo.setGenero(i % 2 == 0 ? "Rock" : "MPB");
+            novo.setTipoArtista(TipoArtista.CANTOR);
+            return novo;
+        }).toList());
+        artista = artistas.get(0);
+
+        albumRepository.saveAll(artistas.stream().flatMap(dono -> IntStream.range(0, 2).mapToObj(i -> {
+            Album album = new Album();
+            album.setTitulo(dono.getNome() + " - " + i);
+            album.setDataLancamento(LocalDate.of(2000 + i, 1, 1));
+            album.setArtista(dono);
+            album.setUsuario(usuario);
+            return album;
+        })).toList());
+
+        // Dados gravados direto pelos repositórios não passam pelos eventos que mantêm o índice
+        artistaNameIndex.rebuild();
+    }
+
+    @AfterAll
+    void tearDown() {
+        albumRepository.deleteAllInBatch();
+        artistaRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+        artistaNameIndex.rebuild();
+    }
+
+    @Test
+    void findAll_ShouldRunSameStatements_ForPageSizes1And100() throws Exception {
+        // Página + COUNT + quantidade de álbuns em lote
+        assertPaginado(mockMvc, ARTISTAS + "?size=%d", 3);
+        assertPaginado(mockMvc, ARTISTAS + "?size=%d&count=NONE", 2);
+        assertPaginado(mockMvc, ARTISTAS + "?size=%d&fields=id,nome,quantidadeAlbuns", 3);
+    }
+
+    @Test
+    void findAllByNome_ShouldRunSameStatements_ForPageSizes1And100() throws Exception {
+        // Pelo índice em memória: só a carga dos artistas da página e a quantidade de álbuns
+        assertPaginado(mockMvc, ARTISTAS + "?nome=artista&size=%d", 2);
+        // Ordenação que o índice não atende: LIKE no banco + COUNT + quantidade de álbuns
+        assertPaginado(mockMvc, ARTISTAS + "?nome=artista&sort=genero&size=%d", 3);
+    }
+
+    @Test
+    void findAllByCursor_ShouldRunSameStatements_ForLimits1And100() throws Exception {
+        // Janela sem COUNT + quantidade de álbuns em lote
+        assertPaginado(mockMvc, ARTISTAS + "?limit=%d", 2);
+    }
+
+    @Test
+    void export_ShouldNotRunStatementsPerArtista() throws Exception {
+        String endpoint = "GET " + ARTISTAS + "/export";
+        get(mockMvc, ARTISTAS + "/export").assertNoRepeats(endpoint).assertAtMost(1, endpoint);
+    }
+
+    @Test
+    void findById_ShouldRunFixedStatements() throws Exception {
+        // Artista + quantidade de álbuns
+        String endpoint = "GET " + ARTISTAS + "/{id}";
+        get(mockMvc, ARTISTAS + "/" + artista.getId()).assertNoRepeats(endpoint).assertAtMost(2, endpoint);
+    }
+
+    @Test
+    void createUpdateAndDelete_ShouldRunFixedStatements() throws Exception {
+        String corpo = """
+                {"nome": "Novo Artista", "genero": "Jazz", "tipoArtista": "BANDA"}""";
+
+        perform(mockMvc, post(ARTISTAS).contentType(MediaType.APPLICATION_JSON).content(corpo), status().isCreated())
+                .assertNoRepeats("POST " + ARTISTAS).assertAtMost(1, "POST " + ARTISTAS);
+
+        Long id = artistaRepository.findAll().stream()
+                .filter(a -> a.getNome().equals("Novo Artista")).findFirst().orElseThrow().getId();
+        perform(mockMvc, put(ARTISTAS + "/" + id).contentType(MediaType.APPLICATION_JSON).content(corpo), status().isOk())
+                .assertNoRepeats("PUT " + ARTISTAS + "/{id}").assertAtMost(2, "PUT " + ARTISTAS + "/{id}");
+        perform(mockMvc, delete(ARTISTAS + "/" + id), status().isNoContent())
+                .assertNoRepeats("DELETE " + ARTISTAS + "/{id}").assertAtMost(3, "DELETE " + ARTISTAS + "/{id}");
+    }
+
+    @Test
+    void foto_ShouldRunFixedStatements_AndServeUploadedBytes() throws Exception {
+        byte[] imagem = imagem(new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}, "imagem de teste");
+        String foto = ARTISTAS + "/" + artista.getId() + "/foto";
+
+        // Artista + UPDATE da contagem do conteúdo + INSERT do conteúdo novo + UPDATE do nome do arquivo;
+        // a resposta lê o artista de novo, em outra transação (em produção, do cache de segundo nível),
+        // e a quantidade de álbuns
+        perform(mockMvc, multipart(foto).file(new MockMultipartFile("file", "foto.png", "image/png", imagem)),
+                status().isCreated())
+                .assertAtMost(6, "POST " + ARTISTAS + "/{id}/foto");
+
+        // Só o artista; o conteúdo vem do armazenamento
+        perform(mockMvc, MockMvcRequestBuilders.get(foto + "/image"),
+                status().isOk(), content().contentType("image/png"), content().bytes(imagem))
+                .assertAtMost(1, "GET " + ARTISTAS + "/{id}/foto/image");
+
+        perform(mockMvc, MockMvcRequestBuilders.get(foto + "/image").header("Range", "bytes=0-6"),
+                status().isPartialContent(), header().string("Content-Range", "bytes 0-6/" + imagem.length),
+                        content().bytes(Arrays.copyOf(imagem, 7)))
+                .assertAtMost(1, "GET " + ARTISTAS + "/{id}/foto/image (Range)");
+
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get(foto + "/image")).andReturn().getResponse().getHeader("ETag");
+        perform(mockMvc, MockMvcRequestBuilders.get(foto + "/image").header("If-None-Match", etag),
+                status().isNotModified())
+                .assertAtMost(1, "GET " + ARTISTAS + "/{id}/foto/image (If-None-Match)");
+
+        // Sem multipart: existência do artista antes do upload, e na transação o mesmo do POST mais a
+        // liberação da foto anterior; depois do commit, a conferência de que ela não foi registrada de novo
+        byte[] outra = imagem(new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF}, "outra imagem de teste");
+        perform(mockMvc, put(foto).contentType("image/jpeg").content(outra), status().isOk())
+                .assertAtMost(10, "PUT " + ARTISTAS + "/{id}/foto");
+        perform(mockMvc, MockMvcRequestBuilders.get(foto + "/image"),
+                status().isOk(), content().contentType("image/jpeg"), content().bytes(outra))
+                .assertAtMost(1, "GET " + ARTISTAS + "/{id}/foto/image");
+
+        // Artista + UPDATE e DELETE da contagem do conteúdo + UPDATE do artista + conferência após o commit
+        perform(mockMvc, delete(foto), status().isNoContent())
+                .assertNoRepeats("DELETE " + ARTISTAS + "/{id}/foto").assertAtMost(5, "DELETE " + ARTISTAS + "/{id}/foto");
+    }
+
+    @Test
+    void foto_ShouldReturn415_ForUnsupportedOrMismatchedType_WithoutQueries() throws Exception {
+        String foto = ARTISTAS + "/" + artista.getId() + "/foto";
+        byte[] svg = "<svg xmlns=\"http://www.w3.org/2000/svg\"/>".getBytes(StandardCharsets.UTF_8);
+        byte[] jpeg = imagem(new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF}, "jpeg");
+
+        // Recusado no mapeamento do endpoint, antes do controller
+        perform(mockMvc, put(foto).contentType("image/svg+xml").content(svg), status().isUnsupportedMediaType(),
+                header().string("Accept", "image/jpeg, image/png, image/webp, image/gif"))
+                .assertAtMost(0, "PUT " + ARTISTAS + "/{id}/foto (svg)");
+        // Só a existência do artista: o conteúdo é conferido antes de gravar
+        perform(mockMvc, put(foto).contentType("image/png").content(jpeg), status().isUnsupportedMediaType())
+                .assertAtMost(1, "PUT " + ARTISTAS + "/{id}/foto (png com bytes de jpeg)");
+        perform(mockMvc, multipart(foto).file(new MockMultipartFile("file", "foto.svg", "image/svg+xml", svg)),
+                status().isUnsupportedMediaType())
+                .assertAtMost(1, "POST " + ARTISTAS + "/{id}/foto (svg)");
+    }
+
+    @Test
+    void createBulk_ShouldRunSameStatements_ForBatchesOf1And100() throws Exception {
+        // A sequência reserva 50 ids por chamada: fica de fora da comparação
+        RecordedStatements um = perform(mockMvc, bulk(1), status().isCreated()).ignoring(PROXIMO_ID);
+        RecordedStatements cem = perform(mockMvc, bulk(100), status().isCreated()).ignoring(PROXIMO_ID);
+
+        // Só o INSERT em batch
+        String endpoint = "POST " + ARTISTAS + "/bulk";
+        cem.assertNoRepeats(endpoint).assertAtMost(1, endpoint).assertSameStatementsAs(um, endpoint);
+    }
+
+    /**
+     * Assinatura do formato seguida de texto: o upload só confere o início do arquivo.
+     */
+    private static byte[] imagem(byte[] assinatura, String texto) {
+        byte[] conteudo = texto.getBytes(StandardCharsets.UTF_8);
+        byte[] imagem = Arrays.copyOf(assinatura, assinatura.length + conteudo.length);
+        System.arraycopy(conteudo, 0, imagem, assinatura.length, conteudo.length);
+        return imagem;
+    }
+
+    private RequestBuilder bulk(int quantidade) {
+        String artistas = IntStream.range(0, quantidade)
+                .mapToObj(i -> "{\"nome\": \"Lote %d-%d\"}".formatted(quantidade, i))
+                .collect(Collectors.joining(","));
+        return post(ARTISTAS + "/bulk").contentType(MediaType.APPLICATION_JSON).content("{\"artistas\": [" + artistas + "]}");
+    }
+}
@@ -0,0 +1,119 @@
+package com.album.seplag.integration;
+
+import com.album.seplag.config.DatabasePlatform;
+import com.album.seplag.dto.ArtistaDTO;
+import com.album.seplag.enums.TipoArtista;
+import com.album.seplag.event.ArtistaChangedEvent;
+import com.album.seplag.event.ChangeType;
+import com.album.seplag.model.Artista;
+import com.album.seplag.pagination.RowCountEstimator;
+import com.album.seplag.search.ArtistaNameIndex;
+import com.album.seplag.service.ArtistaService;
+import com.album.seplag.service.MinIOService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ArtistaService.class, ArtistaNameIndex.class, RowCountEstimator.class, DatabasePlatform.class})
+class ArtistaNameIndexIntegrationTest {
+
+    @MockitoBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @MockitoBean
+    private MinIOService minIOService;
+
+    @Autowired
+    private ArtistaService artistaService;
+
+    @Autowired
+    private ArtistaNameIndex artistaNameIndex;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        artista("Legião Urbana", TipoArtista.BANDA);
+        artista("Caetano Veloso", TipoArtista.CANTOR);
+        artista("Urbano Vitalino", TipoArtista.CANTOR);
+        artista("Zeca Urbano", TipoArtista.CANTOR);
+        entityManager.flush();
+        entityManager.clear();
+        artistaNameIndex.rebuild();
+    }
+
+    @Test
+    void findAll_ShouldAnswerFromIndex_SortedAndPaged() {
+        Page<ArtistaDTO> page = artistaService.findAll("URBAN", null, PageRequest.of(0, 2, Sort.by("nome")));
+
+        assertTrue(artistaNameIndex.isPronto());
+        assertEquals(3, page.getTotalElements());
+        assertEquals(List.of("Legião Urbana", "Urbano Vitalino"), nomes(page));
+
+        Page<ArtistaDTO> segunda = artistaService.findAll("urban", null, PageRequest.of(1, 2, Sort.by("nome")));
+        assertEquals(List.of("Zeca Urbano"), nomes(segunda));
+    }
+
+    @Test
+    void findAll_ShouldCombineTipoFilter_AndMatchWithoutAccents() {
+        Page<ArtistaDTO> page = artistaService.findAll("legiao", TipoArtista.BANDA, PageRequest.of(0, 10, Sort.by("nome")));
+        assertEquals(List.of("Legião Urbana"), nomes(page));
+
+        Page<ArtistaDTO> cantores = artistaService.findAll("urbano", TipoArtista.CANTOR,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "nome")));
+        assertEquals(List.of("Zeca Urbano", "Urbano Vitalino"), nomes(cantores));
+    }
+
+    @Test
+    void search_ShouldFallBackToDatabase_ForUnsupportedSort() {
+        assertTrue(artistaNameIndex.search("urban", null, Sort.by("createdAt")).isEmpty());
+
+        Page<ArtistaDTO> page = artistaService.findAll("urban", null, PageRequest.of(0, 10, Sort.by("createdAt")));
+        assertEquals(3, page.getTotalElements());
+    }
+
+    @Test
+    void onArtistaChanged_ShouldKeepIndexCurrent() {
+        Artista novo = artista("Banda Urbanoide", TipoArtista.BANDA);
+        entityManager.flush();
+        artistaNameIndex.onArtistaChanged(new ArtistaChangedEvent(novo.getId(), ChangeType.CREATED));
+        assertEquals(4, artistaNameIndex.search("urban", null, Sort.by("id")).orElseThrow().size());
+
+        novo.setNome("Outro Nome");
+        entityManager.flush();
+        artistaNameIndex.onArtistaChanged(new ArtistaChangedEvent(novo.getId(), ChangeType.UPDATED));
+        assertEquals(List.of(novo.getId()), artistaNameIndex.search("outro", null, Sort.by("id")).orElseThrow());
+        assertEquals(3, artistaNameIndex.search("urban", null, Sort.by("id")).orElseThrow().size());
+
+        artistaNameIndex.onArtistaChanged(new ArtistaChangedEvent(novo.getId(), ChangeType.DELETED));
+        assertTrue(artistaNameIndex.search("outro", null, Sort.by("id")).orElseThrow().isEmpty());
+    }
+
+    private Artista artista(String nome, TipoArtista tipo) {
+        Artista artista = new Artista();
+        artista.setNome(nome);
+        artista.setTipoArtista(tipo);
+        entityManager.persist(artista);
+        return artista;
+    }
+
+    private static List<String> nomes(Page<ArtistaDTO> page) {
+        return page.getContent().stream().map(ArtistaDTO::nome).toList();
+    }
+}
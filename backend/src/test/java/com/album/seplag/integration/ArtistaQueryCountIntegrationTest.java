@@ -0,0 +1,126 @@
+package com.album.seplag.integration;
+
+import com.album.seplag.config.DatabasePlatform;
+import com.album.seplag.dto.ArtistaDTO;
+import com.album.seplag.model.Album;
+import com.album.seplag.model.Artista;
+import com.album.seplag.model.Usuario;
+import com.album.seplag.pagination.RowCountEstimator;
+import com.album.seplag.search.ArtistaNameIndex;
+import com.album.seplag.service.ArtistaService;
+import com.album.seplag.service.MinIOService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Garante que a listagem de artistas conta os álbuns com um COUNT agrupado por página,
+ * sem carregar a coleção albuns de cada artista.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({ArtistaService.class, RowCountEstimator.class, DatabasePlatform.class})
+class ArtistaQueryCountIntegrationTest {
+
+    // SELECT da página + COUNT do total + COUNT agrupado dos álbuns
+    private static final long MAX_STATEMENTS_PER_PAGE = 3;
+
+    @MockitoBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @MockitoBean
+    private MinIOService minIOService;
+
+    @MockitoBean
+    private ArtistaNameIndex artistaNameIndex;
+
+    @Autowired
+    private ArtistaService artistaService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        Usuario usuario = new Usuario();
+        usuario.setUsername("testuser");
+        usuario.setPassword("$2a$10$encoded");
+        usuario.setEmail("test@example.com");
+        usuario.setAtivo(true);
+        usuario.setRoles(new java.util.HashSet<>(Set.of("ROLE_USER")));
+        entityManager.persist(usuario);
+
+        // Artista i tem i álbuns
+        for (int a = 0; a < 10; a++) {
+            Artista artista = new Artista();
+            artista.setNome("Artista " + a);
+            entityManager.persist(artista);
+
+            for (int i = 0; i < a; i++) {
+                Album album = new Album();
+                album.setTitulo("Álbum " + a + "-" + i);
+                album.setDataLancamento(LocalDate.of(2000 + i, 1, 1));
+                album.setArtista(artista);
+                album.setUsuario(usuario);
+                entityManager.persist(album);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findAll_ShouldCountAlbumsWithGroupedQuery_RegardlessOfPageSize() {
+        long pequena = countStatements(() -> artistaService.findAll(null, null, PageRequest.of(0, 2, Sort.by("nome"))));
+        long grande = countStatements(() -> {
+            Page<ArtistaDTO> page = artistaService.findAll(null, null, PageRequest.of(0, 10, Sort.by("nome")));
+            assertEquals(10, page.getContent().size());
+            for (int a = 0; a < 10; a++) {
+                assertEquals("Artista " + a, page.getContent().get(a).nome());
+                assertEquals(a, page.getContent().get(a).quantidadeAlbuns());
+            }
+        });
+
+        assertTrue(grande <= MAX_STATEMENTS_PER_PAGE, "Statements executados: " + grande);
+        assertEquals(pequena, grande);
+    }
+
+    @Test
+    void findById_ShouldCountAlbumsWithoutLoadingThem() {
+        Long id = entityManager.createQuery("SELECT a.id FROM Artista a WHERE a.nome = 'Artista 7'", Long.class)
+                .getSingleResult();
+
+        long statements = countStatements(() -> assertEquals(7L, artistaService.findById(id).quantidadeAlbuns()));
+
+        // SELECT do artista + COUNT dos álbuns
+        assertEquals(2, statements);
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
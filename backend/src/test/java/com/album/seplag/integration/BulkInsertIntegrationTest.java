@@ -0,0 +1,166 @@
+package com.album.seplag.integration;
+
+import com.album.seplag.config.DatabasePlatform;
+import com.album.seplag.dto.AlbumCreateDTO;
+import com.album.seplag.dto.ArtistaCreateDTO;
+import com.album.seplag.dto.BulkCreateResponseDTO;
+import com.album.seplag.enums.TipoArtista;
+import com.album.seplag.exception.ResourceNotFoundException;
+import com.album.seplag.model.Album;
+import com.album.seplag.model.Usuario;
+import com.album.seplag.pagination.RowCountEstimator;
+import com.album.seplag.repository.AlbumRepository;
+import com.album.seplag.repository.ArtistaRepository;
+import com.album.seplag.repository.CapaAlbumRepository;
+import com.album.seplag.repository.MiniaturaRepository;
+import com.album.seplag.search.ArtistaNameIndex;
+import com.album.seplag.service.AlbumService;
+import com.album.seplag.service.ArtistaService;
+import com.album.seplag.service.ConteudoService;
+import com.album.seplag.service.MinIOService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Garante que a criação em lote agrupa os INSERTs (ids por sequência + hibernate.jdbc.batch_size):
+ * o número de statements preparados não cresce com o tamanho do lote.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({AlbumService.class, ArtistaService.class, RowCountEstimator.class, DatabasePlatform.class,
+        BulkInsertIntegrationTest.Config.class})
+class BulkInsertIntegrationTest {
+
+    // Lotes de 50 INSERTs + um nextval a cada 50 ids, mais as leituras de artistas e usuário
+    private static final long MAX_STATEMENTS = 12;
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        MinIOService minIOService(AlbumRepository albumRepository, ArtistaRepository artistaRepository,
+                                  CapaAlbumRepository capaAlbumRepository,
+                                  MiniaturaRepository miniaturaRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager) {
+            return new MinIOService(mock(ConteudoService.class), 1800000L,
+                    albumRepository, artistaRepository, capaAlbumRepository, miniaturaRepository, eventPublisher,
+                    transactionManager);
+        }
+    }
+
+    @MockitoBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @MockitoBean
+    private ArtistaNameIndex artistaNameIndex;
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private ArtistaService artistaService;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        Usuario usuario = new Usuario();
+        usuario.setUsername("testuser");
+        usuario.setPassword("$2a$10$encoded");
+        usuario.setEmail("test@example.com");
+        usuario.setAtivo(true);
+        usuario.setRoles(new java.util.HashSet<>(Set.of("ROLE_USER")));
+        entityManager.persist(usuario);
+        entityManager.flush();
+        entityManager.clear();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("testuser", null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void createBulk_ShouldBatchArtistaInserts() {
+        List<ArtistaCreateDTO> dtos = IntStream.range(0, 200)
+                .mapToObj(i -> new ArtistaCreateDTO("Artista " + i, "Rock", i % 2 == 0 ? TipoArtista.BANDA : null, null))
+                .toList();
+
+        Statistics statistics = statistics();
+        BulkCreateResponseDTO result = artistaService.createBulk(dtos);
+
+        assertEquals(200, result.quantidade());
+        assertEquals(200, result.ids().stream().distinct().count());
+        assertEquals(200, statistics.getEntityInsertCount());
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= MAX_STATEMENTS, "Statements executados: " + statements);
+    }
+
+    @Test
+    void createBulk_ShouldBatchAlbumInserts_AndKeepRequestOrder() {
+        List<Long> artistaIds = artistaService.createBulk(List.of(
+                new ArtistaCreateDTO("A", null, null, null),
+                new ArtistaCreateDTO("B", null, null, null))).ids();
+        entityManager.clear();
+        List<AlbumCreateDTO> dtos = IntStream.range(0, 200)
+                .mapToObj(i -> new AlbumCreateDTO("Álbum " + i, artistaIds.get(i % 2), null))
+                .toList();
+
+        Statistics statistics = statistics();
+        BulkCreateResponseDTO result = albumService.createBulk(dtos);
+
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= MAX_STATEMENTS, "Statements executados: " + statements);
+        assertEquals(200, result.quantidade());
+        entityManager.clear();
+        Album ultimo = albumRepository.findById(result.ids().get(199)).orElseThrow();
+        assertEquals("Álbum 199", ultimo.getTitulo());
+        assertEquals(artistaIds.get(1), ultimo.getArtista().getId());
+    }
+
+    @Test
+    void createBulk_ShouldRejectUnknownArtista() {
+        List<AlbumCreateDTO> dtos = List.of(new AlbumCreateDTO("Álbum", 999_999L, null));
+
+        assertThrows(ResourceNotFoundException.class, () -> albumService.createBulk(dtos));
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,134 @@
+package com.album.seplag.integration;
+
+import com.album.seplag.enums.FormatoCatalogo;
+import com.album.seplag.model.Regional;
+import com.album.seplag.model.Usuario;
+import com.album.seplag.repository.AlbumRepository;
+import com.album.seplag.repository.ArtistaRepository;
+import com.album.seplag.repository.RegionalRepository;
+import com.album.seplag.repository.UsuarioRepository;
+import com.album.seplag.support.EndpointStatementTest;
+import com.album.seplag.support.RecordedStatements;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.album.seplag.support.EndpointStatements.get;
+import static com.album.seplag.support.EndpointStatements.perform;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL executado pela importação de catálogo (1 e 100 linhas), pelas estatísticas e pelas regionais.
+ */
+@EndpointStatementTest
+@WithMockUser(username = "admin", roles = "ADMIN")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CatalogoEndpointStatementsIntegrationTest {
+
+    private static final String API = "/api/v1";
+    private static final String PROXIMO_ID = "select next value for";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ArtistaRepository artistaRepository;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private RegionalRepository regionalRepository;
+
+    @BeforeAll
+    void setUp() {
+        Usuario usuario = new Usuario();
+        usuario.setUsername("admin");
+        usuario.setPassword("$2a$10$encoded");
+        usuario.setEmail("admin@example.com");
+        usuario.setAtivo(true);
+        usuario.setRoles(new HashSet<>(Set.of("ROLE_ADMIN")));
+        usuarioRepository.save(usuario);
+
+        regionalRepository.saveAll(IntStream.range(0, 100).mapToObj(i -> {
+            Regional regional = new Regional();
+            regional.setNome("Regional %03d".formatted(i));
+            regional.setAtivo(true);
+            return regional;
+        }).toList());
+    }
+
+    @AfterAll
+    void tearDown() {
+        albumRepository.deleteAllInBatch();
+        artistaRepository.deleteAllInBatch();
+        regionalRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void importacao_ShouldRunSameStatements_For1And100Lines() throws Exception {
+        // A sequência reserva 50 ids por chamada: fica de fora da comparação
+        RecordedStatements uma = perform(mockMvc, importacao("um", 1), status().isOk()).ignoring(PROXIMO_ID);
+        RecordedStatements cem = perform(mockMvc, importacao("cem", 100), status().isOk()).ignoring(PROXIMO_ID);
+
+        // Usuário (e roles) + artistas do lote em um SELECT ... IN + INSERTs em batch de artistas e álbuns
+        String endpoint = "POST " + API + "/catalogo/importacao";
+        cem.assertNoRepeats(endpoint).assertAtMost(6, endpoint).assertSameStatementsAs(uma, endpoint);
+    }
+
+    @Test
+    void estatisticas_ShouldBeServedFromSnapshot() throws Exception {
+        get(mockMvc, API + "/estatisticas").assertAtMost(0, "GET " + API + "/estatisticas");
+    }
+
+    @Test
+    void regionais_ShouldRunFixedStatements() throws Exception {
+        // ETag agregado + lista
+        String endpoint = "GET " + API + "/regionais";
+        get(mockMvc, API + "/regionais").assertNoRepeats(endpoint).assertAtMost(2, endpoint);
+    }
+
+    @Test
+    void sincronizar_ShouldNotRunStatementsPerRegional() throws Exception {
+        List<Map<String, Object>> externas = IntStream.range(0, 100)
+                .mapToObj(i -> Map.<String, Object>of("nome", "Regional %03d".formatted(i)))
+                .toList();
+        when(restTemplate.getForObject(anyString(), any())).thenReturn(externas);
+
+        // Nada mudou: só a leitura das regionais locais, sem SELECT por nome
+        String endpoint = "POST " + API + "/regionais/sincronizar";
+        perform(mockMvc, post(API + "/regionais/sincronizar"), status().isOk())
+                .assertNoRepeats(endpoint).assertAtMost(1, endpoint);
+    }
+
+    private RequestBuilder importacao(String lote, int linhas) {
+        String ndjson = IntStream.range(0, linhas)
+                .mapToObj(i -> "{\"artista\":\"Importado %s %d\",\"titulo\":\"Álbum %d\"}".formatted(lote, i, i))
+                .collect(Collectors.joining("\n"));
+        return post(API + "/catalogo/importacao").contentType(FormatoCatalogo.NDJSON_VALUE).content(ndjson);
+    }
+}
@@ -0,0 +1,112 @@
+package com.album.seplag.integration;
+
+import com.album.seplag.enums.FormatoCatalogo;
+import com.album.seplag.enums.TipoArtista;
+import com.album.seplag.model.Album;
+import com.album.seplag.model.Artista;
+import com.album.seplag.model.Usuario;
+import com.album.seplag.service.CatalogoExportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A exportação percorre a tabela inteira com um único SELECT (cursor), sem COUNT e sem N+1,
+ * limpando o EntityManager a cada lote.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import(CatalogoExportService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class CatalogoExportIntegrationTest {
+
+    private static final int ALBUNS = 2_500;
+
+    @Autowired
+    private CatalogoExportService catalogoExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        Usuario usuario = new Usuario();
+        usuario.setUsername("testuser");
+        usuario.setPassword("$2a$10$encoded");
+        usuario.setEmail("test@example.com");
+        usuario.setAtivo(true);
+        usuario.setRoles(new java.util.HashSet<>(Set.of("ROLE_USER")));
+        entityManager.persist(usuario);
+
+        Artista[] artistas = new Artista[5];
+        for (int a = 0; a < artistas.length; a++) {
+            artistas[a] = new Artista();
+            artistas[a].setNome("Artista, " + a);
+            artistas[a].setTipoArtista(TipoArtista.BANDA);
+            entityManager.persist(artistas[a]);
+        }
+        for (int i = 0; i < ALBUNS; i++) {
+            Album album = new Album();
+            album.setTitulo("Álbum " + i);
+            album.setDataLancamento(LocalDate.of(2000, 1, 1).plusDays(i));
+            album.setArtista(artistas[i % artistas.length]);
+            album.setUsuario(usuario);
+            entityManager.persist(album);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void exportarAlbuns_ShouldStreamEveryRow_WithSingleQuery() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        catalogoExportService.exportarAlbuns(out, FormatoCatalogo.NDJSON);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        String[] linhas = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(ALBUNS, linhas.length);
+        JsonNode ultima = objectMapper.readTree(linhas[ALBUNS - 1]);
+        assertEquals("Álbum " + (ALBUNS - 1), ultima.get("titulo").asText());
+        assertEquals("Artista, 4", ultima.get("artistaNome").asText());
+        assertTrue(ultima.get("dataLancamento").isTextual());
+    }
+
+    @Test
+    void exportarArtistas_ShouldWriteCsvWithHeader() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        catalogoExportService.exportarArtistas(out, FormatoCatalogo.CSV);
+
+        String[] linhas = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(6, linhas.length);
+        assertEquals("id,nome,genero,tipoArtista,biografia,createdAt", linhas[0]);
+        assertTrue(linhas[1].contains(",\"Artista, 0\",,BANDA,,"), linhas[1]);
+    }
+}
@@ -0,0 +1,166 @@
+package com.album.seplag.integration;
+
+import com.album.seplag.dto.CatalogoImportResultDTO;
+import com.album.seplag.dto.NotificationDTO;
+import com.album.seplag.enums.FormatoCatalogo;
+import com.album.seplag.enums.TipoArtista;
+import com.album.seplag.model.Album;
+import com.album.seplag.model.Artista;
+import com.album.seplag.model.Usuario;
+import com.album.seplag.repository.AlbumRepository;
+import com.album.seplag.repository.ArtistaRepository;
+import com.album.seplag.repository.UsuarioRepository;
+import com.album.seplag.service.CatalogoImportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Importação com lotes de 2 linhas: cada lote roda na sua própria transação,
+ * por isso o teste não usa a transação do @DataJpaTest e limpa as tabelas ao final.
+ */
+@DataJpaTest(properties = "catalog-import.batch-size=2")
+@ActiveProfiles("test")
+@Import(CatalogoImportService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CatalogoImportIntegrationTest {
+
+    @MockitoBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private CatalogoImportService catalogoImportService;
+
+    @Autowired
+    private ArtistaRepository artistaRepository;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @BeforeEach
+    void setUp() {
+        Usuario usuario = new Usuario();
+        usuario.setUsername("testuser");
+        usuario.setPassword("$2a$10$encoded");
+        usuario.setEmail("test@example.com");
+        usuario.setAtivo(true);
+        usuario.setRoles(new java.util.HashSet<>(Set.of("ROLE_USER")));
+        usuarioRepository.save(usuario);
+
+        Artista existente = new Artista();
+        existente.setNome("Legião Urbana");
+        existente.setTipoArtista(TipoArtista.BANDA);
+        artistaRepository.save(existente);
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("testuser", null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        albumRepository.deleteAllInBatch();
+        artistaRepository.deleteAllInBatch();
+        usuarioRepository.deleteAll();
+    }
+
+    @Test
+    void importar_ShouldCreateInBatches_AndReportRowErrors() {
+        String ndjson = """
+                {"artista":"legião urbana","titulo":"Dois","dataLancamento":"1986-07-01"}
+                {"artista":"Novo Artista","tipoArtista":"banda","titulo":"Primeiro"}
+                {"artista":"Novo Artista","titulo":"Segundo"}
+                {"artista":"","titulo":"Sem artista"}
+                {"artista":"Outro","tipoArtista":"ORQUESTRA"}
+                {"artista":"Outro","titulo":"Data ruim","dataLancamento":"01/02/2003"}
+                {"artista":"Só Artista"}
+                """;
+
+        CatalogoImportResultDTO result = importar(ndjson, FormatoCatalogo.NDJSON);
+
+        assertEquals(7, result.linhasLidas());
+        assertEquals(2, result.artistasCriados());
+        assertEquals(3, result.albunsCriados());
+        assertEquals(3, result.linhasComErro());
+        assertEquals(List.of(4L, 5L, 6L), result.erros().stream().map(CatalogoImportResultDTO.ErroLinha::linha).toList());
+        assertTrue(result.erros().get(1).mensagem().contains("ORQUESTRA"));
+
+        // O artista existente é reaproveitado pelo nome, sem distinção de caixa
+        assertEquals(3, artistaRepository.count());
+        Artista novo = artistaRepository.findAll().stream()
+                .filter(a -> a.getNome().equals("Novo Artista")).findFirst().orElseThrow();
+        assertEquals(TipoArtista.BANDA, novo.getTipoArtista());
+        List<Album> albuns = albumRepository.findAll();
+        assertEquals(3, albuns.size());
+
+        // Progresso por lote e um único resumo, sem notificação por entidade
+        verify(messagingTemplate, atLeast(2)).convertAndSend(eq("/topic/importacao"), any(NotificationDTO.class));
+        verify(messagingTemplate, times(0)).convertAndSend(eq("/topic/albuns"), any(Object.class));
+        verify(messagingTemplate, times(0)).convertAndSend(eq("/topic/artistas"), any(Object.class));
+    }
+
+    @Test
+    void importar_ShouldReadCsvWithHeader() {
+        String csv = """
+                artista,tipoArtista,genero,titulo,dataLancamento
+                Banda CSV,BANDA,Rock,Álbum CSV,2001-02-03
+                Banda CSV,,,"Título, com vírgula",
+                """;
+
+        CatalogoImportResultDTO result = importar(csv, FormatoCatalogo.CSV);
+
+        assertEquals(2, result.linhasLidas());
+        assertEquals(1, result.artistasCriados());
+        assertEquals(2, result.albunsCriados());
+        assertEquals(0, result.linhasComErro());
+        assertTrue(albumRepository.findAll().stream().anyMatch(a -> a.getTitulo().equals("Título, com vírgula")));
+    }
+
+    @Test
+    void importar_ShouldKeepCommittedBatches_WhenStreamIsMalformed() {
+        String ndjson = """
+                {"artista":"A","titulo":"1"}
+                {"artista":"A","titulo":"2"}
+                {"artista":"A","titulo":
+                """;
+
+        CatalogoImportResultDTO result = importar(ndjson, FormatoCatalogo.NDJSON);
+
+        assertEquals(2, result.albunsCriados());
+        assertEquals(1, result.linhasComErro());
+        assertEquals(3L, result.erros().get(0).linha());
+        assertEquals(2, albumRepository.count());
+    }
+
+    private CatalogoImportResultDTO importar(String conteudo, FormatoCatalogo formato) {
+        return catalogoImportService.importar(
+                new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8)), formato);
+    }
+}
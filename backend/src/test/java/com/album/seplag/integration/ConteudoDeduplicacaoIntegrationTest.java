@@ -0,0 +1,307 @@
+package com.album.seplag.integration;
+
+import com.album.seplag.exception.ResourceNotFoundException;
+import com.album.seplag.exception.UnsupportedImageTypeException;
+import com.album.seplag.exception.UploadTooLargeException;
+import com.album.seplag.model.Album;
+import com.album.seplag.model.Artista;
+import com.album.seplag.model.CapaAlbum;
+import com.album.seplag.model.Usuario;
+import com.album.seplag.repository.AlbumRepository;
+import com.album.seplag.repository.ArtistaRepository;
+import com.album.seplag.repository.UsuarioRepository;
+import com.album.seplag.service.AlbumService;
+import com.album.seplag.service.ArtistaService;
+import com.album.seplag.service.MinIOService;
+import com.album.seplag.storage.ObjectStorage;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ConteudoDeduplicacaoIntegrationTest {
+
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    @Autowired
+    private MinIOService minIOService;
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private ArtistaService artistaService;
+
+    @Autowired
+    private ObjectStorage objectStorage;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private ArtistaRepository artistaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private Artista artista;
+    private Album primeiro;
+    private Album segundo;
+    private byte[] imagem;
+
+    @BeforeEach
+    void setUp() {
+        Usuario usuario = new Usuario();
+        usuario.setUsername("dedup");
+        usuario.setPassword("$2a$10$encoded");
+        usuario.setEmail("dedup@example.com");
+        usuario.setAtivo(true);
+        usuario.setRoles(new HashSet<>(Set.of("ROLE_USER")));
+        usuario = usuarioRepository.save(usuario);
+
+        artista = new Artista();
+        artista.setNome("Artista Dedup");
+        artista = artistaRepository.save(artista);
+
+        primeiro = album("Edição original", artista, usuario);
+        segundo = album("Edição de luxo", artista, usuario);
+        // Conteúdo único por execução: o armazenamento local do perfil test não é limpo entre testes
+        imagem = imagem(JPEG, "capa");
+    }
+
+    @Test
+    void uploadCapa_ShouldShareContent_AcrossIdenticalUploads() {
+        CapaAlbum capa1 = minIOService.uploadCapa(primeiro.getId(), arquivo("capa.jpg"));
+        CapaAlbum capa2 = minIOService.uploadCapa(segundo.getId(), arquivo("outro-nome.jpg"));
+
+        assertEquals(capa1.getNomeArquivo(), capa2.getNomeArquivo());
+        assertTrue(capa1.getNomeArquivo().startsWith("imagens/"));
+        assertEquals(2, referencias(capa1.getNomeArquivo()));
+        assertEquals(imagem.length, objectStorage.stat(capa1.getNomeArquivo()).size());
+    }
+
+    @Test
+    void uploadCapas_ShouldStoreEachContentOnce_AndCountRepeatsWithinBatch() {
+        byte[] outra = imagem(JPEG, "capa");
+        List<CapaAlbum> capas = minIOService.uploadCapas(primeiro.getId(), List.of(
+                arquivo("frente.jpg"),
+                new MockMultipartFile("file", "verso.jpg", "image/jpeg", outra),
+                arquivo("frente-copia.jpg")));
+
+        assertEquals(3, capas.size());
+        assertTrue(capas.stream().allMatch(capa -> capa.getId() != null));
+        assertEquals(capas.get(0).getNomeArquivo(), capas.get(2).getNomeArquivo());
+        assertNotEquals(capas.get(0).getNomeArquivo(), capas.get(1).getNomeArquivo());
+        assertEquals(2, referencias(capas.get(0).getNomeArquivo()));
+        assertEquals(1, referencias(capas.get(1).getNomeArquivo()));
+        assertEquals(outra.length, objectStorage.stat(capas.get(1).getNomeArquivo()).size());
+    }
+
+    @Test
+    void uploadCapaStream_ShouldShareContent_WithMultipartUpload_AndRemoveTemporaryObject() {
+        CapaAlbum capa1 = minIOService.uploadCapa(primeiro.getId(), arquivo("capa.jpg"));
+        CapaAlbum capa2 = minIOService.uploadCapa(segundo.getId(), new ByteArrayInputStream(imagem), -1, "image/jpeg");
+
+        assertEquals(capa1.getNomeArquivo(), capa2.getNomeArquivo());
+        assertEquals(imagem.length, capa2.getTamanho());
+        assertEquals(2, referencias(capa1.getNomeArquivo()));
+        assertTrue(objectStorage.list("uploads/").isEmpty());
+
+        byte[] outra = imagem(PNG, "capa");
+        CapaAlbum capa3 = minIOService.uploadCapa(primeiro.getId(), new ByteArrayInputStream(outra), outra.length,
+                "image/png");
+
+        assertNotEquals(capa1.getNomeArquivo(), capa3.getNomeArquivo());
+        assertEquals(1, referencias(capa3.getNomeArquivo()));
+        assertEquals("image/png", objectStorage.stat(capa3.getNomeArquivo()).contentType());
+        assertTrue(objectStorage.list("uploads/").isEmpty());
+    }
+
+    @Test
+    void uploadCapaStream_ShouldRejectContentOverLimit_WithoutKeepingObjects() {
+        // upload.max-size do perfil test: 1 MB
+        byte[] grande = new byte[1024 * 1024 + 1];
+        System.arraycopy(JPEG, 0, grande, 0, JPEG.length);
+        long capas = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM capas_album", Long.class);
+
+        assertThrows(UploadTooLargeException.class, () ->
+                minIOService.uploadCapa(primeiro.getId(), new ByteArrayInputStream(grande), grande.length, "image/jpeg"));
+        assertThrows(UploadTooLargeException.class, () ->
+                minIOService.uploadCapa(primeiro.getId(), new ByteArrayInputStream(grande), -1, "image/jpeg"));
+
+        assertTrue(objectStorage.list("uploads/").isEmpty());
+        assertEquals(capas, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM capas_album", Long.class));
+    }
+
+    @Test
+    void deleteCapa_ShouldKeepObject_UntilLastReferenceIsRemoved() {
+        CapaAlbum capa1 = minIOService.uploadCapa(primeiro.getId(), arquivo("capa.jpg"));
+        CapaAlbum capa2 = minIOService.uploadCapa(segundo.getId(), arquivo("capa.jpg"));
+        String key = capa1.getNomeArquivo();
+
+        minIOService.deleteCapa(primeiro.getId(), capa1.getId());
+
+        assertEquals(1, referencias(key));
+        assertEquals(imagem.length, objectStorage.stat(key).size());
+
+        minIOService.deleteCapa(segundo.getId(), capa2.getId());
+
+        assertEquals(0, referencias(key));
+        // A exclusão física espera o commit (aqui, o rollback do teste também desfaz o upload)
+        assertEquals(imagem.length, objectStorage.stat(key).size());
+    }
+
+    @Test
+    void deleteAlbum_ShouldReleaseCascadedCapas() {
+        minIOService.uploadCapa(primeiro.getId(), arquivo("capa.jpg"));
+        CapaAlbum capa = minIOService.uploadCapa(segundo.getId(), arquivo("capa.jpg"));
+        String key = capa.getNomeArquivo();
+        novaRequisicao();
+
+        albumService.delete(primeiro.getId());
+
+        assertEquals(1, referencias(key));
+        assertEquals(imagem.length, objectStorage.stat(key).size());
+
+        albumService.delete(segundo.getId());
+
+        assertEquals(0, referencias(key));
+    }
+
+    @Test
+    void deleteArtista_ShouldReleasePhotoAndCapas_AndRemoveObjectAfterCommit() {
+        minIOService.uploadCapa(primeiro.getId(), arquivo("capa.jpg"));
+        minIOService.uploadCapa(segundo.getId(), arquivo("capa.jpg"));
+        minIOService.uploadFotoArtista(artista.getId(), arquivo("foto.jpg"));
+        String key = artista.getFotoNomeArquivo();
+        assertEquals(3, referencias(key));
+
+        // Outro artista com o mesmo conteúdo segura o objeto
+        Artista outro = new Artista();
+        outro.setNome("Outro Artista Dedup");
+        outro = artistaRepository.save(outro);
+        minIOService.uploadFotoArtista(outro.getId(), arquivo("foto.jpg"));
+        novaRequisicao();
+
+        artistaService.delete(artista.getId());
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        assertEquals(1, referencias(key));
+        assertEquals(imagem.length, objectStorage.stat(key).size());
+
+        artistaService.delete(outro.getId());
+
+        assertEquals(0, referencias(key));
+        assertThrows(ResourceNotFoundException.class, () -> objectStorage.stat(key));
+        // Fora da transação do teste: o commit acima manteve o usuário
+        usuarioRepository.findByUsername("dedup").ifPresent(usuarioRepository::delete);
+    }
+
+    @Test
+    void uploadFotoArtista_ShouldReleasePreviousPhoto_AndShareWithCapa() {
+        CapaAlbum capa = minIOService.uploadCapa(primeiro.getId(), arquivo("capa.jpg"));
+        minIOService.uploadFotoArtista(artista.getId(), arquivo("foto.jpg"));
+
+        assertEquals(capa.getNomeArquivo(), artista.getFotoNomeArquivo());
+        assertEquals(2, referencias(capa.getNomeArquivo()));
+
+        byte[] outra = imagem(JPEG, "foto");
+        minIOService.uploadFotoArtista(artista.getId(),
+                new MockMultipartFile("file", "nova.jpg", "image/jpeg", outra));
+
+        assertNotEquals(capa.getNomeArquivo(), artista.getFotoNomeArquivo());
+        assertEquals(1, referencias(capa.getNomeArquivo()));
+        assertEquals(1, referencias(artista.getFotoNomeArquivo()));
+    }
+
+    @Test
+    void upload_ShouldRejectUnsupportedOrMismatchedType_WithoutKeepingObjects() {
+        byte[] svg = "<svg xmlns=\"http://www.w3.org/2000/svg\"><script>alert(1)</script></svg>"
+                .getBytes(StandardCharsets.UTF_8);
+        long capas = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM capas_album", Long.class);
+        long conteudos = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM conteudos", Long.class);
+
+        assertThrows(UnsupportedImageTypeException.class, () ->
+                minIOService.uploadCapa(primeiro.getId(), new ByteArrayInputStream(svg), svg.length, "image/svg+xml"));
+        // Tipo aceito, mas os bytes são de outro formato: o objeto compartilhado seria servido como PNG
+        assertThrows(UnsupportedImageTypeException.class, () ->
+                minIOService.uploadCapa(primeiro.getId(), new ByteArrayInputStream(imagem), imagem.length, "image/png"));
+        assertThrows(UnsupportedImageTypeException.class, () ->
+                minIOService.uploadCapas(primeiro.getId(), List.of(arquivo("capa.jpg"),
+                        new MockMultipartFile("file", "capa.svg", "image/jpeg", svg))));
+        assertThrows(UnsupportedImageTypeException.class, () -> minIOService.uploadFotoArtista(artista.getId(),
+                new MockMultipartFile("file", "foto.gif", "image/gif", imagem)));
+
+        assertTrue(objectStorage.list("uploads/").isEmpty());
+        assertEquals(conteudos, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM conteudos", Long.class));
+        assertEquals(capas, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM capas_album", Long.class));
+    }
+
+    /**
+     * Como em uma nova requisição: álbuns e capas vêm do banco, não das coleções montadas no teste.
+     */
+    private void novaRequisicao() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Direto no banco: os UPDATEs da contagem não passam pelo contexto de persistência do teste.
+     * 0 quando a linha não existe.
+     */
+    private int referencias(String key) {
+        return jdbcTemplate.queryForList("SELECT referencias FROM conteudos WHERE nome_arquivo = ?", Integer.class, key)
+                .stream().findFirst().orElse(0);
+    }
+
+    /**
+     * Assinatura do formato seguida de texto único: o upload só confere o início do arquivo.
+     */
+    private static byte[] imagem(byte[] assinatura, String texto) {
+        byte[] conteudo = (texto + " " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+        byte[] imagem = Arrays.copyOf(assinatura, assinatura.length + conteudo.length);
+        System.arraycopy(conteudo, 0, imagem, assinatura.length, conteudo.length);
+        return imagem;
+    }
+
+    private MockMultipartFile arquivo(String nome) {
+        return new MockMultipartFile("file", nome, "image/jpeg", imagem);
+    }
+
+    private Album album(String titulo, Artista dono, Usuario usuario) {
+        Album album = new Album();
+        album.setTitulo(titulo);
+        album.setDataLancamento(LocalDate.of(2020, 1, 1));
+        album.setArtista(dono);
+        album.setUsuario(usuario);
+        return albumRepository.save(album);
+    }
+}
@@ -0,0 +1,148 @@
+package com.album.seplag.integration;
+
+import com.album.seplag.config.DatabasePlatform;
+import com.album.seplag.dto.ArtistaDTO;
+import com.album.seplag.dto.PageResponseDTO;
+import com.album.seplag.enums.CountMode;
+import com.album.seplag.enums.TipoArtista;
+import com.album.seplag.model.Artista;
+import com.album.seplag.pagination.RowCountEstimator;
+import com.album.seplag.search.ArtistaNameIndex;
+import com.album.seplag.service.ArtistaService;
+import com.album.seplag.service.MinIOService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({ArtistaService.class, RowCountEstimator.class, DatabasePlatform.class})
+class CountModePaginationIntegrationTest {
+
+    @MockitoBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @MockitoBean
+    private MinIOService minIOService;
+
+    // Sem o índice em memória: estes testes exercitam as consultas no banco
+    @MockitoBean
+    private ArtistaNameIndex artistaNameIndex;
+
+    @Autowired
+    private ArtistaService artistaService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 25; i++) {
+            Artista artista = new Artista();
+            artista.setNome("Artista " + String.format("%02d", i));
+            artista.setTipoArtista(i % 5 == 0 ? TipoArtista.BANDA : TipoArtista.CANTOR);
+            entityManager.persist(artista);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findAll_ShouldSkipCount_WhenCountModeIsNone() {
+        Statistics statistics = statistics();
+
+        PageResponseDTO<ArtistaDTO> page = artistaService.findAll(null, null,
+                PageRequest.of(1, 10, Sort.by("nome")), CountMode.NONE);
+
+        assertEquals(CountMode.NONE, page.countMode());
+        assertNull(page.totalElements());
+        assertNull(page.totalPages());
+        assertEquals("Artista 10", page.content().get(0).nome());
+        assertFalse(page.last());
+        // SELECT da página + COUNT agrupado dos álbuns da página: nenhum COUNT(*) do total
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= 2, "Statements executados: " + statements);
+    }
+
+    @Test
+    void findAll_ShouldApplyFilters_WhenCountModeIsNone() {
+        PageResponseDTO<ArtistaDTO> page = artistaService.findAll("artista", TipoArtista.BANDA,
+                PageRequest.of(0, 10, Sort.by("nome")), CountMode.NONE);
+
+        assertEquals(5, page.content().size());
+        assertTrue(page.last());
+    }
+
+    @Test
+    void findAll_ShouldFallBackToExact_WhenEstimateIsUnavailable() {
+        // H2 não expõe estatísticas do planner: a resposta informa que o total é exato
+        PageResponseDTO<ArtistaDTO> page = artistaService.findAll(null, TipoArtista.CANTOR,
+                PageRequest.of(0, 10, Sort.by("nome")), CountMode.ESTIMATE);
+
+        assertEquals(CountMode.EXACT, page.countMode());
+        assertEquals(20L, page.totalElements());
+        assertEquals(2, page.totalPages());
+    }
+
+    @Test
+    void findAll_ShouldHonourCountMode_WhenAnsweredByNameIndex() {
+        List<Long> ids = entityManager.createQuery("select a.id from Artista a order by a.nome", Long.class)
+                .getResultList();
+        when(artistaNameIndex.search(eq("artista"), isNull(), any())).thenReturn(Optional.of(ids));
+
+        PageResponseDTO<ArtistaDTO> semTotal = artistaService.findAll("artista", null,
+                PageRequest.of(1, 10, Sort.by("nome")), CountMode.NONE);
+        PageResponseDTO<ArtistaDTO> estimado = artistaService.findAll("artista", null,
+                PageRequest.of(1, 10, Sort.by("nome")), CountMode.ESTIMATE);
+
+        assertEquals(CountMode.NONE, semTotal.countMode());
+        assertNull(semTotal.totalElements());
+        assertNull(semTotal.totalPages());
+        assertEquals("Artista 10", semTotal.content().get(0).nome());
+        assertFalse(semTotal.last());
+        // O índice já tem o total exato: a resposta informa isso em vez de uma estimativa
+        assertEquals(CountMode.EXACT, estimado.countMode());
+        assertEquals(25L, estimado.totalElements());
+    }
+
+    @Test
+    void of_ShouldNotReportEstimateBelowRowsAlreadySeen() {
+        SliceImpl<String> slice = new SliceImpl<>(List.of("a", "b"), PageRequest.of(3, 2), true);
+
+        PageResponseDTO<String> page = PageResponseDTO.of(slice, 0);
+
+        assertEquals(CountMode.ESTIMATE, page.countMode());
+        assertEquals(9L, page.totalElements());
+        assertEquals(5, page.totalPages());
+        assertFalse(page.last());
+    }
+
+    private Statistics statistics() {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
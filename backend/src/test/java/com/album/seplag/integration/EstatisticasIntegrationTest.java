@@ -0,0 +1,168 @@
+package com.album.seplag.integration;
+
+import com.album.seplag.dto.EstatisticasDTO;
+import com.album.seplag.dto.EstatisticasDTO.PorAno;
+import com.album.seplag.dto.EstatisticasDTO.PorGenero;
+import com.album.seplag.dto.EstatisticasDTO.PorTipoArtista;
+import com.album.seplag.enums.TipoArtista;
+import com.album.seplag.event.AlbumChangedEvent;
+import com.album.seplag.event.ArtistaChangedEvent;
+import com.album.seplag.event.ChangeType;
+import com.album.seplag.model.Album;
+import com.album.seplag.model.Artista;
+import com.album.seplag.model.Usuario;
+import com.album.seplag.service.EstatisticasService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true", "estatisticas.top-artistas=2"})
+@ActiveProfiles("test")
+@Import(EstatisticasService.class)
+class EstatisticasIntegrationTest {
+
+    @Autowired
+    private EstatisticasService estatisticasService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Usuario usuario;
+    private Artista banda;
+    private Artista semAlbuns;
+
+    @BeforeEach
+    void setUp() {
+        usuario = new Usuario();
+        usuario.setUsername("testuser");
+        usuario.setPassword("$2a$10$encoded");
+        usuario.setEmail("test@example.com");
+        usuario.setAtivo(true);
+        usuario.setRoles(new java.util.HashSet<>(Set.of("ROLE_USER")));
+        entityManager.persist(usuario);
+
+        banda = artista("Banda", "Rock", TipoArtista.BANDA);
+        Artista cantor = artista("Cantor", "MPB", TipoArtista.CANTOR);
+        semAlbuns = artista("Sem Álbuns", null, TipoArtista.CANTOR);
+
+        album(banda, LocalDate.of(1986, 7, 1));
+        album(banda, LocalDate.of(1986, 12, 1));
+        album(banda, LocalDate.of(1989, 3, 1));
+        album(cantor, LocalDate.of(1989, 5, 1));
+        album(cantor, null);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void rebuild_ShouldAggregateAllDimensions_InSingleQuery() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        EstatisticasDTO estatisticas = estatisticasService.rebuild();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(3, estatisticas.totalArtistas());
+        assertEquals(5, estatisticas.totalAlbuns());
+        assertEquals(List.of(new PorAno(null, 1), new PorAno(1986, 2), new PorAno(1989, 2)), estatisticas.porAno());
+        assertEquals(List.of(new PorGenero("MPB", 2), new PorGenero("Rock", 3)), estatisticas.porGenero());
+        assertEquals(List.of(new PorTipoArtista(TipoArtista.CANTOR, 2), new PorTipoArtista(TipoArtista.BANDA, 3)),
+                estatisticas.porTipoArtista());
+
+        // estatisticas.top-artistas=2: o artista sem álbuns fica fora da lista, mas conta no total
+        assertEquals(2, estatisticas.porArtista().size());
+        assertEquals("Banda", estatisticas.porArtista().get(0).nome());
+        assertEquals(3, estatisticas.porArtista().get(0).quantidade());
+        assertEquals("Cantor", estatisticas.porArtista().get(1).nome());
+    }
+
+    @Test
+    void refreshIfStale_ShouldRecompute_OnlyAfterChangeEvent() {
+        EstatisticasDTO inicial = estatisticasService.rebuild();
+
+        estatisticasService.refreshIfStale();
+        assertSame(inicial, estatisticasService.snapshot());
+
+        Album novo = album(banda, LocalDate.of(1991, 1, 1));
+        entityManager.flush();
+        estatisticasService.onAlbumChanged(new AlbumChangedEvent(novo.getId(), ChangeType.CREATED, Set.of(banda.getId())));
+        estatisticasService.refreshIfStale();
+
+        EstatisticasDTO atualizado = estatisticasService.snapshot();
+        assertEquals(inicial.geracao() + 1, atualizado.geracao());
+        assertEquals(6, atualizado.totalAlbuns());
+        assertNotEquals(estatisticasService.etag(inicial), estatisticasService.etag(atualizado));
+    }
+
+    @Test
+    void refreshIfStale_ShouldQueryOnlyChangedArtists_AndMatchFullRebuild() {
+        estatisticasService.rebuild();
+
+        Album semData = entityManager.createQuery("SELECT a FROM Album a WHERE a.dataLancamento IS NULL", Album.class)
+                .getSingleResult();
+        semData.setDataLancamento(LocalDate.of(1986, 1, 1));
+        Artista novo = artista("Novo", "Rock", TipoArtista.BANDA);
+        Album doNovo = album(novo, LocalDate.of(2001, 1, 1));
+        entityManager.remove(entityManager.find(Artista.class, semAlbuns.getId()));
+        entityManager.flush();
+        entityManager.clear();
+        // Mudou só a data: o evento não traz artistas, o do álbum sai da consulta
+        estatisticasService.onAlbumChanged(new AlbumChangedEvent(semData.getId(), ChangeType.UPDATED, Set.of()));
+        estatisticasService.onArtistaChanged(new ArtistaChangedEvent(novo.getId(), ChangeType.CREATED));
+        estatisticasService.onAlbumChanged(new AlbumChangedEvent(doNovo.getId(), ChangeType.CREATED, Set.of(novo.getId())));
+        estatisticasService.onArtistaChanged(new ArtistaChangedEvent(semAlbuns.getId(), ChangeType.DELETED));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        estatisticasService.refreshIfStale();
+        EstatisticasDTO incremental = estatisticasService.snapshot();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(3, incremental.totalArtistas());
+        assertEquals(6, incremental.totalAlbuns());
+        assertEquals(List.of(new PorAno(1986, 3), new PorAno(1989, 2), new PorAno(2001, 1)), incremental.porAno());
+        assertEquals(List.of(new PorGenero("MPB", 2), new PorGenero("Rock", 4)), incremental.porGenero());
+
+        EstatisticasDTO completo = estatisticasService.rebuild();
+        assertEquals(completo.totalArtistas(), incremental.totalArtistas());
+        assertEquals(completo.porAno(), incremental.porAno());
+        assertEquals(completo.porArtista(), incremental.porArtista());
+        assertEquals(completo.porGenero(), incremental.porGenero());
+        assertEquals(completo.porTipoArtista(), incremental.porTipoArtista());
+    }
+
+    private Artista artista(String nome, String genero, TipoArtista tipo) {
+        Artista artista = new Artista();
+        artista.setNome(nome);
+        artista.setGenero(genero);
+        artista.setTipoArtista(tipo);
+        entityManager.persist(artista);
+        return artista;
+    }
+
+    private Album album(Artista artista, LocalDate dataLancamento) {
+        Album album = new Album();
+        album.setTitulo("Álbum de " + artista.getNome());
+        album.setDataLancamento(dataLancamento);
+        album.setArtista(artista);
+        album.setUsuario(usuario);
+        entityManager.persist(album);
+        return album;
+    }
+}
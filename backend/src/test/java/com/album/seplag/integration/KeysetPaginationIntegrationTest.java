@@ -0,0 +1,145 @@
+package com.album.seplag.integration;
+
+import com.album.seplag.config.DatabasePlatform;
+import com.album.seplag.dto.ArtistaDTO;
+import com.album.seplag.dto.CursorPageResponseDTO;
+import com.album.seplag.enums.SortDirection;
+import com.album.seplag.enums.TipoArtista;
+import com.album.seplag.exception.InvalidCursorException;
+import com.album.seplag.model.Artista;
+import com.album.seplag.pagination.KeysetCursors;
+import com.album.seplag.pagination.RowCountEstimator;
+import com.album.seplag.search.ArtistaNameIndex;
+import com.album.seplag.service.ArtistaService;
+import com.album.seplag.service.MinIOService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({ArtistaService.class, RowCountEstimator.class, DatabasePlatform.class})
+class KeysetPaginationIntegrationTest {
+
+    @MockitoBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @MockitoBean
+    private MinIOService minIOService;
+
+    // Sem o índice em memória: estes testes exercitam as consultas no banco
+    @MockitoBean
+    private ArtistaNameIndex artistaNameIndex;
+
+    @Autowired
+    private ArtistaService artistaService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        // Nomes repetidos forçam o desempate por id
+        for (int i = 0; i < 25; i++) {
+            Artista artista = new Artista();
+            artista.setNome("Artista " + (i / 2));
+            artista.setTipoArtista(i % 5 == 0 ? TipoArtista.BANDA : TipoArtista.CANTOR);
+            entityManager.persist(artista);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findAll_ShouldWalkForwardAndBackward_WithoutCountQuery() {
+        Sort sort = KeysetCursors.sort("Artista", "nome", SortDirection.ASC);
+
+        CursorPageResponseDTO<ArtistaDTO> first = page(null, sort, 10);
+        assertEquals(10, first.content().size());
+        assertNull(first.previousCursor());
+        assertNotNull(first.nextCursor());
+
+        CursorPageResponseDTO<ArtistaDTO> second = page(first.nextCursor(), sort, 10);
+        CursorPageResponseDTO<ArtistaDTO> third = page(second.nextCursor(), sort, 10);
+        assertEquals(5, third.content().size());
+        assertNull(third.nextCursor());
+        assertNotNull(third.previousCursor());
+
+        List<Long> forward = ids(first, second, third);
+        assertEquals(25, forward.stream().distinct().count());
+
+        CursorPageResponseDTO<ArtistaDTO> back = page(third.previousCursor(), sort, 10);
+        assertEquals(ids(second), ids(back));
+        assertNotNull(back.nextCursor());
+        assertNotNull(back.previousCursor());
+
+        CursorPageResponseDTO<ArtistaDTO> backToFirst = page(back.previousCursor(), sort, 10);
+        assertEquals(ids(first), ids(backToFirst));
+        assertNull(backToFirst.previousCursor());
+    }
+
+    @Test
+    void findAll_ShouldApplyTipoFilter_InCursorMode() {
+        Sort sort = KeysetCursors.sort("Artista", "id", SortDirection.DESC);
+
+        CursorPageResponseDTO<ArtistaDTO> page = CursorPageResponseDTO.of(
+                artistaService.findAll(null, TipoArtista.BANDA, KeysetCursors.decode(null, Artista.class, sort), sort, 10),
+                KeysetCursors.decode(null, Artista.class, sort), 10);
+
+        assertEquals(5, page.content().size());
+        assertTrue(page.content().stream().allMatch(a -> a.tipoArtista() == TipoArtista.BANDA));
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void decode_ShouldRejectCursor_WhenSortDoesNotMatch() {
+        Sort byNome = KeysetCursors.sort("Artista", "nome", SortDirection.ASC);
+        String cursor = page(null, byNome, 5).nextCursor();
+
+        Sort byCreatedAt = KeysetCursors.sort("Artista", "createdAt", SortDirection.ASC);
+        assertThrows(InvalidCursorException.class, () -> KeysetCursors.decode(cursor, Artista.class, byCreatedAt));
+        assertThrows(InvalidCursorException.class, () -> KeysetCursors.decode("nao-e-um-cursor", Artista.class, byNome));
+        assertThrows(InvalidCursorException.class, () -> KeysetCursors.sort("Artista", "genero", SortDirection.ASC));
+    }
+
+    private CursorPageResponseDTO<ArtistaDTO> page(String cursor, Sort sort, int limit) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        KeysetScrollPosition position = KeysetCursors.decode(cursor, Artista.class, sort);
+        CursorPageResponseDTO<ArtistaDTO> result = CursorPageResponseDTO.of(
+                artistaService.findAll(null, null, position, sort, limit), position, limit);
+
+        // SELECT da página + COUNT agrupado dos álbuns da página: nenhum COUNT(*) do total
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= 2, "Statements executados: " + statements);
+        return result;
+    }
+
+    @SafeVarargs
+    private static List<Long> ids(CursorPageResponseDTO<ArtistaDTO>... pages) {
+        return java.util.Arrays.stream(pages)
+                .flatMap(p -> p.content().stream())
+                .map(ArtistaDTO::id)
+                .toList();
+    }
+}
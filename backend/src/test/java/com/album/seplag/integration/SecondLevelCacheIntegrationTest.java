@@ -0,0 +1,202 @@
+package com.album.seplag.integration;
+
+import com.album.seplag.config.DatabasePlatform;
+import com.album.seplag.config.SecondLevelCacheConfig;
+import com.album.seplag.dto.ArtistaUpdateDTO;
+import com.album.seplag.dto.RegionalDTO;
+import com.album.seplag.model.Artista;
+import com.album.seplag.model.Regional;
+import com.album.seplag.model.Usuario;
+import com.album.seplag.pagination.RowCountEstimator;
+import com.album.seplag.repository.ArtistaRepository;
+import com.album.seplag.repository.ConteudoRepository;
+import com.album.seplag.repository.RegionalRepository;
+import com.album.seplag.repository.UsuarioRepository;
+import com.album.seplag.search.ArtistaNameIndex;
+import com.album.seplag.service.ArtistaService;
+import com.album.seplag.service.MinIOService;
+import com.album.seplag.service.RegionalService;
+import com.album.seplag.service.UsuarioService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cache de segundo nível e de consultas: leituras repetidas não vão ao banco e alterações feitas
+ * pelos services aparecem na leitura seguinte. Sem transação do teste, para que os commits
+ * alimentem e invalidem o cache como em produção.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({SecondLevelCacheConfig.class, UsuarioService.class, ArtistaService.class, RegionalService.class,
+        RowCountEstimator.class, DatabasePlatform.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheIntegrationTest {
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private RestTemplate restTemplate;
+
+    @MockitoBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @MockitoBean
+    private MinIOService minIOService;
+
+    @MockitoBean
+    private ArtistaNameIndex artistaNameIndex;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private ArtistaService artistaService;
+
+    @Autowired
+    private RegionalService regionalService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ArtistaRepository artistaRepository;
+
+    @Autowired
+    private RegionalRepository regionalRepository;
+
+    @Autowired
+    private ConteudoRepository conteudoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertTrue(statistics.isStatisticsEnabled());
+
+        usuario = new Usuario();
+        usuario.setUsername("cacheuser");
+        usuario.setPassword("$2a$10$encoded");
+        usuario.setEmail("cache@example.com");
+        usuario.setAtivo(true);
+        usuario.setRoles(new HashSet<>(Set.of("ROLE_USER")));
+        usuario = usuarioRepository.save(usuario);
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            usuarioRepository.deleteAll();
+            artistaRepository.deleteAll();
+            regionalRepository.deleteAll();
+            conteudoRepository.deleteAll();
+        });
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void loadUserByUsername_ShouldBeServedFromCache_OnRepeatedCalls() {
+        usuarioService.loadUserByUsername("cacheuser");
+
+        statistics.clear();
+        var userDetails = usuarioService.loadUserByUsername("cacheuser");
+
+        assertEquals("cacheuser", userDetails.getUsername());
+        assertEquals(1, userDetails.getAuthorities().size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+    }
+
+    @Test
+    void loadUserByUsername_ShouldSeeMutation_MadeThroughService() {
+        usuarioService.loadUserByUsername("cacheuser");
+
+        usuarioService.toggleAtivo(usuario.getId());
+
+        assertThrows(UsernameNotFoundException.class, () -> usuarioService.loadUserByUsername("cacheuser"));
+    }
+
+    @Test
+    void findById_ShouldReadArtistaFromCache_AndReflectUpdates() {
+        Artista artista = new Artista();
+        artista.setNome("Original");
+        Long id = artistaRepository.save(artista).getId();
+        artistaService.findById(id);
+
+        statistics.clear();
+        assertEquals("Original", artistaService.findById(id).nome());
+        // Só o COUNT de álbuns; o artista vem do cache
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        artistaService.update(id, new ArtistaUpdateDTO("Renomeado", null, null, null));
+
+        assertEquals("Renomeado", artistaService.findById(id).nome());
+    }
+
+    @Test
+    void conteudoInsert_ShouldNotEvictUnrelatedCaches() {
+        usuarioService.loadUserByUsername("cacheuser");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                conteudoRepository.inserir("a".repeat(64), "imagens/" + "a".repeat(64), "image/png", 10, 1));
+
+        statistics.clear();
+        usuarioService.loadUserByUsername("cacheuser");
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void regionalFindAll_ShouldUseQueryCache_AndBeInvalidatedByWrites() {
+        regionalRepository.save(regional("Regional A"));
+        regionalService.findAll();
+
+        statistics.clear();
+        assertEquals(1, regionalService.findAll().size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        regionalRepository.save(regional("Regional B"));
+
+        List<RegionalDTO> regionais = regionalService.findAll();
+        assertEquals(2, regionais.size());
+        assertTrue(regionalRepository.findByNome("Regional B").isPresent());
+    }
+
+    private static Regional regional(String nome) {
+        Regional regional = new Regional();
+        regional.setNome(nome);
+        regional.setAtivo(true);
+        return regional;
+    }
+}
@@ -0,0 +1,184 @@
+package com.album.seplag.integration;
+
+import com.album.seplag.config.DatabasePlatform;
+import com.album.seplag.dto.PageResponseDTO;
+import com.album.seplag.enums.CountMode;
+import com.album.seplag.exception.InvalidFieldsException;
+import com.album.seplag.model.Album;
+import com.album.seplag.model.Artista;
+import com.album.seplag.model.CapaAlbum;
+import com.album.seplag.model.Usuario;
+import com.album.seplag.pagination.RowCountEstimator;
+import com.album.seplag.projection.SparseFields;
+import com.album.seplag.search.ArtistaNameIndex;
+import com.album.seplag.service.AlbumService;
+import com.album.seplag.service.ArtistaService;
+import com.album.seplag.service.MinIOService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Listagens com fields=: só as chaves pedidas voltam e o número de SQLs não cresce com a página.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({AlbumService.class, ArtistaService.class, RowCountEstimator.class, DatabasePlatform.class})
+class SparseFieldsIntegrationTest {
+
+    @MockitoBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @MockitoBean
+    private MinIOService minIOService;
+
+    // Sem o índice em memória: o filtro por nome vai ao banco
+    @MockitoBean
+    private ArtistaNameIndex artistaNameIndex;
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private ArtistaService artistaService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Usuario usuario = new Usuario();
+        usuario.setUsername("testuser");
+        usuario.setPassword("$2a$10$encoded");
+        usuario.setEmail("test@example.com");
+        usuario.setAtivo(true);
+        usuario.setRoles(new java.util.HashSet<>(Set.of("ROLE_USER")));
+        entityManager.persist(usuario);
+
+        for (int a = 0; a < 4; a++) {
+            Artista artista = new Artista();
+            artista.setNome("Artista " + a);
+            artista.setBiografia("Biografia longa " + a);
+            artista.setFotoNomeArquivo(a % 2 == 0 ? "artistas/" + a + ".jpg" : null);
+            entityManager.persist(artista);
+
+            for (int i = 0; i < 5; i++) {
+                Album album = new Album();
+                album.setTitulo("Álbum " + a + "-" + i);
+                album.setDataLancamento(LocalDate.of(2000 + i, 1, 1));
+                album.setArtista(artista);
+                album.setUsuario(usuario);
+                entityManager.persist(album);
+
+                for (int c = 0; c < 2; c++) {
+                    CapaAlbum capa = new CapaAlbum();
+                    capa.setAlbum(album);
+                    capa.setNomeArquivo("albuns/" + album.getId() + "/capa-" + c + ".jpg");
+                    capa.setContentType("image/jpeg");
+                    capa.setTamanho(1024L);
+                    entityManager.persist(capa);
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void albuns_ShouldReturnOnlyRequestedFields_WithSingleSelect() {
+        Set<String> campos = SparseFields.parse("titulo,artistaNome", AlbumService.CAMPOS);
+
+        PageResponseDTO<Map<String, Object>> page = measure(1,
+                () -> albumService.findAll(campos, PageRequest.of(0, 10, Sort.by("id")), CountMode.NONE));
+
+        assertEquals(10, page.content().size());
+        page.content().forEach(linha -> assertEquals(Set.of("id", "titulo", "artistaNome"), linha.keySet()));
+        assertEquals("Artista 0", page.content().get(0).get("artistaNome"));
+    }
+
+    @Test
+    void albuns_ShouldLoadCovers_InOneBatchedSelect() {
+        Set<String> campos = SparseFields.parse("titulo,capas,capa", AlbumService.CAMPOS);
+
+        // SELECT da página + COUNT + capas + primeira capa
+        PageResponseDTO<Map<String, Object>> page = measure(4,
+                () -> albumService.findAll(campos, PageRequest.of(0, 10, Sort.by("id")), CountMode.EXACT));
+
+        assertEquals(20L, page.totalElements());
+        page.content().forEach(linha -> {
+            assertEquals(2, ((List<?>) linha.get("capas")).size());
+            assertNotNull(linha.get("capa"));
+        });
+    }
+
+    @Test
+    void albunsDoArtista_ShouldDeduceTotal_WhenPageIsNotFull() {
+        Long artistaId = (Long) albumService.findAll(Set.of("id", "artistaId"),
+                PageRequest.of(0, 1, Sort.by("id")), CountMode.NONE).content().get(0).get("artistaId");
+
+        PageResponseDTO<Map<String, Object>> page = measure(1,
+                () -> albumService.findByArtistaId(artistaId, Set.of("id", "titulo"), PageRequest.of(0, 10)));
+
+        assertEquals(5, page.content().size());
+        assertEquals(5L, page.totalElements());
+    }
+
+    @Test
+    void artistas_ShouldComputeDerivedFields_WithoutLoadingEntities() {
+        Set<String> campos = SparseFields.parse("nome,quantidadeAlbuns,fotoUrl", ArtistaService.CAMPOS);
+
+        // SELECT da página + COUNT agrupado dos álbuns
+        PageResponseDTO<Map<String, Object>> page = measure(2,
+                () -> artistaService.findAll("artista", null, campos, PageRequest.of(0, 10, Sort.by("nome")), CountMode.EXACT));
+
+        assertEquals(4, page.content().size());
+        page.content().forEach(linha -> {
+            assertEquals(Set.of("id", "nome", "quantidadeAlbuns", "fotoUrl"), linha.keySet());
+            assertEquals(5L, linha.get("quantidadeAlbuns"));
+        });
+        assertNotNull(page.content().get(0).get("fotoUrl"));
+        assertNull(page.content().get(1).get("fotoUrl"));
+    }
+
+    @Test
+    void parse_ShouldRejectUnknownFields() {
+        assertNull(SparseFields.parse(" ", AlbumService.CAMPOS));
+        assertEquals(List.of("id", "titulo"), List.copyOf(SparseFields.parse("titulo,id", AlbumService.CAMPOS)));
+        assertThrows(InvalidFieldsException.class, () -> SparseFields.parse("titulo,senha", AlbumService.CAMPOS));
+        assertThrows(InvalidFieldsException.class, () -> SparseFields.parse("fotoNomeArquivo", ArtistaService.CAMPOS));
+    }
+
+    private <T> T measure(long maxStatements, Supplier<T> action) {
+        entityManager.clear();
+        statistics.clear();
+        T result = action.get();
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= maxStatements, "Statements executados: " + statements);
+        return result;
+    }
+}
@@ -0,0 +1,124 @@
+package com.album.seplag.integration;
+
+import com.album.seplag.model.Usuario;
+import com.album.seplag.repository.UsuarioRepository;
+import com.album.seplag.support.EndpointStatementTest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static com.album.seplag.support.EndpointStatements.assertPaginado;
+import static com.album.seplag.support.EndpointStatements.get;
+import static com.album.seplag.support.EndpointStatements.perform;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL executado pelos endpoints de usuários e de autenticação, com páginas de 1 e 100 usuários.
+ */
+@EndpointStatementTest
+@WithMockUser(username = "admin", roles = "ADMIN")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UsuarioEndpointStatementsIntegrationTest {
+
+    private static final String USUARIOS = "/api/v1/usuarios";
+    private static final String AUTH = "/api/v1/auth";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Usuario usuario;
+
+    @BeforeAll
+    void setUp() {
+        String senha = passwordEncoder.encode("password123");
+        List<Usuario> usuarios = usuarioRepository.saveAll(IntStream.range(0, 120).mapToObj(i -> {
+            Usuario novo = new Usuario();
+            novo.setUsername(i == 0 ? "admin" : "usuario%03d".formatted(i));
+            novo.setPassword(senha);
+            novo.setEmail("usuario%03d@example.com".formatted(i));
+            novo.setAtivo(true);
+            novo.setRoles(new HashSet<>(i == 0 ? Set.of("ROLE_ADMIN", "ROLE_USER") : Set.of("ROLE_USER")));
+            return novo;
+        }).toList());
+        usuario = usuarios.get(1);
+    }
+
+    @AfterAll
+    void tearDown() {
+        usuarioRepository.deleteAll();
+    }
+
+    @Test
+    void findAll_ShouldRunSameStatements_ForPageSizes1And100() throws Exception {
+        // Página + COUNT + roles em lote
+        assertPaginado(mockMvc, USUARIOS + "?size=%d", 3);
+    }
+
+    @Test
+    void findAllByCursor_ShouldRunSameStatements_ForLimits1And100() throws Exception {
+        // Janela sem COUNT + roles em lote
+        assertPaginado(mockMvc, USUARIOS + "?limit=%d", 2);
+    }
+
+    @Test
+    void findByIdAndMe_ShouldRunFixedStatements() throws Exception {
+        // Usuário com roles no mesmo SELECT; em /me a busca por username traz os roles em seguida
+        String endpoint = "GET " + USUARIOS + "/{id}";
+        get(mockMvc, USUARIOS + "/" + usuario.getId()).assertNoRepeats(endpoint).assertAtMost(1, endpoint);
+        get(mockMvc, USUARIOS + "/me").assertNoRepeats("GET " + USUARIOS + "/me").assertAtMost(2, "GET " + USUARIOS + "/me");
+    }
+
+    @Test
+    void mutations_ShouldRunFixedStatements() throws Exception {
+        String corpo = """
+                {"username": "novo", "password": "password123", "email": "novo@example.com", "roles": ["USER"]}""";
+        perform(mockMvc, post(USUARIOS).contentType(MediaType.APPLICATION_JSON).content(corpo), status().isCreated())
+                .assertNoRepeats("POST " + USUARIOS).assertAtMost(4, "POST " + USUARIOS);
+
+        Long id = usuarioRepository.findByUsername("novo").orElseThrow().getId();
+        perform(mockMvc, put(USUARIOS + "/" + id).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"novo\", \"email\": \"outro@example.com\"}"), status().isOk())
+                .assertNoRepeats("PUT " + USUARIOS + "/{id}").assertAtMost(4, "PUT " + USUARIOS + "/{id}");
+        perform(mockMvc, patch(USUARIOS + "/" + id + "/ativo"), status().isOk())
+                .assertNoRepeats("PATCH " + USUARIOS + "/{id}/ativo").assertAtMost(2, "PATCH " + USUARIOS + "/{id}/ativo");
+        perform(mockMvc, delete(USUARIOS + "/" + id), status().isNoContent())
+                .assertNoRepeats("DELETE " + USUARIOS + "/{id}").assertAtMost(3, "DELETE " + USUARIOS + "/{id}");
+    }
+
+    @Test
+    void loginAndRegister_ShouldRunFixedStatements() throws Exception {
+        // Login e cadastro buscam o usuário pelo username duas vezes (validação e atualizarLastLogin): a
+        // segunda busca repete o SELECT aqui, mas em produção sai do cache de consultas (desligado nestes testes)
+        perform(mockMvc, post(AUTH + "/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"usuario002\", \"password\": \"password123\"}"), status().isOk())
+                .assertAtMost(4, "POST " + AUTH + "/login");
+        assertNotNull(usuarioRepository.findByUsername("usuario002").orElseThrow().getLastLogin());
+
+        perform(mockMvc, post(AUTH + "/register").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"registrado\", \"password\": \"password123\", \"email\": \"registrado@example.com\"}"),
+                status().isCreated())
+                .assertAtMost(6, "POST " + AUTH + "/register");
+    }
+}
@@ -0,0 +1,67 @@
+package com.album.seplag.search;
+
+import com.album.seplag.enums.TipoArtista;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.put(1, "Legião Urbana", TipoArtista.BANDA);
+        index.put(2, "Caetano Veloso", TipoArtista.CANTOR);
+        index.put(3, "Os Paralamas do Sucesso", TipoArtista.BANDA);
+        index.put(4, "Anitta", TipoArtista.CANTOR);
+    }
+
+    @Test
+    void search_ShouldIgnoreCaseAndAccents() {
+        assertArrayEquals(new int[]{1}, index.search(TrigramIndex.normalize("LEGIAO"), null));
+        assertArrayEquals(new int[]{1}, index.search(TrigramIndex.normalize("gião urb"), null));
+    }
+
+    @Test
+    void search_ShouldConfirmSubstring_NotJustSharedTrigrams() {
+        // "ano" e "vel" existem em "caetano veloso", mas não em sequência
+        assertArrayEquals(new int[0], index.search("anovel", null));
+        assertArrayEquals(new int[]{2}, index.search("ano vel", null));
+    }
+
+    @Test
+    void search_ShouldFilterByTipo_AndHandleShortTerms() {
+        assertArrayEquals(new int[]{1, 3}, index.search("a", TipoArtista.BANDA));
+        assertArrayEquals(new int[]{2, 4}, index.search("an", TipoArtista.CANTOR));
+    }
+
+    @Test
+    void put_ShouldReplaceOldTrigrams_AndRemoveShouldDropThem() {
+        index.put(4, "Ivete Sangalo", TipoArtista.CANTOR);
+        assertArrayEquals(new int[0], index.search("anitta", null));
+        assertArrayEquals(new int[]{4}, index.search("sangalo", null));
+
+        index.remove(4);
+        assertArrayEquals(new int[0], index.search("sangalo", null));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void postingList_ShouldStaySortedWithoutDuplicates() {
+        TrigramIndex.PostingList lista = new TrigramIndex.PostingList();
+        for (int id : new int[]{5, 1, 9, 5, 3, 7, 1}) {
+            lista.add(id);
+        }
+        int[] ids = new int[lista.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = lista.get(i);
+        }
+        assertArrayEquals(new int[]{1, 3, 5, 7, 9}, ids);
+        assertTrue(lista.remove(5));
+        assertFalse(lista.contains(5));
+        assertFalse(lista.remove(5));
+    }
+}
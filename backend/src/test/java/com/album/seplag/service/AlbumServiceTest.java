@@ -2,7 +2,6 @@ package com.album.seplag.service;
 
 import com.album.seplag.dto.AlbumDTO;
 import com.album.seplag.dto.CapaAlbumDTO;
-import com.album.seplag.dto.PresignedUrlResponse;
 import com.album.seplag.exception.ResourceNotFoundException;
 import com.album.seplag.model.Album;
 import com.album.seplag.model.Artista;
@@ -17,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -30,6 +30,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,6 +51,9 @@ class AlbumServiceTest {
     @Mock
     private SimpMessagingTemplate messagingTemplate;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AlbumService albumService;
 
@@ -144,10 +148,7 @@ class AlbumServiceTest {
         capa.setDataUpload(LocalDateTime.now());
         capa.setAlbum(album);
 
-        when(minIOService.uploadCapa(1L, file)).thenReturn(capa);
-        // Mock do getPresignedUrl que é chamado em toCapaDTO
-        when(minIOService.getPresignedUrl(1L, 1L))
-                .thenReturn(new PresignedUrlResponse("/api/v1/albuns/1/capa/1/image", 1800000L));
+        when(minIOService.uploadCapas(1L, List.of(file))).thenReturn(List.of(capa));
 
         List<CapaAlbumDTO> result = albumService.uploadCapas(1L, new MultipartFile[]{file});
 
@@ -155,8 +156,10 @@ class AlbumServiceTest {
         assertEquals(1, result.size());
         assertEquals(1L, result.get(0).id());
         assertEquals("albuns/1/uuid_capa.jpg", result.get(0).nomeArquivo());
-        verify(minIOService).uploadCapa(1L, file);
-        verify(minIOService).getPresignedUrl(1L, 1L);
+        assertEquals("/api/v1/albuns/1/capa/1/image", result.get(0).presignedUrl());
+        verify(minIOService).uploadCapas(1L, List.of(file));
+        // A URL é montada a partir da entidade carregada, sem nova consulta
+        verify(minIOService, never()).getPresignedUrl(anyLong(), anyLong());
     }
 }
 
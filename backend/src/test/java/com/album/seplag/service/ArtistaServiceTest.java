@@ -3,13 +3,16 @@ package com.album.seplag.service;
 import com.album.seplag.dto.ArtistaDTO;
 import com.album.seplag.exception.ResourceNotFoundException;
 import com.album.seplag.model.Artista;
+import com.album.seplag.repository.AlbumRepository;
 import com.album.seplag.repository.ArtistaRepository;
+import com.album.seplag.search.ArtistaNameIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.data.domain.PageImpl;
@@ -30,11 +33,20 @@ class ArtistaServiceTest {
     private ArtistaRepository artistaRepository;
 
     @Mock
-    private MinIOService minIOService;
+    private AlbumRepository albumRepository;
 
     @Mock
     private SimpMessagingTemplate messagingTemplate;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ArtistaNameIndex artistaNameIndex;
+
+    @Mock
+    private MinIOService minIOService;
+
     @InjectMocks
     private ArtistaService artistaService;
 
@@ -71,6 +83,17 @@ class ArtistaServiceTest {
         });
     }
 
+    @Test
+    void findById_ShouldBuildFotoUrl_WithoutReloadingArtista() {
+        artista.setFotoNomeArquivo("artistas/1/uuid_foto.jpg");
+        when(artistaRepository.findById(1L)).thenReturn(Optional.of(artista));
+
+        ArtistaDTO result = artistaService.findById(1L);
+
+        assertEquals("/api/v1/artistas/1/foto/image", result.fotoUrl());
+        verify(artistaRepository, times(1)).findById(1L);
+    }
+
     @Test
     void findAll_ShouldReturnPageOfArtistas() {
         Pageable pageable = PageRequest.of(0, 10);
@@ -84,6 +107,25 @@ class ArtistaServiceTest {
         verify(artistaRepository).findAll(pageable);
     }
 
+    @Test
+    void findAll_ShouldTakeAlbumCountsFromGroupedQuery() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Artista semAlbuns = new Artista();
+        semAlbuns.setId(2L);
+        semAlbuns.setNome("Sem Álbuns");
+        AlbumRepository.QuantidadeAlbuns quantidade = mock(AlbumRepository.QuantidadeAlbuns.class);
+        when(quantidade.getArtistaId()).thenReturn(1L);
+        when(quantidade.getQuantidade()).thenReturn(2000L);
+        when(artistaRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(artista, semAlbuns), pageable, 2));
+        when(albumRepository.countByArtistaIds(List.of(1L, 2L))).thenReturn(List.of(quantidade));
+
+        Page<ArtistaDTO> result = artistaService.findAll(null, null, pageable);
+
+        assertEquals(2000L, result.getContent().get(0).quantidadeAlbuns());
+        assertEquals(0L, result.getContent().get(1).quantidadeAlbuns());
+        verify(albumRepository, times(1)).countByArtistaIds(any());
+    }
+
     @Test
     void delete_ShouldDeleteArtista_WhenArtistaExists() {
         when(artistaRepository.findById(1L)).thenReturn(Optional.of(artista));
@@ -94,6 +136,7 @@ class ArtistaServiceTest {
         });
 
         verify(artistaRepository).findById(1L);
+        verify(minIOService).liberar(List.of());
         verify(artistaRepository).delete(artista);
     }
 }
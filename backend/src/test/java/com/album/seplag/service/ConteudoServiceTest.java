@@ -0,0 +1,175 @@
+package com.album.seplag.service;
+
+import com.album.seplag.config.DatabasePlatform;
+import com.album.seplag.repository.ConteudoRepository;
+import com.album.seplag.storage.ObjectStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Exclusão de objetos no fim da transação, com as sincronizações disparadas pelo próprio teste.
+ */
+@ExtendWith(MockitoExtension.class)
+class ConteudoServiceTest {
+
+    private static final MockMultipartFile ARQUIVO =
+            new MockMultipartFile("file", "capa.jpg", "image/jpeg", "capa".getBytes(StandardCharsets.UTF_8));
+
+    @Mock
+    private ObjectStorage objectStorage;
+
+    @Mock
+    private ConteudoRepository conteudoRepository;
+
+    @Mock
+    private DatabasePlatform databasePlatform;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ConteudoService conteudoService;
+
+    @BeforeEach
+    void setUp() {
+        conteudoService = new ConteudoService(objectStorage, conteudoRepository, databasePlatform, transactionManager, 2, 1024);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        conteudoService.shutdown();
+    }
+
+    @Test
+    void armazenar_ShouldDeleteObjectOnRollback_WhenRowWasCreatedHere() {
+        when(conteudoRepository.incrementar(anyString(), eq(1))).thenReturn(0);
+        when(conteudoRepository.inserir(anyString(), anyString(), any(), anyLong(), eq(1))).thenReturn(1);
+
+        String key = conteudoService.armazenar(ARQUIVO).key();
+        concluir(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(objectStorage).delete(key);
+    }
+
+    @Test
+    void armazenar_ShouldKeepObjectOnRollback_WhenConcurrentUploadCreatedRow() {
+        when(databasePlatform.isPostgres()).thenReturn(true);
+        when(conteudoRepository.incrementar(anyString(), eq(1))).thenReturn(0);
+        // ON CONFLICT: a linha é do upload que fez commit antes
+        when(conteudoRepository.inserirOuIncrementar(anyString(), anyString(), any(), anyLong(), eq(1)))
+                .thenReturn(false);
+
+        conteudoService.armazenar(ARQUIVO);
+        concluir(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(objectStorage).put(anyString(), any(), eq((long) ARQUIVO.getSize()), eq("image/jpeg"));
+        verify(objectStorage, never()).delete(anyString());
+    }
+
+    @Test
+    void armazenar_ShouldKeepObjectOnRollback_WhenInsertViolatesPrimaryKey() {
+        when(conteudoRepository.incrementar(anyString(), eq(1))).thenReturn(0);
+        when(conteudoRepository.inserir(anyString(), anyString(), any(), anyLong(), eq(1)))
+                .thenThrow(new DataIntegrityViolationException("hash duplicado"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> conteudoService.armazenar(ARQUIVO));
+        concluir(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(objectStorage, never()).delete(anyString());
+    }
+
+    @Test
+    void liberar_ShouldDeleteObjectOnlyAfterCommit() {
+        when(conteudoRepository.decrementar("imagens/abc")).thenReturn(1);
+        when(conteudoRepository.deleteSemReferencias("imagens/abc")).thenReturn(1);
+
+        assertTrue(conteudoService.liberar("imagens/abc"));
+        verify(objectStorage, never()).delete(anyString());
+
+        concluir(TransactionSynchronization.STATUS_COMMITTED);
+        verify(objectStorage).delete("imagens/abc");
+    }
+
+    @Test
+    void liberar_ShouldKeepObject_WhenTransactionRollsBack() {
+        // Objeto anterior à deduplicação: sem linha em conteudos
+        when(conteudoRepository.decrementar("albuns/1/capa.jpg")).thenReturn(0);
+
+        assertTrue(conteudoService.liberar("albuns/1/capa.jpg"));
+        concluir(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(objectStorage, never()).delete(anyString());
+    }
+
+    @Test
+    void liberar_ShouldKeepObject_WhenConcurrentUploadRecreatedRowBeforeDelete() {
+        when(conteudoRepository.decrementar("imagens/abc")).thenReturn(1);
+        when(conteudoRepository.deleteSemReferencias("imagens/abc")).thenReturn(1);
+        // Depois do commit, um upload do mesmo conteúdo já regravou o objeto e a linha
+        when(conteudoRepository.existsByNomeArquivo("imagens/abc")).thenReturn(true);
+
+        assertTrue(conteudoService.liberar("imagens/abc"));
+        concluir(TransactionSynchronization.STATUS_COMMITTED);
+
+        verify(objectStorage, never()).delete(anyString());
+    }
+
+    @Test
+    void armazenar_ShouldKeepObjectOnRollback_WhenRowWasRecreatedAfterRollback() {
+        when(conteudoRepository.incrementar(anyString(), eq(1))).thenReturn(0);
+        when(conteudoRepository.inserir(anyString(), anyString(), any(), anyLong(), eq(1))).thenReturn(1);
+        when(conteudoRepository.existsByNomeArquivo(anyString())).thenReturn(true);
+
+        conteudoService.armazenar(ARQUIVO);
+        concluir(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(objectStorage, never()).delete(anyString());
+    }
+
+    @Test
+    void armazenar_ShouldLockKeyBeforeCounting_AndDeleteUnderSameLock() {
+        when(databasePlatform.isPostgres()).thenReturn(true);
+        when(conteudoRepository.incrementar(anyString(), eq(1))).thenReturn(0);
+        when(conteudoRepository.inserirOuIncrementar(anyString(), anyString(), any(), anyLong(), eq(1)))
+                .thenReturn(true);
+
+        String key = conteudoService.armazenar(ARQUIVO).key();
+        concluir(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        InOrder ordem = inOrder(conteudoRepository, objectStorage);
+        ordem.verify(conteudoRepository).bloquear(key);
+        ordem.verify(conteudoRepository).incrementar(anyString(), eq(1));
+        ordem.verify(conteudoRepository).bloquear(key);
+        ordem.verify(conteudoRepository).existsByNomeArquivo(key);
+        ordem.verify(objectStorage).delete(key);
+    }
+
+    private static void concluir(int status) {
+        List<TransactionSynchronization> sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            sincronizacoes.forEach(TransactionSynchronization::afterCommit);
+        }
+        sincronizacoes.forEach(sincronizacao -> sincronizacao.afterCompletion(status));
+    }
+}
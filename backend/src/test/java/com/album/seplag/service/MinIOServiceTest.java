@@ -1,21 +1,25 @@
 package com.album.seplag.service;
 
-import com.album.seplag.config.MinIOConfig;
 import com.album.seplag.exception.ResourceNotFoundException;
 import com.album.seplag.model.Album;
 import com.album.seplag.model.Artista;
 import com.album.seplag.model.CapaAlbum;
+import com.album.seplag.model.Miniatura;
 import com.album.seplag.repository.AlbumRepository;
 import com.album.seplag.repository.ArtistaRepository;
 import com.album.seplag.repository.CapaAlbumRepository;
-import io.minio.MinioClient;
+import com.album.seplag.repository.MiniaturaRepository;
+import com.album.seplag.storage.ObjectRef;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,10 +30,7 @@ import static org.mockito.Mockito.*;
 class MinIOServiceTest {
 
     @Mock
-    private MinIOConfig minIOConfig;
-
-    @Mock
-    private MinioClient minioClient;
+    private ConteudoService conteudoService;
 
     @Mock
     private AlbumRepository albumRepository;
@@ -43,6 +44,15 @@ class MinIOServiceTest {
     @Mock
     private MultipartFile multipartFile;
 
+    @Mock
+    private MiniaturaRepository miniaturaRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private MinIOService minIOService;
 
     private Album album;
@@ -50,12 +60,10 @@ class MinIOServiceTest {
     private CapaAlbum capa;
 
     @BeforeEach
-    void setUp() throws Exception {
-        when(minIOConfig.minioClient()).thenReturn(minioClient);
-        when(minioClient.bucketExists(any())).thenReturn(true);
-
-        minIOService = new MinIOService(minIOConfig, "test-bucket", 1800000L,
-                albumRepository, artistaRepository, capaAlbumRepository);
+    void setUp() {
+        minIOService = new MinIOService(conteudoService, 1800000L,
+                albumRepository, artistaRepository, capaAlbumRepository, miniaturaRepository, eventPublisher,
+                transactionManager);
 
         artista = new Artista();
         artista.setId(1L);
@@ -109,5 +117,32 @@ class MinIOServiceTest {
             minIOService.getPresignedUrl(1L, 1L);
         });
     }
-}
 
+    @Test
+    void getCapaFile_ShouldReturnSmallestMiniatura_WhenSizeIsRequested() {
+        capa.setDataUpload(LocalDateTime.now());
+        Miniatura miniatura = new Miniatura();
+        miniatura.setNomeArquivo("albuns/1/test-file.jpg.256.jpg");
+        miniatura.setDataCriacao(LocalDateTime.now());
+        when(capaAlbumRepository.findById(1L)).thenReturn(Optional.of(capa));
+        when(miniaturaRepository.findFirstByObjetoOriginalAndDimensaoGreaterThanEqualOrderByDimensaoAsc(
+                "albuns/1/test-file.jpg", 200)).thenReturn(Optional.of(miniatura));
+
+        ObjectRef objeto = minIOService.getCapaFile(1L, 1L, 200);
+
+        assertEquals("albuns/1/test-file.jpg.256.jpg", objeto.key());
+    }
+
+    @Test
+    void getCapaFile_ShouldFallBackToOriginal_UntilMiniaturaExists() {
+        capa.setDataUpload(LocalDateTime.now());
+        when(capaAlbumRepository.findById(1L)).thenReturn(Optional.of(capa));
+        when(miniaturaRepository.findFirstByObjetoOriginalAndDimensaoGreaterThanEqualOrderByDimensaoAsc(
+                "albuns/1/test-file.jpg", 200)).thenReturn(Optional.empty());
+
+        assertEquals("albuns/1/test-file.jpg", minIOService.getCapaFile(1L, 1L, 200).key());
+        assertEquals("albuns/1/test-file.jpg", minIOService.getCapaFile(1L, 1L, null).key());
+        verify(miniaturaRepository, times(1))
+                .findFirstByObjetoOriginalAndDimensaoGreaterThanEqualOrderByDimensaoAsc(any(), any());
+    }
+}
@@ -0,0 +1,174 @@
+package com.album.seplag.service;
+
+import com.album.seplag.event.ObjectRemovedEvent;
+import com.album.seplag.model.Miniatura;
+import com.album.seplag.repository.MiniaturaRepository;
+import com.album.seplag.storage.LocalObjectStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class MiniaturaServiceTest {
+
+    @TempDir
+    Path root;
+
+    private LocalObjectStorage storage;
+    private MiniaturaRepository miniaturaRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private MiniaturaService service;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalObjectStorage(root);
+        miniaturaRepository = mock(MiniaturaRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        service = new MiniaturaService(storage, miniaturaRepository, eventPublisher, true,
+                List.of(64, 256, 1024), 0.85f, 1, 10, 50_000_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void gerar_ShouldStoreJpegMiniaturas_SmallerThanOriginal() throws IOException {
+        gravar("albuns/1/capa.jpg", imagem(800, 400, BufferedImage.TYPE_INT_RGB), "jpeg", "image/jpeg");
+
+        service.gerar("albuns/1/capa.jpg");
+
+        List<Miniatura> miniaturas = salvas(2);
+        assertEquals(256, miniaturas.get(0).getDimensao());
+        assertEquals(64, miniaturas.get(1).getDimensao());
+        for (Miniatura miniatura : miniaturas) {
+            assertEquals("albuns/1/capa.jpg", miniatura.getObjetoOriginal());
+            assertEquals("image/jpeg", miniatura.getContentType());
+            BufferedImage gerada = ler(miniatura.getNomeArquivo());
+            assertEquals(miniatura.getDimensao(), gerada.getWidth());
+            assertEquals(miniatura.getDimensao() / 2, gerada.getHeight());
+            assertEquals(storage.stat(miniatura.getNomeArquivo()).size(), miniatura.getTamanho());
+        }
+    }
+
+    @Test
+    void gerar_ShouldKeepTransparency_AsPng() throws IOException {
+        gravar("artistas/1/foto.png", imagem(300, 300, BufferedImage.TYPE_INT_ARGB), "png", "image/png");
+
+        service.gerar("artistas/1/foto.png");
+
+        List<Miniatura> miniaturas = salvas(2);
+        assertEquals("artistas/1/foto.png.256.png", miniaturas.get(0).getNomeArquivo());
+        assertEquals("image/png", miniaturas.get(0).getContentType());
+        assertTrue(ler(miniaturas.get(0).getNomeArquivo()).getColorModel().hasAlpha());
+    }
+
+    @Test
+    void gerar_ShouldIgnoreUnsupportedContent() {
+        byte[] conteudo = "não é imagem".getBytes(StandardCharsets.UTF_8);
+        storage.put("albuns/1/capa.jpg", new ByteArrayInputStream(conteudo), conteudo.length, "image/jpeg");
+
+        service.gerar("albuns/1/capa.jpg");
+        service.gerar("albuns/1/removida.jpg");
+
+        verify(miniaturaRepository, never()).save(any());
+    }
+
+    @Test
+    void gerar_ShouldSkipImage_WhenDeclaredDimensionsExceedMaxPixels() throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        ImageIO.write(imagem(16, 16, BufferedImage.TYPE_INT_RGB), "png", saida);
+        // Cabeçalho IHDR declarando 50000x50000 (2,5 bilhões de pixels) em um arquivo de poucos bytes
+        ByteBuffer png = ByteBuffer.wrap(saida.toByteArray());
+        png.putInt(16, 50_000).putInt(20, 50_000);
+        CRC32 crc = new CRC32();
+        crc.update(png.array(), 12, 17);
+        png.putInt(29, (int) crc.getValue());
+        storage.put("albuns/1/bomba.png", new ByteArrayInputStream(png.array()), png.capacity(), "image/png");
+
+        service.gerar("albuns/1/bomba.png");
+
+        verify(miniaturaRepository, never()).save(any());
+    }
+
+    @Test
+    void gerar_ShouldDiscardMiniaturas_WhenOriginalIsRemovedMeanwhile() throws IOException {
+        gravar("albuns/1/capa.jpg", imagem(800, 400, BufferedImage.TYPE_INT_RGB), "jpeg", "image/jpeg");
+        // remover roda entre a leitura do original e a gravação da primeira miniatura
+        when(miniaturaRepository.save(any())).thenAnswer(invocacao -> {
+            storage.delete("albuns/1/capa.jpg");
+            return invocacao.getArgument(0);
+        });
+
+        service.gerar("albuns/1/capa.jpg");
+
+        Miniatura miniatura = salvas(1).get(0);
+        assertTrue(storage.list("albuns/1/capa.jpg.").isEmpty());
+        verify(miniaturaRepository).delete(miniatura);
+        verify(eventPublisher).publishEvent(new ObjectRemovedEvent(miniatura.getNomeArquivo()));
+    }
+
+    @Test
+    void remover_ShouldDeleteObjectsAndRows() throws IOException {
+        gravar("albuns/1/capa.jpg", imagem(800, 400, BufferedImage.TYPE_INT_RGB), "jpeg", "image/jpeg");
+        service.gerar("albuns/1/capa.jpg");
+        List<Miniatura> miniaturas = salvas(2);
+        when(miniaturaRepository.findByObjetoOriginal("albuns/1/capa.jpg")).thenReturn(miniaturas);
+
+        service.remover("albuns/1/capa.jpg");
+
+        for (Miniatura miniatura : miniaturas) {
+            assertTrue(storage.list(miniatura.getNomeArquivo()).isEmpty());
+            verify(miniaturaRepository).delete(miniatura);
+            verify(eventPublisher).publishEvent(new ObjectRemovedEvent(miniatura.getNomeArquivo()));
+        }
+    }
+
+    private List<Miniatura> salvas(int quantidade) {
+        ArgumentCaptor<Miniatura> captor = ArgumentCaptor.forClass(Miniatura.class);
+        verify(miniaturaRepository, times(quantidade)).save(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private void gravar(String key, BufferedImage imagem, String formato, String contentType) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        ImageIO.write(imagem, formato, saida);
+        byte[] conteudo = saida.toByteArray();
+        storage.put(key, new ByteArrayInputStream(conteudo), conteudo.length, contentType);
+    }
+
+    private BufferedImage ler(String key) throws IOException {
+        try (InputStream in = storage.get(key)) {
+            return ImageIO.read(in);
+        }
+    }
+
+    private static BufferedImage imagem(int largura, int altura, int tipo) {
+        BufferedImage imagem = new BufferedImage(largura, altura, tipo);
+        for (int x = 0; x < largura; x++) {
+            for (int y = 0; y < altura; y++) {
+                imagem.setRGB(x, y, ((x * 255 / largura) << 16) | ((y * 255 / altura) << 8) | 0x80000000);
+            }
+        }
+        return imagem;
+    }
+}
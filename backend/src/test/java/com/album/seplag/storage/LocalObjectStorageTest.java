@@ -0,0 +1,107 @@
+package com.album.seplag.storage;
+
+import com.album.seplag.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalObjectStorageTest {
+
+    private static final byte[] CONTEUDO = "0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path root;
+
+    private LocalObjectStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalObjectStorage(root);
+    }
+
+    @Test
+    void put_ShouldStoreContentAndContentType() throws Exception {
+        storage.put("albuns/1/capa.jpg", new ByteArrayInputStream(CONTEUDO), CONTEUDO.length, "image/jpeg");
+
+        ObjectStat stat = storage.stat("albuns/1/capa.jpg");
+        assertEquals("image/jpeg", stat.contentType());
+        assertEquals(CONTEUDO.length, stat.size());
+        try (InputStream in = storage.get("albuns/1/capa.jpg")) {
+            assertArrayEquals(CONTEUDO, in.readAllBytes());
+        }
+        assertEquals(root.resolve("albuns/1/capa.jpg"), storage.localFile("albuns/1/capa.jpg").orElseThrow());
+    }
+
+    @Test
+    void put_ShouldAcceptUnknownSize_AndRejectTruncatedUpload() throws Exception {
+        storage.put("artistas/1/foto", new ByteArrayInputStream(CONTEUDO), -1, null);
+        assertEquals(CONTEUDO.length, storage.stat("artistas/1/foto").size());
+        assertEquals("application/octet-stream", storage.stat("artistas/1/foto").contentType());
+
+        assertThrows(RuntimeException.class, () ->
+                storage.put("artistas/2/foto", new ByteArrayInputStream(CONTEUDO), CONTEUDO.length + 1, "image/png"));
+        assertThrows(ResourceNotFoundException.class, () -> storage.stat("artistas/2/foto"));
+        try (var arquivos = Files.list(root.resolve("artistas/2"))) {
+            assertEquals(0, arquivos.count());
+        }
+    }
+
+    @Test
+    void getRangeAndTransferTo_ShouldReturnOnlyRequestedBytes() throws Exception {
+        storage.put("a", new ByteArrayInputStream(CONTEUDO), CONTEUDO.length, "text/plain");
+
+        try (InputStream in = storage.getRange("a", 4, 6)) {
+            assertEquals("456789", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        storage.transferTo("a", 10, 6, Channels.newChannel(out));
+        assertEquals("abcdef", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void listAndDelete_ShouldIgnoreMetadata() {
+        storage.put("albuns/1/b.jpg", new ByteArrayInputStream(CONTEUDO), CONTEUDO.length, "image/jpeg");
+        storage.put("albuns/1/a.jpg", new ByteArrayInputStream(CONTEUDO), CONTEUDO.length, "image/jpeg");
+        storage.put("artistas/1/foto.jpg", new ByteArrayInputStream(CONTEUDO), CONTEUDO.length, "image/jpeg");
+
+        List<String> chaves = storage.list("albuns/").stream().map(ObjectStat::key).toList();
+        assertEquals(List.of("albuns/1/a.jpg", "albuns/1/b.jpg"), chaves);
+
+        storage.delete("albuns/1/a.jpg");
+        assertThrows(ResourceNotFoundException.class, () -> storage.get("albuns/1/a.jpg"));
+        assertEquals(2, storage.list("").size());
+    }
+
+    @Test
+    void move_ShouldRenameContentAndContentType() throws Exception {
+        storage.put("uploads/tmp", new ByteArrayInputStream(CONTEUDO), CONTEUDO.length, "image/png");
+
+        storage.move("uploads/tmp", "imagens/abc");
+
+        assertEquals("image/png", storage.stat("imagens/abc").contentType());
+        try (InputStream in = storage.get("imagens/abc")) {
+            assertArrayEquals(CONTEUDO, in.readAllBytes());
+        }
+        assertThrows(ResourceNotFoundException.class, () -> storage.stat("uploads/tmp"));
+        assertFalse(Files.exists(root.resolve(".meta/uploads/tmp")));
+        assertThrows(ResourceNotFoundException.class, () -> storage.move("uploads/tmp", "imagens/def"));
+    }
+
+    @Test
+    void keysOutsideRoot_ShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> storage.stat("../fora"));
+        assertThrows(IllegalArgumentException.class, () -> storage.stat("albuns/../../fora"));
+        assertThrows(IllegalArgumentException.class, () -> storage.stat(".meta/albuns/1/a.jpg"));
+    }
+}
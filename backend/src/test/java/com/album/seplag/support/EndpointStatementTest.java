@@ -0,0 +1,34 @@
+package com.album.seplag.support;
+
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.client.RestTemplate;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Contexto completo com MockMvc e {@link SqlStatementRecorder} registrado, para contar o SQL de cada
+ * endpoint. Sem cache de segundo nível (esconderia N+1), sem limite de requisições e com as tarefas
+ * agendadas adiadas; as imagens vão para o armazenamento local do perfil test e a API de regionais é mock. Banco H2 próprio: o testdb é compartilhado
+ * com outros contextos, e o create-drop de um deles apagaria as tabelas deste.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(properties = {
+        SqlStatementRecorder.PROPERTY,
+        "second-level-cache.enabled=false",
+        "rate-limit.requests-per-minute=100000",
+        "estatisticas.refresh-interval=PT1H",
+        "artista-index.rebuild-interval=PT1H"})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+@MockitoBean(types = RestTemplate.class)
+public @interface EndpointStatementTest {
+}
@@ -0,0 +1,58 @@
+package com.album.seplag.support;
+
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Executa requisições pelo MockMvc gravando o SQL, inclusive o das respostas assíncronas (streaming).
+ */
+public final class EndpointStatements {
+
+    public static final int PAGINA_PEQUENA = 1;
+    public static final int PAGINA_GRANDE = 100;
+
+    private EndpointStatements() {
+    }
+
+    public static RecordedStatements perform(MockMvc mockMvc, RequestBuilder request, ResultMatcher... esperados) throws Exception {
+        return SqlStatementRecorder.record(() -> {
+            MvcResult result = mockMvc.perform(request).andReturn();
+            if (result.getRequest().isAsyncStarted()) {
+                result = mockMvc.perform(asyncDispatch(result)).andReturn();
+            }
+            try {
+                for (ResultMatcher esperado : esperados) {
+                    esperado.match(result);
+                }
+            } catch (AssertionError e) {
+                throw new AssertionError(result.getRequest().getMethod() + " " + result.getRequest().getRequestURI()
+                        + "?" + result.getRequest().getQueryString() + ": " + e.getMessage()
+                        + "\n" + result.getResponse().getContentAsString(), e);
+            }
+        });
+    }
+
+    public static RecordedStatements get(MockMvc mockMvc, String url) throws Exception {
+        return perform(mockMvc, MockMvcRequestBuilders.get(url), status().isOk());
+    }
+
+    /**
+     * Listagem paginada: no máximo {@code max} statements, nenhum repetido, e o mesmo SQL com página
+     * de {@value #PAGINA_PEQUENA} e de {@value #PAGINA_GRANDE} itens. {@code url} recebe o tamanho em %d.
+     */
+    public static void assertPaginado(MockMvc mockMvc, String url, int max) throws Exception {
+        RecordedStatements pequena = get(mockMvc, url.formatted(PAGINA_PEQUENA));
+        RecordedStatements grande = get(mockMvc, url.formatted(PAGINA_GRANDE));
+
+        String endpoint = "GET " + url.formatted(PAGINA_GRANDE);
+        grande.assertNoRepeats(endpoint)
+                .assertAtMost(max, endpoint)
+                .assertSameStatementsAs(pequena, endpoint);
+    }
+}
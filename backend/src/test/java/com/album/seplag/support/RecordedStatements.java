@@ -0,0 +1,98 @@
+package com.album.seplag.support;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Statements gravados por {@link SqlStatementRecorder}, com asserções que falham listando o SQL
+ * executado: limite de statements, ausência de SQL repetido (assinatura de N+1) e comparação entre
+ * duas execuções do mesmo endpoint (ex.: página de 1 e de 100 itens).
+ */
+public record RecordedStatements(List<String> sql) {
+
+    private static final Pattern IGUAL_PARAMETRO = Pattern.compile("(\\w)=\\?");
+
+    public int count() {
+        return sql.size();
+    }
+
+    /**
+     * Sem os statements que começam com {@code prefixo}, para SQL que cresce com o volume por projeto
+     * (ex.: reserva de ids da sequência a cada 50 inserts).
+     */
+    public RecordedStatements ignoring(String prefixo) {
+        return new RecordedStatements(sql.stream().filter(texto -> !texto.startsWith(prefixo)).toList());
+    }
+
+    public RecordedStatements assertAtMost(int max, String endpoint) {
+        if (sql.size() > max) {
+            fail(endpoint + ": esperado no máximo " + max + " statements, executados " + sql.size() + "\n" + listar());
+        }
+        return this;
+    }
+
+    public RecordedStatements assertNoRepeats(String endpoint) {
+        Map<String, Long> repetidos = contagem().entrySet().stream()
+                .filter(e -> e.getValue() > 1)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+        if (!repetidos.isEmpty()) {
+            StringBuilder mensagem = new StringBuilder(endpoint + ": SQL repetido (possível N+1)\n");
+            repetidos.forEach((texto, vezes) -> mensagem.append("  ").append(vezes).append("x  ").append(texto).append('\n'));
+            fail(mensagem + listar());
+        }
+        return this;
+    }
+
+    /**
+     * Falha quando esta execução rodou SQL diferente (ou um número diferente de vezes) da execução base,
+     * mostrando só as linhas que mudaram. O carregamento em lote de um único id sai como "col=?" em vez
+     * de "col in (?...)", por isso os dois são comparados como o mesmo SQL.
+     */
+    public RecordedStatements assertSameStatementsAs(RecordedStatements base, String endpoint) {
+        Map<String, Long> antes = base.contagem(RecordedStatements::formaComparavel);
+        Map<String, Long> depois = contagem(RecordedStatements::formaComparavel);
+        Set<String> todos = new LinkedHashSet<>(antes.keySet());
+        todos.addAll(depois.keySet());
+
+        StringBuilder diff = new StringBuilder();
+        for (String texto : todos) {
+            long a = antes.getOrDefault(texto, 0L);
+            long d = depois.getOrDefault(texto, 0L);
+            if (a != d) {
+                diff.append("  ").append(a).append("x -> ").append(d).append("x  ").append(texto).append('\n');
+            }
+        }
+        if (!diff.isEmpty()) {
+            fail(endpoint + ": SQL muda com o tamanho da página (" + base.count() + " -> " + count() + " statements)\n" + diff);
+        }
+        return this;
+    }
+
+    private Map<String, Long> contagem() {
+        return contagem(Function.identity());
+    }
+
+    private Map<String, Long> contagem(Function<String, String> chave) {
+        return sql.stream().collect(Collectors.groupingBy(chave, LinkedHashMap::new, Collectors.counting()));
+    }
+
+    private static String formaComparavel(String texto) {
+        return IGUAL_PARAMETRO.matcher(texto).replaceAll("$1 in (?...)");
+    }
+
+    private String listar() {
+        StringBuilder lista = new StringBuilder();
+        for (int i = 0; i < sql.size(); i++) {
+            lista.append(String.format("  %2d. %s%n", i + 1, sql.get(i)));
+        }
+        return lista.toString();
+    }
+}
@@ -0,0 +1,55 @@
+package com.album.seplag.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * StatementInspector dos testes: guarda o SQL de cada statement preparado pelo Hibernate enquanto
+ * a gravação estiver ligada. Registrado via hibernate.session_factory.statement_inspector (ver
+ * {@link #PROPERTY}); o Hibernate instancia a classe, por isso o estado é estático.
+ * Grava todas as threads (inclusive as de respostas assíncronas, como a exportação), menos as do
+ * agendador (@Scheduled), que rodam em paralelo aos testes.
+ * Listas IN são gravadas como "in (?...)": o carregamento em lote muda a largura da lista com o
+ * tamanho da página, mas continua sendo o mesmo SQL.
+ */
+public class SqlStatementRecorder implements StatementInspector {
+
+    public static final String PROPERTY =
+            "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.album.seplag.support.SqlStatementRecorder";
+
+    private static final Pattern LISTA_IN = Pattern.compile("in \\(\\?(,\\?)*\\)");
+
+    private static final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+    private static volatile boolean gravando;
+
+    @Override
+    public String inspect(String sql) {
+        if (gravando && !Thread.currentThread().getName().startsWith("scheduling-")) {
+            String normalizado = sql.replaceAll("\\s+", " ").trim();
+            statements.add(LISTA_IN.matcher(normalizado).replaceAll("in (?...)"));
+        }
+        return sql;
+    }
+
+    public static RecordedStatements record(Action action) throws Exception {
+        statements.clear();
+        gravando = true;
+        try {
+            action.run();
+        } finally {
+            gravando = false;
+        }
+        synchronized (statements) {
+            return new RecordedStatements(List.copyOf(statements));
+        }
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+}
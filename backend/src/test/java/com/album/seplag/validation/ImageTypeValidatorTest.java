@@ -0,0 +1,59 @@
+package com.album.seplag.validation;
+
+import com.album.seplag.exception.UnsupportedImageTypeException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageTypeValidatorTest {
+
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 0x10, 'J', 'F', 'I', 'F', 0, 1};
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 0x0D};
+    private static final byte[] GIF = ascii("GIF89a\u0001\u0000\u0001\u0000\u0000\u0000");
+    private static final byte[] WEBP = ascii("RIFF$\u0000\u0000\u0000WEBP");
+
+    @Test
+    void verificar_ShouldAcceptEachRasterType_WithMatchingSignature() {
+        assertDoesNotThrow(() -> ImageTypeValidator.verificar("image/jpeg", JPEG));
+        assertDoesNotThrow(() -> ImageTypeValidator.verificar("image/png", PNG));
+        assertDoesNotThrow(() -> ImageTypeValidator.verificar("image/gif", GIF));
+        assertDoesNotThrow(() -> ImageTypeValidator.verificar("image/webp", WEBP));
+        assertDoesNotThrow(() -> ImageTypeValidator.verificar("IMAGE/JPEG; q=1", JPEG));
+    }
+
+    @Test
+    void verificar_ShouldReject_TypesOutsideAllowlist() {
+        byte[] svg = ascii("<svg xmlns=\"http://www.w3.org/2000/svg\"/>");
+
+        for (String tipo : new String[] {"image/svg+xml", "image/*", "text/html", "image/jpg", "imagem", null}) {
+            assertThrows(UnsupportedImageTypeException.class, () -> ImageTypeValidator.verificar(tipo, svg), tipo);
+        }
+    }
+
+    @Test
+    void verificar_ShouldReject_SignatureOfAnotherTypeOrTruncatedHeader() {
+        assertThrows(UnsupportedImageTypeException.class, () -> ImageTypeValidator.verificar("image/png", JPEG));
+        assertThrows(UnsupportedImageTypeException.class, () -> ImageTypeValidator.verificar("image/webp", ascii("RIFF....WAVE")));
+        assertThrows(UnsupportedImageTypeException.class, () -> ImageTypeValidator.verificar("image/jpeg", new byte[] {(byte) 0xFF}));
+        assertThrows(UnsupportedImageTypeException.class, () -> ImageTypeValidator.verificar("image/gif", new byte[0]));
+    }
+
+    @Test
+    void verificar_ShouldReturnStreamFromFirstByte() throws IOException {
+        byte[] conteudo = new byte[100];
+        System.arraycopy(PNG, 0, conteudo, 0, PNG.length);
+
+        try (InputStream in = ImageTypeValidator.verificar("image/png", new ByteArrayInputStream(conteudo))) {
+            assertArrayEquals(conteudo, in.readAllBytes());
+        }
+    }
+
+    private static byte[] ascii(String texto) {
+        return texto.getBytes(StandardCharsets.ISO_8859_1);
+    }
+}